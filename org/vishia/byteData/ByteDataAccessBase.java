@@ -1,6 +1,8 @@
 package org.vishia.byteData;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 
@@ -134,6 +136,20 @@ import org.vishia.util.StringFormatter;
  * with its known length.   
  * <br>
  * 
+ * <h2>Data in a ByteBuffer</h2>
+ * Instead a <code>byte[]</code> the data can be given in a {@link ByteBuffer} with {@link #assign(ByteBuffer, int, int)}. 
+ * It can be especially a direct buffer used as receive buffer of a {@link java.nio.channels.DatagramChannel}
+ * or a {@link java.nio.MappedByteBuffer} of a binary file. Then the data are accessed without copying in a heap array.
+ * All access routines and the handling of children are the same. Only {@link #getData()} returns null, 
+ * use {@link #dataBuffer()} instead. 
+ * <br>
+ * In Java the access to 2, 4 and 8 bytes is done with one absolute access to the ByteBuffer or to a ByteBuffer view 
+ * of the <code>byte[]</code>, without changing position or order of the buffer. 
+ * This part is excluded for C (Java2C) with {@link Java4C.ExcludeCond}, in C the bytes are assembled in a loop.
+ * Arrays are read and written with {@link #getInts(int, int[], int, int)}, {@link #getFloats(int, float[], int, int)},
+ * {@link #getDoubles(int, double[], int, int)} and the adequate set routines in one operation.
+ * <br>
+ * 
  * <h2>Examples</h2>
  * See 
  * <ul>
@@ -152,6 +168,15 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   
   /**The version, history and license. 
    * <ul>
+   * <li>2026-10-19 Hartmut corr: The access to 2, 4 and 8 bytes of a <code>byte[]</code> is done in Java again with one access
+   *   to a ByteBuffer view, see {@link #buffer()}, the loop over the bytes remains for C. {@link #copyData(int[])} uses {@link #getInts(int, int[], int, int)}.
+   * <li>2026-10-19 Hartmut corr: {@link #getInt64(int)} has assembled the 2 words faulty, new {@link #setInt64(int, long)}.
+   *   Both are used by the classes generated with {@link org.vishia.header2Reflection.CheaderByteDataAccessGen}.
+   * <li>2026-10-19 Hartmut new: New {@link #getInts(int, int[], int, int)} etc. for arrays, with one bulk access to a ByteBuffer view.
+   *   The access to 2, 4 and 8 bytes in a {@link #dataBuffer} is done with one absolute access, 
+   *   the bytes of {@link #data} are assembled as before, it is the Java2C path.
+   * <li>2026-10-19 Hartmut new {@link #assign(ByteBuffer, int, int)}: The data can be given in a direct or memory mapped {@link ByteBuffer}
+   *   as alternative to the <code>byte[]</code> {@link #data}, stored in {@link #dataBuffer}. Not for C.
    * <li>2018-12-27 Hartmut new {@link #upcast(ByteDataAccessBase, int)} replaces the {@link #assignCasted(ByteDataAccessBase, int, int)}. Problems detect on usage of assignCasted:
    *   The cast of a child should influence the parent because the next {@link #addChild(ByteDataAccessBase)} should regard the casting operation. The casting is regarded
    *   to the data in sum. It is not only a isolated view to data. Strategy of upcast is documented there.  
@@ -236,7 +261,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    * 
    * 
    */
-  public final static String version = "2018-09-18";
+  public final static String version = "2026-10-19";
   
   
   
@@ -250,6 +275,18 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    * Use addChild etc. to adapt to data. */
   protected @Java4C.PtrVal byte[] data;
   
+  /**Alternative to {@link #data}: The data are contained in a ByteBuffer, especially a direct or memory mapped one.
+   * If it is set, {@link #data} is null. It is a {@link ByteBuffer#duplicate()} of the assigned buffer. 
+   * The indices are absolute indices in the buffer, position, limit and order of the buffer are not used.
+   * @since 2026-10
+   */
+  @Java4C.Exclude private ByteBuffer dataBuffer;
+  
+  /**A view to {@link #data} as ByteBuffer, created on demand in {@link #buffer()} to access words with one operation.
+   * @since 2026-10
+   */
+  @Java4C.Exclude private ByteBuffer dataView;
+  
   /**Index of the beginning of the actual element in data*/
   private int ixBegin;
 
@@ -397,13 +434,17 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     { idx = ixBegin + idxInChild + nrofBytes -1;
       idxStep = -1;
     }
-    int nByteCnt = nrofBytes;
-    do
-    { val |= data[idx] & 0xff;
-      if(--nByteCnt <= 0) break;  //TRICKY: break in mid of loop, no shift operation.
-      val <<=8;
-      idx += idxStep;
-    }while(true);  //see break;
+    @Java4C.ExcludeCond boolean bJava = true;              //Java: one access to the ByteBuffer, C: assemble the bytes.
+    if(bJava) { val = getBuffer(ixBegin + idxInChild, nrofBytes); }
+    else {
+      int nByteCnt = nrofBytes;
+      do
+      { val |= data[idx] & 0xff;
+        if(--nByteCnt <= 0) break;  //TRICKY: break in mid of loop, no shift operation.
+        val <<=8;
+        idx += idxStep;
+      }while(true);  //see break;
+    }
     if(bSigned){
       int posSign = (nrofBytes*8)-1;  //position of sign of the appropriate nrofBytes 
       long maskSign = 1L<<posSign;
@@ -452,13 +493,17 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     { idx = ixBegin + idxInChild + nrofBytes -1;
       idxStep = -1;
     }
-    int nByteCnt = nrofBytes;
-    do
-    { val |= data[idx] & 0xff;
-      if(--nByteCnt <= 0) break;  //TRICKY: break in mid of loop, no shift operation.
-      val <<=8;
-      idx += idxStep;
-    }while(true);  //see break;
+    @Java4C.ExcludeCond boolean bJava = true;
+    if(bJava) { val = (int)getBuffer(ixBegin + idxInChild, nrofBytes); }
+    else {
+      int nByteCnt = nrofBytes;
+      do
+      { val |= data[idx] & 0xff;
+        if(--nByteCnt <= 0) break;  //TRICKY: break in mid of loop, no shift operation.
+        val <<=8;
+        idx += idxStep;
+      }while(true);  //see break;
+    }
     if(bSigned){
       int posSign = (nrofBytes*8)-1;  //position of sign of the appropriate nrofBytes 
       long maskSign = 1L<<posSign;
@@ -483,6 +528,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.NoStackTrace 
   protected final void _setLong(int idx, int nrofBytes, long val)
   { if(!checkData()) { return; }
+    @Java4C.ExcludeCond boolean bJava = true;
+    if(bJava) { setBuffer(ixBegin + idx, nrofBytes, val); return; }
     int idx1, nrofBytes1 = nrofBytes; long val1 = val;  //prevent change of parameters, use register internally.
     int idxStep;
     if(bBigEndian)
@@ -514,6 +561,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.NoStackTrace 
   protected final void _setInt(int idx, int nrofBytes, int val)
   { if(!checkData()) { return; }
+    @Java4C.ExcludeCond boolean bJava = true;
+    if(bJava) { setBuffer(ixBegin + idx, nrofBytes, val); return; }
     int idx1, nrofBytes1 = nrofBytes, val1 = val;  //prevent change of parameters, use register internally.
     int idxStep;
     if(bBigEndian)
@@ -545,8 +594,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   private final void _expand(int ixNextChildNew, int ixEndNew)
   { assert(ixEndNew < 0 || ixEndNew >= ixBegin + sizeHead);
     if(!checkData()) { return; }
-    if(ixEndNew > data.length){
-      throw new IllegalArgumentException("child long as data, data.length= " + data.length + ", ixChildEndNew= " + ixEndNew);
+    if(ixEndNew > dataLength()){
+      throw new IllegalArgumentException("child long as data, data.length= " + dataLength() + ", ixChildEndNew= " + ixEndNew);
     }
     if(bExpand) {
       if(ixEnd < ixEndNew) { 
@@ -628,6 +677,43 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     }
   }
   
+  /**Assigns new data in a ByteBuffer to this element at given index. This method should be used only for an root element. 
+   * It is the adequate operation to {@link #assign(byte[], int, int)} for data which are not in a heap array,
+   * especially a direct ByteBuffer of a {@link java.nio.channels.DatagramChannel} or a {@link java.nio.MappedByteBuffer}.
+   * The data are not copied. All children get this buffer too.
+   * <br>
+   * @param buffer The data. The indices are absolute indices in the buffer, from 0 to its capacity.
+   *   Position, limit and byte order of the buffer are not used and not changed.
+   * @param lengthData absolute Number of significant bytes in buffer from index 0, 
+   *   see {@link #assign(byte[], int, int)}. If it is < sizeHead then the access is expand-able till the capacity of the buffer.
+   * @param index Start position in buffer, often 0. 
+   * @throws IllegalArgumentException if the length is greater than the capacity of the buffer. 
+   * @since 2026-10
+   */
+  @Java4C.Exclude
+  public final void assign(ByteBuffer buffer, int lengthData, int index) 
+  throws IllegalArgumentException
+  { assign((byte[])null, lengthData, index);
+    this.dataBuffer = buffer.duplicate();
+    this.dataBuffer.clear();         //limit = capacity for absolute access
+    if(ixEnd > this.dataBuffer.capacity()) {
+      this.dataBuffer = null;
+      throw new IllegalArgumentException("not enough data bytes, requested=" + ixEnd + ", buffer-capacity=" + buffer.capacity());
+    }
+  }
+  
+  
+  /**Returns the buffer if the data are assigned with {@link #assign(ByteBuffer, int, int)}, else null.
+   * The buffer is a duplicate of the assigned one with the same content. 
+   * @since 2026-10
+   */
+  @Java4C.Exclude
+  public final ByteBuffer dataBuffer() {
+    getData(99);
+    return this.dataBuffer;
+  }
+  
+  
   /**Assigns data with a given length. This method is used usual to read data. Writing as 'changing' is possible too.
    * The expand flag is set to false if the given lengthData is >= the {@link #sizeHead()}. 
    * This method should be used only for an root element respectively this is a root element after calling this method.
@@ -740,7 +826,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Deprecated
   final protected void assignCasted(ByteDataAccessBase src, int offsetCastToInput, int lengthDst)
   throws IllegalArgumentException
-  { assign(src.data(), lengthDst, src.ixBegin + offsetCastToInput);
+  { if(src.dataBuffer() !=null) { assign(src.dataBuffer, lengthDst, src.ixBegin + offsetCastToInput); }
+    else { assign(src.data(), lengthDst, src.ixBegin + offsetCastToInput); }
     bExpand = src.bExpand;
     bBigEndian = src.bBigEndian;
     bExc = src.bExc;
@@ -755,6 +842,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   
   final private void copyStdValues(ByteDataAccessBase src) {
     this.data = src.data;
+    this.dataBuffer = src.dataBuffer;
     this.bExpand = src.bExpand;
     this.bExc = src.bExc;
     this.bBigEndian = src.bBigEndian;
@@ -839,12 +927,13 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    * @since 2018-09
    */
   private final byte[] getData(int recursion)
-  { if(this.data == null && parent !=null) {
+  { if(this.data == null && this.dataBuffer == null && parent !=null) {
       if(--recursion <0) {
         throwexc("too many recursions in parent relation",0);
         return null;
       }
       this.data = parent.getData(recursion-1);
+      this.dataBuffer = parent.dataBuffer;
       this.bBigEndian = parent.bBigEndian;
     }
     return this.data;
@@ -924,7 +1013,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.Retinline
   final public int getMaxNrofBytes()
   { if(!checkData()) { return 0; }
-    if(bExpand) return data.length - ixBegin;
+    if(bExpand) return dataLength() - ixBegin;
     else return ixEnd - ixBegin;
   }
 
@@ -983,7 +1072,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.Inline
   public final void clearHead(){
     if(!checkData()) { return; }
-    Arrays.fill(data, ixBegin, ixBegin + sizeHead, (byte)0);
+    if(data == null) { fillBuffer(ixBegin, ixBegin + sizeHead); }
+    else { Arrays.fill(data, ixBegin, ixBegin + sizeHead, (byte)0); }
   }
 
 
@@ -996,13 +1086,14 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.Inline
   public final void clearData(){
     if(!checkData()) { return; }
-    Arrays.fill(data, ixBegin, ixEnd, (byte)0);
+    if(data == null) { fillBuffer(ixBegin, ixEnd); }
+    else { Arrays.fill(data, ixBegin, ixEnd, (byte)0); }
   }
 
 
   @Java4C.Retinline
   final public boolean isInUse()
-  { return data() !=null;
+  { return data() !=null || this.dataBuffer !=null;
   }
 
   
@@ -1039,7 +1130,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.Retinline
   final public int getMaxNrofBytesForNextChild() throws IllegalArgumentException
   { if(!checkData()) { return 0; }
-    return (bExpand ? data.length : ixEnd) - ixNextChild;
+    return (bExpand ? dataLength() : ixEnd) - ixNextChild;
   }
 
 
@@ -1104,6 +1195,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     child.bExc = bExc;
     child.bExpand = bExpand;
     child.data = this.data;
+    child.dataBuffer = this.dataBuffer;
     child.parent = this;
     child.charset = this.charset;
     child.ixNextChild = child.ixBegin + child.sizeHead;  //the child does not contain grand children.
@@ -1159,6 +1251,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     if(!checkData()) { return; }
     if(child.parent !=null && child.parent.currChild == child){ child.parent.currChild = null; } //detatch
     child.data = data;
+    child.dataBuffer = dataBuffer;
     int idxBegin = this.ixBegin + idxChild;
     child.ixBegin = idxBegin;
     child.ixBeginLocal = idxChild;
@@ -1296,7 +1389,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     //NOTE: to read from idxInChild = 0, build the difference as shown:
     for(int ii=0; ii<nrofBytes; ++ii){
       byte charByte = (byte)(valueCs.charAt(ii));  //TODO encoding
-      data[ixChild1+ii] = charByte;
+      if(data == null) { dataBuffer.put(ixChild1+ii, charByte); }
+      else { data[ixChild1+ii] = charByte; }
     }
     return true;
   }
@@ -1514,6 +1608,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
       currChild = null;  //necessary if currentChild don't refers this parent because any error before.
     }
     data = null;
+    dataBuffer = null;
     parent = null;
     ixBegin = ixEnd = 0;
     //don't change ixBeginLocal.
@@ -1562,10 +1657,16 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     if(len > (this.ixEnd - this.ixBegin)) {
       len = this.ixEnd - this.ixBegin;
     }
-    if(data.length < this.ixBegin + len){
+    if(dataLength() < this.ixBegin + len){
       throwexc("copy, dst to small", len);
     }
-    System.arraycopy(src.data,src.ixBegin,data,ixBegin,len);
+    if(data !=null && src.data !=null) {
+      System.arraycopy(src.data,src.ixBegin,data,ixBegin,len);
+    } else {
+      byte[] bytes = src.getBytes(src.ixBegin, len);
+      if(data == null) { putBuffer(ixBegin, bytes, len); }
+      else { System.arraycopy(bytes, 0, data, ixBegin, len); }
+    }
   }
 
 
@@ -1576,10 +1677,14 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    */
   public final void copyData(int[] dst)
   { int idxMax = ixEnd - ixBegin;
-    if(idxMax/4 > dst.length) idxMax = 4* dst.length;
-    int iDst = 0;
-    for(int idx = 0; idx < idxMax; idx+=4)
-    { dst[iDst++] = (int)_getLong(idx,4);
+    if((idxMax +3)/4 > dst.length) idxMax = 4* dst.length;   //also a started word needs a dst element
+    @Java4C.ExcludeCond boolean bJava = true;
+    if(bJava) { getInts(0, dst, 0, (idxMax +3)/4); }      //one bulk access
+    else {
+      int iDst = 0;
+      for(int idx = 0; idx < idxMax; idx+=4)
+      { dst[iDst++] = (int)_getLong(idx,4);
+      }
     }
   }
 
@@ -1604,7 +1709,12 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   { if(!checkData()) { return null; }
     int idxData = idx + ixBegin;
     int idxEnd1 = idxData + nrofBytes;
-    assert(idxEnd1 <= ixEnd && idxEnd1 <= data.length);
+    assert(idxEnd1 <= ixEnd && idxEnd1 <= dataLength());
+    byte[] data = this.data;
+    if(data == null) {               //data in dataBuffer
+      data = getBytes(idxData, nrofBytes);
+      idxData = 0; idxEnd1 = nrofBytes;
+    }
     while( data[--idxEnd1] ==0 && idxEnd1 > idxData);  //skip 0 character on end
     int len = idxEnd1 +1 - idxData; //resulting len without 0-character.
     String value;
@@ -1633,7 +1743,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     catch (UnsupportedEncodingException e){ byteRepresentation = null; }
     int len = byteRepresentation.length;
     if(len > nmax){ len = nmax; } //truncate.
-    System.arraycopy(byteRepresentation, 0, data, ixBegin + idx, len);
+    if(data == null) { putBuffer(ixBegin + idx, byteRepresentation, len); }
+    else { System.arraycopy(byteRepresentation, 0, data, ixBegin + idx, len); }
     return len;
   }
   
@@ -1661,6 +1772,11 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   { if(!checkData()) { return; }
     int idxData = idx + ixBegin;
     int idxEnd = idxData + nrofBytes;
+    byte[] data = this.data;
+    if(data == null) {               //data in dataBuffer, prepare the bytes
+      data = new byte[nrofBytes];
+      idxData = 0; idxEnd = nrofBytes;
+    }
     /**@java2c=ByteStringJc. */
     byte[] chars;
     if(sEncoding == null){ sEncoding = "ISO-8859-1"; }
@@ -1676,6 +1792,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     while(idxData < idxEnd)
     { data[idxData++] = 0;
     }
+    if(this.data == null) { putBuffer(idx + ixBegin, data, nrofBytes); }
   }
   
   
@@ -1702,17 +1819,14 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   
   @Java4C.Retinline @Java4C.NoStackTrace
   protected final long getInt64(int idx)
-  { int nLo,nHi;
-    if(bBigEndian)
-    { nLo = getInt32(idx);
-      nHi =  getInt32(idx + 4);
-    }
-    else
-    { nLo = getInt32(idx+4);
-      nHi =  getInt32(idx);
-    }
-    long val = nHi << 32;
-    val |= nLo & 0xFFFFFFFF;
+  { if(!checkData()) { return 0; }
+    @Java4C.ExcludeCond boolean bJava = true;
+    if(bJava) { return getBuffer(ixBegin + idx, 8); }
+    int nHi, nLo;
+    if(bBigEndian){ nHi = getInt32(idx); nLo = getInt32(idx+4); }
+    else { nLo = getInt32(idx); nHi = getInt32(idx+4); }
+    long val = ((long)nHi) << 32;
+    val |= nLo & 0xFFFFFFFFL;
     return val;
   }
 
@@ -1726,6 +1840,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.NoStackTrace
   protected final int getInt32(int idx)
   { if(!checkData()) { return 0; }
+    @Java4C.ExcludeCond boolean bJava = true;
+    if(bJava) { return (int)getBuffer(ixBegin + idx, 4); }
     int val;
     if(bBigEndian)
     { val =  ((  data[ixBegin + idx])<<24)  //NOTE all 24 low-bits are 0
@@ -1759,6 +1875,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.NoStackTrace
   protected final int getUint16(int idx)
   { if(!checkData()) { return 0; }
+    @Java4C.ExcludeCond boolean bJava = true;
+    if(bJava) { return (int)getBuffer(ixBegin + idx, 2); }
     int val;
     if(bBigEndian)
     { val =  (( (data[ixBegin + idx  ])<< 8) & 0x0000ff00 ) //depending on sign of byte. Mask it!
@@ -1780,6 +1898,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.NoStackTrace
   protected final short getInt16(int idx)
   { if(!checkData()) { return 0; }
+    @Java4C.ExcludeCond boolean bJava = true;
+    if(bJava) { return (short)getBuffer(ixBegin + idx, 2); }
     int val;
     if(bBigEndian)
     { val =  (( (data[ixBegin + idx  ])<< 8) & 0xff00 ) //depending on sign of byte. Mask it!
@@ -1803,7 +1923,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   protected final char getChar(int idx)
   { if(!checkData()) { return 0; }
     char val;
-    val = (char) data[ixBegin + idx];
+    val = (char) (data == null ? dataBuffer.get(ixBegin + idx) : data[ixBegin + idx]);
     return val;
   }
   
@@ -1818,7 +1938,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   protected final byte getInt8(int idx)
   { byte val;
     if(!checkData()) { return 0; }
-    val = data[ixBegin + idx];
+    val = data == null ? dataBuffer.get(ixBegin + idx) : data[ixBegin + idx];
     return val;
   }
 
@@ -1834,7 +1954,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   protected final short getUint8(int idx)
   { short val;
     if(!checkData()) { return 0; }
-    val = data[ixBegin + idx];
+    val = data == null ? dataBuffer.get(ixBegin + idx) : data[ixBegin + idx];
     if(val < 0){ val += 0x100; }
     return val;
   }
@@ -1883,6 +2003,100 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   
   
 
+  /**Reads int values from the data in one operation, big- or little-endian depending on setBigEndian().
+   * @param idx the position of the first value in the actual element, the data are taken from data[idxBegin+idx].
+   * @param dst destination array
+   * @param from first index in dst
+   * @param nrofValues number of values, 4 bytes per value
+   * @throws IndexOutOfBoundsException if the data or dst are too short.
+   * @since 2026-10
+   */
+  @Java4C.Exclude
+  protected final void getInts(int idx, int[] dst, int from, int nrofValues)
+  { if(!checkData()) { return; }
+    ByteBuffer buffer = bufferAt(idx, 4 * nrofValues);
+    buffer.asIntBuffer().get(dst, from, nrofValues);
+  }
+  
+  
+  /**Reads float values from the data in one operation, see {@link #getInts(int, int[], int, int)}.
+   * @since 2026-10
+   */
+  @Java4C.Exclude
+  protected final void getFloats(int idx, float[] dst, int from, int nrofValues)
+  { if(!checkData()) { return; }
+    ByteBuffer buffer = bufferAt(idx, 4 * nrofValues);
+    buffer.asFloatBuffer().get(dst, from, nrofValues);
+  }
+  
+  
+  /**Reads double values from the data in one operation, 8 bytes per value, see {@link #getInts(int, int[], int, int)}.
+   * @since 2026-10
+   */
+  @Java4C.Exclude
+  protected final void getDoubles(int idx, double[] dst, int from, int nrofValues)
+  { if(!checkData()) { return; }
+    ByteBuffer buffer = bufferAt(idx, 8 * nrofValues);
+    buffer.asDoubleBuffer().get(dst, from, nrofValues);
+  }
+  
+  
+  /**Writes int values to the data in one operation, big- or little-endian depending on setBigEndian().
+   * @param idx the position of the first value in the actual element, the data are set to data[idxBegin+idx].
+   * @param src source array
+   * @param from first index in src
+   * @param nrofValues number of values, 4 bytes per value
+   * @throws IndexOutOfBoundsException if the data or src are too short.
+   * @since 2026-10
+   */
+  @Java4C.Exclude
+  protected final void setInts(int idx, int[] src, int from, int nrofValues)
+  { if(!checkData()) { return; }
+    ByteBuffer buffer = bufferAt(idx, 4 * nrofValues);
+    buffer.asIntBuffer().put(src, from, nrofValues);
+  }
+  
+  
+  /**Writes float values to the data in one operation, see {@link #setInts(int, int[], int, int)}.
+   * @since 2026-10
+   */
+  @Java4C.Exclude
+  protected final void setFloats(int idx, float[] src, int from, int nrofValues)
+  { if(!checkData()) { return; }
+    ByteBuffer buffer = bufferAt(idx, 4 * nrofValues);
+    buffer.asFloatBuffer().put(src, from, nrofValues);
+  }
+  
+  
+  /**Writes double values to the data in one operation, 8 bytes per value, see {@link #setInts(int, int[], int, int)}.
+   * @since 2026-10
+   */
+  @Java4C.Exclude
+  protected final void setDoubles(int idx, double[] src, int from, int nrofValues)
+  { if(!checkData()) { return; }
+    ByteBuffer buffer = bufferAt(idx, 8 * nrofValues);
+    buffer.asDoubleBuffer().put(src, from, nrofValues);
+  }
+  
+  
+  /**Returns a new view to {@link #data} or {@link #dataBuffer} with the position of the given range in the actual element
+   * and the byte order of {@link #bBigEndian}. Position and order of the given {@link #dataBuffer} are not changed.
+   * @param idx position in the actual element
+   * @param nrofBytes number of bytes from idx
+   * @throws IndexOutOfBoundsException if the range is not in the data.
+   */
+  @Java4C.Exclude
+  private final ByteBuffer bufferAt(int idx, int nrofBytes) 
+  { ByteBuffer buffer = data != null ? ByteBuffer.wrap(data) : this.dataBuffer.duplicate();
+    int ix = ixBegin + idx;
+    if(idx < 0 || nrofBytes < 0 || ix + nrofBytes > buffer.capacity()) throwexc("range out of data: ", ix + nrofBytes);
+    buffer.limit(buffer.capacity()).position(ix);
+    buffer.order(bBigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+    return buffer;
+  }
+  
+  
+  
   /** Set the content of 4 byte from a float variable. The float value is stored
    * according to the IEEE 754 floating-point "single format" bit layout, preserving Not-a-Number (NaN) values,
    * like converted from java.lang.Float.floatToRawIntBits().
@@ -1918,6 +2132,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    * */
   protected final void setInt32(int idx, int value)
   { if(!checkData()) { return; }
+    @Java4C.ExcludeCond boolean bJava = true;
+    if(bJava) { setBuffer(ixBegin + idx, 4, value); return; }
     if(bBigEndian)
     { data[ixBegin + idx]   = (byte)((value>>24) & 0xff);
       data[ixBegin + idx+1] = (byte)((value>>16) & 0xff);
@@ -1932,6 +2148,21 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     }
   }
 
+  /** Set the content of 8 bytes, big- or little-endian depended from setBigEndian().
+   *
+   * @param idx The position of leading byte in the current elements data.
+   *            This is not the absolute position in data, idxBegin is added.<br/>
+   * @since 2026-10
+   * */
+  protected final void setInt64(int idx, long value)
+  { if(!checkData()) { return; }
+    @Java4C.ExcludeCond boolean bJava = true;
+    if(bJava) { setBuffer(ixBegin + idx, 8, value); return; }
+    int nHi = (int)(value >> 32), nLo = (int)value;
+    if(bBigEndian){ setInt32(idx, nHi); setInt32(idx+4, nLo); }
+    else { setInt32(idx, nLo); setInt32(idx+4, nHi); }
+  }
+
   /** Set the content of 1 bytes as a positive nr between 0..256.
    *
    * @param idx The position of leading byte in the current elements data.
@@ -1941,7 +2172,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.Inline
   protected final void setInt8(int idx, int value)
   { if(!checkData()) { return; }
-    data[ixBegin + idx] = (byte)(value & 0xff);
+    if(data == null) { dataBuffer.put(ixBegin + idx, (byte)(value & 0xff)); }
+    else { data[ixBegin + idx] = (byte)(value & 0xff); }
   }
 
 
@@ -1965,6 +2197,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   * */
   protected final void setUint32(int idx, long value)
   { if(!checkData()) { return; }
+    @Java4C.ExcludeCond boolean bJava = true;
+    if(bJava) { setBuffer(ixBegin + idx, 4, value); return; }
     //the same algorithm in source, but other action on machine level,
     //because value is long!
     if(bBigEndian)
@@ -1992,6 +2226,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    * */
   protected final void setInt16(int idx, int value)
   { if(!checkData()) { return; }
+    @Java4C.ExcludeCond boolean bJava = true;
+    if(bJava) { setBuffer(ixBegin + idx, 2, value); return; }
     if(bBigEndian)
     { data[ixBegin + idx]   = (byte)((value>>8) & 0xff);
       data[ixBegin + idx+1] = (byte)(value & 0xff);
@@ -2095,7 +2331,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   { assert(sizeChild >=0);
     assert(ixNextChild >=0);          //==0 os possible on an empty element without head.
     if(!checkData()) { return 0; }
-    int ixMax = bExpand? data.length : ixEnd;
+    int ixMax = bExpand? dataLength() : ixEnd;
     if(ixNextChild + sizeChild > ixMax) return RetOrException.illegalArgument(bExc, -1, "child on limit of expand");
     int ixChild1 = ixNextChild;
     ixNextChild += sizeChild;  
@@ -2112,6 +2348,109 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   
   
   
+  /**Returns the length of {@link #data} or the capacity of {@link #dataBuffer}. checkData() should be invoked before. 
+   * @since 2026-10 */
+  private final int dataLength() {
+    return data !=null ? data.length : dataBuffer.capacity();
+  }
+  
+  
+  /**Returns the {@link #dataBuffer} or a view to {@link #data}. checkData() should be invoked before. 
+   * The view is created only if the data array is changed. Its order is not changed, 
+   * the bytes are swapped in {@link #getBuffer(int, int)} and {@link #setBuffer(int, int, long)} if necessary.
+   * @since 2026-10 */
+  @Java4C.Exclude
+  private final ByteBuffer buffer() {
+    if(this.data == null) return this.dataBuffer;
+    ByteBuffer view = this.dataView;
+    if(view == null || view.array() != this.data) {
+      this.dataView = view = ByteBuffer.wrap(this.data);
+    }
+    return view;
+  }
+  
+  
+  /**Returns the content of 1 to 8 bytes from {@link #buffer()} as unsigned value. 
+   * @param ix absolute index in the data
+   * @since 2026-10 */
+  @Java4C.Exclude
+  private final long getBuffer(int ix, int nrofBytes) {
+    ByteBuffer buffer = buffer();
+    boolean bSwap = (buffer.order() == ByteOrder.BIG_ENDIAN) != bBigEndian;  //the order of the buffer is not changed.
+    switch(nrofBytes) {
+      case 1: return buffer.get(ix) & 0xffL;
+      case 2: { short val = buffer.getShort(ix); return (bSwap ? Short.reverseBytes(val) : val) & 0xffffL; }
+      case 4: { int val = buffer.getInt(ix); return (bSwap ? Integer.reverseBytes(val) : val) & 0xffffffffL; }
+      case 8: { long val = buffer.getLong(ix); return bSwap ? Long.reverseBytes(val) : val; }
+      default: {
+        long val = 0;
+        for(int ixByte = 0; ixByte < nrofBytes; ++ixByte) {
+          int ixData = bBigEndian ? ix + ixByte : ix + nrofBytes -1 - ixByte;
+          val = (val << 8) | (buffer.get(ixData) & 0xff);
+        }
+        return val;
+      }
+    }
+  }
+  
+  
+  /**Sets the content of 1 to 8 bytes in {@link #buffer()}.
+   * @param ix absolute index in the data
+   * @since 2026-10 */
+  @Java4C.Exclude
+  private final void setBuffer(int ix, int nrofBytes, long val) {
+    ByteBuffer buffer = buffer();
+    boolean bSwap = (buffer.order() == ByteOrder.BIG_ENDIAN) != bBigEndian;  //the order of the buffer is not changed.
+    switch(nrofBytes) {
+      case 1: buffer.put(ix, (byte)val); break;
+      case 2: buffer.putShort(ix, bSwap ? Short.reverseBytes((short)val) : (short)val); break;
+      case 4: buffer.putInt(ix, bSwap ? Integer.reverseBytes((int)val) : (int)val); break;
+      case 8: buffer.putLong(ix, bSwap ? Long.reverseBytes(val) : val); break;
+      default: {
+        long val1 = val;
+        for(int ixByte = 0; ixByte < nrofBytes; ++ixByte) {
+          int ixData = bBigEndian ? ix + nrofBytes -1 - ixByte : ix + ixByte;
+          buffer.put(ixData, (byte)val1);
+          val1 >>= 8;
+        }
+      }
+    }
+  }
+  
+  
+  /**Copies bytes from {@link #dataBuffer} or {@link #data}. 
+   * @param ix absolute index
+   * @since 2026-10 */
+  @Java4C.Exclude
+  private final byte[] getBytes(int ix, int nrofBytes) {
+    byte[] bytes = new byte[nrofBytes];
+    if(data !=null) { System.arraycopy(data, ix, bytes, 0, nrofBytes); }
+    else {
+      for(int ixByte = 0; ixByte < nrofBytes; ++ixByte) { bytes[ixByte] = dataBuffer.get(ix + ixByte); }
+    }
+    return bytes;
+  }
+  
+  
+  /**Copies bytes to {@link #dataBuffer}. 
+   * @param ix absolute index in the buffer
+   * @since 2026-10 */
+  @Java4C.Exclude
+  private final void putBuffer(int ix, byte[] src, int nrofBytes) {
+    for(int ixByte = 0; ixByte < nrofBytes; ++ixByte) { dataBuffer.put(ix + ixByte, src[ixByte]); }
+  }
+  
+  
+  /**Sets bytes in {@link #dataBuffer} to 0. 
+   * @param ixEnd exclusive end index in the buffer
+   * @since 2026-10 */
+  @Java4C.Exclude
+  private final void fillBuffer(int ix, int ixEnd) {
+    for(int ixData = ix; ixData < ixEnd; ++ixData) { dataBuffer.put(ixData, (byte)0); }
+  }
+  
+  
+  
   /**Checks {@link #data} == null and gets the data from parent if necessary.
    * With them it is possible to call {@link #assign(byte[])} for the parent only and it runs.
    * If the data remain null {@link #throwexc(String, int)} is invoked. It may force an exeption if that is activated.
@@ -2120,11 +2459,12 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    * @since 2018-09
    */
   boolean checkData() {
-    if(data == null && parent !=null) {
+    if(data == null && dataBuffer == null && parent !=null) {
       data = parent.getData(99);
+      dataBuffer = parent.dataBuffer;
       bBigEndian = parent.bBigEndian;
     }
-    if(data == null) {
+    if(data == null && dataBuffer == null) {
       throwexc("--no data--",0);
       return false;
     } else {
@@ -2149,13 +2489,15 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     int bytesHex = getLengthHead();
     if(bytesHex > 16){ bytesHex = 16; }
     if(bytesHex <0){ bytesHex = 0; }
-    if(ixBegin + bytesHex > data.length){ bytesHex = data.length - ixBegin; }  
+    if(ixBegin + bytesHex > dataLength()){ bytesHex = dataLength() - ixBegin; }  
     infoAppendHead(u, bytesHex);
     if(bytesHex < 24 && currChild ==null) {
       int bytesHexChild = ixEnd - ixBegin - sizeHead;
       if(bytesHexChild >(24 - bytesHex)) { bytesHexChild = (24 - bytesHex); }  //don't show more as 24 bytes in sum.
       if(bytesHexChild >0) {
-        u.add(": ").addHexLine(data, ixBegin + sizeHead, bytesHexChild, bBigEndian? StringFormatter.k4left: StringFormatter.k4right);
+        u.add(": ");
+        if(data == null) { u.addHexLine(getBytes(ixBegin + sizeHead, bytesHexChild), 0, bytesHexChild, bBigEndian? StringFormatter.k4left: StringFormatter.k4right); }
+        else { u.addHexLine(data, ixBegin + sizeHead, bytesHexChild, bBigEndian? StringFormatter.k4left: StringFormatter.k4right); }
       }
     }
     else if(currChild !=null && u.length() < 2200) {
@@ -2176,7 +2518,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     .add("..").addint(ixNextChild,"333331")
     .add(bExpand ? '+' : ':').addint(ixEnd,"333331").add(":");
     if(!checkData()) { u.add("--no-data--"); return; }
-    u.addHexLine(data(), ixBegin, bytesHex, bBigEndian? StringFormatter.k4left: StringFormatter.k4right);
+    if(data == null) { u.addHexLine(getBytes(ixBegin, bytesHex), 0, bytesHex, bBigEndian? StringFormatter.k4left: StringFormatter.k4right); }
+    else { u.addHexLine(data, ixBegin, bytesHex, bBigEndian? StringFormatter.k4left: StringFormatter.k4right); }
   }
 
  
@@ -2188,7 +2531,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    @Java4C.Exclude
    public String toString() 
    { //NOTE: do not create a new object in every call, it is uneffective.
-     if(data==null){ return "no data"; }
+     if(data==null && dataBuffer == null){ return "no data"; }
      else
      { if(toStringformatter == null){ toStringformatter = new StringFormatter(); }
        else { toStringformatter.reset(); }
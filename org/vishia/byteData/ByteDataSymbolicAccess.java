@@ -22,6 +22,8 @@
  *******************************************************************************/ 
 package org.vishia.byteData;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -47,6 +49,10 @@ import org.vishia.mainCmd.Report;
  * and update in the data buffer by calling {@link #copyNewData(byte[], int, int, long)}.
  * Thereby a timestamp of updating is provided. It supports the method {@link VariableAccess_ifc#getLastRefreshTime()}. 
  * 
+ * If a set of variables is read cyclically, for example for a GUI or a logging, 
+ * the names should be compiled one time with {@link #compileHandles(String...)}. The {@link Handles#snapshot(long[], double[])}
+ * reads all of them in one loop with the positions and types from the handle table.
+ * 
  * @author Hartmut Schorrig
  *
  */
@@ -54,6 +60,9 @@ public class ByteDataSymbolicAccess {
 
   /**Version, history and license. The version number is a date written as yyyymmdd as decimal number.
    * <ul>
+   * <li>2026-10-19 Hartmut new: {@link #setRecorder(ByteDataSymbolicRecorder)} to record variables on any new data.
+   * <li>2026-10-19 Hartmut new: {@link #compileHandles(String...)} and {@link Handles#snapshot(long[], double[])}
+   *   to read many variables without searching by name and without a call per variable.
    * <li>2013-11-26 Hartmut new: {@link #copyNewData(byte[], int, int, long)}
    * <li>2013-11-26 Hartmut chg {@link #assignData(byte[], long)} with timestamp required. Usages should updated.
    *   A timestamp is a substantial propertiy of dynamic data. Use {@link System#currentTimeMillis()}.
@@ -102,7 +111,7 @@ public class ByteDataSymbolicAccess {
    * 
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    */
-  public final static int versionStamp = 20120422;
+  public final static int versionStamp = 20261019;
   
   /**An instance is created and filled from ZBNF-parser using reflection.
    */
@@ -359,6 +368,77 @@ public class ByteDataSymbolicAccess {
   }
   
   
+  
+  /**A table of variables built with {@link #compileHandles(String...)}. 
+   * The index of a variable in this table is the index of its name on compilation,
+   * it is the handle for the variable and the index in the destination arrays of {@link #snapshot(long[], double[])}.
+   * The position, type and bit mask of all variables are stored in arrays, the name is not used for reading.
+   * @since 2026-10
+   */
+  public final class Handles
+  {
+    private final Variable[] variables;
+    
+    /**Position of the variable in the data, with the array index if given. */
+    private final int[] bytePos;
+    
+    /**The {@link Variable#getTypeChar()}, 'L' is stored as 'J'. */
+    private final char[] type;
+    
+    private final int[] bitMask;
+    
+    /**The maximal end position of all variables. It is tested one time for the data length. */
+    private final int zBytesNeed;
+    
+    Handles(Variable[] variables, int[] bytePos, char[] type, int[] bitMask, int zBytesNeed) {
+      this.variables = variables; this.bytePos = bytePos; this.type = type; this.bitMask = bitMask; this.zBytesNeed = zBytesNeed;
+    }
+    
+    /**Number of variables. */
+    public int size(){ return variables.length; }
+    
+    /**Returns the variable for the handle to access it alone. */
+    public Variable variable(int ixHandle){ return variables[ixHandle]; }
+    
+    /**Returns the type char of the variable, see {@link Variable#getTypeChar()}, but 'J' for 'L'. */
+    public char type(int ixHandle){ return type[ixHandle]; }
+    
+    /**Reads all variables from the current data given with {@link ByteDataSymbolicAccess#assignData(byte[], int, int, long)}.
+     * The value of the variable with the handle ix is stored in dstLong[ix] and in dstDouble[ix].
+     * A floating point value is stored truncated in dstLong, a boolean value is stored as 0 or 1.
+     * @param dstLong destination for integer values, at least {@link #size()} elements. It may be null if not used.
+     * @param dstDouble destination for all values as double, at least {@link #size()} elements. It may be null if not used.
+     * @return the time stamp of the data, see {@link Variable#getLastRefreshTime()}
+     * @throws IllegalArgumentException if no data are assigned or the data are too short for a variable.
+     */
+    public long snapshot(long[] dstLong, double[] dstDouble)
+    { final byte[] data1 = ByteDataSymbolicAccess.this.data;
+      final int ixStart = ByteDataSymbolicAccess.this.ixStartData;
+      if(data1 == null) throw new IllegalArgumentException("ByteDataSymbolicAccess - snapshot, no data assigned");
+      if(ixStart + zBytesNeed > data1.length) throw new IllegalArgumentException("ByteDataSymbolicAccess - snapshot, data too short; " + data1.length + ", requested: " + (ixStart + zBytesNeed));
+      final ByteBuffer buffer = ByteDataSymbolicAccess.this.dataView;
+      final int zVariables = bytePos.length;
+      for(int ix = 0; ix < zVariables; ++ix) {
+        final int pos = ixStart + bytePos[ix];
+        long valLong;
+        double valDouble;
+        switch(type[ix]){
+        case 'D': valDouble = buffer.getDouble(pos); valLong = (long)valDouble; break;
+        case 'F': valDouble = buffer.getFloat(pos); valLong = (long)valDouble; break;
+        case 'J': valLong = buffer.getLong(pos); valDouble = valLong; break;
+        case 'I': valLong = buffer.getInt(pos); valDouble = valLong; break;
+        case 'S': valLong = buffer.getShort(pos); valDouble = valLong; break;
+        case 'B': valLong = buffer.get(pos); valDouble = valLong; break;
+        default: valLong = (buffer.get(pos) & bitMask[ix]) == 0 ? 0 : 1; valDouble = valLong; break;  //'Z', checked in compileHandles
+        }//switch
+        if(dstLong !=null) { dstLong[ix] = valLong; }
+        if(dstDouble !=null) { dstDouble[ix] = valDouble; }
+      }
+      return ByteDataSymbolicAccess.this.timeSetNewValue;
+    }
+  }
+  
+  
   protected final Report log;
   
   private final Map<String, ByteDataSymbolicAccess.Variable> indexVariable = new TreeMap<String, ByteDataSymbolicAccess.Variable>();
@@ -380,6 +460,12 @@ public class ByteDataSymbolicAccess {
   
   private final RawDataAccess dataAccess = new RawDataAccess();
   
+  /**Invoked on any new data, null if not used. */
+  private ByteDataSymbolicRecorder recorder;
+  
+  /**View to {@link #data} for {@link Handles#snapshot(long[], double[])}, big endian adequate to {@link #dataAccess}. */
+  private ByteBuffer dataView;
+  
   public ByteDataSymbolicAccess(Report log)
   { this.log = log;
   }
@@ -404,8 +490,12 @@ public class ByteDataSymbolicAccess {
     try{  dataAccess.assign(data, length, from);
     } catch (IllegalArgumentException exc) { }
     dataAccess.setBigEndian(true);
+    if(dataView == null || dataView.array() != dataP) {
+      dataView = ByteBuffer.wrap(dataP).order(ByteOrder.BIG_ENDIAN);
+    }
     timeSetNewValue = time; 
     timeRequestNewValue = 0; 
+    if(recorder !=null) { recorder.record(); }
   }
   
   /**Replace the data bytes in the buffer.
@@ -419,8 +509,17 @@ public class ByteDataSymbolicAccess {
     int len = srclen > data.length ? data.length : srclen;
     System.arraycopy(src, srcpos, data, 0, len);
     timeSetNewValue = time;
+    if(recorder !=null) { recorder.record(); }
   }
   
+  
+  /**Sets the recorder which is invoked on any {@link #assignData(byte[], int, int, long)} and {@link #copyNewData(byte[], int, int, long)}
+   * in the thread of the caller.
+   * @param recorder null to stop recording.
+   * @since 2026-10
+   */
+  public void setRecorder(ByteDataSymbolicRecorder recorder){ this.recorder = recorder; }
+  
   public int lengthData(){ return data ==null ? 0 : data.length; }
   
   /**Returns the time stamp (seconds after 1970) of the last call of {@link VariableAccess_ifc#requestValue(long)}
@@ -455,6 +554,41 @@ public class ByteDataSymbolicAccess {
     return variable;
   }
   
+  /**Searches all variables by name one time and builds the table of them for cyclic reading with {@link Handles#snapshot(long[], double[])}.
+   * @param names The names of the registered variables, maybe with "[ix]" where ix is a number, see {@link #getFloat(String)}.
+   * @return the table, the handle of a variable is the index of its name.
+   * @throws NoSuchFieldException if a variable is not found.
+   * @throws IllegalArgumentException if the type of a variable is not a numeric or boolean type.
+   * @since 2026-10
+   */
+  public Handles compileHandles(String ... names) throws NoSuchFieldException
+  { final int zNames = names.length;
+    Variable[] variables = new Variable[zNames];
+    int[] bytePos = new int[zNames];
+    char[] type = new char[zNames];
+    int[] bitMask = new int[zNames];
+    int zBytesNeed = 0;
+    final int[] ixArrayA = new int[1];
+    for(int ix = 0; ix < zNames; ++ix) {
+      String sPathVariable = separateIndex(names[ix], ixArrayA);
+      Variable variable = getVariableAssert(sPathVariable);
+      char typeChar = variable.typeChar == 'L' ? 'J' : variable.typeChar;
+      int nrofBytes1 = variable.getNrofBytes();
+      if(nrofBytes1 == 0) {
+        if(typeChar == 'J') { nrofBytes1 = 8; }
+        else if(typeChar != 'Z') throw new IllegalArgumentException("ByteDataSymbolicAccess - compileHandles, fault type; " + names[ix] + ": " + typeChar);
+      }
+      variables[ix] = variable;
+      bytePos[ix] = ixArrayA[0] < 0 ? variable.bytePos : variable.bytePos + ixArrayA[0] * nrofBytes1;
+      type[ix] = typeChar;
+      bitMask[ix] = variable.bitMask;
+      int end = bytePos[ix] + (nrofBytes1 == 0 ? 1 : nrofBytes1);
+      if(end > zBytesNeed) { zBytesNeed = end; }
+    }
+    return new Handles(variables, bytePos, type, bitMask, zBytesNeed);
+  }
+  
+  
   public double getDouble(String name)
   { Variable variable = indexVariable.get(name);
     if(variable == null) throw new IllegalArgumentException("not found:" + name);
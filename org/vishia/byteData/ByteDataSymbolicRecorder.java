@@ -0,0 +1,428 @@
+/****************************************************************************
+ * Copyright/Copyleft:
+ *
+ * For this source the LGPL Lesser General Public License,
+ * published by the Free Software Foundation is valid.
+ * It means:
+ * 1) You can use this source without any restriction for any desired purpose.
+ * 2) You can redistribute copies of this source to everybody.
+ * 3) Every user of this source, also the user of redistribute copies
+ *    with or without payment, must accept this license for further using.
+ * 4) But the LPGL is not appropriate for a whole software product,
+ *    if this source is only a part of them. It means, the user
+ *    must publish this part of source,
+ *    but don't need to publish the whole source of the own product.
+ * 5) You can study and modify (improve) this source
+ *    for own using or for redistribution, but you have to license the
+ *    modified sources likewise under this LGPL Lesser General Public License.
+ *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+ *
+ * @author Hartmut Schorrig: hartmut.schorrig@vishia.de, www.vishia.org
+ * @version 2026-10-19  (year-month-day)
+ *******************************************************************************/
+package org.vishia.byteData;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+
+/**This class records the values of some variables of a {@link ByteDataSymbolicAccess} on any new data.
+ * It is registered with {@link ByteDataSymbolicAccess#setRecorder(ByteDataSymbolicRecorder)},
+ * then {@link #record()} is invoked on any {@link ByteDataSymbolicAccess#assignData(byte[], int, int, long)}
+ * and {@link ByteDataSymbolicAccess#copyNewData(byte[], int, int, long)}.
+ * <br><br>
+ * The values are read with {@link ByteDataSymbolicAccess.Handles#snapshot(long[], double[])} and stored in ring buffers
+ * of primitive values: one <code>long[]</code> for an integer or boolean variable, one <code>double[]</code> for a float or double variable,
+ * and one <code>long[]</code> for the time stamps of all variables. All arrays are allocated in the constructor,
+ * recording does not allocate. If the ring is full, the oldest sample is overwritten.
+ * <br><br>
+ * A sample is identified by its sequence number, counted from 0 for the first recorded sample.
+ * The available samples are from {@link #oldestSample()} to {@link #nrofSamples()} -1.
+ * The time stamps should be not decreasing, then a time window can be searched with {@link #seqOfTime(long)},
+ * copied with {@link #window(int, long, long, long[], double[])} or reduced with {@link #downsample(int, long, long, double[], double[], double[])}.
+ * <br><br>
+ * Threads: {@link #record()} should be invoked in only one thread, usual the receive thread. The query routines can be invoked
+ * in other threads. A sample which is overwritten while reading is detected, then the query is repeated.
+ * <br><br>
+ * Optionally the samples are written in a memory mapped file too, see {@link #spillTo(File, int)}.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public class ByteDataSymbolicRecorder
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut corr: {@link #downsample(int, long, long, double[], double[], double[])} checks the arguments.
+   * <li>2026-10-19 Hartmut created, values of a fast cyclic receive should be stored without creating objects.
+   * </ul>
+   * <br><br>
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   */
+  public final static String version = "2026-10-19";
+
+
+  /**Identification of a spill file, "BDSR". */
+  private final static int magicSpill = 0x42445352;
+
+  /**Version of the spill file format. */
+  private final static int versionSpill = 1;
+
+  /**Position of the number of written samples in the spill file header. */
+  private final static int posSpillSeq = 24;
+
+  private final ByteDataSymbolicAccess.Handles handles;
+
+  private final int capacity;
+
+  /**Time stamps of the samples, index is sequence % capacity. */
+  private final long[] ringTime;
+
+  /**One ring per variable, null for a float or double variable. */
+  private final long[][] ringLong;
+
+  /**One ring per variable, null for an integer or boolean variable. */
+  private final double[][] ringDouble;
+
+  /**Destination for {@link ByteDataSymbolicAccess.Handles#snapshot(long[], double[])}. */
+  private final long[] valLong;
+
+  private final double[] valDouble;
+
+  /**Number of all recorded samples. The next sample is stored at seqWr % capacity.
+   * It is set after storing the sample, hence a reader sees only complete samples. */
+  private volatile long seqWr;
+
+  /**The spill file, null if not used. */
+  private RandomAccessFile spillFile;
+
+  private MappedByteBuffer spill;
+
+  private int spillCapacity, spillHeaderSize, spillRecordSize;
+
+
+  /**Creates the recorder and allocates the ring buffers.
+   * It should be registered with {@link ByteDataSymbolicAccess#setRecorder(ByteDataSymbolicRecorder)} after them.
+   * @param access the data
+   * @param capacity number of samples in the rings
+   * @param names names of the variables, see {@link ByteDataSymbolicAccess#compileHandles(String...)}.
+   *   The index of the name is the index of the variable in the query routines.
+   * @throws NoSuchFieldException if a variable is not found.
+   */
+  public ByteDataSymbolicRecorder(ByteDataSymbolicAccess access, int capacity, String ... names) throws NoSuchFieldException
+  { if(capacity <= 0) throw new IllegalArgumentException("ByteDataSymbolicRecorder - capacity should be >0; " + capacity);
+    this.handles = access.compileHandles(names);
+    this.capacity = capacity;
+    final int zVariables = this.handles.size();
+    this.ringTime = new long[capacity];
+    this.ringLong = new long[zVariables][];
+    this.ringDouble = new double[zVariables][];
+    for(int ix = 0; ix < zVariables; ++ix) {
+      if(isFloat(ix)) { this.ringDouble[ix] = new double[capacity]; }
+      else { this.ringLong[ix] = new long[capacity]; }
+    }
+    this.valLong = new long[zVariables];
+    this.valDouble = new double[zVariables];
+  }
+
+
+
+  /**Stores the current values of the variables and the time stamp of the data as next sample.
+   * It is invoked from {@link ByteDataSymbolicAccess} on new data. It does not allocate.
+   */
+  public void record()
+  { final long seq = this.seqWr;
+    final long time = this.handles.snapshot(this.valLong, this.valDouble);
+    final int ixRing = (int)(seq % this.capacity);
+    this.ringTime[ixRing] = time;
+    final int zVariables = this.valLong.length;
+    for(int ix = 0; ix < zVariables; ++ix) {
+      double[] ringDouble1 = this.ringDouble[ix];
+      if(ringDouble1 !=null) { ringDouble1[ixRing] = this.valDouble[ix]; }
+      else { this.ringLong[ix][ixRing] = this.valLong[ix]; }
+    }
+    if(this.spill !=null) {
+      int pos = this.spillHeaderSize + (int)(seq % this.spillCapacity) * this.spillRecordSize;
+      this.spill.putLong(pos, time);
+      for(int ix = 0; ix < zVariables; ++ix) {
+        pos += 8;
+        if(this.ringDouble[ix] !=null) { this.spill.putDouble(pos, this.valDouble[ix]); }
+        else { this.spill.putLong(pos, this.valLong[ix]); }
+      }
+      this.spill.putLong(posSpillSeq, seq +1);
+    }
+    this.seqWr = seq +1;
+  }
+
+
+
+  /**Number of variables. */
+  public int size(){ return this.valLong.length; }
+
+  /**Number of samples in the rings. */
+  public int capacity(){ return this.capacity; }
+
+  /**true if the variable is stored as double, false if it is stored as long. */
+  public boolean isFloat(int ixVariable){
+    char type = this.handles.type(ixVariable);
+    return type == 'F' || type == 'D';
+  }
+
+  /**Number of all recorded samples. It is the sequence number of the next sample. */
+  public long nrofSamples(){ return this.seqWr; }
+
+  /**Sequence number of the oldest sample which is available.
+   * The sample before is not available because it may be overwritten just now by {@link #record()}. */
+  public long oldestSample(){
+    long seq = this.seqWr - this.capacity +1;
+    return seq < 0 ? 0 : seq;
+  }
+
+
+  /**Returns the time stamp of the sample.
+   * @throws IndexOutOfBoundsException if the sample is not available.
+   */
+  public long time(long seq){
+    checkSeq(seq);
+    return this.ringTime[(int)(seq % this.capacity)];
+  }
+
+
+  /**Returns the value of the variable as double.
+   * @throws IndexOutOfBoundsException if the sample is not available.
+   */
+  public double getDouble(int ixVariable, long seq){
+    checkSeq(seq);
+    return value(ixVariable, (int)(seq % this.capacity));
+  }
+
+
+  /**Returns the value of the variable as long, a float or double value is truncated.
+   * @throws IndexOutOfBoundsException if the sample is not available.
+   */
+  public long getLong(int ixVariable, long seq){
+    checkSeq(seq);
+    int ixRing = (int)(seq % this.capacity);
+    long[] ringLong1 = this.ringLong[ixVariable];
+    return ringLong1 !=null ? ringLong1[ixRing] : (long)this.ringDouble[ixVariable][ixRing];
+  }
+
+
+
+  /**Searches the first available sample with a time stamp >= time with binary search.
+   * @return sequence number, {@link #nrofSamples()} if all samples are older.
+   */
+  public long seqOfTime(long time)
+  { long seqHi = this.seqWr;
+    long seqLo = seqHi - this.capacity +1;                 //+1: the oldest may be overwritten just now.
+    if(seqLo < 0) { seqLo = 0; }
+    while(seqLo < seqHi) {
+      long seqMid = (seqLo + seqHi) >>> 1;
+      if(this.ringTime[(int)(seqMid % this.capacity)] < time) { seqLo = seqMid +1; }
+      else { seqHi = seqMid; }
+    }
+    return seqLo;
+  }
+
+
+
+  /**Copies all samples of the variable in the time window timeFrom &lt;= time &lt; timeTo.
+   * @param dstTime destination for the time stamps, it may be null.
+   * @param dstValue destination for the values.
+   * @return number of copied samples. It is limited to the length of dstValue, then the first samples of the window are copied.
+   */
+  public int window(int ixVariable, long timeFrom, long timeTo, long[] dstTime, double[] dstValue)
+  { int zDst;
+    long seqFrom;
+    do {
+      seqFrom = seqOfTime(timeFrom);
+      long seq = seqFrom;
+      final long seqEnd = this.seqWr;
+      zDst = 0;
+      while(seq < seqEnd && zDst < dstValue.length) {
+        int ixRing = (int)(seq % this.capacity);
+        long time = this.ringTime[ixRing];
+        if(time >= timeTo) break;
+        if(dstTime !=null) { dstTime[zDst] = time; }
+        dstValue[zDst] = value(ixVariable, ixRing);
+        zDst +=1;
+        seq +=1;
+      }
+    } while(isOverwritten(seqFrom));                         //repeat because the recording was faster.
+    return zDst;
+  }
+
+
+
+  /**Builds the minimum, maximum and mean value of the variable for buckets of time.
+   * The time window timeFrom &lt;= time &lt; timeTo is divided in buckets of the same duration.
+   * The number of buckets is the length of the given destination arrays. For a bucket without samples NaN is stored.
+   * @param dstMin destination for the minimum, it may be null.
+   * @param dstMax destination for the maximum, it may be null.
+   * @param dstMean destination for the mean value, it may be null.
+   *   At least one of the destinations should be given. All given destinations should have the same length.
+   * @return number of samples in the window.
+   * @throws IllegalArgumentException if all destinations are null, the lengths are different or timeTo &lt;= timeFrom.
+   */
+  public int downsample(int ixVariable, long timeFrom, long timeTo, double[] dstMin, double[] dstMax, double[] dstMean)
+  { final int zBuckets = dstMin !=null ? dstMin.length : dstMax !=null ? dstMax.length : dstMean !=null ? dstMean.length : -1;
+    if(zBuckets < 0) throw new IllegalArgumentException("ByteDataSymbolicRecorder - downsample without destination");
+    if(  dstMax !=null && dstMax.length != zBuckets || dstMean !=null && dstMean.length != zBuckets) 
+      throw new IllegalArgumentException("ByteDataSymbolicRecorder - downsample, destinations should have the same length; " + zBuckets);
+    if(timeTo <= timeFrom) throw new IllegalArgumentException("ByteDataSymbolicRecorder - downsample, timeTo should be > timeFrom; " + timeFrom + ".." + timeTo);
+    final double bucketsPerTime = (double)zBuckets / (timeTo - timeFrom);
+    int zSamples;
+    long seqFrom;
+    do {
+      seqFrom = seqOfTime(timeFrom);
+      long seq = seqFrom;
+      final long seqEnd = this.seqWr;
+      zSamples = 0;
+      int ixBucket = 0;
+      int zInBucket = 0;
+      double min = 0, max = 0, sum = 0;
+      while(true) {
+        int ixBucketSample = zBuckets;                       //on end of samples: store the rest buckets
+        double val = 0;
+        if(seq < seqEnd) {
+          int ixRing = (int)(seq % this.capacity);
+          long time = this.ringTime[ixRing];
+          if(time < timeTo) {
+            ixBucketSample = (int)((time - timeFrom) * bucketsPerTime);
+            if(ixBucketSample >= zBuckets) { ixBucketSample = zBuckets -1; }  //rounding
+            val = value(ixVariable, ixRing);
+          }
+        }
+        while(ixBucket < ixBucketSample) {                   //store the current bucket and empty buckets
+          boolean bEmpty = zInBucket == 0;
+          if(dstMin !=null) { dstMin[ixBucket] = bEmpty ? Double.NaN : min; }
+          if(dstMax !=null) { dstMax[ixBucket] = bEmpty ? Double.NaN : max; }
+          if(dstMean !=null) { dstMean[ixBucket] = bEmpty ? Double.NaN : sum / zInBucket; }
+          zInBucket = 0;
+          ixBucket +=1;
+        }
+        if(ixBucketSample == zBuckets) break;
+        if(zInBucket == 0) { min = max = sum = val; }
+        else {
+          if(val < min) { min = val; }
+          if(val > max) { max = val; }
+          sum += val;
+        }
+        zInBucket +=1;
+        zSamples +=1;
+        seq +=1;
+      }
+    } while(isOverwritten(seqFrom));
+    return zSamples;
+  }
+
+
+
+  /**Writes all further samples in a memory mapped file too. The file is a ring with the given capacity.
+   * It should be invoked before recording is started. The file format is:
+   * <ul>
+   * <li>Header: int magic "BDSR", int version 1, int number of variables, int capacity, int size of a record, int size of the header,
+   *   long number of written samples. Then for any variable: char type, short length and the name in UTF-8.
+   *   The header is filled with 0 to a multiple of 8.
+   * <li>Records of sample % capacity: long time stamp, then 8 bytes per variable, a long or a double for 'F' and 'D'.
+   * </ul>
+   * All numbers are big endian.
+   * @param file the file is created or overwritten.
+   * @param capacityFile number of records in the file.
+   * @throws IOException
+   */
+  public void spillTo(File file, int capacityFile) throws IOException
+  { if(capacityFile <= 0) throw new IllegalArgumentException("ByteDataSymbolicRecorder - capacityFile should be >0; " + capacityFile);
+    close();
+    final int zVariables = size();
+    int zHeader = 32;
+    byte[][] names = new byte[zVariables][];
+    for(int ix = 0; ix < zVariables; ++ix) {
+      names[ix] = this.handles.variable(ix).name.getBytes(StandardCharsets.UTF_8);
+      zHeader += 4 + names[ix].length;
+    }
+    zHeader = (zHeader + 7) & ~7;
+    int zRecord = 8 * (zVariables +1);
+    long zFile = zHeader + (long)zRecord * capacityFile;
+    if(zFile > Integer.MAX_VALUE) throw new IllegalArgumentException("ByteDataSymbolicRecorder - spill file too large; " + zFile);
+    RandomAccessFile raf = new RandomAccessFile(file, "rw");
+    try {
+      raf.setLength(0);
+      MappedByteBuffer map = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, zFile);
+      map.putInt(magicSpill).putInt(versionSpill).putInt(zVariables).putInt(capacityFile).putInt(zRecord).putInt(zHeader);
+      map.putLong(posSpillSeq, 0);
+      map.position(32);
+      for(int ix = 0; ix < zVariables; ++ix) {
+        map.putChar(this.handles.type(ix)).putShort((short)names[ix].length).put(names[ix]);
+      }
+      this.spillCapacity = capacityFile;
+      this.spillHeaderSize = zHeader;
+      this.spillRecordSize = zRecord;
+      this.spillFile = raf;
+      this.spill = map;
+    } catch(IOException exc) {
+      raf.close();
+      throw exc;
+    }
+  }
+
+
+
+  /**Stops writing to the spill file. The mapped content is forced to the file.
+   * Note: The mapping itself is released by the garbage collector.
+   */
+  public void close()
+  { if(this.spill !=null) {
+      this.spill.force();
+      this.spill = null;
+    }
+    if(this.spillFile !=null) {
+      try { this.spillFile.close(); } catch(IOException exc) { }
+      this.spillFile = null;
+    }
+  }
+
+
+
+  private double value(int ixVariable, int ixRing)
+  { double[] ringDouble1 = this.ringDouble[ixVariable];
+    return ringDouble1 !=null ? ringDouble1[ixRing] : this.ringLong[ixVariable][ixRing];
+  }
+
+
+  /**true if the sample seq may be overwritten meanwhile by {@link #record()}. */
+  private boolean isOverwritten(long seq){ return seq < this.seqWr - this.capacity +1; }
+
+
+  private void checkSeq(long seq)
+  { if(seq < 0 || seq >= this.seqWr || isOverwritten(seq)) {
+      throw new IndexOutOfBoundsException("ByteDataSymbolicRecorder - sample not available; " + seq);
+    }
+  }
+
+}
@@ -73,7 +73,8 @@ public class ObjectArraySet_Jc extends ObjectArray_Jc
         //objectarrays einlesen
         
         
-        /*TODO redesign
+        /*TODO redesign. Note: data is null if the data are given in a ByteBuffer, see ByteDataAccessBase#assign(ByteBuffer, int, int).
+           The total length is getLengthTotal(), the data are either data or dataBuffer(). 
         while ( ixBegin() < ixEnd() )
         {
           if(getReflectionClass() != 0)//ObjectArray Class
@@ -82,14 +83,16 @@ public class ObjectArraySet_Jc extends ObjectArray_Jc
               objectArrays.add(newItem );
               //The newItem should be a child of the whole data accessed with this.
               //use addChild(newItem, length). The length can be gotten from information in the child itself.
-              newItem.assign(data, data.length, ixBegin());
+              if(data == null) { newItem.assign(dataBuffer(), getLengthTotal(), ixBegin()); }
+              else { newItem.assign(data, getLengthTotal(), ixBegin()); }
            }
 
               int lengthCurrentElement = getLength();
               if (lengthCurrentElement == 0) 
                 throw new ParseException("Position: " + ixBegin(), ixBegin());
               //it is the rest of data. This seems an unnecessary operation   
-              assign(data, data.length, ixBegin() + lengthCurrentElement);
+              if(data == null) { assign(dataBuffer(), getLengthTotal(), ixBegin() + lengthCurrentElement); }
+              else { assign(data, getLengthTotal(), ixBegin() + lengthCurrentElement); }
          }
          */
       } //setImageData(byte[])
@@ -12,6 +12,8 @@ public class CheckAllDepFile
 
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut chg: {@link #putInfoInput(long, long, String, String, boolean)} as own routine 
+   *   because it is used for the binary {@link DependencyDb} too.
    * <li>2012-12-25 Hartmut new: Inserted in the Zbnf component because it is an integral part of the Zmake concept
    *   for C-compilation.
    * <li>2011-05-00 Hartmut created: It was necessary for C-compilation to check real dependencies in a fast way.
@@ -42,7 +44,7 @@ public class CheckAllDepFile
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public static final int version = 20121225;
+  public static final int version = 20261019;
 
   
   final CfgData cfgData;
@@ -102,35 +104,13 @@ public class CheckAllDepFile
       String[] lineParts = sLine.split(";");
       String sDeepness = lineParts[0].trim();
       char cDeepness = sDeepness.charAt(0);
-      final long dateBuild, dateSource;
-      final String sAbsPathFileBuild, sAbsPathFileSource;
-      final File fileMirror, fileSource;
       if(lineParts.length >5){
-        dateBuild = Long.parseLong(lineParts[1].trim());
-        dateSource = Long.parseLong(lineParts[5].trim());
-        sAbsPathFileBuild = lineParts[2].trim();
-        sAbsPathFileSource = lineParts[4].trim();
-        fileMirror = new File(sAbsPathFileBuild);
-        fileSource = new File(sAbsPathFileSource);
+        infoRead = putInfoInput(Long.parseLong(lineParts[1].trim()), Long.parseLong(lineParts[5].trim())
+          , lineParts[2].trim(), lineParts[4].trim(), true);
       } else {
-        dateBuild = dateSource = Long.parseLong(lineParts[1].trim());
-        sAbsPathFileBuild = sAbsPathFileSource = lineParts[2].trim();
-        fileMirror = null;
-        fileSource = new File(sAbsPathFileSource);
-      }
-      //check the timestamps from .dep-file-line and reality:
-      if( Math.abs((int)(fileSource.lastModified() - dateSource)) < maxTimeAbbreviation
-        && (fileMirror==null || Math.abs((int)(fileMirror.lastModified() - dateBuild)) < maxTimeAbbreviation)
-        ){
-        //the source is not change in comparison to the last build (.dep-file).
-        //store the info with all its unchangend primary dependencies:
-        String sLocalPath = cfgData.checkIsInSourcePool(sAbsPathFileSource);
-        boolean isSourceFile = sLocalPath !=null; 
-        String sFilePath = isSourceFile ? sLocalPath : sAbsPathFileSource;
-        infoRead = new InfoFileDependencies(sFilePath, fileSource, fileMirror, isSourceFile, console);
-        checkData.indexInfoInput.put(sAbsPathFileSource, infoRead);
-      } else {
-        infoRead = null;
+        long dateSource = Long.parseLong(lineParts[1].trim());
+        String sAbsPathFileSource = lineParts[2].trim();
+        infoRead = putInfoInput(dateSource, dateSource, sAbsPathFileSource, sAbsPathFileSource, false);
       }
     } else {
       infoRead = null;  //read the first line.
@@ -160,6 +140,39 @@ public class CheckAllDepFile
     return sLine;
   }
   
+  
+  
+  /**Stores the info of a file from the dependency input in {@link CheckData#indexInfoInput} if the file is unchanged.
+   * @param dateBuild timestamp of the mirror file from the last build
+   * @param dateSource timestamp of the source file from the last build
+   * @param sAbsPathFileBuild path of the mirror file
+   * @param sAbsPathFileSource canonical path of the source file, it is the key
+   * @param bMirror false then the mirror file is not used.
+   * @return null if the file is changed. Then it should be checked. 
+   *   Else the info where the {@link InfoFileDependencies#includedPrimaryDeps} should be added.
+   */
+  InfoFileDependencies putInfoInput(long dateBuild, long dateSource, String sAbsPathFileBuild, String sAbsPathFileSource, boolean bMirror)
+  {
+    final InfoFileDependencies infoRead;
+    final File fileMirror = bMirror ? new File(sAbsPathFileBuild) : null;
+    final File fileSource = new File(sAbsPathFileSource);
+    //check the timestamps from .dep-file-line and reality:
+    if( Math.abs((int)(fileSource.lastModified() - dateSource)) < maxTimeAbbreviation
+      && (fileMirror==null || Math.abs((int)(fileMirror.lastModified() - dateBuild)) < maxTimeAbbreviation)
+      ){
+      //the source is not change in comparison to the last build (.dep-file).
+      //store the info with all its unchangend primary dependencies:
+      String sLocalPath = cfgData.checkIsInSourcePool(sAbsPathFileSource);
+      boolean isSourceFile = sLocalPath !=null; 
+      String sFilePath = isSourceFile ? sLocalPath : sAbsPathFileSource;
+      infoRead = new InfoFileDependencies(sFilePath, fileSource, fileMirror, isSourceFile, console);
+      checkData.indexInfoInput.put(sAbsPathFileSource, infoRead);
+    } else {
+      infoRead = null;
+    }
+    return infoRead;
+  }
+  
 
   
   
@@ -14,6 +14,7 @@ public class CheckData
 
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: {@link #indexFingerprintInput}
    * <li>2012-12-25 Hartmut new: Inserted in the Zbnf component because it is an integral part of the Zmake concept
    *   for C-compilation.
    * <li>2011-05-00 Hartmut created: It was necessary for C-compilation to check real dependencies in a fast way.
@@ -44,7 +45,7 @@ public class CheckData
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public static final int version = 20121225;
+  public static final int version = 20261019;
 
   
 
@@ -69,6 +70,12 @@ public class CheckData
    * */
   final Map<String, InfoFileDependencies> indexInfoInput = new TreeMap<String, InfoFileDependencies>();
 
+  /**The fingerprints of the code of all files from the last run, read from the {@link DependencyDb}.
+   * Key is the canonical path. It is used for changed files which are not contained in {@link #indexInfoInput}
+   * to detect whether only comments or white spaces are changed.
+   * @since 2026-10 */
+  final Map<String, Long> indexFingerprintInput = new TreeMap<String, Long>();
+  
   /**All found and parsed include files sorted by name in the include statement, with relative paths. 
    * It is the path which was written in the source-files in the include statement.
    * If the same included file is processed already, it is found here quickly.*/
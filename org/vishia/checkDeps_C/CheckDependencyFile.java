@@ -6,6 +6,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -94,6 +95,18 @@ public class CheckDependencyFile
 
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut corr: {@link #checkSource(File, String, File, TreeMap, ObjectFileDeps, int, Map)} uses the
+   *   {@link IncludeScanner} also with the {@link DependencyDb}, the scanner builds the fingerprint.
+   * <li>2026-10-19 Hartmut new: {@link #checkSource(File, String, File, TreeMap, ObjectFileDeps, int, Map)} uses the
+   *   fingerprint of the code if the {@link DependencyDb} is used. A file with the same fingerprint as on the last run
+   *   is not compared with the mirror file and it is not newly, only its timestamp is changed.
+   * <li>2026-10-19 Hartmut new: {@link #checkSource(File, String, File, TreeMap, ObjectFileDeps, int, Map)} uses the 
+   *   {@link IncludeScanner} if the file is not compared with a mirror file. {@link NextCodeLine#codeOfLine(String)} as own routine.
+   * <li>2026-10-19 Hartmut new: {@link #readDependencyDb(String)}: the dependencies can be stored in a binary file
+   *   which is read faster than the text file, see {@link DependencyDb}.
+   * <li>2026-10-19 Hartmut new: {@link #processSrcfiles(List)} reads all sources and included files in parallel before
+   *   the sequential processing. All files are read only one time, see {@link SrcFileScanCache}. 
+   *   {@link #checkSource(File, String, File, TreeMap, ObjectFileDeps, int, Map)} gets the code lines from there.
    * <li>2017-08-30 Hartmut new: {@link #setDirObj(String)} throws an Exception this behavior is set by {@link #bExc}.
    * <li>2017-08-30 Hartmut new: {@link #processSrcfile(File, String)} only with this 2 arguments should be used in zmake, see new documentation.
    * <li>2014-05-10 Hartmut new: {@link #processSrcfile(File, String, File, String)} with given Object file.
@@ -138,7 +151,7 @@ public class CheckDependencyFile
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public static final String version = "2017-08-30";
+  public static final String version = "2026-10-19";
 
   /**Contains all dependencies, read from file and processed. */
   final CheckData checkData;
@@ -175,11 +188,19 @@ public class CheckDependencyFile
    */
   String sFileDeps;
   
+  /**The binary dependency file, null if not used. 
+   * @since 2026-10 */
+  DependencyDb depDb;
+  
   List<String> dirObjRoots = new LinkedList<String>();
 
   
   String sDbgLocalFile;
   
+  /**The code lines of all read files. 
+   * @since 2026-10 */
+  final SrcFileScanCache scanCache = new SrcFileScanCache(this);
+  
   
   /**Constructor. The instance can be used for all files, which are located in the same source pool
    * and in the same object pool.
@@ -275,6 +296,20 @@ public class CheckDependencyFile
   
   
   
+  /**Sets the binary dependency file and reads it if it exists, alternatively or additionally to {@link #readDependencies(String)}.
+   * The file is written with {@link #writeDependencies()}.
+   * @param sFileDb path of the binary file.
+   * @return true if the file was read. false if it does not exist or it is faulty.
+   *   Then {@link #readDependencies(String)} can be invoked with the text file as input.
+   * @since 2026-10
+   */
+  public boolean readDependencyDb(String sFileDb){
+    this.depDb = new DependencyDb(new File(sFileDb), readerInputDepFile);
+    return this.depDb.read();
+  }
+  
+  
+  
   
   
   
@@ -301,6 +336,18 @@ public class CheckDependencyFile
     }
     return fileSrcMirror;  //may be null
   }
+  
+  
+  /**Returns the mirror file adequate {@link #getFileSrcMirror(String)} but without creating its directory.
+   * It is used in the parallel scan of files.
+   * @param sCanonicalPath canonical path of the source file.
+   * @return null if the file is not in the source pool or the mirror is not used.
+   * @since 2026-10
+   */
+  File fileSrcMirrorPath(String sCanonicalPath){
+    String sLocalPath = dirSrcMirrorRoot == null ? null : cfgData.checkIsInSourcePool(sCanonicalPath);
+    return sLocalPath == null ? null : new File(this.dirSrcMirrorRoot, sLocalPath);
+  }
 
 
 
@@ -392,6 +439,26 @@ public class CheckDependencyFile
   }
   
   
+  /**Processes all given source files adequate {@link #processSrcfile(String)}.
+   * At first all sources and all included files are read in parallel, any file only one time. 
+   * Then the sources are processed one after another in the given order without reading the files again.
+   * Hence the dependencies are the same as calling {@link #processSrcfile(String)} for any file.
+   * @param srcs any element in form "path:local/path/file.c" or "path/file.c"
+   * @since 2026-10
+   */
+  public void processSrcfiles(List<String> srcs)  {
+    List<File> filesSrc = new ArrayList<File>();
+    for(String src: srcs) {
+      int posSep = src.indexOf(':', 2);
+      filesSrc.add(new File(posSep >0 ? src.substring(0, posSep) + "/" + src.substring(posSep+1) : src).getAbsoluteFile());
+    }
+    this.scanCache.prescan(filesSrc);
+    for(String src: srcs) {
+      processSrcfile(src);
+    }
+  }
+  
+  
   /**See {@link #processSrcfile(File, String)}
    * @param sObjExt This attribute is unnecessary
    * @deprecated: Use {@link #processSrcfile(File, String, String)}
@@ -540,15 +607,29 @@ public class CheckDependencyFile
     long timestampSrcNewest = 0;
     final String sFileSrcGenName = fileSrcGen.getName();
     String sLineSrc = null, sLineMirror = null;
-    NextCodeLine codeLineSrc = new NextCodeLine(fileSrcGen); //contains a reader
-    final NextCodeLine codeLineMirror;
+    final String[] codeLinesSrc;
+    final String[] codeLinesMirror;
+    int ixLine = 0;
     InfoFileDependencies infoDepsOfFile = new InfoFileDependencies(sFileSrgGenAbs, fileSrcGen
       , fileSrcMirror, fileSrcMirror !=null, console);
+    //The fingerprint of the code is used only with the binary dependency file, it is stored there. 
+    //If it is the same as in the last run, only comments or white spaces are changed.
+    final boolean bSameFingerprint;
+    if(depDb !=null){
+      infoDepsOfFile.fingerprint = scanCache.fingerprint(fileSrcGen);
+      Long fingerprintLast = checkData.indexFingerprintInput.get(sFileSrgGenAbs);
+      bSameFingerprint = fingerprintLast !=null && fingerprintLast.longValue() == infoDepsOfFile.fingerprint;
+    } else {
+      bSameFingerprint = false;
+    }
     if(fileSrcMirror ==null || !fileSrcMirror.exists()){
-      codeLineMirror = null;
+      codeLinesSrc = scanCache.includeLines(fileSrcGen); //only the include lines are used, the fingerprint is built with them.
+      codeLinesMirror = null;
       nEqual = 0;
     } else {
-      codeLineMirror = new NextCodeLine(fileSrcMirror);
+      codeLinesSrc = scanCache.codeLines(fileSrcGen); //read only if not done already
+      //the mirror has the same code as the source on last run, it is not necessary to compare.
+      codeLinesMirror = bSameFingerprint ? null : scanCache.codeLines(fileSrcMirror);
       nEqual = 2;  //presume lines are equal
     }
     console.reportln(MainCmdLogging_ifc.debug, "checkFile; " + sFileSrgGenAbs);
@@ -557,10 +638,11 @@ public class CheckDependencyFile
     
     final String sDirCurrentFile = FileSystem.getCanonicalPath(fileSrcGen.getParentFile());
     do{
-      sLineSrc = codeLineSrc.nextCodeLine();   //skips over all empty lines, forex lines which are commented with //
-      if(codeLineMirror !=null){
-        sLineMirror = codeLineMirror.nextCodeLine();
+      sLineSrc = ixLine < codeLinesSrc.length ? codeLinesSrc[ixLine] : null;   //without empty lines, forex lines which are commented with //
+      if(codeLinesMirror !=null){
+        sLineMirror = ixLine < codeLinesMirror.length ? codeLinesMirror[ixLine] : null;
       }
+      ixLine +=1;
       if(sLineMirror !=null && sLineMirror.contains("buildValidityForDataItems"))
         stop();
       if(sLineSrc != null){
@@ -597,11 +679,14 @@ public class CheckDependencyFile
           stop();
       }
     } while(sLineSrc != null); //this.args.evalDeps));
-    codeLineSrc.close();
-    if(codeLineMirror !=null){ codeLineMirror.close(); }
     
     final long timestampSrc;
-    if(fileSrcMirror ==null){
+    if(fileSrcMirror ==null && bSameFingerprint){
+      //no mirror file, changed date against dependency file entry, but the same code as in the last run:
+      infoDepsOfFile.notifyChangedTimestamp();
+      timestampSrc = fileSrcGen.lastModified();
+    }
+    else if(fileSrcMirror ==null){
       //no mirror file and no dependency file or changed date against dependency file entry: This file is newly.
       infoDepsOfFile.notifyNewly(objDeps);
       /*if(objDeps.checkedNewer(infoDepsOfFile, console)){
@@ -977,7 +1062,16 @@ public class CheckDependencyFile
    * @return
    */
   public String writeDependencies(){
-    InfoFileDependencies.writeAllBackDeps(sFileDeps, checkData.indexAllInclFilesAbsPath);
+    if(sFileDeps !=null) {
+      InfoFileDependencies.writeAllBackDeps(sFileDeps, checkData.indexAllInclFilesAbsPath);
+    }
+    if(depDb !=null) {
+      String sError = depDb.write(checkData.indexAllInclFilesAbsPath);
+      if(sError !=null) {
+        if(bExc) throw new IllegalArgumentException(sError);
+        return sError;
+      }
+    }
     return "";
   }
   
@@ -993,11 +1087,11 @@ public class CheckDependencyFile
   
   
   /**Helper class to get the next line in a source file without comment. */
-  private static class NextCodeLine
+  static class NextCodeLine
   {
     boolean lastWasCommentStart;
     
-    BufferedReader reader;
+    final BufferedReader reader;
     
     NextCodeLine(File file){
       try{
@@ -1005,62 +1099,74 @@ public class CheckDependencyFile
       } catch(FileNotFoundException exc){ throw new RuntimeException("unexpected: " + exc.getMessage()); }
     }
     
+    /**Only to use {@link #codeOfLine(String)}, see {@link IncludeScanner}. */
+    NextCodeLine(){
+      reader = null;
+    }
+    
     String nextCodeLine(){
-      String sLine = null;
-      boolean repeatSearchCommentEnd;
+      String sLine;
       do{
-        repeatSearchCommentEnd = false; //set if necessary.
         try{ sLine = reader.readLine(); }
         catch(IOException exc){ throw new RuntimeException("unexpected"); }
-        if(sLine !=null){
-          if(sLine.contains("buildValidityForDataItems"))
-            stop();
+        if(sLine ==null) return null;
+        sLine = codeOfLine(sLine);
+      } while(sLine == null);
+      return sLine;
+    }
+    
+    
+    /**Removes the comments from the line, regarding a comment from the last line.
+     * @param sLine one line of the file
+     * @return the trimmed code of the line or null if the line contains only comment or white spaces.
+     */
+    String codeOfLine(String sLine){
+      boolean repeatSearchCommentEnd = false;
+      if(sLine.contains("buildValidityForDataItems"))
+        stop();
 
-          int posLineComment = sLine.indexOf("//");
-          if(posLineComment >=0){ sLine = sLine.substring(0, posLineComment); }
-          if(lastWasCommentStart){
-            //the last line has contained a comment start, now check whether */ is found.
-            int posCommentEnd = sLine.indexOf("*/");
-            if(posCommentEnd <0){ //no */ found
-              repeatSearchCommentEnd = true;
+      int posLineComment = sLine.indexOf("//");
+      if(posLineComment >=0){ sLine = sLine.substring(0, posLineComment); }
+      if(lastWasCommentStart){
+        //the last line has contained a comment start, now check whether */ is found.
+        int posCommentEnd = sLine.indexOf("*/");
+        if(posCommentEnd <0){ //no */ found
+          repeatSearchCommentEnd = true;
+        } else {
+          lastWasCommentStart = false;
+          sLine = sLine.substring(posCommentEnd + 2);
+        }
+      }  
+      if(!lastWasCommentStart) {  //NOTE: extra test of /*, may be situation ...*/  xx /*
+        //normal line, check if the line starts a comment over more as one line.
+        int posComment;
+        boolean repeatComment;
+        do {
+          if((posComment= sLine.indexOf("/*"))>=0){
+            //A /* is found, now check whether the comment is closed in the same line:
+            //int posCommentEnd = sLine.substring(0, posComment).lastIndexOf("*/");
+            int posCommentEnd = sLine.indexOf("*/", posComment);
+            if(posCommentEnd < posComment){  //not found or */ after last /*
+              //it is a line which starts with a /* for a line-block-comment:
+              repeatSearchCommentEnd = false;  //remain false, set true in the next line. because start of line shoule be returned
+              lastWasCommentStart = true;
+              sLine = sLine.substring(0, posComment);
+              repeatComment = false;
             } else {
-              lastWasCommentStart = false;
-              sLine = sLine.substring(posCommentEnd + 2);
+              //the line contains a inline comment. remove it. Don't compare it.
+              sLine = sLine.substring(0, posComment) + sLine.substring(posCommentEnd+2);
+              repeatComment = true;
             }
-          }  
-          if(!lastWasCommentStart) {  //NOTE: extra test of /*, may be situation ...*/  xx /*
-            //normal line, check if the line starts a comment over more as one line.
-            int posComment;
-            boolean repeatComment;
-            do {
-              if((posComment= sLine.indexOf("/*"))>=0){
-                //A /* is found, now check whether the comment is closed in the same line:
-                //int posCommentEnd = sLine.substring(0, posComment).lastIndexOf("*/");
-                int posCommentEnd = sLine.indexOf("*/", posComment);
-                if(posCommentEnd < posComment){  //not found or */ after last /*
-                  //it is a line which starts with a /* for a line-block-comment:
-                  repeatSearchCommentEnd = false;  //remain false, set true in the next line. because start of line shoule be returned
-                  lastWasCommentStart = true;
-                  sLine = sLine.substring(0, posComment);
-                  repeatComment = false;
-                } else {
-                  //the line contains a inline comment. remove it. Don't compare it.
-                  sLine = sLine.substring(0, posComment) + sLine.substring(posCommentEnd+2);
-                  repeatComment = true;
-                }
-              } else {
-                repeatComment = false;
-              }
-            } while(repeatComment);
+          } else {
+            repeatComment = false;
           }
-        }
-        if(!repeatSearchCommentEnd && sLine !=null){
-          //detect whether its an empty line. 
-          //Second is approach: ignore leading and trailing spaces for comparison
-          sLine = sLine.trim();  
-        }
-      } while(sLine != null && (repeatSearchCommentEnd || sLine.length() == 0));
-      return sLine;
+        } while(repeatComment);
+      }
+      if(repeatSearchCommentEnd) return null;
+      //detect whether its an empty line. 
+      //Second is approach: ignore leading and trailing spaces for comparison
+      sLine = sLine.trim();  
+      return sLine.length() == 0 ? null : sLine;
     }
     
     void close()
@@ -28,11 +28,14 @@ public class CheckDeps {
       this.checkDepfile.setDirObj(sObjExt);
     }
     this.checkDepfile.readCfgData(args.sFileCfg, args.currdir);
-    this.checkDepfile.readDependencies(args.sFileDep);
-    System.out.println("checkDeps_C: " + args.sFileDep + " read successfully");
-    for(String src : args.pathsSrcGen) {
-      this.checkDepfile.processSrcfile(src);
+    if(args.sFileDepDb !=null && this.checkDepfile.readDependencyDb(args.sFileDepDb)) {
+      System.out.println("checkDeps_C: " + args.sFileDepDb + " read successfully");
+      if(args.sFileDep !=null) { this.checkDepfile.sFileDeps = args.sFileDep; } //only write it
+    } else if(args.sFileDep !=null) {
+      this.checkDepfile.readDependencies(args.sFileDep);
+      System.out.println("checkDeps_C: " + args.sFileDep + " read successfully");
     }
+    this.checkDepfile.processSrcfiles(args.pathsSrcGen);   //reads the files in parallel
     this.checkDepfile.writeDependencies();
     this.checkDepfile.close();
     
@@ -110,6 +113,9 @@ public class CheckDeps {
     
     public String sFileDep;
     
+    /**Binary dependency file, argument -depDb. It is read instead {@link #sFileDep} if it exists. */
+    public String sFileDepDb;
+    
     public boolean cmpAndCpy;
     
     public boolean evalDeps;
@@ -167,6 +173,12 @@ public class CheckDeps {
     }};
     
     
+    Arguments.SetArgument setFileDepDb = new Arguments.SetArgument(){ @Override public boolean setArgument(String val){ 
+      CheckDeps.Args.this.sFileDepDb = val;
+      return true;
+    }};
+    
+    
     Arguments.SetArgument setCmpAndCpy = new Arguments.SetArgument(){ @Override public boolean setArgument(String val){ 
       CheckDeps.Args.this.cmpAndCpy = true;
       return true;
@@ -201,6 +213,7 @@ public class CheckDeps {
       addArg(new Argument("-obj", ":path/to/rootObj/*.obj root directory to Objectfiles and extension for Obj", this.setPathObj));
       addArg(new Argument("-cfg", ":path/to/CheckDeps.cfg Configuration file, write ? for help", this.setFileCfg));
       addArg(new Argument("-depAll", ":path/to/MyProject.deps - file contains existing, dependencies, will be written or replaced", this.setFileDep));
+      addArg(new Argument("-depDb", ":path/to/MyProject.depdb - binary dependency file, read instead -depAll if exists, will be written", this.setFileDepDb));
       addArg(new Argument("cmpAndCpy", " command to .... TODO", this.setCmpAndCpy));
       addArg(new Argument("evalDeps", " command to only evaluation dependencies", this.setEvalDeps));
       addArg(new Argument("-lastPath", ":path/to/TODO", this.setPathLast));
@@ -0,0 +1,332 @@
+package org.vishia.checkDeps_C;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.vishia.util.FileSystem;
+
+
+/**This class reads and writes the dependencies in a binary file, alternatively to the text file
+ * written with {@link InfoFileDependencies#writeAllBackDeps(String, Map)} and read with {@link CheckAllDepFile}.
+ * It contains the same information which is used from the text file: timestamps and paths of source and mirror
+ * and the directly included files. Additionally the length of the source is stored and checked
+ * and the fingerprint of the code of the source, see {@link SrcFileScanCache#fingerprint(File)}.
+ * The fingerprint is stored in {@link CheckData#indexFingerprintInput} also for changed files,
+ * to detect whether only comments are changed.
+ * The text file remains the human readable form, the binary file is faster to read for large projects.
+ * <br><br>
+ * Format of the file, all numbers big endian as {@link ByteBuffer} default:
+ * <pre>
+ * int magic "CDDB", int versionFormat, int zPaths, int zFiles, int zIncludes, int posPaths
+ * zFiles records with fix length {@link #zRecord}:
+ *   int ixPathSrc, int ixPathMirror or -1, long dateSrc, long dateMirror, long lengthSrc, int ixIncludes, int zIncludes,
+ *   short cNewly, short 0, long fingerprint or 0
+ * zIncludes int: the index of the path of included files, the records refer a part of it.
+ * zPaths paths: short length, UTF-8 bytes
+ * </pre>
+ * All records have a fix position. The file is read with one access in a buffer. If only timestamps or lengths are changed
+ * but not the set of files and its includes, only the changed records are written in the existing file.
+ * Else the file is written newly as temporary file and renamed then.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public class DependencyDb
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut new: fingerprint of the code, format version 2.
+   * <li>2026-10-19 Hartmut created, the text file was to slow to read for projects with some 10000 files.
+   * </ul>
+   * <br><br>
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL ist not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   */
+  public final static String version = "2026-10-19";
+
+
+  /**Identification of the file, "CDDB". */
+  private final static int magic = 0x43444442;
+
+  /**Version of the file format. */
+  private final static int versionFormat = 2;
+
+  private final static int zHead = 24;
+
+  private final static int zRecord = 52;
+
+
+  /**Content of the file, as read or written. */
+  private static class Content {
+    String[] paths;
+    /**zRecord bytes per file. */
+    byte[] records;
+    int[] includes;
+    int zFiles;
+  }
+
+
+  final File fileDb;
+
+  final CheckAllDepFile readerInputDepFile;
+
+  /**The content of the file as read, used to write only changed records. null if the file is not read. */
+  private Content contentRead;
+
+
+  DependencyDb(File fileDb, CheckAllDepFile readerInputDepFile) {
+    this.fileDb = fileDb.getAbsoluteFile();
+    this.readerInputDepFile = readerInputDepFile;
+  }
+
+
+  /**Reads the file and stores all unchanged files in {@link CheckData#indexInfoInput}
+   * adequate {@link CheckAllDepFile#readDepFile(String)}.
+   * @return false if the file does not exist or is faulty. Then nothing is stored.
+   */
+  boolean read() {
+    if(!this.fileDb.exists()) return false;
+    Content content;
+    try { content = readContent(); }
+    catch(IOException exc) {
+      this.readerInputDepFile.console.writeInfoln("DependencyDb - faulty file, ignored; " + this.fileDb.getPath() + "; " + exc.getMessage());
+      return false;
+    }
+    ByteBuffer records = ByteBuffer.wrap(content.records);
+    for(int ixFile = 0; ixFile < content.zFiles; ++ixFile) {
+      int pos = ixFile * zRecord;
+      String sPathSrc = content.paths[records.getInt(pos)];
+      int ixMirror = records.getInt(pos + 4);
+      long dateSrc = records.getLong(pos + 8);
+      long dateMirror = records.getLong(pos + 16);
+      long lengthSrc = records.getLong(pos + 24);
+      int ixIncludes = records.getInt(pos + 32);
+      int zIncludes = records.getInt(pos + 36);
+      long fingerprint = records.getLong(pos + 44);
+      if(fingerprint !=0) {
+        this.readerInputDepFile.checkData.indexFingerprintInput.put(sPathSrc, Long.valueOf(fingerprint));
+      }
+      if(new File(sPathSrc).length() == lengthSrc) {     //else changed, check it.
+        InfoFileDependencies info = this.readerInputDepFile.putInfoInput(dateMirror, dateSrc
+          , ixMirror <0 ? sPathSrc : content.paths[ixMirror], sPathSrc, ixMirror >=0);
+        if(info !=null) {
+          info.fingerprint = fingerprint;
+          for(int ix = ixIncludes; ix < ixIncludes + zIncludes; ++ix) {
+            String sIncludefile = content.paths[content.includes[ix]];
+            info.includedPrimaryDeps.put(sIncludefile, new InfoFileDependencies(sIncludefile, this.readerInputDepFile.console));
+          }
+        }
+      }
+    }
+    this.contentRead = content;
+    return true;
+  }
+
+
+  /**Writes all dependencies, adequate {@link InfoFileDependencies#writeAllBackDeps(String, Map)}.
+   * @param indexAllDeps all processed files.
+   * @return null on success or an error text.
+   */
+  String write(Map<String,InfoFileDependencies> indexAllDeps) {
+    Content content = buildContent(indexAllDeps);
+    String sError = null;
+    Content contentRead = this.contentRead;
+    if(contentRead !=null && contentRead.zFiles == content.zFiles && Arrays.equals(contentRead.paths, content.paths) && Arrays.equals(contentRead.includes, content.includes)) {
+      //the structure is the same, write only changed records
+      RandomAccessFile file = null;
+      try {
+        file = new RandomAccessFile(this.fileDb, "rw");
+        FileChannel channel = file.getChannel();
+        for(int ixFile = 0; ixFile < content.zFiles; ++ixFile) {
+          int pos = ixFile * zRecord;
+          boolean bChanged = false;
+          for(int ix = pos; !bChanged && ix < pos + zRecord; ++ix) {
+            bChanged = content.records[ix] != contentRead.records[ix];
+          }
+          if(bChanged) {
+            channel.write(ByteBuffer.wrap(content.records, pos, zRecord), zHead + pos);
+          }
+        }
+        file.close();
+        file = null;
+      } catch(IOException exc) {
+        sError = "DependencyDb - cannot write; " + this.fileDb.getPath() + "; " + exc.getMessage();
+      } finally {
+        if(file !=null) { try{ file.close(); } catch(IOException exc){} }
+      }
+    } else {
+      sError = writeContent(content);
+    }
+    if(sError == null) {
+      this.contentRead = content;
+    }
+    return sError;
+  }
+
+
+  private Content buildContent(Map<String,InfoFileDependencies> indexAllDeps) {
+    Map<String, Integer> idxPaths = new LinkedHashMap<String, Integer>();
+    List<InfoFileDependencies> files = new ArrayList<InfoFileDependencies>();
+    for(InfoFileDependencies info: indexAllDeps.values()) {
+      if(info.sAbsolutePath !=null && info.fileSrc !=null) {
+        files.add(info);
+        ixPath(idxPaths, info.sAbsolutePath);            //the sources first
+      }
+    }
+    Content content = new Content();
+    content.zFiles = files.size();
+    content.records = new byte[content.zFiles * zRecord];
+    ByteBuffer records = ByteBuffer.wrap(content.records);
+    List<Integer> includes = new ArrayList<Integer>();
+    for(InfoFileDependencies info: files) {
+      long dateSrc = info.fileSrc.lastModified();
+      int ixMirror = -1;
+      long dateMirror = dateSrc;
+      if(info.fileMirror !=null && info.fileMirror.exists()) {
+        ixMirror = ixPath(idxPaths, FileSystem.getCanonicalPath(info.fileMirror));
+        dateMirror = info.fileMirror.lastModified();
+      }
+      int ixIncludes = includes.size();
+      for(InfoFileDependencies included: info.includedPrimaryFiles.values()) {
+        includes.add(ixPath(idxPaths, included.sAbsolutePath));
+      }
+      records.putInt(idxPaths.get(info.sAbsolutePath)).putInt(ixMirror).putLong(dateSrc).putLong(dateMirror)
+        .putLong(info.fileSrc.length()).putInt(ixIncludes).putInt(includes.size() - ixIncludes)
+        .putShort((short)info.getNewly()).putShort((short)0).putLong(info.fingerprint);
+    }
+    content.includes = new int[includes.size()];
+    for(int ix = 0; ix < content.includes.length; ++ix) { content.includes[ix] = includes.get(ix); }
+    content.paths = idxPaths.keySet().toArray(new String[idxPaths.size()]);
+    return content;
+  }
+
+
+  private static int ixPath(Map<String, Integer> idxPaths, String sPath) {
+    Integer ix = idxPaths.get(sPath);
+    if(ix == null) {
+      ix = Integer.valueOf(idxPaths.size());
+      idxPaths.put(sPath, ix);
+    }
+    return ix.intValue();
+  }
+
+
+  private String writeContent(Content content) {
+    String sError = null;
+    byte[][] paths = new byte[content.paths.length][];
+    int zPaths = 0;
+    for(int ix = 0; ix < paths.length; ++ix) {
+      paths[ix] = content.paths[ix].getBytes(StandardCharsets.UTF_8);
+      zPaths += 2 + paths[ix].length;
+    }
+    int posPaths = zHead + content.records.length + 4 * content.includes.length;
+    ByteBuffer buffer = ByteBuffer.allocate(posPaths + zPaths);
+    buffer.putInt(magic).putInt(versionFormat).putInt(paths.length).putInt(content.zFiles)
+      .putInt(content.includes.length).putInt(posPaths);
+    buffer.put(content.records);
+    for(int ixPath: content.includes) { buffer.putInt(ixPath); }
+    for(byte[] path: paths) { buffer.putShort((short)path.length).put(path); }
+    buffer.flip();
+    File fileTmp = new File(this.fileDb.getPath() + ".tmp");
+    RandomAccessFile file = null;
+    try {
+      File dir = this.fileDb.getParentFile();
+      if(dir !=null && !dir.exists()) { dir.mkdirs(); }
+      file = new RandomAccessFile(fileTmp, "rw");
+      file.setLength(0);
+      FileChannel channel = file.getChannel();
+      while(buffer.hasRemaining()) { channel.write(buffer); }
+      file.close();
+      file = null;
+      if(this.fileDb.exists()) { this.fileDb.delete(); }
+      if(!fileTmp.renameTo(this.fileDb)) {
+        sError = "DependencyDb - cannot rename; " + fileTmp.getAbsolutePath();
+      }
+    } catch(IOException exc) {
+      sError = "DependencyDb - cannot write; " + fileTmp.getAbsolutePath() + "; " + exc.getMessage();
+    } finally {
+      if(file !=null) { try{ file.close(); } catch(IOException exc){} }
+      if(fileTmp.exists()) { fileTmp.delete(); }
+    }
+    return sError;
+  }
+
+
+  private Content readContent() throws IOException {
+    RandomAccessFile file = new RandomAccessFile(this.fileDb, "r");
+    try {
+      FileChannel channel = file.getChannel();
+      long zFile = channel.size();
+      if(zFile < zHead || zFile > Integer.MAX_VALUE) throw new IOException("faulty length");
+      ByteBuffer buffer = ByteBuffer.allocate((int)zFile);
+      while(buffer.hasRemaining() && channel.read(buffer) >=0) {}
+      buffer.flip();
+      if(buffer.getInt() != magic || buffer.getInt() != versionFormat) throw new IOException("faulty format");
+      Content content = new Content();
+      int zPaths = buffer.getInt();
+      content.zFiles = buffer.getInt();
+      int zIncludes = buffer.getInt();
+      int posPaths = buffer.getInt();
+      if(zPaths <0 || content.zFiles <0 || zIncludes <0
+        || posPaths != zHead + content.zFiles * zRecord + 4 * zIncludes || posPaths > zFile) throw new IOException("faulty head");
+      content.records = new byte[content.zFiles * zRecord];
+      buffer.get(content.records);
+      content.includes = new int[zIncludes];
+      buffer.asIntBuffer().get(content.includes);
+      buffer.position(posPaths);
+      content.paths = new String[zPaths];
+      for(int ix = 0; ix < zPaths; ++ix) {
+        int zPath = buffer.getShort() & 0xffff;
+        content.paths[ix] = new String(buffer.array(), buffer.position(), zPath, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + zPath);
+      }
+      for(int ix = 0; ix < zIncludes; ++ix) {
+        if(content.includes[ix] <0 || content.includes[ix] >= zPaths) throw new IOException("faulty include index");
+      }
+      ByteBuffer records = ByteBuffer.wrap(content.records);
+      for(int ixFile = 0; ixFile < content.zFiles; ++ixFile) {
+        int pos = ixFile * zRecord;
+        int ixSrc = records.getInt(pos), ixMirror = records.getInt(pos +4);
+        int ixIncludes = records.getInt(pos + 32), zIncl = records.getInt(pos + 36);
+        if(ixSrc <0 || ixSrc >= zPaths || ixMirror < -1 || ixMirror >= zPaths
+          || ixIncludes <0 || zIncl <0 || ixIncludes + zIncl > zIncludes) throw new IOException("faulty record");
+      }
+      return content;
+    } catch(RuntimeException exc) {                  //BufferUnderflowException etc.
+      throw new IOException(exc.toString());
+    } finally {
+      file.close();
+    }
+  }
+
+}
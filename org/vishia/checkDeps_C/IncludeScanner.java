@@ -0,0 +1,215 @@
+package org.vishia.checkDeps_C;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**This class detects the include lines of a source file without decoding all lines.
+ * It returns the same lines which contain <code>#include</code> as {@link CheckDependencyFile.NextCodeLine},
+ * in the same order, but it works on the bytes of the file:
+ * <ul>
+ * <li>A line without <code>'#'</code> and without <code>'/'</code> is skipped only searching the line end.
+ * <li>A line without <code>'#'</code> but with <code>'/'</code> is checked for the start and end of a block comment
+ *   in the bytes, with the same rules as in {@link CheckDependencyFile.NextCodeLine#codeOfLine(String)}.
+ * <li>Only a line with a <code>'#'</code> followed by <code>include</code> is decoded to a String and processed
+ *   with {@link CheckDependencyFile.NextCodeLine#codeOfLine(String)}. Other lines with <code>'#'</code> are handled
+ *   like lines with <code>'/'</code>. Hence an include statement with a comment inside the word, 
+ *   <code>#incl/ * * /ude</code>, is not detected, but it is not detected by the compiler too.
+ * </ul>
+ * The scanner is used if the source file is not compared with a mirror file. Then only the include lines are necessary.
+ * Optionally the fingerprint of the code is built while scanning, see {@link #includeLines(File, MessageDigest)}.
+ * The file is read with one access into a byte array. A memory mapped file is not used: the access to the array
+ * is faster than {@link java.nio.MappedByteBuffer#get(int)} and a mapped file is locked on Windows until garbage collection,
+ * but the sources may be re-generated in the same process.
+ * <br><br>
+ * Note: The default charset is used for the include lines adequate to the {@link java.io.FileReader} in
+ * {@link CheckDependencyFile.NextCodeLine}. The bytes of <code>#, /, *, \r, \n</code> are the same in all usual charsets
+ * for sources, ASCII, UTF-8 and the ISO-8859 charsets.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public class IncludeScanner
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut new: {@link #includeLines(File, MessageDigest)} hashes the code for the fingerprint.
+   * <li>2026-10-19 Hartmut created, the generated headers are large and contain only a few include lines.
+   * </ul>
+   * <br><br>
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL ist not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   */
+  public final static String version = "2026-10-19";
+
+
+  private final static byte[] sInclude = { 'i', 'n', 'c', 'l', 'u', 'd', 'e' };
+
+
+  /**Returns all code lines which contains <code>#include</code>.
+   * @throws RuntimeException if the file cannot be read, adequate to {@link CheckDependencyFile.NextCodeLine}
+   */
+  static String[] includeLines(File file) {
+    return includeLines(file, null);
+  }
+
+
+  /**Returns all code lines which contains <code>#include</code> and hashes all code lines.
+   * The hash is the same as from the lines of {@link CheckDependencyFile.NextCodeLine}, see {@link SrcFileScanCache#fingerprint(File)}:
+   * The UTF-8 bytes of any trimmed line without comments, followed by a <code>'\n'</code>. 
+   * A line with only ASCII characters and without <code>'/'</code> is hashed from the bytes without decoding,
+   * a line inside a block comment without <code>'/'</code> is skipped. Only the other lines are decoded.
+   * @param md null or the digest to update with the code.
+   * @throws RuntimeException if the file cannot be read, adequate to {@link CheckDependencyFile.NextCodeLine}
+   * @since 2026-10
+   */
+  static String[] includeLines(File file, MessageDigest md) {
+    byte[] content;
+    try { content = readContent(file); }
+    catch(IOException exc) { throw new RuntimeException("unexpected: " + exc.getMessage()); }
+    List<String> lines = new ArrayList<String>();
+    CheckDependencyFile.NextCodeLine comment = new CheckDependencyFile.NextCodeLine();
+    Charset charset = Charset.defaultCharset();
+    final int zContent = content.length;
+    int pos = 0;
+    while(pos < zContent) {
+      int start = pos;
+      int posHash = -1;
+      boolean bSlash = false, bNonAscii = false;
+      byte cc = 0;
+      while(pos < zContent && (cc = content[pos]) != '\n' && cc != '\r') {
+        if(cc == '#') { if(posHash <0) { posHash = pos; } }
+        else if(cc == '/') { bSlash = true; }
+        else if(cc < 0) { bNonAscii = true; }
+        pos +=1;
+      }
+      int end = pos;
+      if(pos < zContent) {                               //skip line end, \r\n or \n or \r adequate BufferedReader.readLine()
+        pos +=1;
+        if(cc == '\r' && pos < zContent && content[pos] == '\n') { pos +=1; }
+      }
+      if(posHash >=0 && indexOf(content, sInclude, posHash, end) >=0) {
+        String sLine = comment.codeOfLine(new String(content, start, end - start, charset));
+        if(sLine !=null && sLine.contains("#include")) {
+          lines.add(sLine);
+        }
+        if(md !=null && sLine !=null) { hashLine(md, sLine); }
+      } else if(md !=null) {
+        if(bSlash || bNonAscii) {
+          String sLine = comment.codeOfLine(new String(content, start, end - start, charset));
+          if(sLine !=null) { hashLine(md, sLine); }
+        } else if(!comment.lastWasCommentStart) {        //else: in block comment, the end of comment contains '/'
+          while(start < end && (content[start] & 0xff) <= ' ') { start +=1; }    //trim adequate String.trim()
+          while(end > start && (content[end -1] & 0xff) <= ' ') { end -=1; }
+          if(end > start) {
+            md.update(content, start, end - start);
+            md.update((byte)'\n');
+          }
+        }
+      } else if(bSlash) {
+        comment.lastWasCommentStart = commentState(content, start, end, comment.lastWasCommentStart);
+      }
+    }
+    return lines.toArray(new String[lines.size()]);
+  }
+
+
+
+  private static void hashLine(MessageDigest md, String sLine) {
+    md.update(sLine.getBytes(StandardCharsets.UTF_8));
+    md.update((byte)'\n');
+  }
+
+
+  /**Determines whether a block comment is open at end of the line,
+   * the same as {@link CheckDependencyFile.NextCodeLine#codeOfLine(String)} but without building Strings.
+   * @param inComment true if a block comment is open from the lines before.
+   * @return true if a block comment is open at end of the line.
+   */
+  private static boolean commentState(byte[] content, int start, int end, boolean inComment) {
+    int posLineComment = indexOf(content, '/', '/', start, end);
+    if(posLineComment >=0) { end = posLineComment; }
+    int pos = start;
+    if(inComment) {
+      int posCommentEnd = indexOf(content, '*', '/', pos, end);
+      if(posCommentEnd <0) return true;
+      pos = posCommentEnd + 2;
+    }
+    while(true) {
+      int posComment = indexOf(content, '/', '*', pos, end);
+      if(posComment <0) return false;
+      int posCommentEnd = indexOf(content, '*', '/', posComment, end);
+      if(posCommentEnd <0) return true;
+      pos = posCommentEnd + 2;
+    }
+  }
+
+
+  private static int indexOf(byte[] content, byte[] sFind, int start, int end) {
+    final int zFind = sFind.length;
+    final byte c0 = sFind[0];
+    for(int pos = start; pos <= end - zFind; ++pos) {
+      if(content[pos] == c0) {
+        int ix = 1;
+        while(ix < zFind && content[pos + ix] == sFind[ix]) { ix +=1; }
+        if(ix == zFind) return pos;
+      }
+    }
+    return -1;
+  }
+
+
+  private static int indexOf(byte[] content, char c1, char c2, int start, int end) {
+    for(int pos = start; pos < end -1; ++pos) {
+      if(content[pos] == c1 && content[pos +1] == c2) return pos;
+    }
+    return -1;
+  }
+
+
+
+  private static byte[] readContent(File file) throws IOException {
+    RandomAccessFile raf = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = raf.getChannel();
+      long zFile = channel.size();
+      if(zFile > Integer.MAX_VALUE - 16) throw new IOException("file too large");
+      byte[] content = new byte[(int)zFile];
+      ByteBuffer buffer = ByteBuffer.wrap(content);
+      while(buffer.hasRemaining() && channel.read(buffer) >=0) {}
+      return content;
+    } finally {
+      raf.close();
+    }
+  }
+
+}
@@ -28,6 +28,8 @@ public class InfoFileDependencies implements AddDependency_InfoFileDependencies
 {
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: {@link #fingerprint}
+   * <li>2026-10-19 Hartmut new: {@link #getNewly()} for the {@link DependencyDb}.
    * <li>2012-12-25 Hartmut new: Inserted in the Zbnf component because it is an integral part of the Zmake concept
    *   for C-compilation.
    * <li>2011-05-00 Hartmut created: It was necessary for C-compilation to check real dependencies in a fast way.
@@ -58,7 +60,7 @@ public class InfoFileDependencies implements AddDependency_InfoFileDependencies
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public static final int version = 20121225;
+  public static final int version = 20261019;
 
   
   /**Format to produce a human readable timestamp of file. */
@@ -102,6 +104,11 @@ public class InfoFileDependencies implements AddDependency_InfoFileDependencies
    */
   private char cNewly = ' ';
   
+  /**Fingerprint of the code without comments, see {@link SrcFileScanCache#fingerprint(File)}. 
+   * 0 if it is not built. It is only used with the {@link DependencyDb}.
+   * @since 2026-10 */
+  long fingerprint;
+  
   /**True if new timestamps are found for the source and/or mirror file in comparison with dep-file-content. */
   //private boolean bChangedTimestamp;
   
@@ -268,6 +275,11 @@ public class InfoFileDependencies implements AddDependency_InfoFileDependencies
   public boolean isSrcFile(){ return isSrc; }
   
   
+  /**Returns the state of the file, see {@link #cNewly}. 
+   * @since 2026-10 */
+  char getNewly(){ return cNewly; }
+  
+  
   
   long getDateFile(){ 
     if(dateFileMirror != 0){
@@ -0,0 +1,291 @@
+package org.vishia.checkDeps_C;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.vishia.util.FileSystem;
+
+
+/**This class holds the code lines of all read source and header files of one {@link CheckDependencyFile} instance.
+ * The code lines are the lines without comments and empty lines, see {@link CheckDependencyFile.NextCodeLine}.
+ * They are used to detect the include statements and to compare a source file with its mirror file.
+ * Any file is read only one time, also if it is included in many sources.
+ * <br><br>
+ * With {@link #prescan(Collection)} all given source files and all files which are included there, recursively,
+ * are read in parallel with one fork join task per file. The include statements are resolved to files with
+ * {@link CheckDependencyFile#searchInclFileInIncludePath(String, String, boolean, char[])}, adequate to the sequential
+ * processing. A file which is included in more as one file is read only one time because the key set of the
+ * {@link #idxScanned} is the synchronization point. After them the sequential processing of
+ * {@link CheckDependencyFile#processSrcfile(String)} builds the {@link InfoFileDependencies} graph in the same order as before
+ * but without reading the files. Hence the result is the same as without prescan.
+ * A file which is unchanged since the last run, it is contained in {@link CheckData#indexInfoInput}, is not read
+ * because the sequential processing uses the stored dependencies. Only its stored included files are prescanned.
+ * <br><br>
+ * An entry is used only if the timestamp and the length of the file is unchanged. That is important for the mirror files,
+ * which are copied from the sources if they are changed.
+ * <br><br>
+ * If a file is not compared with a mirror file, only its include lines are necessary. They are gotten with 
+ * {@link #includeLines(File)} using the {@link IncludeScanner}, which is essential faster for large files.
+ * If the {@link DependencyDb} is used, the scanner builds the fingerprint of the code too.
+ * <br><br>
+ * The {@link #fingerprint(File)} is built from the code lines. It is the same if only comments, empty lines or white spaces
+ * on start and end of the lines are changed. Such a change is not a reason to compile again.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public class SrcFileScanCache
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut corr: {@link #fingerprint(File)} is built by the {@link IncludeScanner} if the code lines are not read,
+   *   the fast scan is used also with the {@link DependencyDb}.
+   * <li>2026-10-19 Hartmut corr: {@link #prescan(Collection)} does not read unchanged files, follows its stored includes.
+   * <li>2026-10-19 Hartmut new: {@link #fingerprint(File)}
+   * <li>2026-10-19 Hartmut new: {@link #includeLines(File)}
+   * <li>2026-10-19 Hartmut created, to read the files only one time and in parallel.
+   * </ul>
+   * <br><br>
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL ist not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   */
+  public final static String version = "2026-10-19";
+
+
+  /**The code lines of one file with the properties of the file while reading. */
+  static final class CodeLines {
+    final long lastModified, length;
+    final String[] lines;
+    /**Built on demand. 0 if not built. */
+    volatile long fingerprint;
+    CodeLines(long lastModified, long length, String[] lines) {
+      this.lastModified = lastModified; this.length = length; this.lines = lines;
+    }
+  }
+
+
+  /**Reads one file and forks the tasks for its included files. */
+  @SuppressWarnings("serial")
+  private final class ScanTask extends RecursiveAction {
+    final File file;
+    ScanTask(File file) { this.file = file; }
+
+    @Override protected void compute() {
+      String[] lines;
+      String sCanonical = FileSystem.getCanonicalPath(this.file);
+      InfoFileDependencies infoUnchanged = SrcFileScanCache.this.checker.checkData.indexInfoInput.get(sCanonical);
+      if(infoUnchanged !=null) {                         //not read in the sequential processing, 
+        List<ScanTask> tasks = new ArrayList<ScanTask>();  //but the included files may be changed.
+        for(InfoFileDependencies infoIncl: infoUnchanged.includedPrimaryDeps.values()) {
+          if(SrcFileScanCache.this.idxScanned.add(infoIncl.sAbsolutePath)) {
+            tasks.add(new ScanTask(new File(infoIncl.sAbsolutePath)));
+          }
+        }
+        invokeAll(tasks);
+        return;
+      }
+      File fileMirror = SrcFileScanCache.this.checker.fileSrcMirrorPath(sCanonical);
+      boolean bMirror = fileMirror !=null && fileMirror.exists();
+      boolean bFingerprint = SrcFileScanCache.this.checker.depDb !=null;
+      try { lines = bMirror ? codeLines(this.file) : includeLinesEntry(this.file, bFingerprint).lines; }
+      catch(RuntimeException exc) { return; }             //the sequential processing reports it.
+      if(bMirror && SrcFileScanCache.this.idxScanned.add(fileMirror.getAbsolutePath())) {
+        try { codeLines(fileMirror); }
+        catch(RuntimeException exc) { }
+      }
+      String sDirCurrentFile = FileSystem.getCanonicalPath(this.file.getParentFile());
+      List<ScanTask> tasks = new ArrayList<ScanTask>();
+      char[] typeInclude = new char[1];
+      for(String sLine: lines) {
+        if(sLine.contains("#include")) {
+          int from = sLine.indexOf('<'), to;
+          boolean includeFromCurrent = from < 0;
+          if(includeFromCurrent) {
+            from = sLine.indexOf('\"');
+            to = sLine.indexOf('\"', from+1);
+          } else {
+            to = sLine.indexOf('>');
+          }
+          if(from >=0 && to > from) {
+            File fileIncl = SrcFileScanCache.this.checker.searchInclFileInIncludePath(sLine.substring(from+1, to)
+                , sDirCurrentFile, includeFromCurrent, typeInclude);
+            if(fileIncl !=null && typeInclude[0] != 'y' && SrcFileScanCache.this.idxScanned.add(FileSystem.getCanonicalPath(fileIncl))) {
+              tasks.add(new ScanTask(fileIncl));
+            }
+          }
+        }
+      }
+      invokeAll(tasks);
+    }
+  }
+
+
+  /**The read files, key is the absolute path. */
+  private final ConcurrentHashMap<String, CodeLines> idxCodeLines = new ConcurrentHashMap<String, CodeLines>();
+
+  /**The include lines of scanned files, key is the absolute path. */
+  private final ConcurrentHashMap<String, CodeLines> idxIncludeLines = new ConcurrentHashMap<String, CodeLines>();
+
+  /**Canonical paths of all files which are read in {@link #prescan(Collection)}, to read any file only one time. */
+  private final Set<String> idxScanned = ConcurrentHashMap.<String>newKeySet();
+
+  /**Used for the include path and the mirror file. */
+  private final CheckDependencyFile checker;
+
+
+  SrcFileScanCache(CheckDependencyFile checker) {
+    this.checker = checker;
+  }
+
+
+
+  /**Returns the code lines of the file. The file is read only if it is not read before or it is changed since reading.
+   * It is thread safe.
+   * @throws RuntimeException if the file cannot be read, adequate to {@link CheckDependencyFile.NextCodeLine}
+   */
+  String[] codeLines(File file) {
+    return codeLinesEntry(file).lines;
+  }
+  
+  
+  private CodeLines codeLinesEntry(File file) {
+    String sPath = file.getAbsolutePath();
+    long lastModified = file.lastModified();
+    long length = file.length();
+    CodeLines entry = this.idxCodeLines.get(sPath);
+    if(entry == null || entry.lastModified != lastModified || entry.length != length) {
+      List<String> lines = new ArrayList<String>();
+      CheckDependencyFile.NextCodeLine reader = new CheckDependencyFile.NextCodeLine(file);
+      String sLine;
+      while( (sLine = reader.nextCodeLine()) !=null) {
+        lines.add(sLine);
+      }
+      reader.close();
+      entry = new CodeLines(lastModified, length, lines.toArray(new String[lines.size()]));
+      this.idxCodeLines.put(sPath, entry);
+    }
+    return entry;
+  }
+
+
+
+  /**Returns the fingerprint of the code lines of the file, see {@link #codeLines(File)}.
+   * It is a 64 bit part of the SHA-1 of all lines. It is built only one time for the file. It is thread safe.
+   * If the code lines are not read, the fingerprint is built by the {@link IncludeScanner} with the same value.
+   * @return never 0, because 0 is used as 'not known'.
+   * @since 2026-10
+   */
+  long fingerprint(File file) {
+    CodeLines entry = this.idxCodeLines.get(file.getAbsolutePath());
+    if(entry == null || entry.lastModified != file.lastModified() || entry.length != file.length()) {
+      return includeLinesEntry(file, true).fingerprint;
+    }
+    long fingerprint = entry.fingerprint;
+    if(fingerprint == 0) {
+      MessageDigest md = sha1();
+      for(String sLine: entry.lines) {
+        md.update(sLine.getBytes(StandardCharsets.UTF_8));
+        md.update((byte)'\n');
+      }
+      fingerprint = fingerprint(md);
+      entry.fingerprint = fingerprint;
+    }
+    return fingerprint;
+  }
+
+
+  private static MessageDigest sha1() {
+    try { return MessageDigest.getInstance("SHA-1"); }
+    catch(NoSuchAlgorithmException exc) { throw new RuntimeException(exc); } //SHA-1 is present in any Java runtime.
+  }
+
+
+  /**Returns the first 64 bit of the hash, 1 instead 0. */
+  private static long fingerprint(MessageDigest md) {
+    byte[] hash = md.digest();
+    long fingerprint = 0;
+    for(int ix = 0; ix < 8; ++ix) {
+      fingerprint = (fingerprint << 8) | (hash[ix] & 0xff);
+    }
+    return fingerprint == 0 ? 1 : fingerprint;
+  }
+
+
+
+  /**Returns the code lines of the file which contains <code>#include</code>, see {@link IncludeScanner}. 
+   * The file is scanned only if it is not scanned or read before or it is changed since.
+   * It is thread safe.
+   * @throws RuntimeException if the file cannot be read
+   * @since 2026-10
+   */
+  String[] includeLines(File file) {
+    return includeLinesEntry(file, false).lines;
+  }
+
+
+  /**Returns the entry of the include lines, scans the file if necessary.
+   * @param bFingerprint true then the {@link CodeLines#fingerprint} is built too, the file is scanned again if it is not built.
+   */
+  private CodeLines includeLinesEntry(File file, boolean bFingerprint) {
+    String sPath = file.getAbsolutePath();
+    long lastModified = file.lastModified();
+    long length = file.length();
+    CodeLines entry = this.idxIncludeLines.get(sPath);
+    if(entry == null || entry.lastModified != lastModified || entry.length != length || (bFingerprint && entry.fingerprint == 0)) {
+      MessageDigest md = bFingerprint ? sha1() : null;
+      entry = new CodeLines(lastModified, length, IncludeScanner.includeLines(file, md));
+      if(md !=null) { entry.fingerprint = fingerprint(md); }
+      this.idxIncludeLines.put(sPath, entry);
+    }
+    return entry;
+  }
+
+
+
+  /**Reads all given files and all included files in parallel in the {@link ForkJoinPool#commonPool()}.
+   * @param srcFiles The source files. Errors are not reported here but on the sequential processing.
+   */
+  void prescan(Collection<File> srcFiles) {
+    List<ScanTask> tasks = new ArrayList<ScanTask>();
+    for(File file: srcFiles) {
+      if(this.idxScanned.add(FileSystem.getCanonicalPath(file))) {
+        tasks.add(new ScanTask(file));
+      }
+    }
+    ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+      private static final long serialVersionUID = 1L;
+      @Override protected void compute() { invokeAll(tasks); }
+    });
+  }
+
+}
@@ -7,11 +7,15 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.Reader;
 import java.nio.charset.Charset;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import javax.script.ScriptException;
 
@@ -33,6 +37,16 @@ public class CmdExecuter implements Closeable
 {
   /**Version, License and History:
    * <ul>
+   * <li>2026-10-19 Hartmut corr: An exception on writing the output of a {@link Job} is reported on System.err.
+   * <li>2026-10-19 Hartmut new: {@link #submitJob(String[], String, List, ExecuteAfterFinish, JobSlots)} returns the {@link Job},
+   *   {@link JobSlots#await(List)} waits for some jobs and returns its exit code. 
+   * <li>2026-10-19 Hartmut new: {@link #submitJob(String[], String, List, ExecuteAfterFinish, JobSlots)} and {@link JobSlots}:
+   *   Some processes can run concurrently, maximal as many as slots are given (adequate make -j N).
+   *   The output of each process is captured in its own buffer and written to the outputs in order of submission
+   *   after the process has finished. The error output is merged in the output, hence only one reader thread
+   *   per running process is necessary, taken from a pool.
+   * <li>2026-10-19 Hartmut chg: The {@link #outThread} and {@link #errThread} are started on the first {@link #execute(String[], boolean, String, List, List, ExecuteAfterFinish)},
+   *   not in the constructor. An instance only used for {@link #submitJob(String[], String, List, ExecuteAfterFinish, JobSlots)} does not need them.  
    * <li>2020-03-14 Hartmut new: {@link #addCmd(org.vishia.cmd.JZtxtcmdScript.Subroutine, List, Appendable, File, ExecuteAfterFinish)}.  
    * <li>2017-10-05 Hartmut new: {@link #setCharsetForOutput(String)}: git outputs its status etc. in UTF-8.  
    * <li>2017-01-01 Hartmut new: now alternatively to the command process the {@link JZtxtcmdExecuter#execSub(org.vishia.cmd.JZtxtcmdScript.Subroutine, List, boolean, Appendable, File)}
@@ -98,7 +112,7 @@ public class CmdExecuter implements Closeable
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public static final String version = "2020-03-14";
+  public static final String version = "2026-10-19";
 
   
   /**Composite instance of the java.lang.ProcessBuilder. */
@@ -135,9 +149,10 @@ public class CmdExecuter implements Closeable
   //Appendable userOutput;
   //Appendable userError;
 
-  final Thread threadExecOut;
-  final Thread threadExecIn;
-  final Thread threadExecError;
+  /**The threads for {@link #outThread} and {@link #errThread}, created on first usage. */
+  Thread threadExecOut;
+  Thread threadExecIn;
+  Thread threadExecError;
   
   ConcurrentLinkedQueue<CmdQueueEntry> cmdQueue;
   
@@ -150,9 +165,9 @@ public class CmdExecuter implements Closeable
   
   String[] sConsoleInvocation = {"cmd.exe", "/C"};  //default for window.
   
-  /**Constructs the class and starts the threads to getting output and error stream
-   * and putting the input stream to a process. This three threads runs anytime unless the class
-   * is garbaged or {@link #finalize()} is called manually.
+  /**Constructs the class. The threads to getting output and error stream
+   * and putting the input stream to a process are started on the first {@link #execute(String[], boolean, String, List, List, ExecuteAfterFinish)}.
+   * Then this threads runs anytime unless the class is garbaged or {@link #finalize()} is called manually.
    * <br><br>
    * Note: Starting of threads only if a command is executed results in a longer waiting time
    * for fast simple commands. The input and output putting/getting threads wait in a while-loop
@@ -161,13 +176,20 @@ public class CmdExecuter implements Closeable
    */
   public CmdExecuter()
   { this.processBuilder = new ProcessBuilder("");
-    this.threadExecOut = new Thread(this.outThread, "execOut");
-    this.threadExecError = new Thread(this.errThread, "execError");
-    this.threadExecIn = null; //TODO new Thread(inputThread, "execIn");
     this.bRunThreads = true;
-    this.threadExecOut.start();
-    this.threadExecError.start();
-    //threadExecIn.start();
+  }
+  
+  
+  /**Starts the threads for output and error output if not done yet. */
+  private synchronized void startThreads() {
+    if(this.threadExecOut == null) {
+      this.threadExecOut = new Thread(this.outThread, "execOut");
+      this.threadExecError = new Thread(this.errThread, "execError");
+      this.threadExecIn = null; //TODO new Thread(inputThread, "execIn");
+      this.threadExecOut.start();
+      this.threadExecError.start();
+      //threadExecIn.start();
+    }
   }
   
   
@@ -472,6 +494,7 @@ public class CmdExecuter implements Closeable
   , ExecuteAfterFinish executeAfterCmd
   )
   { int exitCode;
+    startThreads();
     this.executeAfterCmd = executeAfterCmd;
     this.processBuilder.command(cmdArgs);
     if(errors == null){ //merge errors in the output stream. It is a feature of ProcessBuilder.
@@ -547,6 +570,38 @@ public class CmdExecuter implements Closeable
   
   
   
+  /**Submits a command as job to run concurrently with other jobs in the given job slots.
+   * The current directory and the environment are taken from this instance, 
+   * see {@link #setCurrentDir(File)} and {@link #environment()}. It is independent of following changes.
+   * The method does not wait. Use {@link JobSlots#awaitAll()} to wait for all submitted jobs.
+   * @param cmdArgs The command and its arguments. 
+   * @param input maybe null, written to the input stream of the process.
+   * @param outputs maybe null, then the output of the process is ignored. 
+   *   Elsewhere the output and error output is written into after finishing the process, in order of submission.
+   * @param executeAfterCmd maybe null, executed after the output is written. 
+   *   Its argument <code>out</code> is a StringBuilder with the output of the process.
+   * @param slots The scheduler.
+   * @return the job to wait for it with {@link JobSlots#await(List)}.
+   */
+  public Job submitJob(String[] cmdArgs
+  , String input
+  , List<Appendable> outputs
+  , ExecuteAfterFinish executeAfterCmd
+  , JobSlots slots
+  ) {
+    ProcessBuilder pb = new ProcessBuilder(cmdArgs);
+    pb.directory(this.processBuilder.directory());
+    Map<String, String> env = pb.environment();
+    env.clear();
+    env.putAll(this.processBuilder.environment());
+    pb.redirectErrorStream(true);                          //one reader for output and error
+    Job job = new Job(pb, input, outputs, this.charsetCmd, executeAfterCmd, slots);
+    slots.submit(job);
+    return job;
+  }
+  
+  
+  
   /**Aborts the running cmd. 
    * @return true if any cmd is aborted.
    */
@@ -685,6 +740,244 @@ public class CmdExecuter implements Closeable
   
   
   
+  /**Scheduler for concurrently running processes submitted by {@link CmdExecuter#submitJob(String[], String, List, ExecuteAfterFinish, JobSlots)}.
+   * Maximal the given number of slots run at the same time, further jobs wait. 
+   * The outputs of the jobs are written in order of submission, each one as a whole after the process is finished.
+   * Hence the output is the same as on sequential execution. 
+   * One instance can be used by more as one CmdExecuter, for example by all levels of a JZtxtcmd script.
+   */
+  public static class JobSlots
+  {
+    /**Threads for reading the process output, shared by all instances. Only used while a process runs. */
+    private static ExecutorService readers;
+    
+    /**Maximal number of running processes. */
+    private int nSlots;
+    
+    /**Number of running processes. */
+    private int nRunning;
+    
+    /**All submitted jobs which are not flushed yet, in order of submission. */
+    private final LinkedList<Job> jobs = new LinkedList<Job>();
+    
+    /**All submitted jobs which are not started yet. */
+    private final LinkedList<Job> jobsWaiting = new LinkedList<Job>();
+    
+    /**The first exit code != 0 of the flushed jobs since the last {@link #awaitAll()}. */
+    private int exitCode;
+    
+    
+    /**Creates with the given number of slots.
+     * @param nSlots if &lt;=0 then uses the number of processors. */
+    public JobSlots(int nSlots) { setSlots(nSlots); }
+    
+    
+    /**Changes the number of slots. Already running processes are not affected.
+     * @param nSlots if &lt;=0 then uses the number of processors. */
+    public synchronized void setSlots(int nSlots) {
+      this.nSlots = nSlots >0 ? nSlots : Runtime.getRuntime().availableProcessors();
+      startJobs();
+    }
+    
+    
+    public synchronized int slots() { return this.nSlots; }
+    
+    
+    /**Returns the number of submitted but not finished jobs. */
+    public synchronized int pending() { return this.jobs.size(); }
+    
+    
+    synchronized void submit(Job job) {
+      this.jobs.add(job);
+      this.jobsWaiting.add(job);
+      startJobs();
+    }
+    
+    
+    /**Starts waiting jobs if slots are free. Called under lock. */
+    private void startJobs() {
+      while(this.nRunning < this.nSlots && this.jobsWaiting.size() >0) {
+        Job job = this.jobsWaiting.removeFirst();
+        this.nRunning +=1;
+        readers().execute(job);
+      }
+    }
+    
+    
+    private static synchronized ExecutorService readers() {
+      if(readers == null) {
+        readers = Executors.newCachedThreadPool(new ThreadFactory() {
+          @Override public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "CmdExecuter-job");
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+      }
+      return readers;
+    }
+    
+    
+    /**Called in the reader thread if the process is finished. Writes the outputs of all finished jobs
+     * from begin of the submission order. The writing is done under lock of this, hence it is not interrupted by another job. */
+    synchronized void finished(Job job) {
+      job.bFinished = true;
+      this.nRunning -=1;
+      while(this.jobs.size() >0 && this.jobs.getFirst().bFinished) {
+        Job job1 = this.jobs.removeFirst();
+        job1.flush();
+        job1.bFlushed = true;
+        if(this.exitCode == 0) { this.exitCode = job1.exitCode; }
+      }
+      startJobs();
+      notifyAll();
+    }
+    
+    
+    /**Waits till all submitted jobs are finished and its output is written.
+     * @return the first exit code != 0 of the jobs in submission order since the last call, 0 if all were successfully. 
+     * @throws InterruptedException
+     */
+    public synchronized int awaitAll() throws InterruptedException {
+      while(this.jobs.size() >0) {
+        wait();
+      }
+      int ret = this.exitCode;
+      this.exitCode = 0;
+      return ret;
+    }
+    
+    
+    /**Waits till the given jobs are finished and its output is written. 
+     * Other jobs are not regarded, but the outputs are written in order of submission, 
+     * hence jobs which are submitted before are finished too.
+     * The exit code of {@link #awaitAll()} is not affected.
+     * @param jobsToWait some jobs gotten from {@link CmdExecuter#submitJob(String[], String, List, ExecuteAfterFinish, JobSlots)}
+     * @return the first exit code != 0 of the given jobs in its order, 0 if all were successfully. 
+     * @throws InterruptedException
+     * @since 2026-10
+     */
+    public synchronized int await(List<Job> jobsToWait) throws InterruptedException {
+      int ret = 0;
+      for(Job job: jobsToWait) {
+        while(!job.bFlushed) {
+          wait();
+        }
+        if(ret == 0) { ret = job.exitCode; }
+      }
+      return ret;
+    }
+    
+    
+    /**Removes all waiting jobs and destroys the running processes. The outputs till now are written.
+     * The removed jobs get the exit code -1.
+     * @return number of removed or aborted jobs. */
+    public synchronized int abort() {
+      int nr = this.jobsWaiting.size();
+      for(Job job: this.jobsWaiting) {
+        job.exitCode = -1;
+        job.bFlushed = true;
+      }
+      this.jobs.removeAll(this.jobsWaiting);
+      this.jobsWaiting.clear();
+      for(Job job: this.jobs) {
+        if(job.abort()) { nr +=1; }
+      }
+      notifyAll();
+      return nr;
+    }
+  }
+  
+  
+  
+  /**One process for {@link JobSlots}. The run() is executed in a pool thread, 
+   * it starts the process and reads its output till end of file.
+   */
+  public static class Job implements Runnable
+  {
+    final ProcessBuilder processBuilder;
+    final String input;
+    final List<Appendable> outs;
+    final Charset charset;
+    final ExecuteAfterFinish executeAfterCmd;
+    final JobSlots slots;
+    
+    /**The output of the process. */
+    final StringBuilder buffer = new StringBuilder(200);
+    
+    private Process process;
+    
+    int exitCode;
+    
+    /**Set under lock of {@link #slots}. */
+    boolean bFinished;
+    
+    /**Set under lock of {@link #slots} if the output is written. */
+    boolean bFlushed;
+    
+    Job(ProcessBuilder processBuilder, String input, List<Appendable> outs, Charset charset
+      , ExecuteAfterFinish executeAfterCmd, JobSlots slots) {
+      this.processBuilder = processBuilder;
+      this.input = input;
+      this.outs = outs;
+      this.charset = charset;
+      this.executeAfterCmd = executeAfterCmd;
+      this.slots = slots;
+    }
+    
+    @Override public void run() {
+      try {
+        Process process1 = this.processBuilder.start();
+        synchronized(this) { this.process = process1; }
+        OutputStream sinput = process1.getOutputStream();
+        if(this.input !=null) {
+          sinput.write(this.input.getBytes(this.charset));
+        }
+        sinput.close();                                    //the process should not wait for input.
+        Reader processOut = new InputStreamReader(process1.getInputStream(), this.charset);
+        char[] cbuf = new char[4096];
+        int zChars;
+        while( (zChars = processOut.read(cbuf)) >=0) {     //blocks, it is its own thread.
+          if(this.outs !=null || this.executeAfterCmd !=null) {
+            this.buffer.append(cbuf, 0, zChars);
+          }                                                //else: read only to empty the pipe.
+        }
+        processOut.close();
+        this.exitCode = process1.waitFor();
+      } catch(Exception exc) {
+        this.buffer.append("CmdExecuter - Problem;").append(exc.getMessage()).append('\n');
+        this.exitCode = -1;
+      }
+      synchronized(this) { this.process = null; }
+      this.slots.finished(this);
+    }
+    
+    synchronized boolean abort() {
+      if(this.process !=null) {
+        this.process.destroy();
+        return true;
+      } else return false;
+    }
+    
+    /**Writes the output and executes {@link #executeAfterCmd}. */
+    void flush() {
+      if(this.outs !=null) {
+        for(Appendable out: this.outs) {
+          try{ out.append(this.buffer); }
+          catch(IOException exc){                          //continue with the other outs, but the lost output should be known.
+            System.err.println("CmdExecuter - output of job not written; " + this.processBuilder.command().get(0) + ": " + exc.getMessage()); 
+          }
+        }
+      }
+      if(this.executeAfterCmd !=null) {
+        try{ this.executeAfterCmd.exec(this.exitCode, this.buffer, null); }
+        catch(Exception exc){ System.err.println("CmdExecuter - exception in executeAfterCmd"); }
+      }
+    }
+  }
+  
+  
+  
   /**An implementation of this interface can be evaluate the output of the process after finish.
    */
   public interface ExecuteAfterFinish
@@ -28,6 +28,14 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.script.Bindings;
 import javax.script.ScriptContext;
@@ -45,6 +53,8 @@ import org.vishia.util.DataAccess;
 import org.vishia.util.Debugutil;
 import org.vishia.util.FilePath;
 import org.vishia.util.FileFunctions;
+import org.vishia.util.FilesToList;
+import org.vishia.util.PipeRingBuffer;
 //import org.vishia.util.IndexMultiTable;
 import org.vishia.util.StringFormatter;
 import org.vishia.util.StringFunctions;
@@ -85,6 +95,43 @@ public class JZtxtcmdExecuter {
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut corr: The thread which creates a <code>Pipe name = size;</code> is registered as its reader 
+   *   with {@link PipeRingBuffer#openRead()}, the ring grows only while this thread writes and no other thread has read. 
+   *   A writer in another thread waits for space.
+   * <li>2026-10-19 Hartmut corr: {@link ExecuteLevel#awaitJobs()} does not reset the cmdErrorlevel of a failed <code>cmd</code> if all jobs are ok.
+   * <li>2026-10-19 Hartmut chg: {@link JzTcMain#slotTable} is the slot table of the script for all {@link JZtxtcmdVariables}.
+   * <li>2026-10-19 Hartmut corr: A <code>Pipe</code> variable without size is a StringBuilder as before, unbounded. 
+   *   Only <code>Pipe name = size;</code> creates a {@link PipeRingBuffer}. It grows if the writing thread is also the reader
+   *   or no other thread reads, elsewhere a single threaded script which writes more than size would block.
+   * <li>2026-10-19 Hartmut corr: The directory cache {@link FilesToList#setCurrent(FilesToList)} is set for the calling thread
+   *   and for the threads of the script, see {@link JzTcMain#dirCacheRun}. Concurrent executions use their own cache.
+   * <li>2026-10-19 Hartmut corr: {@link JZtxtcmdProfiler#exit(org.vishia.cmd.JZtxtcmdProfiler.Node)} is called in finally,
+   *   also on an exception or error. The body of a thread statement is profiled too, see {@link ExecuteLevel#runThread(ExecuteLevel, org.vishia.cmd.JZtxtcmdScript.ThreadBlock, JZtxtcmdThreadData)}. 
+   * <li>2026-10-19 Hartmut corr: A zmake target is noted as built in the {@link ZmakeBuildCache} only if no cmd and no job has failed
+   *   while executing the target, see {@link JZtxtcmdThreadData#ctCmdError}. Elsewhere it is removed from the cache.
+   * <li>2026-10-19 Hartmut corr: The exit code of <code>job cmdline</code> statements is set in {@link ExecuteLevel#cmdErrorlevel}.
+   *   The jobs are awaited with {@link ExecuteLevel#awaitJobs()} before <code>onerror</code>, on end of a subroutine and of a thread, 
+   *   hence the outputs are complete for the caller. The exit code of the jobs of a subroutine is propagated to the calling level.
+   * <li>2026-10-19 Hartmut corr: {@link #finishThread(JZtxtcmdThreadData)} notifies all waiting threads, 
+   *   the main routine and {@link JzTcMain#joinAllThreads(int)} may wait concurrently.
+   * <li>2026-10-19 Hartmut chg: A <code>Pipe</code> variable is a {@link PipeRingBuffer} instead a StringBuilder. 
+   *   One script thread can write with <code>&lt;+pipe>...&lt;.+></code> and close it, another thread reads 
+   *   with <code>pipe.readLine()</code>. The size is 0x10000 characters or given with <code>Pipe name = size;</code>.
+   * <li>2026-10-19 Hartmut new: {@link JzTcMain#setDirCache(File)}: the directory listings for the wildcard expansion of filesets 
+   *   are cached for one run of the script and optional stored in a file, see {@link FilesToList}.
+   * <li>2026-10-19 Hartmut new: {@link JzTcMain#setProfiler(File)}: measures calls, times, output characters and time in 
+   *   external processes for any statement and subroutine, see {@link JZtxtcmdProfiler}.
+   * <li>2026-10-19 Hartmut new: {@link JzTcMain#setBuildCache(File)}: a <code>zmake</code> target is skipped 
+   *   if its fingerprint from arguments, output and input file contents is the same as on the last build, see {@link ZmakeBuildCache}.
+   * <li>2026-10-19 Hartmut new: statement <code>job cmdline</code> submits the process to {@link JzTcMain#jobSlots()}, 
+   *   it runs concurrently to other jobs. {@link JzTcMain#awaitJobs()} waits for all, it is done also on end of main().   
+   * <li>2026-10-19 Hartmut new: {@link JzTcMain#setThreadExecution(int)}: The threads of the script can run in a bounded pool 
+   *   or as virtual threads if the Java runtime supports it. Default is as before, a new Thread for each thread statement.
+   *   {@link JzTcMain#joinThreads(Iterable, int)}, {@link JzTcMain#joinAllThreads(int)} and {@link JzTcMain#threadStatistic()} 
+   *   are new, usable in the script via <code>jztc.joinThreads(...)</code> etc.   
+   * <li>2026-10-19 Hartmut chg: The {@link ExecuteLevel#localVariables} are stored in a {@link JZtxtcmdVariables} instead a TreeMap.
+   *   A variable is accessed via its slot number, the name is only used on first access. The copy of the variables
+   *   for a nested level is an array copy. The copy of the script variables for a subroutine level iterates over the slots.  
    * <li>2021-06-21 Hartmut new jztc.envar A container which can be given to hold variables from the calling environment
    *   (a Java program) This variables are not changed if a new {@link JZtxtcmdScript} is translated and started.
    *   Used firstly for the Stimuli Selector GUI {@linkplain https://vishia.org/StimuliSel/html/StimuliSel.html}
@@ -343,7 +390,7 @@ public class JZtxtcmdExecuter {
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String version = "2020-07-22";
+  static final public String version = "2026-10-19";
 
   /**This class is the jzcmd main level from a script.
    * @author Hartmut Schorrig
@@ -396,6 +443,10 @@ public class JZtxtcmdExecuter {
     /**The java prepared generation script. */
     JZtxtcmdScript jzcmdScript;
     
+    /**The slot table for all {@link JZtxtcmdVariables}, it is the {@link JZtxtcmdScript#slotTable} of the {@link #jzcmdScript}.
+     * Before the script is given it is an own one. @since 2026-10 */
+    JZtxtcmdVariables.SlotTable slotTable = new JZtxtcmdVariables.SlotTable();
+    
     Queue<CmdExecuter> runningCmdExecuter = new ConcurrentLinkedQueue<CmdExecuter>();
     
     
@@ -412,6 +463,35 @@ public class JZtxtcmdExecuter {
      * @since 2021-06
      */
     public Map<String, DataAccess.Variable<Object>> envar;
+    
+    /**Executor for the threads of the script, see {@link #setThreadExecution(int)}.
+     * If null then any thread statement creates a new Thread.
+     * @since 2026-10 */
+    ExecutorService threadExecutor;
+    
+    /**Scheduler for the <code>job cmdline</code> statements, created on demand, see {@link #jobSlots()}. @since 2026-10 */
+    private CmdExecuter.JobSlots jobSlots;
+    
+    /**If set then zmake targets are checked whether they are up to date, see {@link #setBuildCache(File)}. @since 2026-10 */
+    ZmakeBuildCache buildCache;
+    
+    /**If set then the execution of all statements is measured, see {@link #setProfiler(File)}. @since 2026-10 */
+    JZtxtcmdProfiler profiler;
+    
+    /**If set then the directory listings are stored in a file, see {@link #setDirCache(File)}. @since 2026-10 */
+    FilesToList dirCache;
+    
+    /**The directory cache of the current run, either {@link #dirCache} or a temporary one. 
+     * It is set as {@link FilesToList#current()} in the thread of main() and in the threads of the script. @since 2026-10 */
+    FilesToList dirCacheRun;
+    
+    /**Statistic values for the threads of the script, see {@link #threadStatistic()}. @since 2026-10 */
+    final AtomicInteger ctThreadsStarted = new AtomicInteger(), ctThreadsFinished = new AtomicInteger()
+      , ctThreadsRunning = new AtomicInteger(), maxThreadsRunning = new AtomicInteger();
+    
+    /**Sum of nanoseconds of all finished threads, between start request and running and for running. @since 2026-10 */
+    final AtomicLong nanoThreadsWaiting = new AtomicLong(), nanoThreadsRunning = new AtomicLong();
+    
 
     JzTcMain(MainCmdLogging_ifc log, JZtxtcmdExecuter jzCmdExecuter){
       this.log = log;
@@ -483,12 +563,183 @@ public class JZtxtcmdExecuter {
     
 
     public CharSequence currdir(){ return this.scriptLevel.currdir(); }
+    
+    
+    /**Determines how the threads of the script (statement <code>Thread name = { ... }</code>) are executed.
+     * Note: A bounded pool should be used only if the threads do not wait for each other, 
+     * for example with {@link JZtxtcmdThread#awaitcmd(int)}. A waiting thread which is not started yet is a dead lock.
+     * @param maxThreads
+     *   <ul>
+     *   <li>0: any thread statement starts a new Thread. It is the default.
+     *   <li>&gt;0: The threads run in a pool with this maximal number of threads. 
+     *     Further thread statements are queued, the {@link JZtxtcmdThread#state()} is 'q'.
+     *   <li>&lt;0: Virtual threads are used if the Java runtime supports it (since Java 21).
+     *     Elsewhere a pool with 4 * number of processors threads is used. 
+     *   </ul>
+     * @since 2026-10
+     */
+    public void setThreadExecution(int maxThreads) {
+      ExecutorService executorOld = this.threadExecutor;
+      if(maxThreads == 0) {
+        this.threadExecutor = null;
+      } else {
+        ExecutorService executor = null;
+        if(maxThreads < 0) {
+          try {
+            executor = (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+          } catch(Exception exc) {            //not supported by this Java version
+            maxThreads = 4 * Runtime.getRuntime().availableProcessors();
+          }
+        }
+        if(executor == null) {
+          final AtomicInteger nrThread = new AtomicInteger();
+          ThreadFactory threadFactory = new ThreadFactory() {
+            @Override public Thread newThread(Runnable r) {
+              Thread thread = new Thread(r, "JZtxtcmd-" + nrThread.incrementAndGet());
+              thread.setDaemon(true);          //should not prevent the end of the application.
+              return thread;
+            }
+          };
+          ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 10, TimeUnit.SECONDS
+                                  , new LinkedBlockingQueue<Runnable>(), threadFactory);
+          pool.allowCoreThreadTimeOut(true);   //no idle threads remain.
+          executor = pool;
+        }
+        this.threadExecutor = executor;
+      }
+      if(executorOld !=null) {
+        executorOld.shutdown();                //already queued threads are executed furthermore.
+      }
+    }
+    
+    
+    /**Waits till all given threads are finished.
+     * @param threads a container with {@link JZtxtcmdThread} instances, other instances are ignored.
+     * @param timeout in milliseconds for all threads, 0: wait without limit.
+     * @return true if all threads are finished, false on timeout.
+     * @since 2026-10
+     */
+    public boolean joinThreads(Iterable<?> threads, int timeout) {
+      long timeEnd = System.currentTimeMillis() + timeout;
+      for(Object thread: threads) {
+        if(thread instanceof JZtxtcmdThread) {
+          int timeRest = 0;
+          if(timeout >0) {
+            timeRest = (int)(timeEnd - System.currentTimeMillis());
+            if(timeRest <=0) { timeRest = 1; }   //check only, 0 would wait forever.
+          }
+          if(!((JZtxtcmdThread)thread).join(timeRest)) return false;
+        }
+      }
+      return true;
+    }
+    
+    
+    /**Waits till all threads of the script are finished.
+     * @param timeout in milliseconds, 0: wait without limit.
+     * @return true if all threads are finished, false on timeout.
+     * @since 2026-10
+     */
+    public boolean joinAllThreads(int timeout) {
+      long timeEnd = System.currentTimeMillis() + timeout;
+      synchronized(this.threads) {
+        while(this.threads.size() !=0) {
+          long timeRest = timeout == 0 ? 1000 : timeEnd - System.currentTimeMillis();
+          if(timeRest <=0) return false;
+          try{ this.threads.wait(timeRest); }
+          catch(InterruptedException exc){ return false; }
+        }
+      }
+      return true;
+    }
+    
+    
+    /**Returns a statistic about the threads of the script: number of started, running and finished threads,
+     * the maximal number of parallel running threads and the mean time from start request to running
+     * and for running of the finished threads.
+     * @since 2026-10
+     */
+    public String threadStatistic() {
+      int ctFinished = this.ctThreadsFinished.get();
+      long usWait = ctFinished == 0 ? 0 : this.nanoThreadsWaiting.get() / ctFinished / 1000;
+      long usRun = ctFinished == 0 ? 0 : this.nanoThreadsRunning.get() / ctFinished / 1000;
+      return "threads started: " + this.ctThreadsStarted.get() + ", running: " + this.ctThreadsRunning.get() 
+           + ", finished: " + ctFinished + ", max parallel: " + this.maxThreadsRunning.get()
+           + ", mean wait: " + usWait + " us, mean run: " + usRun + " us"; 
+    }
+    
+    
+    /**Returns the scheduler for the <code>job cmdline</code> statements. 
+     * It is created on first call with the number of processors as number of slots. @since 2026-10 */
+    public synchronized CmdExecuter.JobSlots jobSlots() {
+      if(this.jobSlots == null) { this.jobSlots = new CmdExecuter.JobSlots(0); }
+      return this.jobSlots;
+    }
+    
+    
+    /**Sets the maximal number of concurrently running processes for the <code>job cmdline</code> statements.
+     * @param nSlots &lt;=0: number of processors.
+     * @since 2026-10 */
+    public void setJobSlots(int nSlots) { jobSlots().setSlots(nSlots); }
+    
+    
+    /**Waits till all processes started with <code>job cmdline</code> are finished and its output is written.
+     * @return the first exit code != 0 in order of the job statements since the last call, 0 if all were successfully.
+     * @since 2026-10 */
+    public int awaitJobs() throws InterruptedException {
+      CmdExecuter.JobSlots slots;
+      synchronized(this) { slots = this.jobSlots; }
+      return slots == null ? 0 : slots.awaitAll();
+    }
+    
+    
+    /**Uses an index file to skip zmake targets which are up to date, see {@link ZmakeBuildCache}.
+     * The index file is read immediately and written on end of {@link JZtxtcmdExecuter#execute(JZtxtcmdScript, boolean, boolean, Appendable, String)}.
+     * @param fileIndex null: does not use a build cache, all zmake targets are executed.
+     * @since 2026-10 */
+    public void setBuildCache(File fileIndex) { this.buildCache = fileIndex == null ? null : new ZmakeBuildCache(fileIndex); }
+    
+    
+    /**Measures the execution of the statements and subroutines, see {@link JZtxtcmdProfiler}.
+     * The report is written on end of {@link JZtxtcmdExecuter#execute(JZtxtcmdScript, boolean, boolean, Appendable, String)}
+     * to the given file and the collapsed stacks for flame graphs to the same path with extension <code>.collapsed</code>.
+     * @param fileReport null: does not measure.
+     * @since 2026-10 */
+    public void setProfiler(File fileReport) { this.profiler = fileReport == null ? null : new JZtxtcmdProfiler(fileReport); }
+    
+    
+    /**Uses a file to store the directory listings of the wildcard expansion, see {@link FilesToList}.
+     * The file is read immediately and written on end of {@link JZtxtcmdExecuter#execute(JZtxtcmdScript, boolean, boolean, Appendable, String)}.
+     * Without file the listings are cached only while one execution.
+     * @param fileCache null: does not store the listings.
+     * @since 2026-10 */
+    public void setDirCache(File fileCache) { this.dirCache = fileCache == null ? null : new FilesToList(fileCache); }
+    
+    
+    /**Counts a running thread, called in the thread. @since 2026-10*/
+    void threadRuns() {
+      this.ctThreadsStarted.incrementAndGet();
+      int ctRunning = this.ctThreadsRunning.incrementAndGet();
+      int max;
+      while(ctRunning > (max = this.maxThreadsRunning.get()) && !this.maxThreadsRunning.compareAndSet(max, ctRunning)) {
+        //repeat if another thread has changed it.
+      }
+    }
+    
+    
+    /**Counts a finished thread, called in the thread. @since 2026-10*/
+    void threadFinished(long nanoWaiting, long nanoRunning) {
+      this.ctThreadsRunning.decrementAndGet();
+      this.ctThreadsFinished.incrementAndGet();
+      this.nanoThreadsWaiting.addAndGet(nanoWaiting);
+      this.nanoThreadsRunning.addAndGet(nanoRunning);
+    }
 
     public long calctime(){ return System.currentTimeMillis() - this.startmilli; }
 
 
-    private Map<String, DataAccess.Variable<Object>> new_Variables(){
-      return new TreeMap<String, DataAccess.Variable<Object>>();
+    private JZtxtcmdVariables new_Variables(){
+      return new JZtxtcmdVariables(this.slotTable);
       //return new IndexMultiTable<String, DataAccess.Variable<Object>>(IndexMultiTable.providerString);
     }
 
@@ -602,6 +853,37 @@ public class JZtxtcmdExecuter {
   }
   
   
+  /**Determines how the threads of the script are executed, see {@link JzTcMain#setThreadExecution(int)}.
+   * @param maxThreads 0: new Thread for each, &gt;0: bounded pool, &lt;0: virtual threads if supported.
+   * @since 2026-10
+   */
+  public void setThreadExecution(int maxThreads){ this.acc.setThreadExecution(maxThreads); }
+  
+  
+  /**Sets the number of concurrent processes for <code>job cmdline</code>, see {@link JzTcMain#setJobSlots(int)}.
+   * @since 2026-10
+   */
+  public void setJobSlots(int nSlots){ this.acc.setJobSlots(nSlots); }
+  
+  
+  /**Sets the index file for skipping zmake targets which are up to date, see {@link JzTcMain#setBuildCache(File)}.
+   * @since 2026-10
+   */
+  public void setBuildCache(File fileIndex){ this.acc.setBuildCache(fileIndex); }
+  
+  
+  /**Measures the execution of the script and writes a report, see {@link JzTcMain#setProfiler(File)}.
+   * @since 2026-10
+   */
+  public void setProfiler(File fileReport){ this.acc.setProfiler(fileReport); }
+  
+  
+  /**Stores the directory listings for the wildcard expansion in a file, see {@link JzTcMain#setDirCache(File)}.
+   * @since 2026-10
+   */
+  public void setDirCache(File fileCache){ this.acc.setDirCache(fileCache); }
+  
+  
 /**Creates a JZcmdExecuter with possible writing exceptions in the output text.
  */
 public JZtxtcmdExecuter(){
@@ -776,7 +1058,9 @@ throws ScriptException //, IllegalAccessException
   
   this.acc.bAccessPrivate = accessPrivate;
   this.acc.jzcmdScript = script;
+  this.acc.slotTable = script.slotTable;
   ExecuteLevel scriptLevel = this.acc.scriptLevel;
+  scriptLevel.localVariables.setSlotTable(script.slotTable);  //the script level is created before the script is known.
   if(this.acc.envar == null) {
     this.acc.envar = new TreeMap<String, DataAccess.Variable<Object>>();  // create an empty one as container
   }
@@ -1184,8 +1468,22 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
     //return execute(execFile, contentScript, true);
     this.acc.startmilli = System.currentTimeMillis();
     this.acc.startnano = System.nanoTime();
+    FilesToList dirCache = this.acc.dirCache !=null ? this.acc.dirCache : new FilesToList();
+    this.acc.dirCacheRun = dirCache;
+    FilesToList dirCacheLast = FilesToList.setCurrent(dirCache);  //used for all wildcard expansions in this thread.
     if(mainRoutine !=null) {
-      ret = execFile.execute(mainRoutine.statementlist, this.acc.textline, 0, execFile.localVariables, -1);
+      JZtxtcmdProfiler.Node profNode = this.acc.profiler == null ? null : this.acc.profiler.enter(mainRoutine);
+      try {
+        ret = execFile.execute(mainRoutine.statementlist, this.acc.textline, 0, execFile.localVariables, -1);
+      } finally {
+        if(profNode !=null) { this.acc.profiler.exit(profNode); }
+      }
+      try{ 
+        int exitCodeJobs = execFile.awaitJobs();
+        if(exitCodeJobs !=0) { System.err.println("JZtxtcmd - job in main() failed; exit code = " + exitCodeJobs); }
+        this.acc.awaitJobs();                            //the outputs of all job statements should be complete.
+      }
+      catch(InterruptedException exc){ }
     } else {
       System.out.println("JZcmdExecuter - main routine not found.");
       ret = 0;
@@ -1202,6 +1500,17 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
         }
       }
     }
+    if(this.acc.buildCache !=null) {
+      String sError = this.acc.buildCache.save();        //after all jobs and threads, the outputs are complete.
+      if(sError !=null) { System.err.println(sError); }
+    }
+    if(this.acc.profiler !=null) {
+      String sError = this.acc.profiler.write();
+      if(sError !=null) { System.err.println(sError); }
+    }
+    FilesToList.setCurrent(dirCacheLast);
+    String sErrorDirCache = dirCache.save();
+    if(sErrorDirCache !=null) { System.err.println(sErrorDirCache); }
     if(acc.textline !=null) {
       try{ this.acc.textline.close(); } 
       catch(IOException exc){ throw new RuntimeException("unexpected exception on close", exc); }
@@ -1434,7 +1743,7 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
     /**Generated content of local variables in this nested level including the {@link JzTcMain#scriptLevel}.{@link ExecuteLevel#localVariables}.
      * The variables are type invariant on language level. The type is checked and therefore 
      * errors are detected on runtime only. */
-    public final Map<String, DataAccess.Variable<Object>> localVariables;
+    public final JZtxtcmdVariables localVariables;
     
     
     /**Initialize firstly on demand. Don't close to speed up following cmd invocations.
@@ -1454,6 +1763,10 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
      */
     public int cmdErrorlevel = 0;
     
+    /**The not awaited jobs of <code>job cmdline</code> statements of this subroutine level, 
+     * shared with the nested levels of the same thread. See {@link #awaitJobs()}. @since 2026-10 */
+    final List<CmdExecuter.Job> jobs;
+    
     
     /**Constructs data for a local execution level.
      * @param parentVariables if given this variable are copied to the local ones.
@@ -1470,6 +1783,7 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
       this.jzClass = jzClass;
       this.subRoutine = subRoutine;
       this.threadData = threadData;
+      this.jobs = parent !=null && parentVariables !=null && parent.threadData == threadData ? parent.jobs : new ArrayList<CmdExecuter.Job>();
       if(parent !=null) {
         this.currdir = parent.currdir;
         this.sCurrdir = parent.sCurrdir;
@@ -1478,9 +1792,12 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
       if(parentVariables != null) {
         this.localVariables.putAll(parentVariables);  //use the same if it is not a subText, only a 
       } else if(acc.scriptLevel !=null) {
-        for(Map.Entry<String, DataAccess.Variable<Object>> e: acc.scriptLevel.localVariables.entrySet()){
-          DataAccess.Variable<Object> var = e.getValue();
-          String key = e.getKey();
+        JZtxtcmdVariables scriptVariables = acc.scriptLevel.localVariables;
+        int zSlots = scriptVariables.slotLimit();
+        for(int ixSlot = 0; ixSlot < zSlots; ++ixSlot){  //the order is not relevant, iterate over slots without sorting.
+          DataAccess.Variable<Object> var = scriptVariables.getSlot(ixSlot);
+          if(var == null) continue;
+          String key = scriptVariables.nameOfSlot(ixSlot);
           if(key.equals("scriptdir")){           //scriptfile either from subroutine if given, or ...
             File scriptFile = subRoutine !=null ? new File(subRoutine.srcFile) : 
                               jzClass !=null ? new File(jzClass.srcFile) : acc.jzcmdScript.fileScript ;
@@ -1499,12 +1816,12 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
           else if(var.isConst()){
             //Scriptvariables which are designated as const cannot be changed in the sub level.
             //Therefore it is enough to refer it.
-            this.localVariables.put(key, var);
+            this.localVariables.setSlot(ixSlot, var);
           } 
           else {
             //build a new independent variable, which can be changed in the sub level.
             DataAccess.Variable<Object> var2 = new DataAccess.Variable<Object>(var);
-            this.localVariables.put(key, var2);
+            this.localVariables.setSlot(ixSlot, var2);
           }
         }
       }
@@ -1626,6 +1943,7 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
           Debugutil.stop();  //NOTE: set the local variable nDebug1 to 0: stop debugging for sub levels.
         }
         //for(TextGenScript.ScriptElement statement: contentScript.content){
+        JZtxtcmdProfiler.Node profNode = this.jzcmdMain.profiler == null ? null : this.jzcmdMain.profiler.enter(statement);
         try{    
           switch(statement.elementType()){
           //case ' ': bSetSkipSpaces = true; break;
@@ -1641,9 +1959,20 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
           //case 'X': break;  //unused for dataStruct in Argument
           case 'U': ret = defineExpr(newVariables, (JZtxtcmdScript.DefVariable)statement); break; //setStringVariable(statement); break; 
           case 'S': ret = defineExpr(newVariables, (JZtxtcmdScript.DefVariable)statement); break; //setStringVariable(statement); break; 
-          case 'P': { //create a new local variable as pipe
-            StringBuilder uBufferVariable = new StringBuilder();
-            exec_DefVariable(newVariables, (JZtxtcmdScript.DefVariable)statement, 'P', uBufferVariable, true);
+          case 'P': { //create a new local variable as pipe, "Pipe name;" unbounded or "Pipe name = size;" as ring buffer.
+            Object size = evalObject(statement, false);
+            if(size == JZtxtcmdExecuter.retException){ ret = kException; }
+            else {
+              Appendable pipe;
+              if(size instanceof Number) {
+                PipeRingBuffer ring = new PipeRingBuffer(((Number)size).intValue());
+                ring.openRead();          //the creating thread is the reader till another thread reads, it may write and read itself.
+                pipe = ring;
+              } else { 
+                pipe = new StringBuilder(); 
+              }
+              exec_DefVariable(newVariables, (JZtxtcmdScript.DefVariable)statement, 'P', pipe, true);
+            }
           } break;
           case 'L': ret = exec_DefList((JZtxtcmdScript.DefContainerVariable)statement, newVariables); break; 
           case 'M': ret = exec_DefMapVariable((JZtxtcmdScript.DefVariable)statement, newVariables); break;
@@ -1741,6 +2070,9 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
             ret = kException;
           }
         } //catch
+        finally {
+          if(profNode !=null) { this.jzcmdMain.profiler.exit(profNode); }
+        }
         //
         //handle onerror
         //
@@ -1825,6 +2157,7 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
       if(statement.textArg.startsWith("|+"))
         Debugutil.stop();
       out.append(statement.textArg);
+      if(this.jzcmdMain.profiler !=null) { this.jzcmdMain.profiler.outChars(statement.textArg.length()); }
     }
     
     
@@ -2640,7 +2973,37 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
       } else if(actualArgs !=null){
         throw new IllegalArgumentException("execSubroutine -  not expected arguments");
       }
-      success = sublevel.execute(statement.statementlist, out, indentOut, sublevel.localVariables, nDebug);
+      ZmakeTarget target = null;
+      byte[] fingerprint = null;
+      if(this.jzcmdMain.buildCache !=null && additionalArgs !=null) {
+        for(DataAccess.Variable<Object> arg: additionalArgs) {
+          if(arg.value() instanceof ZmakeTarget) { target = (ZmakeTarget)arg.value(); }
+        }
+        if(target !=null) {
+          fingerprint = target.fingerprint(statement, sublevel.localVariables, this.jzcmdMain.buildCache);
+          if(this.jzcmdMain.buildCache.isUpToDate(target.output.absfile().toString(), fingerprint)) {
+            return kSuccess;                               //nothing to do, output is built from the same inputs.
+          }
+        }
+      }
+      int ctCmdErrorStart = this.threadData.ctCmdError;
+      boolean bBuilt = false;
+      try {
+        JZtxtcmdProfiler.Node profNode = this.jzcmdMain.profiler == null ? null : this.jzcmdMain.profiler.enter(statement);
+        try {
+          success = sublevel.execute(statement.statementlist, out, indentOut, sublevel.localVariables, nDebug);
+        } finally {
+          if(profNode !=null) { this.jzcmdMain.profiler.exit(profNode); }
+        }
+        int exitCodeJobs = sublevel.awaitJobs();           //the caller uses the outputs of the jobs.
+        if(exitCodeJobs !=0) { this.cmdErrorlevel = exitCodeJobs; }
+        bBuilt = success == kSuccess && this.threadData.ctCmdError == ctCmdErrorStart;  //no cmd or job has failed
+      } finally {
+        if(fingerprint !=null) {
+          if(bBuilt) { this.jzcmdMain.buildCache.targetBuilt(target.output.absfile().toString(), fingerprint); }
+          else { this.jzcmdMain.buildCache.targetFailed(target.output.absfile().toString()); }
+        }
+      }
       return success;
     }
     
@@ -2705,7 +3068,7 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
       synchronized(this.jzcmdMain.threads){
         this.jzcmdMain.threads.add(thread);
       }
-      thread.startThread(name, threadLevel, statement);
+      thread.startThread(name, threadLevel, statement, this.jzcmdMain.threadExecutor);
       //it does not wait on finishing this thread.
       return kSuccess;
     }
@@ -2843,10 +3206,17 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
       //
       String[] sArgs = new String[args.size()]; 
       args.toArray(sArgs);
-      jzcmdMain.runningCmdExecuter.offer(cmdExecuter);
-      this.cmdErrorlevel = cmdExecuter.execute(sArgs, statement.bShouldNotWait, null, outCmd, null, null);
-      
-      jzcmdMain.runningCmdExecuter.remove(cmdExecuter);
+      if(statement.bJob) {
+        this.jobs.add(cmdExecuter.submitJob(sArgs, null, outCmd, null, this.jzcmdMain.jobSlots()));  //does not wait, see awaitJobs()
+      } else {
+        jzcmdMain.runningCmdExecuter.offer(cmdExecuter);
+        long nanoStart = System.nanoTime();
+        this.cmdErrorlevel = cmdExecuter.execute(sArgs, statement.bShouldNotWait, null, outCmd, null, null);
+        if(this.jzcmdMain.profiler !=null) { this.jzcmdMain.profiler.cmdTime(System.nanoTime() - nanoStart); }
+        if(this.cmdErrorlevel !=0) { this.threadData.ctCmdError +=1; }
+        
+        jzcmdMain.runningCmdExecuter.remove(cmdExecuter);
+      }
       //
       //don't close for following commands.
       //
@@ -2855,6 +3225,7 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
 
     short exec_CmdError(JZtxtcmdScript.Onerror statement, StringFormatter out, int indentOut) throws Exception {
       short ret = 0;
+      awaitJobs();                                         //sets cmdErrorlevel if jobs are pending
       if(this.cmdErrorlevel >= statement.errorLevel){
         ret = execute(statement.statementlist, out, indentOut, localVariables, -1);
       }
@@ -2862,6 +3233,23 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
     }
 
 
+    /**Waits for the pending jobs of this level and its nested levels 
+     * and sets the {@link #cmdErrorlevel} to the first exit code != 0 of it. If all jobs were successfully, the cmdErrorlevel is not changed,
+     * it may be set by a <code>cmd</code> statement after the jobs.
+     * @return the first exit code != 0 of the jobs in order of the statements, 0 if all were successfully or there were no jobs.
+     * @since 2026-10 */
+    public int awaitJobs() throws InterruptedException {
+      if(this.jobs.size() == 0) return 0;
+      int exitCode = this.jzcmdMain.jobSlots().await(this.jobs);
+      this.jobs.clear();
+      if(exitCode !=0) {
+        this.cmdErrorlevel = exitCode;
+        this.threadData.ctCmdError +=1;
+      }
+      return exitCode;
+    }
+
+
     short exec_DebugOp(JZtxtcmdScript.JZcmditem statement) throws Exception {
       short ret = 0;
       Object val = evalObject(statement, false);
@@ -3065,7 +3453,10 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
           Debugutil.stop();
         success = kSuccess;
       }
-      if(text!=null){ out.append(text); }
+      if(text!=null){ 
+        out.append(text); 
+        if(this.jzcmdMain.profiler !=null) { this.jzcmdMain.profiler.outChars(text.length()); }
+      }
       return success;
     }
 
@@ -3752,13 +4143,21 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
     
     
     protected void runThread(ExecuteLevel executeLevel, JZtxtcmdScript.ThreadBlock statement, JZtxtcmdThreadData threadVar){
+      //the thread body is the root of the call tree of this thread in the profiler.
+      JZtxtcmdProfiler.Node profNode = this.jzcmdMain.profiler == null ? null : this.jzcmdMain.profiler.enter(statement);
+      FilesToList dirCacheLast = FilesToList.setCurrent(this.jzcmdMain.dirCacheRun);  //the thread may be a pool thread.
       try{
         executeLevel.execute(statement.statementlist, jzcmdMain.textline, 0, executeLevel.localVariables, -1);
+        executeLevel.awaitJobs();            //the jobs of the thread should be finished on end of the thread.
       } 
       catch(Exception exc){
         threadVar.exception = exc;
         //finishes the thread.
       }
+      finally {
+        FilesToList.setCurrent(dirCacheLast);
+        if(profNode !=null) { this.jzcmdMain.profiler.exit(profNode); }
+      }
     }
     
 
@@ -3774,7 +4173,7 @@ public ExecuteLevel execute_Scriptclass(JZtxtcmdScript.JZcmdClass clazz) throws
         boolean bOk = jzcmdMain.threads.remove(thread);
         assert(bOk);
         if(jzcmdMain.threads.size() == 0){
-          jzcmdMain.threads.notify();    //notify the waiting main thread to finish.
+          jzcmdMain.threads.notifyAll(); //notify the waiting main thread and joinAllThreads(), both may wait.
         }
       }
 
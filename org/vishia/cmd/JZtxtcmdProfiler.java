@@ -0,0 +1,269 @@
+package org.vishia.cmd;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**This class measures the execution times of the statements and subroutines of a JZtxtcmd script.
+ * It is activated with {@link JZtxtcmdExecuter.JzTcMain#setProfiler(File)} or with the command line argument
+ * <code>-profile:FILE</code>. If it is not activated, the execution needs only one null-check per statement.
+ * <br><br>
+ * Any thread which executes a script (the main thread, threads of the script) builds its own call tree.
+ * The top node of a script thread is its thread statement.
+ * Any {@link Node} of the tree is a statement or subroutine in its calling context. Hence no synchronization
+ * is necessary while execution. The trees are evaluated in {@link #write()} on end of the script:
+ * <ul>
+ * <li>A report sorted by the exclusive time. Any line is one statement or subroutine with its source position:
+ *   number of calls, inclusive and exclusive time, number of output characters and time in external processes
+ *   started with {@link CmdExecuter}, both inclusive the called statements.
+ *   For recursive calls only the outer call is counted for the inclusive values.
+ * <li>The call tree in the collapsed stack format, one line per call path with the exclusive time in microseconds.
+ *   This format is used for flame graphs, for example with <code>flamegraph.pl</code>.
+ * </ul>
+ * The time in external processes is measured only for the cmd statements which wait for the process.
+ * A <code>job cmdline</code> runs concurrently, only its start is measured.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public class JZtxtcmdProfiler
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut created.
+   * </ul>
+   *
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   *
+   */
+  public final static String version = "2026-10-19";
+
+
+  /**One statement or subroutine in its calling context. */
+  static final class Node {
+    final JZtxtcmdScript.JZcmditem item;
+    final Node parent;
+    /**Created on demand. Key is the statement. */
+    HashMap<JZtxtcmdScript.JZcmditem, Node> children;
+    long calls, nanoIncl, outChars, nanoCmd;
+    /**Start time of the current call. */
+    long nanoStart;
+
+    Node(JZtxtcmdScript.JZcmditem item, Node parent) { this.item = item; this.parent = parent; }
+  }
+
+
+  /**Summary of all nodes of one statement for the report. */
+  static final class Entry {
+    final JZtxtcmdScript.JZcmditem item;
+    long calls, nanoIncl, nanoExcl, outChars, nanoCmd;
+    Entry(JZtxtcmdScript.JZcmditem item) { this.item = item; }
+  }
+
+
+  /**Report file. The collapsed stacks are written in the same path with extension <code>.collapsed</code>. */
+  final File fileReport;
+
+  /**The roots of the call trees of all threads. */
+  private final List<Node> roots = new ArrayList<Node>();
+
+  /**The current node of the thread. It is the root node if no statement is executed. */
+  private final ThreadLocal<Node> current = new ThreadLocal<Node>();
+
+
+  public JZtxtcmdProfiler(File fileReport) {
+    this.fileReport = fileReport;
+  }
+
+
+  /**Called before execution of a statement or subroutine.
+   * @return the node, to give to {@link #exit(Node)}.
+   */
+  Node enter(JZtxtcmdScript.JZcmditem item) {
+    Node parent = this.current.get();
+    if(parent == null) {
+      parent = new Node(null, null);                       //root for this thread
+      synchronized(this.roots) { this.roots.add(parent); }
+    }
+    if(parent.children == null) { parent.children = new HashMap<JZtxtcmdScript.JZcmditem, Node>(); }
+    Node node = parent.children.get(item);
+    if(node == null) {
+      node = new Node(item, parent);
+      parent.children.put(item, node);
+    }
+    this.current.set(node);
+    node.nanoStart = System.nanoTime();
+    return node;
+  }
+
+
+  /**Called after execution of the statement or subroutine, also on exception.
+   * @param node returned from {@link #enter(org.vishia.cmd.JZtxtcmdScript.JZcmditem)}
+   */
+  void exit(Node node) {
+    node.nanoIncl += System.nanoTime() - node.nanoStart;
+    node.calls +=1;
+    this.current.set(node.parent);
+  }
+
+
+  /**Counts characters which are written to the output in the current statement. */
+  void outChars(int nrofChars) {
+    Node node = this.current.get();
+    if(node !=null) { node.outChars += nrofChars; }
+  }
+
+
+  /**Adds the time of an external process to the current statement. */
+  void cmdTime(long nanos) {
+    Node node = this.current.get();
+    if(node !=null) { node.nanoCmd += nanos; }
+  }
+
+
+  /**Writes the report and the collapsed stacks. It should be called if all threads of the script are finished.
+   * @return null on success or an error text.
+   */
+  public String write() {
+    List<Node> roots1;
+    synchronized(this.roots) { roots1 = new ArrayList<Node>(this.roots); }
+    Map<JZtxtcmdScript.JZcmditem, Entry> entries = new IdentityHashMap<JZtxtcmdScript.JZcmditem, Entry>();
+    File fileCollapsed = new File(this.fileReport.getPath() + ".collapsed");
+    Writer wrCollapsed = null;
+    Writer wrReport = null;
+    String sError = null;
+    try {
+      wrCollapsed = new FileWriter(fileCollapsed);
+      for(Node root: roots1) {
+        if(root.children !=null) {
+          for(Node node: root.children.values()) {
+            evalNode(node, "", entries, wrCollapsed);
+          }
+        }
+      }
+      List<Entry> list = new ArrayList<Entry>(entries.values());
+      Collections.sort(list, new Comparator<Entry>() {
+        @Override public int compare(Entry e1, Entry e2) { return Long.compare(e2.nanoExcl, e1.nanoExcl); }
+      });
+      wrReport = new FileWriter(this.fileReport);
+      wrReport.append(String.format(Locale.ENGLISH, "%12s %12s %10s %12s %12s  %s%n", "excl-ms", "incl-ms", "calls", "out-chars", "cmd-ms", "statement"));
+      for(Entry entry: list) {
+        wrReport.append(String.format(Locale.ENGLISH, "%12.3f %12.3f %10d %12d %12.3f  %s%n"
+            , entry.nanoExcl / 1e6, entry.nanoIncl / 1e6, entry.calls, entry.outChars, entry.nanoCmd / 1e6, label(entry.item, true)));
+      }
+    } catch(IOException exc) {
+      sError = "JZtxtcmdProfiler - cannot write; " + this.fileReport.getAbsolutePath() + "; " + exc.getMessage();
+    } finally {
+      if(wrCollapsed !=null) { try{ wrCollapsed.close(); } catch(IOException exc){} }
+      if(wrReport !=null) { try{ wrReport.close(); } catch(IOException exc){} }
+    }
+    return sError;
+  }
+
+
+  /**Evaluates the node and its children recursively.
+   * @param stack the collapsed stack of the parents, "" for the first level or ends with ";"
+   * @return the inclusive output characters and cmd time as long[2], to sum in the parent.
+   */
+  private long[] evalNode(Node node, String stack, Map<JZtxtcmdScript.JZcmditem, Entry> entries, Writer wrCollapsed)
+  throws IOException {
+    String stackNode = stack + label(node.item, false);
+    long nanoChildren = 0;
+    long[] sumChildren = new long[2];
+    if(node.children !=null) {
+      for(Node child: node.children.values()) {
+        nanoChildren += child.nanoIncl;
+        long[] sumChild = evalNode(child, stackNode + ";", entries, wrCollapsed);
+        sumChildren[0] += sumChild[0];
+        sumChildren[1] += sumChild[1];
+      }
+    }
+    long nanoExcl = Math.max(0, node.nanoIncl - nanoChildren);
+    long[] sum = new long[] { node.outChars + sumChildren[0], node.nanoCmd + sumChildren[1] };
+    Entry entry = entries.get(node.item);
+    if(entry == null) {
+      entry = new Entry(node.item);
+      entries.put(node.item, entry);
+    }
+    entry.calls += node.calls;
+    entry.nanoExcl += nanoExcl;
+    if(!isRecursive(node)) {                               //inclusive values only for the outer call.
+      entry.nanoIncl += node.nanoIncl;
+      entry.outChars += sum[0];
+      entry.nanoCmd += sum[1];
+    }
+    long usExcl = nanoExcl / 1000;
+    if(usExcl >0) {
+      wrCollapsed.append(stackNode).append(' ').append(Long.toString(usExcl)).append('\n');
+    }
+    return sum;
+  }
+
+
+  private static boolean isRecursive(Node node) {
+    for(Node parent = node.parent; parent !=null; parent = parent.parent) {
+      if(parent.item == node.item) return true;
+    }
+    return false;
+  }
+
+
+  /**Returns "name" for a subroutine, else "c@line" with the statement type character.
+   * Parts of a text expression have not an own source position, the position of the statement list is used then.
+   * @param bFile true then append the source file and column.
+   */
+  private static String label(JZtxtcmdScript.JZcmditem item, boolean bFile) {
+    StringBuilder u = new StringBuilder(64);
+    String srcFile = item.srcFile;
+    int srcLine = item.srcLine, srcColumn = item.srcColumn;
+    if(srcLine == 0 && item.parentList !=null) {
+      srcFile = item.parentList.srcFile; srcLine = item.parentList.srcLine; srcColumn = item.parentList.srcColumn;
+    }
+    if(item instanceof JZtxtcmdScript.Subroutine) {
+      String name = ((JZtxtcmdScript.Subroutine)item).name;
+      u.append(name == null ? "main" : name);
+    } else {
+      u.append(item.elementType()).append('@').append(srcLine);
+    }
+    if(bFile) {
+      u.append("  ").append(srcFile).append(':').append(srcLine).append(',').append(srcColumn);
+    } else {
+      for(int ix = 0; ix < u.length(); ++ix) {             //the collapsed format uses ';' as separator.
+        if(u.charAt(ix) == ';') { u.setCharAt(ix, ','); }
+      }
+    }
+    return u.toString();
+  }
+
+}
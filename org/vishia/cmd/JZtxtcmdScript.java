@@ -4,12 +4,14 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.security.MessageDigest;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
 import javax.script.CompiledScript;
 import javax.script.ScriptContext;
@@ -55,6 +57,12 @@ public class JZtxtcmdScript extends CompiledScript
   /**Version, history and license.
    * 
    * <ul>
+   * <li>2026-10-19 Hartmut new: {@link StatementList#new_cmdJob()} for the statement <code>job cmdline</code>. 
+   * <li>2026-10-19 Hartmut new: {@link #addSourceToFingerprint(MessageDigest, ZmakeBuildCache)} for the {@link ZmakeBuildCache}.
+   * <li>2026-10-19 Hartmut new: {@link #slotTable} for the slot numbers of the variables in {@link JZtxtcmdVariables} of this script. 
+   * <li>2026-10-19 Hartmut new: {@link #setParseResultCache(JZtxtcmdScriptCache)}: The parse result of script files
+   *   is stored and reused on the next translation, without parsing. Used in {@link #createScriptFromFile(File, MainCmdLogging_ifc, File)}
+   *   and for included files.
    * <li>2021-06-08 Hartmut: Now the <::> can be used for a text start without newline written with ident designation
    * * usage: subtext(args) <::>textexpr<.> possible and proposed
    * * intern: ZbnfItemAttribute ?.skipFirstnl= and ?.ident= used.
@@ -180,7 +188,7 @@ public class JZtxtcmdScript extends CompiledScript
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String version = "2020-01-28";
+  static final public String version = "2026-10-19";
 
   final MainCmdLogging_ifc console;
 
@@ -189,6 +197,18 @@ public class JZtxtcmdScript extends CompiledScript
    * to exist. */
   final File fileScript;
   
+  /**Association between names and slot numbers of all variables of this script in {@link JZtxtcmdVariables}.
+   * It is one table per script, hence the arrays of variables are only as large as the number of names in this script. 
+   * @since 2026-10 */
+  public final JZtxtcmdVariables.SlotTable slotTable = new JZtxtcmdVariables.SlotTable();
+  
+  /**All files of the script, the main file and the included files, see {@link #addSourceToFingerprint(MessageDigest, ZmakeBuildCache)}.
+   * @since 2026-10 */
+  private final List<File> srcFiles = new ArrayList<File>();
+  
+  /**Hash of the script source if it is given as text, not as file. @since 2026-10 */
+  private byte[] srcTextHash;
+  
   /**The JSR-223-conform engine for this script. 
    * It is used for {@link #getEngine()}. */
   final JZtxtcmdEngine scriptEngine;
@@ -217,6 +237,9 @@ public class JZtxtcmdScript extends CompiledScript
   /**The class which presents the script level. */
   JZcmdClass scriptClass;
   
+  /**If set, parse results of script files are stored and reused. See {@link #setParseResultCache(JZtxtcmdScriptCache)}. */
+  private static JZtxtcmdScriptCache parseResultCache;
+  
   //public String scriptclassMain;
 
   /**Creates.
@@ -251,19 +274,28 @@ public class JZtxtcmdScript extends CompiledScript
    */
   public static JZtxtcmdScript createScriptFromFile(File fileScript,  MainCmdLogging_ifc log, File checkXmlOutput) 
   throws ScriptException {
-    int lengthBufferGenctrl = (int)fileScript.length();
-    StringPartScan sourceScript;
-    try { 
-      sourceScript = new StringPartFromFileLines(fileScript, lengthBufferGenctrl, "encoding", null);
-    } catch(IOException exc){
-      String sError = exc.getMessage();
-      throw new ScriptException("JZcmd - Error script file not found; " + fileScript.getAbsolutePath() + "; " + sError); 
-    }
-    return createScriptFromString(sourceScript, log, checkXmlOutput, fileScript);
+    if(!fileScript.exists()) {
+      throw new ScriptException("JZcmd - Error script file not found; " + fileScript.getAbsolutePath()); 
+    }
+    JZtxtcmdScript thiz = new JZtxtcmdScript(log, fileScript, null);
+    JZtxtcmdScript.ZbnfJZcmdScript zbnfDstScript = new JZtxtcmdScript.ZbnfJZcmdScript(thiz);
+    thiz.setScriptFromFile(fileScript, zbnfDstScript, checkXmlOutput);
+    return thiz;
   }
   
   
   
+  /**Sets a cache for parse results for all following translations of script files. 
+   * @param cache null then the cache is not used furthermore.
+   */
+  public static void setParseResultCache(JZtxtcmdScriptCache cache) { parseResultCache = cache; }
+  
+  
+  /**Returns the cache set with {@link #setParseResultCache(JZtxtcmdScriptCache)} or null. */
+  public static JZtxtcmdScriptCache getParseResultCache() { return parseResultCache; }
+  
+  
+  
   
   /**Translates with given script in text format.
    * @param fileScript The file which has contained the script. It is used only to provide the variables
@@ -286,19 +318,92 @@ public class JZtxtcmdScript extends CompiledScript
     JZtxtcmdScript thiz = new JZtxtcmdScript(log, fileScript, null);
     File dirIncludeBase = fileScript==null ? null : FileSystem.getDir(fileScript);
     JZtxtcmdScript.ZbnfJZcmdScript zbnfDstScript = new JZtxtcmdScript.ZbnfJZcmdScript(thiz);
-    thiz.setScriptFromString(sourceScript, zbnfDstScript, dirIncludeBase, checkXmlOutput);
+    MessageDigest md = ZmakeBuildCache.newFingerprint();
+    ZmakeBuildCache.addText(md, sourceScript.getCurrent());
+    thiz.srcTextHash = md.digest();
+    if(fileScript !=null && fileScript.exists()) { thiz.srcFiles.add(fileScript.getAbsoluteFile()); } //the text may be a part of it.
+    ZbnfParser parser = thiz.parseScript(sourceScript, checkXmlOutput);
+    thiz.setScriptFromParseResult(parser.getFirstParseResult(), parser, zbnfDstScript, dirIncludeBase, checkXmlOutput);
     return thiz;
   }
+  
+  
+  
+  /**Adds the source of the script to a fingerprint: The path and content hash of the script file and all included files,
+   * and the hash of the script text if it is given as String. The files are the translated files 
+   * and the source files of all subroutines, the last one is necessary if the script is translated 
+   * with {@link org.vishia.jztxtcmd.JZtxtcmd#translateAndSetGenCtrl(File, File, MainCmdLogging_ifc)} without parse result cache.
+   * Hence any change of the script changes the fingerprint of a zmake target, see {@link ZmakeTarget#fingerprint(JZtxtcmdScript.Subroutine, Map, ZmakeBuildCache)}.
+   * @param md the fingerprint
+   * @param cache for the content hashes of the files
+   * @throws IOException if a script file is not readable.
+   * @since 2026-10
+   */
+  public void addSourceToFingerprint(MessageDigest md, ZmakeBuildCache cache) throws IOException {
+    if(this.srcTextHash !=null) { md.update(this.srcTextHash); }
+    TreeSet<String> files = new TreeSet<String>();         //sorted, any file only one time.
+    for(File file: this.srcFiles) {
+      files.add(file.getPath());
+    }
+    for(Subroutine sub: this.subroutinesAll.values()) {
+      if(sub.srcFile !=null && sub.srcFile.length() >0) {
+        files.add(new File(sub.srcFile).getAbsolutePath());
+      }
+    }
+    for(String file: files) {
+      cache.addFile(md, file);
+    }
+  }
+  
+  
+  
+  /**Translates a script file, internally and recursively for included scripts.
+   * If the {@link #parseResultCache} is set and contains a valid entry for the file, it is not parsed. 
+   * @param fileScript the script or included file. 
+   */
+  private void setScriptFromFile(File fileScript, JZtxtcmdScript.ZbnfJZcmdScript zbnfDstScript, File checkXmlOutput) 
+  throws ScriptException
+  { 
+    File dirIncludeBase = FileSystem.getDir(fileScript);
+    this.srcFiles.add(fileScript.getAbsoluteFile());
+    JZtxtcmdScriptCache cache = parseResultCache;
+    ZbnfParseResultItem parseResult = null;
+    if(cache !=null && checkXmlOutput == null) {
+      parseResult = cache.getParseResult(fileScript);
+    }
+    ZbnfParser parser = null;
+    if(parseResult == null) {
+      int lengthBufferGenctrl = (int)fileScript.length();
+      StringPartScan sourceScript;
+      try { 
+        sourceScript = new StringPartFromFileLines(fileScript, lengthBufferGenctrl, "encoding", null);
+      } catch(IOException exc){
+        String sError = exc.getMessage();
+        throw new ScriptException("JZcmd - Error script file not found; " + fileScript.getAbsolutePath() + "; " + sError); 
+      }
+      try {
+        parser = parseScript(sourceScript, checkXmlOutput);
+      } finally {
+        sourceScript.close();
+      }
+      if(cache !=null) {
+        String sError = cache.putParseResult(fileScript, parser);
+        if(sError !=null && this.console !=null) {
+          this.console.writeWarning(sError);
+        }
+      }
+      parseResult = parser.getFirstParseResult();
+    }
+    setScriptFromParseResult(parseResult, parser, zbnfDstScript, dirIncludeBase, checkXmlOutput);
+  }
 
   
   
   
-  /**Translates, internally and recursively for included scripts
+  /**Parses a script. 
+   * @return the parser with the parse result.
    */
-  private void setScriptFromString(StringPartScan sourceScript, JZtxtcmdScript.ZbnfJZcmdScript zbnfDstScript
-      , File dirIncludeBase 
-      , File checkXmlOutput) 
-  //throws ParseException, IllegalArgumentException, IllegalAccessException, InstantiationException, FileNotFoundException, IOException 
+  private ZbnfParser parseScript(StringPartScan sourceScript, File checkXmlOutput) 
   throws ScriptException
   { boolean bOk;
     final ZbnfParser parserGenCtrl = new ZbnfParser(console);
@@ -324,6 +429,22 @@ public class JZtxtcmdScript extends CompiledScript
     //if(log.getReportLevel() >= MainCmdLogging_ifc.fineInfo){
     //  parserGenCtrl.reportStore((Report)log, MainCmdLogging_ifc.fineInfo, "Zmake-GenScript");
     //}
+    return parserGenCtrl;
+  }
+  
+  
+  
+  /**Converts the parse result to the statements, and translates included scripts.
+   * @param parseResult from parser or from {@link #parseResultCache}
+   * @param parserGenCtrl the parser of parseResult, null if the parseResult is gotten from cache.
+   *   It is used for {@link ZbnfJZcmdScript#setXmlSrc(XmlNode)}.
+   */
+  private void setScriptFromParseResult(ZbnfParseResultItem parseResult, ZbnfParser parserGenCtrl
+      , JZtxtcmdScript.ZbnfJZcmdScript zbnfDstScript
+      , File dirIncludeBase 
+      , File checkXmlOutput) 
+  throws ScriptException
+  {
     //write into Java classes:
     /**Helper to transfer parse result into the java classes {@link ZbnfJZcmdScript} etc. */
     final ZbnfJavaOutput parserGenCtrl2Java = new ZbnfJavaOutput(console);
@@ -332,9 +453,16 @@ public class JZtxtcmdScript extends CompiledScript
     zbnfDstScript.scriptfile = new JZtxtcmdScript.Scriptfile();
     
     try {
-      parserGenCtrl2Java.setContent(JZtxtcmdScript.ZbnfJZcmdScript.class, zbnfDstScript, parserGenCtrl.getFirstParseResult());
+      parserGenCtrl2Java.setContent(JZtxtcmdScript.ZbnfJZcmdScript.class, zbnfDstScript, parseResult);
     } catch (Exception exc) { throw new ScriptException(exc); }
     if(zbnfDstScript.isXmlSrcNecessary()){
+      if(parserGenCtrl == null) { //result from cache, parse only to get the XML tree, it is a debug feature.
+        try {
+          StringPartScan sourceScript = new StringPartFromFileLines(this.fileScript, (int)this.fileScript.length(), "encoding", null);
+          parserGenCtrl = parseScript(sourceScript, null);
+          sourceScript.close();
+        } catch (IOException exc) { throw new ScriptException(exc); }
+      }
       zbnfDstScript.setXmlSrc(parserGenCtrl.getResultTree());  //to output XML from Script executer.
     }
     //
@@ -363,15 +491,9 @@ public class JZtxtcmdScript extends CompiledScript
           System.err.printf("TextGenScript - translateAndSetGenCtrl, included file not found; %s\n", fileInclude.getAbsolutePath());
           throw new ScriptException("JZcmd.compile - included file not found: ", fileInclude.getAbsolutePath(), -1, -1);
         }
-        File fileIncludeParent = FileSystem.getDir(fileInclude);
-        int lengthBufferGenctrl = (int)fileInclude.length();
-        StringPartScan sourceScriptIncluded;
-        try {
-          sourceScriptIncluded = new StringPartFromFileLines(fileInclude, lengthBufferGenctrl, "encoding", null);
-        } catch (Exception exc) { throw new ScriptException(exc); }
         //
         //included script, call recursively.
-        setScriptFromString(sourceScriptIncluded, zbnfDstScript, fileIncludeParent, checkXmlOutput);
+        setScriptFromFile(fileInclude, zbnfDstScript, checkXmlOutput);
       }
     }
     //
@@ -2191,6 +2313,9 @@ public class JZtxtcmdScript extends CompiledScript
     boolean bCmdCheck;
 
     public boolean bShouldNotWait;
+    
+    /**true then the cmd is submitted to {@link JZtxtcmdExecuter.JzTcMain#jobSlots()}. @since 2026-10 */
+    public boolean bJob;
 
     CmdInvoke(StatementList parentList, char elementType)
     { super(parentList, elementType);
@@ -3065,6 +3190,18 @@ public class JZtxtcmdScript extends CompiledScript
     public void add_cmdWait(CmdInvoke val){}
 
     
+    /**From ZBNF: <code>job cmdline</code>, runs concurrently with other jobs. @since 2026-10 */
+    public CmdInvoke new_cmdJob()
+    { CmdInvoke statement = new CmdInvoke(this, 'c');
+      statement.bJob = true;
+      statements.add(statement);
+      onerrorAccu = null; withoutOnerror.add(statement);
+      return statement;
+    }
+    
+    public void add_cmdJob(CmdInvoke val){}
+
+    
     public CmdInvoke new_cmdStart()
     { CmdInvoke statement = new CmdInvoke(this, 'c');
       statement.bShouldNotWait = true;
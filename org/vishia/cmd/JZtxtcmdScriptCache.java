@@ -0,0 +1,244 @@
+package org.vishia.cmd;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import org.vishia.jztxtcmd.JZtxtcmdSyntax;
+import org.vishia.zbnf.ZbnfParseResultItem;
+import org.vishia.zbnf.ZbnfParser;
+
+/**This class stores the parse results of JZtxtcmd script files in a directory, to use it for a next translation
+ * without running the {@link ZbnfParser}. The parse result is converted to the {@link JZtxtcmdScript} statement tree
+ * with {@link org.vishia.zbnf.ZbnfJavaOutput} as usual. That is fast in comparison to parsing.
+ * <br><br>
+ * Any script file, also any included file, has its own cache entry. The name of the entry file is built from a hash
+ * of the absolute path of the script file. The entry contains:
+ * <ul>
+ * <li>a hash of the {@link JZtxtcmdSyntax#syntax}, an entry from another syntax version is not used.
+ * <li>the absolute path, the timestamp and the length of the script file.
+ * <li>a hash (SHA-1) of the content of the script file.
+ * <li>the parse result written with {@link ZbnfParser#writeParseResult(java.io.DataOutput)}
+ * </ul>
+ * The entry is valid if timestamp and length of the script file are unchanged. If they are changed, the content hash
+ * is compared. If the content is the same (the file was touched or copied), the entry is valid too and its timestamp is updated.
+ * Because included files are cached in its own entries, a change in an included file only forces parsing of this file.
+ * <br><br>
+ * Usage: {@link JZtxtcmdScript#setParseResultCache(JZtxtcmdScriptCache)} or command line argument <code>-cache:DIR</code>
+ * of {@link org.vishia.jztxtcmd.JZtxtcmd#main(String[])}.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public class JZtxtcmdScriptCache
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut created, because the parsing of the scripts needs more time than the execution for short scripts.
+   * </ul>
+   *
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   *
+   */
+  public final static String version = "2026-10-19";
+
+
+  /**Identification of an entry file, "JZTC". */
+  private final static int magic = 0x4a5a5443;
+
+  /**Version of the entry file format. */
+  private final static int versionFormat = 1;
+
+  /**Hash of {@link JZtxtcmdSyntax#syntax}, built on first usage. */
+  private static byte[] hashSyntax;
+
+  /**The directory where the entries are stored. */
+  final File dirCache;
+
+
+  /**Creates the cache. The directory is created if not existing.
+   * @param dirCache directory for the entry files. It can be shared between some processes,
+   *   an entry file is written as temporary file and renamed after writing.
+   */
+  public JZtxtcmdScriptCache(File dirCache) {
+    this.dirCache = dirCache;
+    if(!dirCache.exists()) { dirCache.mkdirs(); }
+  }
+
+
+
+  /**Returns the stored parse result for the given script file, or null if no valid entry is found.
+   * An entry with faulty format is ignored, hence a failure of the cache forces only parsing.
+   * @param fileScript the script file
+   * @return The first parse result item like {@link ZbnfParser#getFirstParseResult()} or null.
+   */
+  public ZbnfParseResultItem getParseResult(File fileScript) {
+    File fileAbs = fileScript.getAbsoluteFile();
+    File fileEntry = fileEntry(fileAbs);
+    if(!fileEntry.exists()) return null;
+    ZbnfParseResultItem result = null;
+    DataInputStream inp = null;
+    try {
+      inp = new DataInputStream(new BufferedInputStream(new FileInputStream(fileEntry), 0x10000));
+      byte[] hash = new byte[20];
+      if(inp.readInt() == magic && inp.readInt() == versionFormat) {
+        inp.readFully(hash);
+        if(Arrays.equals(hash, hashSyntax()) && inp.readUTF().equals(fileAbs.getPath())) {
+          long timestamp = inp.readLong();
+          long length = inp.readLong();
+          inp.readFully(hash);
+          boolean bValid = timestamp == fileAbs.lastModified() && length == fileAbs.length();
+          if(!bValid && Arrays.equals(hash, hashFile(fileAbs))) {
+            bValid = true;                                 //content is unchanged, file was touched.
+            touchEntry(fileEntry, fileAbs);
+          }
+          if(bValid) {
+            result = ZbnfParser.readParseResult(inp);
+          }
+        }
+      }
+    } catch(IOException exc) {
+      result = null;                                       //faulty or truncated entry, parse newly.
+    } finally {
+      if(inp !=null) { try{ inp.close(); } catch(IOException exc){} }
+    }
+    return result;
+  }
+
+
+
+  /**Stores the result of the last parsing of the given script file.
+   * It should be invoked immediately after parsing.
+   * An IOException is not thrown but returned as text, it is not an error for the script.
+   * @param fileScript the parsed file
+   * @param parser the parser with its result.
+   * @return null on success or an error text.
+   */
+  public String putParseResult(File fileScript, ZbnfParser parser) {
+    File fileAbs = fileScript.getAbsoluteFile();
+    File fileEntry = fileEntry(fileAbs);
+    File fileTmp = new File(this.dirCache, fileEntry.getName() + "." + Thread.currentThread().getId() + ".tmp");
+    String sError = null;
+    DataOutputStream out = null;
+    try {
+      long timestamp = fileAbs.lastModified();
+      long length = fileAbs.length();
+      byte[] hashContent = hashFile(fileAbs);
+      out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileTmp), 0x10000));
+      out.writeInt(magic);
+      out.writeInt(versionFormat);
+      out.write(hashSyntax());
+      out.writeUTF(fileAbs.getPath());
+      out.writeLong(timestamp);
+      out.writeLong(length);
+      out.write(hashContent);
+      parser.writeParseResult(out);
+      out.close();
+      out = null;
+      if(fileEntry.exists()) { fileEntry.delete(); }
+      if(!fileTmp.renameTo(fileEntry)) {
+        sError = "JZtxtcmdScriptCache - cannot rename; " + fileTmp.getAbsolutePath();
+      }
+    } catch(IOException exc) {
+      sError = "JZtxtcmdScriptCache - cannot write; " + fileTmp.getAbsolutePath() + "; " + exc.getMessage();
+    } finally {
+      if(out !=null) { try{ out.close(); } catch(IOException exc){} }
+      if(fileTmp.exists()) { fileTmp.delete(); }
+    }
+    return sError;
+  }
+
+
+
+  /**Returns the entry file for the absolute script file. */
+  private File fileEntry(File fileAbs) {
+    byte[] hashPath = sha1().digest(fileAbs.getPath().getBytes(StandardCharsets.UTF_8));
+    StringBuilder name = new StringBuilder(48);
+    for(int ix = 0; ix < 12; ++ix) {
+      name.append(Character.forDigit((hashPath[ix] >> 4) & 0xf, 16)).append(Character.forDigit(hashPath[ix] & 0xf, 16));
+    }
+    name.append('_').append(fileAbs.getName()).append(".bin");
+    return new File(this.dirCache, name.toString());
+  }
+
+
+  /**Writes the current timestamp of the script file in the entry. The position is after magic, version, syntax hash and path.*/
+  private static void touchEntry(File fileEntry, File fileAbs) {
+    RandomAccessFile raf = null;
+    try {
+      raf = new RandomAccessFile(fileEntry, "rw");
+      raf.seek(4 + 4 + 20);
+      int zPath = raf.readUnsignedShort();
+      raf.seek(4 + 4 + 20 + 2 + zPath);
+      raf.writeLong(fileAbs.lastModified());
+    } catch(IOException exc) {
+      //do nothing, the content hash is checked on next usage again.
+    } finally {
+      if(raf !=null) { try{ raf.close(); } catch(IOException exc){} }
+    }
+  }
+
+
+  private static byte[] hashFile(File file) throws IOException {
+    MessageDigest md = sha1();
+    InputStream inp = new FileInputStream(file);
+    try {
+      byte[] buffer = new byte[0x4000];
+      int zBytes;
+      while( (zBytes = inp.read(buffer)) >0) {
+        md.update(buffer, 0, zBytes);
+      }
+    } finally {
+      inp.close();
+    }
+    return md.digest();
+  }
+
+
+  private static byte[] hashSyntax() {
+    if(hashSyntax == null) {
+      hashSyntax = sha1().digest(JZtxtcmdSyntax.syntax.getBytes(StandardCharsets.UTF_8));
+    }
+    return hashSyntax;
+  }
+
+
+  private static MessageDigest sha1() {
+    try { return MessageDigest.getInstance("SHA-1"); }
+    catch(NoSuchAlgorithmException exc) { throw new RuntimeException(exc); } //SHA-1 is present in any Java runtime.
+  }
+
+}
@@ -1,5 +1,7 @@
 package org.vishia.cmd;
 
+import java.util.concurrent.Executor;
+
 import org.vishia.util.DataAccess;
 import org.vishia.util.MessageQueue;
 import org.vishia.util.StringFormatter;
@@ -15,6 +17,9 @@ public class JZtxtcmdThread extends JZtxtcmdThreadData implements Runnable
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: {@link #startThread(String, org.vishia.cmd.JZtxtcmdExecuter.ExecuteLevel, org.vishia.cmd.JZtxtcmdScript.ThreadBlock, Executor)}
+   *   with an Executor, state 'q' for queued. Time measurement: {@link #millisecWaiting()}, {@link #millisecRunning()}.
+   *   bugfix {@link #join(int)}: It has returned false immediately if the thread was not started yet.
    * <li>2014-04-24 Hartmut chg: {@link #sendcmd(String, Object)} etc. uses 2 arguments, internally {@link MsgItem} is stored.
    * <li>2014-04-24 Hartmut created from 2 inner classes of {@link JZtxtcmdExecuter}: JZcmdThread and ThreadData.
    *   Both class are joined.  
@@ -46,7 +51,7 @@ public class JZtxtcmdThread extends JZtxtcmdThreadData implements Runnable
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String sVersion = "2020-07-22";
+  static final public String sVersion = "2026-10-19";
 
   /**Item inside the message queues.
    * @author hartmut
@@ -67,9 +72,15 @@ public class JZtxtcmdThread extends JZtxtcmdThreadData implements Runnable
   
 
 
-  /**State of thread execution. i-init, r-run, y-finished.*/
-  char state = 'i';
+  /**State of thread execution. i-init, q-queued, r-run, y-finished.*/
+  volatile char state = 'i';
 
+  /**Name given on start. */
+  private String name;
+  
+  /**Time stamps from {@link System#nanoTime()} for start request, start of running and finish. */
+  private long nanoQueued, nanoRun, nanoFinished;
+  
   
   /**A queue for input and a queue for output data. Use {@link #sendcmd(Object)} etc.*/
   private MessageQueue<MsgItem> msg1, cmd1;
@@ -79,21 +90,46 @@ public class JZtxtcmdThread extends JZtxtcmdThreadData implements Runnable
   {
   }
 
+  /**Starts the execution of the statement block in another thread.
+   * @param name of the thread
+   * @param startLevel the level with the local variables of the thread.
+   * @param statementArg the statements
+   * @param executor if null then a new Thread is created, elsewhere it is executed with this executor.
+   */
   protected void startThread(String name, JZtxtcmdExecuter.ExecuteLevel startLevel
-      , JZtxtcmdScript.ThreadBlock statementArg) {
+      , JZtxtcmdScript.ThreadBlock statementArg, Executor executor) {
     this.executeLevel = startLevel;
     this.statement = statementArg;
-    Thread threadmng = new Thread(this, name);
-    threadmng.start();  
-
+    this.name = name;
+    this.nanoQueued = System.nanoTime();
+    this.state = 'q';
+    if(executor == null) {
+      Thread threadmng = new Thread(this, name);
+      threadmng.start();  
+    } else {
+      executor.execute(this);
+    }
   }
   
   
   @Override public void run(){ 
+    this.nanoRun = System.nanoTime();
     this.state = 'r';
-    this.executeLevel.runThread(this.executeLevel, this.statement, this); 
-    this.state = 'y';
-    this.executeLevel.finishThread(this);
+    JZtxtcmdExecuter.JzTcMain jzcmdMain = this.executeLevel.jzcmdMain;
+    jzcmdMain.threadRuns();
+    Thread thread = Thread.currentThread();
+    String nameThread = thread.getName();
+    boolean bRename = !nameThread.equals(this.name);
+    if(bRename) { thread.setName(this.name); }           //for debugging, a pool thread gets the name of the script thread.
+    try {
+      this.executeLevel.runThread(this.executeLevel, this.statement, this); 
+    } finally {
+      if(bRename) { thread.setName(nameThread); }
+      this.nanoFinished = System.nanoTime();
+      jzcmdMain.threadFinished(this.nanoRun - this.nanoQueued, this.nanoFinished - this.nanoRun);
+      this.state = 'y';
+      this.executeLevel.finishThread(this);
+    }
   }
 
   
@@ -105,6 +141,7 @@ public class JZtxtcmdThread extends JZtxtcmdThreadData implements Runnable
   /**State of thread execution. 
    * <ul>
    * <li>i: init
+   * <li>q: start is requested, but it does not run yet (waits in the pool). 
    * <li>r: runs
    * <li>y: finished
    * </ul>
@@ -112,6 +149,21 @@ public class JZtxtcmdThread extends JZtxtcmdThreadData implements Runnable
   public char state(){ return state; }
   
   
+  /**Returns the time between start request and running in milliseconds, 
+   * till now if it does not run yet, 0 if it is not started. */
+  public long millisecWaiting(){ 
+    char state1 = this.state;
+    return state1 == 'i' ? 0 : ((state1 == 'q' ? System.nanoTime() : this.nanoRun) - this.nanoQueued) / 1000000;
+  }
+  
+  
+  /**Returns the running time in milliseconds, till now if it runs, 0 if it does not run yet. */
+  public long millisecRunning(){
+    char state1 = this.state;
+    return state1 == 'i' || state1 == 'q' ? 0 : ((state1 == 'r' ? System.nanoTime() : this.nanoFinished) - this.nanoRun) / 1000000;
+  }
+  
+  
   /**Sends a command from another thread to this thread.
    * @param cmd the string given command.
    * @param data Any data.
@@ -145,14 +197,17 @@ public class JZtxtcmdThread extends JZtxtcmdThreadData implements Runnable
    * @return true if the thread is finished, false on timeout.
    */
   public boolean join(int time){
+    long timeEnd = System.currentTimeMillis() + time;
     synchronized(this){
-      if(state =='r'){
+      while(this.state =='r' || this.state == 'q'){
+        long timeWait = time == 0 ? 0 : timeEnd - System.currentTimeMillis();
+        if(time !=0 && timeWait <=0) break;
         try {
-          wait(time);
-        } catch (InterruptedException e) { }
+          wait(timeWait);
+        } catch (InterruptedException e) { break; }
       }
     }
-    return state == 'y';
+    return this.state == 'y';
   }
   
 }
@@ -13,6 +13,7 @@ class JZtxtcmdThreadData
   
   /**The version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: {@link #ctCmdError} to detect a failed zmake target.
    * <li>2018-09-17 created from {@link JZtxtcmdThread}, was part of content there.
    * </ul>
    * 
@@ -41,7 +42,7 @@ class JZtxtcmdThreadData
    * 
    * 
    */
-  public final static String version = "2018-09-17";
+  public final static String version = "2026-10-19";
 
   
   /**Exception text. If not null then an exception is thrown and maybe thrown for the next level.
@@ -58,5 +59,9 @@ class JZtxtcmdThreadData
   
   String excSrcfile;
   
+  /**Number of cmd invocations and jobs in this thread which have returned an exit code != 0. 
+   * Used to detect whether a zmake target is built successfully. @since 2026-10 */
+  int ctCmdError;
+  
 
 }
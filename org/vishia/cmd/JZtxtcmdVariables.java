@@ -0,0 +1,292 @@
+package org.vishia.cmd;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.vishia.util.DataAccess;
+
+/**This class is the container for the local variables of one {@link JZtxtcmdExecuter.ExecuteLevel}.
+ * It is a Map to be compatible with all accesses via name, especially with {@link DataAccess#access(java.util.List, Object, boolean, boolean, Map, Object[], boolean, org.vishia.util.DataAccess.Dst)}
+ * and for dynamic access, but the variables are stored in an array indexed by a slot number.
+ * <br><br>
+ * The slot number is associated to the name of the variable in a {@link SlotTable}, one table for all levels of one script,
+ * see {@link JZtxtcmdScript#slotTable}. Hence the array of variables is only as large as the number of names in this script.
+ * The names are registered on first access of a {@link DataAccess.DatapathElement}.
+ * The slot is stored in the datapath element together with the table, see {@link DataAccess.DatapathElement#slot(org.vishia.util.DataAccess.VariableSlots)}, 
+ * hence a repeated access to a variable is an array access without hashing of the name.
+ * <br><br>
+ * A nested level copies all variables of the parent level (that is the concept of JZtxtcmd).
+ * Because all levels uses the same slot numbers this is a simple array copy, see {@link #putAll(Map)}.
+ * Hence the (depth, slot) coordinates of a variable are always (0, slot).
+ * <br><br>
+ * Differences to a {@link java.util.TreeMap}: A null value is not stored, {@link #put(String, org.vishia.util.DataAccess.Variable)} with null
+ * removes the variable. The {@link #entrySet()} is sorted by the names like in a TreeMap. Building the iterator needs sorting,
+ * the iteration over all variables is not the usual case.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public final class JZtxtcmdVariables extends AbstractMap<String, DataAccess.Variable<Object>>
+implements DataAccess.VariableSlots
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut chg: The slot numbers are associated in a {@link SlotTable} per script instead in one static table.
+   * <li>2026-10-19 Hartmut created, replaces the TreeMap for the local variables in {@link JZtxtcmdExecuter.ExecuteLevel}.
+   * </ul>
+   *
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   *
+   */
+  public final static String version = "2026-10-19";
+
+
+  /**Association between the names of variables and the slot numbers, one instance per script.
+   * It is used by all threads which execute the script, it is thread safe. */
+  public static final class SlotTable
+  {
+    /**Slot number for any registered name. */
+    private final ConcurrentHashMap<String, Integer> ixNames = new ConcurrentHashMap<String, Integer>(64);
+
+    /**Name for any slot. The array is replaced on growing. Only [0..{@link #zNames}[ are valid. */
+    private volatile String[] names = new String[64];
+
+    /**Number of registered names. Only changed under lock of {@link #ixNames}. */
+    private int zNames;
+
+    /**Returns the slot number for the variable name. If the name is not registered yet, it is registered now.
+     * It is thread safe.
+     */
+    public int slot(String name) {
+      Integer ix = this.ixNames.get(name);
+      if(ix == null) {
+        synchronized(this.ixNames) {
+          ix = this.ixNames.get(name);                     //check again in the lock, another thread may register.
+          if(ix == null) {
+            String[] names1 = this.names;
+            if(this.zNames >= names1.length) {
+              names1 = Arrays.copyOf(names1, 2 * names1.length);
+            }
+            names1[this.zNames] = name;
+            this.names = names1;
+            ix = Integer.valueOf(this.zNames++);
+            this.ixNames.put(name, ix);
+          }
+        }
+      }
+      return ix.intValue();
+    }
+
+    /**Returns the slot number or -1 if the name is not registered. */
+    int slotIfExists(Object name) {
+      Integer ix = this.ixNames.get(name);
+      return ix == null ? -1 : ix.intValue();
+    }
+
+    /**Returns the name of the variable for the slot. */
+    public String nameOfSlot(int ix) { return this.names[ix]; }
+  }
+
+
+  /**The association between names and slots, see {@link #setSlotTable(SlotTable)}. */
+  private SlotTable table;
+
+  /**The variables, index is the slot number. The array is enlarged on demand. */
+  @SuppressWarnings("unchecked")
+  private DataAccess.Variable<Object>[] vars = (DataAccess.Variable<Object>[])new DataAccess.Variable<?>[16];
+
+  /**Number of non-null entries in {@link #vars}. */
+  private int size;
+
+
+  /**Creates an empty container for variables of a script with the given table. */
+  public JZtxtcmdVariables(SlotTable table) { this.table = table; }
+
+
+  /**Changes the slot table, the existing variables are stored newly in the slots of the new table.
+   * It is used if the script level variables are created before the script is known. */
+  public void setSlotTable(SlotTable table) {
+    if(table == this.table) return;
+    SlotTable table0 = this.table;
+    DataAccess.Variable<Object>[] vars0 = this.vars;
+    this.table = table;
+    this.vars = Arrays.copyOf(vars0, vars0.length);
+    clear();
+    for(int ixSlot = 0; ixSlot < vars0.length; ++ixSlot) {
+      if(vars0[ixSlot] != null) { setSlot(table.slot(table0.nameOfSlot(ixSlot)), vars0[ixSlot]); }
+    }
+  }
+
+
+  /**Returns the name of the variable for the slot. */
+  public String nameOfSlot(int ix) { return this.table.nameOfSlot(ix); }
+
+
+  /**Implements {@link DataAccess.VariableSlots#slotTable()}. */
+  @Override public Object slotTable() { return this.table; }
+
+
+  /**Implements {@link DataAccess.VariableSlots#slotOf(String)}. */
+  @Override public int slotOf(String name) { return this.table.slot(name); }
+
+
+  /**Returns the variable in the slot or null.
+   * Implements {@link DataAccess.VariableSlots#getSlot(int)}. */
+  @Override public DataAccess.Variable<Object> getSlot(int ix) {
+    return ix < this.vars.length ? this.vars[ix] : null;
+  }
+
+
+  /**Sets the variable in the slot, removes it if var == null.
+   * Implements {@link DataAccess.VariableSlots#setSlot(int, org.vishia.util.DataAccess.Variable)}.
+   * @return the variable which was stored before in the slot or null.
+   */
+  @Override public DataAccess.Variable<Object> setSlot(int ix, DataAccess.Variable<Object> var) {
+    if(ix >= this.vars.length) {
+      if(var == null) return null;
+      this.vars = Arrays.copyOf(this.vars, Math.max(ix + 1, 2 * this.vars.length));
+    }
+    DataAccess.Variable<Object> old = this.vars[ix];
+    this.vars[ix] = var;
+    if(old == null && var != null) { this.size +=1; }
+    else if(old != null && var == null) { this.size -=1; }
+    return old;
+  }
+
+
+  /**Returns the upper limit for slot numbers used in this instance, to iterate over all slots.
+   * Slots till this limit may be empty, {@link #getSlot(int)} returns null. */
+  public int slotLimit() { return this.vars.length; }
+
+
+  @Override public DataAccess.Variable<Object> get(Object key) {
+    int ix = this.table.slotIfExists(key);
+    return ix < 0 ? null : getSlot(ix);
+  }
+
+
+  @Override public boolean containsKey(Object key) { return get(key) != null; }
+
+
+  @Override public DataAccess.Variable<Object> put(String key, DataAccess.Variable<Object> value) {
+    return setSlot(this.table.slot(key), value);
+  }
+
+
+  @Override public DataAccess.Variable<Object> remove(Object key) {
+    int ix = this.table.slotIfExists(key);
+    return ix < 0 ? null : setSlot(ix, null);
+  }
+
+
+  /**Copies all variables. If the source is a {@link JZtxtcmdVariables} with the same table too, it is an array copy.
+   * The {@link DataAccess.Variable} instances are referenced, not copied, adequate to a TreeMap.
+   */
+  @Override public void putAll(Map<? extends String, ? extends DataAccess.Variable<Object>> src) {
+    if(src instanceof JZtxtcmdVariables && ((JZtxtcmdVariables)src).table == this.table && this.size == 0) {
+      JZtxtcmdVariables src1 = (JZtxtcmdVariables)src;
+      if(this.vars.length < src1.vars.length) {
+        this.vars = Arrays.copyOf(src1.vars, src1.vars.length);
+      } else {
+        System.arraycopy(src1.vars, 0, this.vars, 0, src1.vars.length);
+      }
+      this.size = src1.size;
+    } else {
+      super.putAll(src);
+    }
+  }
+
+
+  @Override public void clear() {
+    Arrays.fill(this.vars, null);
+    this.size = 0;
+  }
+
+
+  @Override public int size() { return this.size; }
+
+
+  /**Returns a set view sorted by the names of the variables. */
+  @Override public Set<Map.Entry<String, DataAccess.Variable<Object>>> entrySet() {
+    return new AbstractSet<Map.Entry<String, DataAccess.Variable<Object>>>() {
+      @Override public Iterator<Map.Entry<String, DataAccess.Variable<Object>>> iterator() { return new IterSorted(); }
+      @Override public int size() { return JZtxtcmdVariables.this.size; }
+    };
+  }
+
+
+  private final Comparator<Integer> cmpNames = new Comparator<Integer>() {
+    @Override public int compare(Integer o1, Integer o2) { return nameOfSlot(o1.intValue()).compareTo(nameOfSlot(o2.intValue())); }
+  };
+
+
+  /**Iterator over the occupied slots in order of the names. */
+  private class IterSorted implements Iterator<Map.Entry<String, DataAccess.Variable<Object>>>
+  {
+    final Integer[] slots;
+
+    int ix;
+
+    int ixLast = -1;
+
+    IterSorted() {
+      DataAccess.Variable<Object>[] vars1 = JZtxtcmdVariables.this.vars;
+      this.slots = new Integer[JZtxtcmdVariables.this.size];
+      int ixDst = 0;
+      for(int ixSlot = 0; ixSlot < vars1.length && ixDst < this.slots.length; ++ixSlot) {
+        if(vars1[ixSlot] != null) { this.slots[ixDst++] = Integer.valueOf(ixSlot); }
+      }
+      Arrays.sort(this.slots, cmpNames);
+    }
+
+    @Override public boolean hasNext() { return this.ix < this.slots.length; }
+
+    @Override public Map.Entry<String, DataAccess.Variable<Object>> next() {
+      if(this.ix >= this.slots.length) throw new NoSuchElementException();
+      final int ixSlot = this.slots[this.ix++].intValue();
+      this.ixLast = ixSlot;
+      return new Map.Entry<String, DataAccess.Variable<Object>>() {
+        @Override public String getKey() { return nameOfSlot(ixSlot); }
+        @Override public DataAccess.Variable<Object> getValue() { return getSlot(ixSlot); }
+        @Override public DataAccess.Variable<Object> setValue(DataAccess.Variable<Object> value) { return setSlot(ixSlot, value); }
+        @Override public String toString() { return nameOfSlot(ixSlot) + "=" + getSlot(ixSlot); }
+      };
+    }
+
+    @Override public void remove() {
+      if(this.ixLast < 0) throw new IllegalStateException();
+      setSlot(this.ixLast, null);
+      this.ixLast = -1;
+    }
+  }
+
+}
@@ -0,0 +1,333 @@
+package org.vishia.cmd;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**This class stores the state of zmake targets to skip a target if nothing is changed since the last build.
+ * It is used by {@link JZtxtcmdExecuter} on a <code>zmake</code> statement if it is set with
+ * {@link JZtxtcmdExecuter.JzTcMain#setBuildCache(File)} or the command line argument <code>-buildcache:FILE</code>.
+ * <br><br>
+ * For each target the fingerprint is built from
+ * <ul>
+ * <li>the name of the subroutine and the values of its arguments, that is the resolved call,
+ * <li>the absolute path of the output,
+ * <li>the absolute paths and the content hashes (SHA-1) of all input files of the expanded filesets.
+ * </ul>
+ * The target subroutine is not executed if the fingerprint is the same as on the last build
+ * and the output file is unchanged, its content hash is the same as after the last build.
+ * <br><br>
+ * The content hash of a file is stored together with its timestamp and length. It is calculated newly
+ * only if timestamp or length are changed. Hence a build without changes reads only the file properties.
+ * <br><br>
+ * All data are stored in one binary index file with {@link #save()} on end of the script.
+ * The hash of the output is determined on {@link #save()}, because the output may be produced by concurrently jobs
+ * which are finished only at end of the script. A target without output file is not stored.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public class ZmakeBuildCache
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut created.
+   * </ul>
+   *
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   *
+   */
+  public final static String version = "2026-10-19";
+
+
+  /**Identification of the index file, "ZMBC". */
+  private final static int magic = 0x5a4d4243;
+
+  /**Version of the index file format. */
+  private final static int versionFormat = 1;
+
+  /**Hash value used for a non existing file. */
+  private final static byte[] hashMissing = new byte[20];
+
+
+  /**Properties and content hash of a file. */
+  private static class FileState {
+    final long lastModified, length;
+    final byte[] hash;
+    FileState(long lastModified, long length, byte[] hash) {
+      this.lastModified = lastModified; this.length = length; this.hash = hash;
+    }
+  }
+
+
+  /**Fingerprint of a target and the hash of its output after the build. */
+  private static class TargetState {
+    final byte[] fingerprint, hashOutput;
+    TargetState(byte[] fingerprint, byte[] hashOutput) {
+      this.fingerprint = fingerprint; this.hashOutput = hashOutput;
+    }
+  }
+
+
+  /**The index file. */
+  final File fileIndex;
+
+  /**All files which are hashed, key is the absolute path. */
+  private final Map<String, FileState> files = new HashMap<String, FileState>();
+
+  /**All built targets, key is the absolute path of the output. */
+  private final Map<String, TargetState> targets = new HashMap<String, TargetState>();
+
+  /**Targets which are executed in this session, output hash is built on {@link #save()}. */
+  private final List<String> targetsBuilt = new ArrayList<String>();
+
+  /**Fingerprints of {@link #targetsBuilt}. */
+  private final Map<String, byte[]> fingerprintsBuilt = new HashMap<String, byte[]>();
+
+  /**Number of targets which are skipped or executed, for statistic. */
+  private int ctUpToDate, ctBuilt;
+
+
+  /**Creates and reads the index file if it exists.
+   * A faulty or non readable index file is ignored, all targets are built then.
+   * @param fileIndex The index file.
+   */
+  public ZmakeBuildCache(File fileIndex) {
+    this.fileIndex = fileIndex.getAbsoluteFile();
+    if(this.fileIndex.exists()) {
+      try { read(); }
+      catch(IOException exc) {
+        this.files.clear();
+        this.targets.clear();
+      }
+    }
+  }
+
+
+
+  /**Returns the content hash of the file. It is calculated only if the file is not known yet
+   * or its timestamp or length are changed.
+   * @param sPathAbs absolute path
+   * @return hash, 20 bytes with 0 if the file does not exist.
+   */
+  public synchronized byte[] hashFile(String sPathAbs) throws IOException {
+    File file = new File(sPathAbs);
+    long lastModified = file.lastModified();
+    if(lastModified == 0 && !file.exists()) return hashMissing;
+    long length = file.length();
+    FileState state = this.files.get(sPathAbs);
+    if(state == null || state.lastModified != lastModified || state.length != length) {
+      state = new FileState(lastModified, length, hashContent(file));
+      this.files.put(sPathAbs, state);
+    }
+    return state.hash;
+  }
+
+
+  /**Returns a new digest to build a fingerprint with {@link #addFile(MessageDigest, String)} and {@link #addText(MessageDigest, CharSequence)}. */
+  public static MessageDigest newFingerprint() { return sha1(); }
+
+
+  /**Adds a text to the fingerprint. */
+  public static void addText(MessageDigest fingerprint, CharSequence text) {
+    fingerprint.update(text.toString().getBytes(StandardCharsets.UTF_8));
+    fingerprint.update((byte)0);                           //separator, "ab","c" differs from "a","bc"
+  }
+
+
+  /**Adds the path and the content hash of the file to the fingerprint. */
+  public void addFile(MessageDigest fingerprint, String sPathAbs) throws IOException {
+    addText(fingerprint, sPathAbs);
+    fingerprint.update(hashFile(sPathAbs));
+  }
+
+
+  /**Checks whether the target is up to date.
+   * @param sOutputAbs absolute path of the output of the target.
+   * @param fingerprint the fingerprint of the target for the current build.
+   * @return true if the target need not be built.
+   */
+  public synchronized boolean isUpToDate(String sOutputAbs, byte[] fingerprint) throws IOException {
+    TargetState state = this.targets.get(sOutputAbs);
+    boolean bUpToDate = state !=null && Arrays.equals(state.fingerprint, fingerprint)
+        && Arrays.equals(state.hashOutput, hashFile(sOutputAbs)) && state.hashOutput != hashMissing;
+    if(bUpToDate) { this.ctUpToDate +=1; }
+    return bUpToDate;
+  }
+
+
+  /**Notes that the target was built. The hash of the output is built on {@link #save()}.
+   * @param sOutputAbs absolute path of the output of the target.
+   * @param fingerprint the fingerprint used for {@link #isUpToDate(String, byte[])}.
+   */
+  public synchronized void targetBuilt(String sOutputAbs, byte[] fingerprint) {
+    this.ctBuilt +=1;
+    if(this.fingerprintsBuilt.put(sOutputAbs, fingerprint) == null) {
+      this.targetsBuilt.add(sOutputAbs);
+    }
+  }
+
+
+  /**Notes that the build of the target has failed. The target is removed from the index, 
+   * it is built on the next session in any case.
+   * @param sOutputAbs absolute path of the output of the target.
+   */
+  public synchronized void targetFailed(String sOutputAbs) {
+    this.targets.remove(sOutputAbs);
+    if(this.fingerprintsBuilt.remove(sOutputAbs) !=null) {
+      this.targetsBuilt.remove(sOutputAbs);
+    }
+  }
+
+
+  /**Returns the number of skipped and built targets as text. */
+  public synchronized String statistic() {
+    return "zmake targets up to date: " + this.ctUpToDate + ", built: " + this.ctBuilt;
+  }
+
+
+  /**Writes the index file. The hashes of the outputs of the built targets are determined yet.
+   * The file is written as temporary file and renamed then.
+   * @return null on success or an error text.
+   */
+  public synchronized String save() {
+    String sError = null;
+    for(String sOutput: this.targetsBuilt) {
+      try {
+        this.files.remove(sOutput);                        //the output may be written in the same second, hash newly.
+        byte[] hashOutput = hashFile(sOutput);
+        if(hashOutput != hashMissing) {
+          this.targets.put(sOutput, new TargetState(this.fingerprintsBuilt.get(sOutput), hashOutput));
+        } else {
+          this.targets.remove(sOutput);                    //not built successfully
+        }
+      } catch(IOException exc) {
+        this.targets.remove(sOutput);
+      }
+    }
+    this.targetsBuilt.clear();
+    this.fingerprintsBuilt.clear();
+    File fileTmp = new File(this.fileIndex.getPath() + ".tmp");
+    DataOutputStream out = null;
+    try {
+      File dir = this.fileIndex.getParentFile();
+      if(dir !=null && !dir.exists()) { dir.mkdirs(); }
+      out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileTmp), 0x10000));
+      out.writeInt(magic);
+      out.writeInt(versionFormat);
+      out.writeInt(this.files.size());
+      for(Map.Entry<String, FileState> e: this.files.entrySet()) {
+        FileState state = e.getValue();
+        out.writeUTF(e.getKey());
+        out.writeLong(state.lastModified);
+        out.writeLong(state.length);
+        out.write(state.hash);
+      }
+      out.writeInt(this.targets.size());
+      for(Map.Entry<String, TargetState> e: this.targets.entrySet()) {
+        out.writeUTF(e.getKey());
+        out.write(e.getValue().fingerprint);
+        out.write(e.getValue().hashOutput);
+      }
+      out.close();
+      out = null;
+      if(this.fileIndex.exists()) { this.fileIndex.delete(); }
+      if(!fileTmp.renameTo(this.fileIndex)) {
+        sError = "ZmakeBuildCache - cannot rename; " + fileTmp.getAbsolutePath();
+      }
+    } catch(IOException exc) {
+      sError = "ZmakeBuildCache - cannot write; " + fileTmp.getAbsolutePath() + "; " + exc.getMessage();
+    } finally {
+      if(out !=null) { try{ out.close(); } catch(IOException exc){} }
+      if(fileTmp.exists()) { fileTmp.delete(); }
+    }
+    return sError;
+  }
+
+
+  private void read() throws IOException {
+    DataInputStream inp = new DataInputStream(new BufferedInputStream(new FileInputStream(this.fileIndex), 0x10000));
+    try {
+      if(inp.readInt() != magic || inp.readInt() != versionFormat) throw new IOException("faulty format");
+      int zFiles = inp.readInt();
+      for(int ix = 0; ix < zFiles; ++ix) {
+        String sPath = inp.readUTF();
+        long lastModified = inp.readLong();
+        long length = inp.readLong();
+        byte[] hash = new byte[20];
+        inp.readFully(hash);
+        this.files.put(sPath, new FileState(lastModified, length, hash));
+      }
+      int zTargets = inp.readInt();
+      for(int ix = 0; ix < zTargets; ++ix) {
+        String sPath = inp.readUTF();
+        byte[] fingerprint = new byte[20];
+        byte[] hashOutput = new byte[20];
+        inp.readFully(fingerprint);
+        inp.readFully(hashOutput);
+        this.targets.put(sPath, new TargetState(fingerprint, hashOutput));
+      }
+    } finally {
+      inp.close();
+    }
+  }
+
+
+  private static byte[] hashContent(File file) throws IOException {
+    MessageDigest md = sha1();
+    InputStream inp = new FileInputStream(file);
+    try {
+      byte[] buffer = new byte[0x4000];
+      int zBytes;
+      while( (zBytes = inp.read(buffer)) >0) {
+        md.update(buffer, 0, zBytes);
+      }
+    } finally {
+      inp.close();
+    }
+    return md.digest();
+  }
+
+
+  private static MessageDigest sha1() {
+    try { return MessageDigest.getInstance("SHA-1"); }
+    catch(NoSuchAlgorithmException exc) { throw new RuntimeException(exc); } //SHA-1 is present in any Java runtime.
+  }
+
+}
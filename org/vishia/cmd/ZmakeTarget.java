@@ -1,9 +1,15 @@
 package org.vishia.cmd;
 
 import java.io.File;
+import java.io.IOException;
+import java.security.MessageDigest;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
+import org.vishia.util.DataAccess;
 import org.vishia.util.FilePath;
 
 /**This class describes a zmake target used in a JZcmd script.
@@ -15,6 +21,8 @@ public class ZmakeTarget
 
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut corr: {@link #fingerprint(JZtxtcmdScript.Subroutine, Map, ZmakeBuildCache)} contains the script source and variables.
+   * <li>2026-10-19 Hartmut new: {@link #fingerprint(JZtxtcmdScript.Subroutine, Map, ZmakeBuildCache)} for the {@link ZmakeBuildCache}.
    * <li>2014-03-07 created. From srcJava_Zbnf/org/vishia/zmake/ZmakeUserScript.ZmakeTarget.
    * </ul>
    * 
@@ -44,7 +52,7 @@ public class ZmakeTarget
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String sVersion = "2014-03-07";
+  static final public String sVersion = "2026-10-19";
 
   
  
@@ -111,6 +119,68 @@ public class ZmakeTarget
   }
   
   
+  /**Builds the fingerprint of this target for the {@link ZmakeBuildCache}. It contains:
+   * <ul>
+   * <li>the name of the subroutine,
+   * <li>the values of all arguments of the subroutine sorted by name, without the argument which is this target,
+   *   it describes the resolved call,
+   * <li>the values of all other variables of the sub level with a String, number or boolean value, sorted by name.
+   *   These are the script variables and variables set from outside, which are used to build the command lines.
+   *   A variable which is changed on any execution, for example a time stamp, prevents that the target is up to date.
+   * <li>the absolute paths and the content hashes of the script file and all included script files,
+   *   see {@link JZtxtcmdScript#addSourceToFingerprint(MessageDigest, ZmakeBuildCache)}. 
+   *   The command lines are built in the statements of the subroutine, but they are known only after execution.
+   *   Hence any change of the script forces building all targets.
+   * <li>the absolute path of the {@link #output},
+   * <li>the absolute paths and the content hashes of all input files with expanded wildcards.
+   * </ul>
+   * @param subroutine The called subroutine
+   * @param args The variables of the sub level, contains the arguments and the script variables.
+   * @param cache for the content hashes of the files
+   * @return 20 bytes SHA-1
+   * @throws NoSuchFieldException If a Filepath has a variable, and that is not found. 
+   * @throws IOException on read error of an input file.
+   * @since 2026-10
+   */
+  public byte[] fingerprint(JZtxtcmdScript.Subroutine subroutine, Map<String, DataAccess.Variable<Object>> args, ZmakeBuildCache cache) 
+  throws NoSuchFieldException, IOException {
+    MessageDigest md = ZmakeBuildCache.newFingerprint();
+    ZmakeBuildCache.addText(md, subroutine.name);
+    TreeSet<String> argNames = new TreeSet<String>();
+    if(subroutine.formalArgs !=null) {
+      for(JZtxtcmdScript.DefVariable formalArg: subroutine.formalArgs) {
+        argNames.add(formalArg.getVariableIdent());
+      }
+      for(String argName: argNames) {
+        DataAccess.Variable<Object> arg = args.get(argName);
+        Object value = arg == null ? null : arg.value();
+        if(value != this) {
+          ZmakeBuildCache.addText(md, argName + "=" + value);
+        }
+      }
+    }
+    TreeMap<String, Object> vars = new TreeMap<String, Object>();  //sorted by name, independent of the order of slots.
+    for(Map.Entry<String, DataAccess.Variable<Object>> entry: args.entrySet()) {
+      Object value = entry.getValue().value();
+      if(!argNames.contains(entry.getKey()) 
+        && (value instanceof CharSequence || value instanceof Number || value instanceof Boolean || value instanceof Character)) {
+        vars.put(entry.getKey(), value);
+      }
+    }
+    for(Map.Entry<String, Object> var: vars.entrySet()) {
+      ZmakeBuildCache.addText(md, var.getKey() + "=" + var.getValue());
+    }
+    subroutine.theScript.addSourceToFingerprint(md, cache);
+    ZmakeBuildCache.addText(md, output.absfile());
+    if(inputs !=null) {
+      for(JZtxtcmdFilepath input: allInputFilesExpanded()) {
+        cache.addFile(md, input.absfile().toString());
+      }
+    }
+    return md.digest();
+  }
+  
+  
   @Override public String toString(){ 
     StringBuilder u = new StringBuilder(200);
     u.append(name).append("=:");
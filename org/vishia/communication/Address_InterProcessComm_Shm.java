@@ -0,0 +1,91 @@
+package org.vishia.communication;
+
+/**Address of a {@link InterProcessComm_SharedMemImpl}. It is the name of the shared memory file
+ * which contains the receive ring of the communication partner.
+ * The String form is "SHM:name", the name contains only letters, digits, '_', '-' and '.'.
+ *
+ * @author Hartmut Schorrig
+ * @since 2026-10
+ */
+public class Address_InterProcessComm_Shm implements Address_InterProcessComm
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut created.
+   * </ul>
+   * <br><br>
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   */
+  public final static String version = "2026-10-19";
+
+
+  /**The name, null for an empty address which is filled on receive. */
+  String name;
+
+
+  /**Empty address to store the sender on receive. */
+  public Address_InterProcessComm_Shm()
+  { this.name = null;
+  }
+
+
+  /**Creates the address.
+   * @param addr either "SHM:name" or only "name".
+   * @throws IllegalArgumentException if the name contains other characters than letters, digits, '_', '-' and '.'
+   */
+  public Address_InterProcessComm_Shm(String addr)
+  { String name1 = addr.startsWith("SHM:") ? addr.substring(4) : addr;
+    if(name1.length() == 0 || name1.length() > InterProcessComm_SharedMemImpl.zNameMax)
+      throw new IllegalArgumentException("Address_InterProcessComm_Shm - faulty length of name; " + addr);
+    for(int ix = 0; ix < name1.length(); ++ix) {
+      char cc = name1.charAt(ix);
+      if(!Character.isLetterOrDigit(cc) && cc != '_' && cc != '-' && cc != '.' || cc > 0x7f)
+        throw new IllegalArgumentException("Address_InterProcessComm_Shm - faulty character in name; " + addr);
+    }
+    this.name = name1;
+  }
+
+
+  public String getName()
+  { return this.name;
+  }
+
+
+  @Override public boolean equals(Object obj)
+  { return obj instanceof Address_InterProcessComm_Shm && this.name != null
+        && this.name.equals(((Address_InterProcessComm_Shm)obj).name);
+  }
+
+
+  @Override public int hashCode()
+  { return this.name == null ? 0 : this.name.hashCode();
+  }
+
+
+  @Override public String toString()
+  { return "SHM:" + this.name;
+  }
+
+}
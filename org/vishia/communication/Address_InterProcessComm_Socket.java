@@ -35,6 +35,7 @@ implements Address_InterProcessComm
 
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: {@link #getType()} to select the implementation of the InterProcessComm for "NIO:" 
    * <li>2013-12-05 Hartmut chg: {@link #toString()} does not returns the hostName, this needs communication 
    *   and a DNS. Instead it returns the address (ip-number)
    * <li>2005-01-01 Hartmut created.
@@ -65,7 +66,7 @@ implements Address_InterProcessComm
    * 
    */
   //@SuppressWarnings("hiding")
-  public final static int version = 0x20131206;
+  public final static int version = 0x20261019;
 
    @Override
   public String toString() 
@@ -178,6 +179,15 @@ implements Address_InterProcessComm
   }
 
   
+  /**Returns the type given on construction, "UDP", "TCP", "Socket", "NIO" or "empty". 
+   * @since 2026-10
+   */
+  String getType()
+  {
+    return type;
+  }
+  
+  
   /** store the socket Address into, only usefully if it is a SenderAddressInterProcessComm.
    * It is used only package-private for Implementation of the {@link InterProcessComm_SocketImpl}
    * @param sender The sender address.
@@ -0,0 +1,147 @@
+package org.vishia.communication;
+
+import java.util.Arrays;
+
+
+/**This class measures the round trip time of an {@link InterProcessComm} implementation with a ping pong
+ * between two instances in two threads. Any implementation which is supported by the {@link InterProcessCommFactorySocket}
+ * can be compared, for example "UDP:127.0.0.1:60190" with "SHM:bench".
+ * <br><br>
+ * Invocation: <pre>
+ * java org.vishia.communication.InterProcessCommBenchmark [-n:100000] [-size:64] [ADDR_A ADDR_B] ...
+ * </pre>
+ * Without address pairs "UDP:127.0.0.1:60190 UDP:127.0.0.1:60191", "NIO:127.0.0.1:60192 NIO:127.0.0.1:60193"
+ * and "SHM:benchA SHM:benchB" are measured. The first 10 % of the round trips are not evaluated, it is the warm up.
+ * The output shows the median, the 99 % percentile and the maximum of the round trip time in µs and the number of round trips per second.
+ * The one-way latency is about the half of the round trip time.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public class InterProcessCommBenchmark
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut created, to compare {@link InterProcessComm_SharedMemImpl} with the socket communication.
+   * </ul>
+   * <br><br>
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   */
+  public static final String version = "2026-10-19";
+
+
+  /**Measures the round trips between the two addresses.
+   * @param nrofRoundTrips number of messages
+   * @param zMsg length of a message
+   * @return the round trip times in ns, null on error.
+   */
+  public static long[] pingPong(String sAddrA, String sAddrB, int nrofRoundTrips, int zMsg)
+  { InterProcessCommFactory factory = InterProcessCommFactory.getInstance();
+    if(factory == null) { factory = new InterProcessCommFactorySocket(); }
+    final InterProcessComm ipcA = factory.create(sAddrA);
+    final InterProcessComm ipcB = factory.create(sAddrB);
+    if(ipcA == null || ipcB == null) {
+      System.err.println("InterProcessCommBenchmark - faulty address; " + sAddrA + ", " + sAddrB);
+      return null;
+    }
+    if(ipcA.open(null, true) <0 || ipcB.open(null, true) <0) {
+      System.err.println("InterProcessCommBenchmark - open fails; " + ipcA.translateErrorMsg(-1) + "; " + ipcB.translateErrorMsg(-1));
+      ipcA.close(); ipcB.close();
+      return null;
+    }
+    final Address_InterProcessComm addrA = ipcB.createAddress(sAddrA);
+    final Address_InterProcessComm addrB = ipcA.createAddress(sAddrB);
+    final int nrofMsg = nrofRoundTrips;
+    Thread echo = new Thread("IpcBenchmarkEcho") {
+      @Override public void run() {
+        byte[] buffer = new byte[0x10000];
+        int[] nrofBytes = new int[1];
+        for(int ix = 0; ix < nrofMsg; ++ix) {
+          ipcB.receiveData(nrofBytes, buffer, null);
+          if(nrofBytes[0] <0) break;                       //closed
+          ipcB.send(buffer, nrofBytes[0], addrA);
+        }
+      }
+    };
+    echo.setDaemon(true);
+    echo.start();
+    byte[] data = new byte[zMsg];
+    byte[] buffer = new byte[0x10000];
+    int[] nrofBytes = new int[1];
+    long[] times = new long[nrofRoundTrips];
+    int ix;
+    for(ix = 0; ix < nrofRoundTrips; ++ix) {
+      data[0] = (byte)ix;
+      long time = System.nanoTime();
+      if(ipcA.send(data, zMsg, addrB) <0) break;
+      ipcA.receiveData(nrofBytes, buffer, null);
+      times[ix] = System.nanoTime() - time;
+      if(nrofBytes[0] != zMsg || buffer[0] != data[0]) break;  //lost or faulty message.
+    }
+    ipcA.close();
+    ipcB.close();
+    if(ix < nrofRoundTrips) {
+      System.err.println("InterProcessCommBenchmark - message lost or faulty; " + sAddrA + " after " + ix + " messages");
+      return null;
+    }
+    return times;
+  }
+
+
+  /**Prints the evaluation of the round trip times. */
+  public static void report(String sTitle, long[] times)
+  { if(times == null) return;
+    long[] sorted = Arrays.copyOfRange(times, times.length / 10, times.length);
+    Arrays.sort(sorted);
+    long sum = 0;
+    for(long time: sorted) { sum += time; }
+    System.out.format("%-40s median %8.2f µs, 99%% %8.2f µs, max %9.2f µs, %9.0f round trips/s%n", sTitle
+        , sorted[sorted.length / 2] / 1000.0, sorted[(int)(sorted.length * 0.99)] / 1000.0, sorted[sorted.length -1] / 1000.0
+        , sorted.length * 1e9 / sum);
+  }
+
+
+  public static void main(String[] args)
+  { int nrofRoundTrips = 100000;
+    int zMsg = 64;
+    String[] addrs = { "UDP:127.0.0.1:60190", "UDP:127.0.0.1:60191"
+                     , "NIO:127.0.0.1:60192", "NIO:127.0.0.1:60193"
+                     , "SHM:benchA", "SHM:benchB" };
+    int nrofAddr = 0;
+    for(String arg: args) {
+      if(arg.startsWith("-n:")) { nrofRoundTrips = Integer.parseInt(arg.substring(3)); }
+      else if(arg.startsWith("-size:")) { zMsg = Integer.parseInt(arg.substring(6)); }
+      else {
+        if(nrofAddr == 0) { addrs = new String[args.length]; }
+        addrs[nrofAddr++] = arg;
+      }
+    }
+    if(nrofAddr == 0) { nrofAddr = addrs.length; }
+    for(int ix = 0; ix +1 < nrofAddr; ix += 2) {
+      report(addrs[ix] + " <-> " + addrs[ix+1], pingPong(addrs[ix], addrs[ix+1], nrofRoundTrips, zMsg));
+    }
+  }
+
+}
@@ -49,6 +49,9 @@ public class InterProcessCommFactorySocket extends InterProcessCommFactory
   * For example:
   * <ul>
   * <li>"UDP:192.16.35.3:1234" for UDP via socket. Don't write spaces, set the port after ':'
+  * <li>"NIO:192.16.35.3:1234" for UDP via a non blocking DatagramChannel, see {@link InterProcessComm_DatagramChannelImpl}.
+  *   It receives all pending datagrams on one wakeup, better for high load.
+  * <li>"SHM:name" for processes on the same host via shared memory, see {@link InterProcessComm_SharedMemImpl}.
   * </ul> 
   * @param protocolAndOwnAddr A string which determines the kind of communication and the own address (slot).
   *                           It depends on the underlying system which kind of communication are supported
@@ -59,7 +62,12 @@ public class InterProcessCommFactorySocket extends InterProcessCommFactory
    int posSocketAddr = -1;
  	if(protocolAndOwnAddr.startsWith("UDP:")){ posSocketAddr = 4; }
  	else if(protocolAndOwnAddr.startsWith("Socket:")){ posSocketAddr = 7; }
- 	if(posSocketAddr >=0){
+ 	if(protocolAndOwnAddr.startsWith("SHM:")){
+ 		ipc = new InterProcessComm_SharedMemImpl(new Address_InterProcessComm_Shm(protocolAndOwnAddr));
+ 	} else if(protocolAndOwnAddr.startsWith("NIO:")){
+ 		Address_InterProcessComm ownAddr = createAddressSocket(null, protocolAndOwnAddr, nPort);
+ 		ipc = new InterProcessComm_DatagramChannelImpl(ownAddr);
+ 	} else if(posSocketAddr >=0){
  		Address_InterProcessComm ownAddr = createAddressSocket(null, protocolAndOwnAddr, nPort);
  		ipc = new InterProcessComm_SocketImpl(ownAddr);
  	} else {
@@ -70,7 +78,11 @@ public class InterProcessCommFactorySocket extends InterProcessCommFactory
  
  
  @Override public InterProcessComm create(Address_InterProcessComm addr){
-	 if(addr instanceof Address_InterProcessComm_Socket){
+	 if(addr instanceof Address_InterProcessComm_Shm){
+		 return new InterProcessComm_SharedMemImpl(addr);
+	 } else if(addr instanceof Address_InterProcessComm_Socket && "NIO".equals(((Address_InterProcessComm_Socket)addr).getType())){
+		 return new InterProcessComm_DatagramChannelImpl(addr);
+	 } else if(addr instanceof Address_InterProcessComm_Socket){
 		 InterProcessComm obj = new InterProcessComm_SocketImpl(addr);
 		 return obj;
 	 } else {
@@ -103,6 +115,12 @@ public class InterProcessCommFactorySocket extends InterProcessCommFactory
  		String sAddr = protocolAndOwnAddr.substring(4);
  		addr = createAddressSocket(null, protocolAndOwnAddr, nPort);
  		
+	  } else if(protocolAndOwnAddr.startsWith("SHM:")){
+ 		addr = new Address_InterProcessComm_Shm(protocolAndOwnAddr);
+ 		
+	  } else if(protocolAndOwnAddr.startsWith("NIO:")){
+ 		addr = createAddressSocket(null, protocolAndOwnAddr, nPort);
+ 		
 	  } else if(protocolAndOwnAddr.startsWith("TCP:")){
  		String sAddr = protocolAndOwnAddr.substring(4);
  		addr = createAddressSocket(null, protocolAndOwnAddr, nPort);
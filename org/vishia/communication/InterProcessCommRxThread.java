@@ -26,6 +26,10 @@ public class InterProcessCommRxThread
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: With a {@link InterProcessComm_DatagramChannelImpl} all datagrams of one wakeup 
+   *   are received and offered with {@link InterProcessCommRx_ifc#execRxDataBatch(java.nio.ByteBuffer[], Address_InterProcessComm[], int)}.
+   *   It is done in the extra {@link #receiveBatchAndExecute()} which is excluded for C. 
+   *   The report of an exception in both receive loops is done in {@link #reportException(Exception)}.
    * <li>2015-06-13 Hartmut: Created especially for C-usage of InterProcessCommunication.
    *   It is derived from {@link org.vishia.inspectorTarget.Comm} which uses this class as super class yet.
    * </ul>
@@ -54,7 +58,7 @@ public class InterProcessCommRxThread
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public static final String version = "2015-06-13";
+  public static final String version = "2026-10-19";
 
   
   /**Reference to the execute routine on receiving data. */
@@ -206,7 +210,12 @@ public class InterProcessCommRxThread
   private final void runThread()
   { while(state != 'x'){
       if(state == 'o'){
-        receiveAndExecute();
+        @Java4C.ExcludeCond boolean bBatch = this.ipc instanceof InterProcessComm_DatagramChannelImpl;
+        if(bBatch) {
+          receiveBatchAndExecute();        //only Java
+        } else {
+          receiveAndExecute();
+        }
       } else {
         state = 'E';
         while(state == 'E'){
@@ -254,15 +263,45 @@ public class InterProcessCommRxThread
           }
         }
       } catch(Exception exc){
-        /** @java2c=toStringNonPersist, StringBuilderInStack=100. */
-        CharSequence msg = Assert.exceptionInfo("org.vishia.inspector.Comm - unexpected Exception; ", exc, 0, 7);
-        System.err.println(msg);
-        exc.printStackTrace( System.err);
+        reportException(exc);
+      }
+    }//while state !='x'
+  }
+
+  
+  /**Receive loop for a {@link InterProcessComm_DatagramChannelImpl}, only Java: 
+   * All pending datagrams of one wakeup are received and executed in one call
+   * of {@link InterProcessComm_DatagramChannelImpl#receiveBatch(InterProcessCommRx_ifc)}.
+   */
+  @Java4C.Exclude private final void receiveBatchAndExecute()
+  { InterProcessComm_DatagramChannelImpl ipcChannel = (InterProcessComm_DatagramChannelImpl)this.ipc;
+    while(state !='x'){  //x to terminate
+      state = 'r';  //receive
+      try{
+        int nrofDatagrams = ipcChannel.receiveBatch(this.execRxData);
+        if(nrofDatagrams <0 && state !='x') {  //error situation, see receiveAndExecute()
+          state = 'e';  //prevent send
+          try{ Thread.sleep(50); } catch(InterruptedException exc){}
+          state = 'r';
+        }
+      } catch(Exception exc){
+        reportException(exc);
       }
     }//while state !='x'
   }
 
   
+  /**Reports an unexpected exception in the receive loop, the loop is continued. 
+   * Used in {@link #receiveAndExecute()} and {@link #receiveBatchAndExecute()}. */
+  private final void reportException(Exception exc)
+  {
+    /** @java2c=toStringNonPersist, StringBuilderInStack=100. */
+    CharSequence msg = Assert.exceptionInfo("org.vishia.inspector.Comm - unexpected Exception; ", exc, 0, 7);
+    System.err.println(msg);
+    exc.printStackTrace( System.err);
+  }
+
+  
   /**Shutdown the communication, close the thread. This routine should be called 
    * either on shutdown of the whole system or on closing the inspector functionality.
    * The inspector functionality can be restarted calling {@link #start(Object)}.
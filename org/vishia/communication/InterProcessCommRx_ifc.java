@@ -1,5 +1,7 @@
 package org.vishia.communication;
 
+import java.nio.ByteBuffer;
+
 import org.vishia.util.Java4C;
 
 /**This is the base class of a callback for {@link InterProcessCommRxThread}.
@@ -15,6 +17,7 @@ public abstract class InterProcessCommRx_ifc
 
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: {@link #execRxDataBatch(ByteBuffer[], Address_InterProcessComm[], int)}
    * <li>2015-06-13 Hartmut: Created especially for C-usage of InterProcessCommunication.
    * </ul>
    * <br><br>
@@ -42,7 +45,7 @@ public abstract class InterProcessCommRx_ifc
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public static final String version = "2015-06-13";
+  public static final String version = "2026-10-19";
 
   
   /**This data pointer can be set by any application. It is offered to the {@link #execRxData(byte[], int)}
@@ -58,4 +61,31 @@ public abstract class InterProcessCommRx_ifc
    */
   public abstract void execRxData(@Java4C.PtrVal byte[] buffer, int nrofBytesReceived, Address_InterProcessComm sender);
   
+  
+  /**Buffer for the default implementation of {@link #execRxDataBatch(ByteBuffer[], Address_InterProcessComm[], int)}. */
+  @Java4C.Exclude private byte[] bufferBatch;
+  
+  
+  /**Callback routine for some datagrams which are received together, 
+   * used by {@link InterProcessComm_DatagramChannelImpl#receiveBatch(InterProcessCommRx_ifc)}.
+   * This default implementation copies any datagram in a buffer and invokes {@link #execRxData(byte[], int, Address_InterProcessComm)}.
+   * It can be overridden to evaluate the datagrams in the buffers without copying. 
+   * The buffers and the addresses are valid only while this call, they are used for the next received datagrams.
+   * Only for Java, not for C. 
+   * @param datagrams The datagrams between position and limit.
+   * @param senders sender of any datagram.
+   * @param nrofDatagrams number of valid elements in both arrays.
+   * @since 2026-10
+   */
+  @Java4C.Exclude public void execRxDataBatch(ByteBuffer[] datagrams, Address_InterProcessComm[] senders, int nrofDatagrams) {
+    for(int ix = 0; ix < nrofDatagrams; ++ix) {
+      int nrofBytes = datagrams[ix].remaining();
+      if(this.bufferBatch == null || this.bufferBatch.length < nrofBytes) {
+        this.bufferBatch = new byte[Math.max(1500, nrofBytes)];
+      }
+      datagrams[ix].get(this.bufferBatch, 0, nrofBytes);
+      execRxData(this.bufferBatch, nrofBytes, senders[ix]);
+    }
+  }
+  
 }
@@ -0,0 +1,398 @@
+package org.vishia.communication;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayDeque;
+
+
+/**This class implements the interprocess communication with UDP telegrams using a non blocking {@link DatagramChannel}
+ * and a {@link Selector}. It is created with the {@link InterProcessCommFactorySocket} with an address "NIO:ip:port".
+ * <br><br>
+ * Differences to {@link InterProcessComm_SocketImpl}:
+ * <ul>
+ * <li>The datagrams are received in a pool of direct buffers. On any wakeup of the selector all pending datagrams
+ *   are read from the socket, till the pool is used. Hence the receive buffer of the socket is emptied fast,
+ *   also if the evaluation of some datagrams needs time. The receive buffer of the socket is set to {@link #zRxSocketBuffer}.
+ * <li>{@link #receiveBatch(InterProcessCommRx_ifc)} offers all datagrams of one wakeup to
+ *   {@link InterProcessCommRx_ifc#execRxDataBatch(ByteBuffer[], Address_InterProcessComm[], int)}.
+ *   It is used by the {@link InterProcessCommRxThread}.
+ * <li>The polling mode (open with shouldBlock = false) is supported.
+ * </ul>
+ * The receive methods should be called only in one thread. Sending is possible in any thread.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public class InterProcessComm_DatagramChannelImpl implements InterProcessComm
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut created, because the inspector communication on loop back has lost datagrams under load
+   *   with the blocking DatagramSocket, which receives only one datagram per call.
+   * </ul>
+   * <br><br>
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   */
+  public static final String version = "2026-10-19";
+
+
+  /**A received datagram in a buffer of the pool. */
+  private static final class RxDatagram {
+    final ByteBuffer buffer;
+    final Address_InterProcessComm_Socket sender = new Address_InterProcessComm_Socket();
+    RxDatagram(int size) { this.buffer = ByteBuffer.allocateDirect(size); }
+  }
+
+
+  /**Size of the receive buffer of the socket, set on open. */
+  public static final int zRxSocketBuffer = 0x400000;
+
+  /**Number of tries on send if the send buffer of the socket is full. */
+  private static final int nrofTrySend = 1000;
+
+  private final Address_InterProcessComm_Socket ownAddress;
+
+  private DatagramChannel channel;
+
+  private Selector selector;
+
+  private boolean bBlocking;
+
+  /**Buffers which are free to receive. */
+  private final ArrayDeque<RxDatagram> free = new ArrayDeque<RxDatagram>();
+
+  /**Received datagrams in order of receiving which are not evaluated yet. */
+  private final ArrayDeque<RxDatagram> received = new ArrayDeque<RxDatagram>();
+
+  /**Arrays for {@link #receiveBatch(InterProcessCommRx_ifc)}. */
+  private final ByteBuffer[] batchData;
+
+  private final Address_InterProcessComm[] batchSender;
+
+  /**Number of calls of the selector and number of received datagrams, for diagnostic. */
+  private long ctWakeup, ctDatagrams;
+
+  private String sRxErrorMsg;
+
+  private String sTxErrorMsg;
+
+
+  /**Creates with 64 buffers for datagrams with 1500 bytes, which are the usual values for UDP on ethernet. */
+  public InterProcessComm_DatagramChannelImpl(Address_InterProcessComm ownAddress)
+  { this(ownAddress, 1500, 64);
+  }
+
+
+  /**Creates the instance, but does not open.
+   * @param ownAddress Address of type {@link Address_InterProcessComm_Socket}
+   * @param zDatagram size of any buffer in the pool, it is the maximal length of a datagram, longer datagrams are truncated.
+   *   Use 65507 for the maximal length of UDP.
+   * @param nrofBuffers number of direct buffers in the pool, it is the maximal number of datagrams of one batch.
+   */
+  public InterProcessComm_DatagramChannelImpl(Address_InterProcessComm ownAddress, int zDatagram, int nrofBuffers)
+  { assert(ownAddress instanceof Address_InterProcessComm_Socket);
+    this.ownAddress = (Address_InterProcessComm_Socket)ownAddress;
+    for(int ix = 0; ix < nrofBuffers; ++ix) {
+      this.free.add(new RxDatagram(zDatagram));
+    }
+    this.batchData = new ByteBuffer[nrofBuffers];
+    this.batchSender = new Address_InterProcessComm[nrofBuffers];
+  }
+
+
+  /**Opens the channel and binds it to the own address.
+   * @param dstAddress not used.
+   * @param shouldBlock false then the receive methods return without data if nothing is received.
+   * @return 0 on success, -1 on error, see {@link #translateErrorMsg(int)}.
+   */
+  @Override public int open(final Address_InterProcessComm dstAddress, boolean shouldBlock)
+  { int error = 0;
+    this.bBlocking = shouldBlock;
+    InetSocketAddress ownAddressSocket = this.ownAddress.getSocketAddress();
+    try {
+      this.channel = DatagramChannel.open();
+      try { this.channel.setOption(StandardSocketOptions.SO_RCVBUF, zRxSocketBuffer); }
+      catch(IOException exc) { }                         //the system may limit it, it is not an error.
+      this.channel.bind(ownAddressSocket);
+      this.channel.configureBlocking(false);
+      this.selector = Selector.open();
+      this.channel.register(this.selector, SelectionKey.OP_READ);
+      this.sRxErrorMsg = null;
+    } catch (IOException exc) {
+      this.sRxErrorMsg = "InterProcessComm_DatagramChannelImpl - open fails; " + exc.getMessage() + "; port=" + ownAddressSocket.getPort();
+      close();
+      error = -1;
+    }
+    return error;
+  }
+
+
+  @Override public int close()
+  { DatagramChannel channel1 = this.channel;
+    Selector selector1 = this.selector;
+    this.channel = null;
+    this.selector = null;
+    try {
+      if(selector1 !=null) { selector1.close(); }          //wakes up a waiting receive
+      if(channel1 !=null) { channel1.close(); }
+    } catch(IOException exc) {
+      this.sRxErrorMsg = exc.getMessage();
+    }
+    return 0;
+  }
+
+
+  @Override public int send(final byte[] data, int nBytes, final Address_InterProcessComm addresseeP)
+  { Address_InterProcessComm_Socket addressee = (Address_InterProcessComm_Socket) addresseeP;
+    DatagramChannel channel1 = this.channel;               //may be closed in another thread.
+    if(channel1 == null) return -1;
+    ByteBuffer buffer = ByteBuffer.wrap(data, 0, nBytes);
+    try {
+      int ctTry = 0;
+      while(channel1.send(buffer, addressee.getSocketAddress()) == 0) { //non blocking: the send buffer is full.
+        if(++ctTry >= nrofTrySend) {
+          this.sTxErrorMsg = "InterProcessComm_DatagramChannelImpl - send buffer full; ";
+          return -1;
+        }
+        Thread.yield();
+      }
+    } catch (IOException exc) {
+      this.sTxErrorMsg = exc.getMessage();
+      nBytes = -1;
+    }
+    return nBytes;
+  }
+
+
+
+  /**Reads all datagrams which are received by the socket yet, till the pool is used.
+   * @return false if the channel is closed.
+   */
+  private boolean drain()
+  { DatagramChannel channel1 = this.channel;
+    if(channel1 == null) return false;
+    try {
+      RxDatagram datagram;
+      while( (datagram = this.free.poll()) !=null) {
+        datagram.buffer.clear();
+        SocketAddress sender = channel1.receive(datagram.buffer);
+        if(sender == null) {
+          this.free.addFirst(datagram);
+          break;
+        }
+        datagram.buffer.flip();
+        datagram.sender.storeSender(sender);
+        this.received.add(datagram);
+        this.ctDatagrams +=1;
+      }
+    } catch(IOException exc) {
+      this.sRxErrorMsg = exc.getMessage();
+      return false;
+    }
+    return true;
+  }
+
+
+
+  /**Waits for datagrams if nothing is received and the communication is opened as blocking.
+   * @return false if the channel is closed or on error.
+   */
+  private boolean waitAndDrain()
+  { if(!this.received.isEmpty()) return true;
+    if(!drain()) return false;
+    while(this.received.isEmpty() && this.bBlocking) {
+      Selector selector1 = this.selector;
+      if(selector1 == null) return false;
+      try {
+        selector1.select();
+        selector1.selectedKeys().clear();
+      } catch(ClosedSelectorException exc) {
+        return false;
+      } catch(IOException exc) {
+        this.sRxErrorMsg = exc.getMessage();
+        return false;
+      }
+      this.ctWakeup +=1;
+      if(!drain()) return false;
+    }
+    return true;
+  }
+
+
+
+  /**Receives all datagrams which are pending on one wakeup and offers them to
+   * {@link InterProcessCommRx_ifc#execRxDataBatch(ByteBuffer[], Address_InterProcessComm[], int)}.
+   * After return of the callback the buffers and addresses are used for the next datagrams.
+   * @param execRxData the callback.
+   * @return number of datagrams, 0 if nothing is received in polling mode, -1 if the communication is closed.
+   */
+  public int receiveBatch(InterProcessCommRx_ifc execRxData)
+  { if(!waitAndDrain()) return -1;
+    int nrofDatagrams = 0;
+    for(RxDatagram datagram: this.received) {
+      this.batchData[nrofDatagrams] = datagram.buffer;
+      this.batchSender[nrofDatagrams] = datagram.sender;
+      nrofDatagrams +=1;
+    }
+    try {
+      if(nrofDatagrams >0) { execRxData.execRxDataBatch(this.batchData, this.batchSender, nrofDatagrams); }
+    } finally {
+      RxDatagram datagram;
+      while( (datagram = this.received.poll()) !=null) { this.free.add(datagram); }
+    }
+    return nrofDatagrams;
+  }
+
+
+  @Override public byte[] receive(int[] result, Address_InterProcessComm senderP)
+  { return receiveData(result, null, senderP);
+  }
+
+
+  @Override public byte[] receiveData(int[] result, byte[] bufferP, Address_InterProcessComm senderP)
+  { if(!waitAndDrain()) {
+      if(result != null) { result[0] = -1; }
+      return null;
+    }
+    RxDatagram datagram = this.received.poll();
+    if(datagram == null) {                                 //polling mode, nothing received.
+      if(result != null) { result[0] = 0; }
+      return null;
+    }
+    int nrofBytes = datagram.buffer.remaining();
+    byte[] dataBuffer = bufferP != null ? bufferP : new byte[nrofBytes];
+    if(nrofBytes > dataBuffer.length) { nrofBytes = dataBuffer.length; }
+    datagram.buffer.get(dataBuffer, 0, nrofBytes);
+    if(result != null) { result[0] = nrofBytes; }
+    if(senderP != null) {
+      ((Address_InterProcessComm_Socket)senderP).storeSender(datagram.sender.getSocketAddress());
+    }
+    this.free.add(datagram);
+    return dataBuffer;
+  }
+
+
+  @Override public void freeData(byte[] data)
+  { //This method is left empty because the garbage collector deletes unneccerry data.
+  }
+
+
+  @Override public boolean equals(final Address_InterProcessComm address1, final Address_InterProcessComm address2)
+  { InetSocketAddress addr1 = ((Address_InterProcessComm_Socket)address1).getSocketAddress();
+    InetSocketAddress addr2 = ((Address_InterProcessComm_Socket)address2).getSocketAddress();
+    return addr1 == null ? addr2 == null : addr1.equals(addr2);
+  }
+
+
+  /**Returns the number of wakeups of the selector and the number of received datagrams.
+   * The quotient is the mean number of datagrams per batch.
+   */
+  public long[] getStatistic()
+  { return new long[]{ this.ctWakeup, this.ctDatagrams };
+  }
+
+
+  @Override public int abortReceive()
+  { Selector selector1 = this.selector;
+    if(selector1 !=null) { selector1.wakeup(); }
+    return 0;
+  }
+
+
+  @Override public int capacityToSendWithoutBlocking(int nrofBytesToSend)
+  { return nrofBytesToSend;
+  }
+
+
+  @Override public int checkConnection()
+  { if(this.channel == null){ return -1; }
+    return 0;
+  }
+
+
+  @Override public int dataAvailable()
+  { if(this.received.isEmpty() && this.channel !=null) { drain(); }
+    return this.received.size();
+  }
+
+
+  @Override public int flush()
+  { return 0;
+  }
+
+
+  @Override public String getName()
+  { return "NIO:" + this.ownAddress;
+  }
+
+
+  @Override public Address_InterProcessComm getOwnAddress()
+  { return this.ownAddress;
+  }
+
+
+  @Override public byte[] getSendBuffer(int len)
+  { return new byte[len];
+  }
+
+
+  /**Returns the last error message, independent of nError. */
+  @Override public String translateErrorMsg(int nError)
+  { return this.sRxErrorMsg !=null ? this.sRxErrorMsg : this.sTxErrorMsg;
+  }
+
+
+  @Override public Address_InterProcessComm createAddress()
+  { return new Address_InterProcessComm_Socket();
+  }
+
+
+  @Override public Address_InterProcessComm createAddress(int p1, int p2)
+  { return new Address_InterProcessComm_Socket("NIO", p1, p2);
+  }
+
+
+  @Override public Address_InterProcessComm createAddress(String p1, int p2)
+  { return new Address_InterProcessComm_Socket("NIO", p1, p2);
+  }
+
+
+  /**Creates an address either in form "NIO:ip:port" or "ip:port". */
+  @Override public Address_InterProcessComm createAddress(String address)
+  { if(address.indexOf(':') == address.lastIndexOf(':')) {
+      return new Address_InterProcessComm_Socket("NIO", address, -1);
+    } else {
+      return new Address_InterProcessComm_Socket(address);
+    }
+  }
+
+}
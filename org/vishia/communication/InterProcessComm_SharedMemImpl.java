@@ -0,0 +1,632 @@
+package org.vishia.communication;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**This class implements the interprocess communication between processes on the same host via a memory mapped file.
+ * It is created with the {@link InterProcessCommFactorySocket} with an address "SHM:name".
+ * The data are written direct in the memory of the receiver, there is no system call and no copy in the kernel
+ * for sending and receiving. The latency is determined by the polling of the receiver.
+ * <br><br>
+ * <b>Structure:</b> Any opened instance owns a file "vishiaIpc_name.shm" in /dev/shm or in the temp directory,
+ * which is the receive mailbox. It contains a head, {@link #nrofLanes} lanes and for any lane a ring buffer with {@link #zLane} bytes.
+ * Any sender claims one lane on the first send to this receiver. The lane is a ring buffer with one producer and one consumer.
+ * Hence both the producer and the consumer only write its own index, a compare and swap is not necessary,
+ * which is not available for mapped memory in Java 8. The receiver polls all lanes one after another.
+ * It means the order of messages is kept from one sender, but not between senders.
+ * The claim of a lane is done with a {@link FileLock}, only one time.
+ * <br><br>
+ * Layout of the file, all numbers in the byte order of the {@link ByteBuffer}, big endian:
+ * <ul>
+ * <li>Head 64 bytes: int magic "SHMR", int version of format, int number of lanes, int size of a lane, long session.
+ *   The session is changed on any open of the receiver and set to 0 on close, then a sender claims newly.
+ * <li>For any lane 128 bytes: long write index, int owner (0 free, 1 used), int claim counter, int length of name of the sender,
+ *   name of the sender (max. {@link #zNameMax}), on offset 64: long read index.
+ *   The indices are counted continuously, the position in the ring is the index modulo size of the lane.
+ * <li>For any lane the ring buffer. A message is an int length and the data, aligned to 8.
+ *   A length -1 marks the rest of the ring as unused, the next message starts on begin of the ring.
+ * </ul>
+ * The write index is written after the message and the read index after reading the message, both with a memory fence.
+ * The fence is a write and read of a volatile variable, it prevents reordering of the accesses to the mapped memory.
+ * <br><br>
+ * <b>Receive:</b> In blocking mode the receiver polls {@link #nrofSpinPoll} times, then it yields {@link #nrofSpinYield} times
+ * and then it parks between polls, starting with {@link #nanoParkMin}, doubled up to {@link #nanoParkMax}. 
+ * On a single processor it yields immediately. Hence the latency is short while messages are transmitted,
+ * but a waiting receiver does not need the processor, also if it waits a long time.
+ * <br><br>
+ * <b>Files:</b> The file of the receiver is deleted on {@link #close()}. The file of a receiver which is terminated without close()
+ * remains in /dev/shm, it is used again on the next open with the same name or it can be deleted with {@link #deleteFile(String)}.
+ * <br><br>
+ * <b>Limitations:</b> A lane of a sender which is terminated without {@link #close()} remains claimed till the receiver is opened newly.
+ * More than one thread can send with the same instance, they are synchronized.
+ * The receive methods should be called only in one thread.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public class InterProcessComm_SharedMemImpl implements InterProcessComm
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut chg: The waiting receiver parks longer step by step, see {@link #nanoParkMax}. 
+   *   The file is deleted on {@link #close()}, new {@link #deleteFile(String)}.
+   * <li>2026-10-19 Hartmut created, for tools and target simulations on the same host, faster than UDP via loop back.
+   * </ul>
+   * <br><br>
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   */
+  public static final String version = "2026-10-19";
+
+
+  /**Identification of the file, "SHMR". */
+  private static final int magic = 0x53484d52;
+
+  private static final int versionFormat = 1;
+
+  private static final int zHead = 64, zLaneHead = 128;
+
+  private static final int posNrofLanes = 8, posZLane = 12, posSession = 16;
+
+  private static final int posLaneWr = 0, posLaneOwner = 8, posLaneClaim = 12, posLaneZName = 16, posLaneName = 20, posLaneRd = 64;
+
+  /**Maximal length of the name in an address. */
+  public static final int zNameMax = 40;
+
+  /**Number of polls and yields before parking in {@link #receiveData(int[], byte[], Address_InterProcessComm)}. 
+   * On a single processor the polling is not done, because the sender cannot work while polling. */
+  public static final int nrofSpinPoll = Runtime.getRuntime().availableProcessors() >1 ? 20000 : 0, nrofSpinYield = 2000;
+
+  /**Park time of a waiting receiver after polling, it is doubled on any poll without data till nanoParkMax.
+   * It starts newly with nanoParkMin in the next receive call. */
+  public static final long nanoParkMin = 20000, nanoParkMax = 2000000;
+
+  /**Time to wait for space in the ring of the receiver on send. */
+  private static final long nanoWaitSend = 100000000L;
+
+
+  /**The connection to the mailbox of one receiver, used for sending. */
+  private static final class TxRing
+  {
+    final String name;
+    RandomAccessFile file;
+    MappedByteBuffer map;
+    /**Duplicate of map to set the position for bulk put. */
+    ByteBuffer view;
+    long session;
+    int posLaneHead, posData, zLane;
+    /**Used for the memory fence. */
+    volatile int fence;
+
+    TxRing(String name) { this.name = name; }
+
+    void fence() { this.fence = 0; if(this.fence !=0) { this.fence = 0; } }
+  }
+
+
+  private final Address_InterProcessComm_Shm ownAddress;
+
+  /**Number of lanes and size of the ring of any lane, it is a power of 2. */
+  final int nrofLanes, zLane;
+
+  private RandomAccessFile rxFile;
+
+  private MappedByteBuffer rxMap;
+
+  private ByteBuffer rxView;
+
+  /**Holds the file as receiver, prevents a second receiver with the same name. */
+  private FileLock rxLock;
+
+  /**Read index for any lane. Only written by the receiver, hence a copy in Java is valid. */
+  private long[] rxIdx;
+
+  /**Cached name of the sender and the claim counter for it for any lane. */
+  private String[] rxSenderName;
+
+  private int[] rxClaim;
+
+  /**Next lane to poll, to poll all lanes fair. */
+  private int ixLaneNext;
+
+  private boolean bBlocking;
+
+  private volatile boolean bAbort;
+
+  /**Used for the memory fence. */
+  private volatile int fence;
+
+  /**All receivers which are used for sending, key is the name. */
+  private final Map<String, TxRing> txRings = new HashMap<String, TxRing>();
+
+  private String sRxErrorMsg;
+
+  private String sTxErrorMsg;
+
+
+  /**Creates with 16 lanes with 1 MByte. */
+  public InterProcessComm_SharedMemImpl(Address_InterProcessComm ownAddress)
+  { this(ownAddress, 16, 0x100000);
+  }
+
+
+  /**Creates the instance, but does not open.
+   * @param ownAddress Address of type {@link Address_InterProcessComm_Shm}
+   * @param nrofLanes maximal number of senders to this receiver.
+   * @param zLane size of the ring for one sender, it is rounded up to a power of 2. A message can be up to the half of this size.
+   */
+  public InterProcessComm_SharedMemImpl(Address_InterProcessComm ownAddress, int nrofLanes, int zLane)
+  { assert(ownAddress instanceof Address_InterProcessComm_Shm);
+    this.ownAddress = (Address_InterProcessComm_Shm)ownAddress;
+    this.nrofLanes = nrofLanes;
+    this.zLane = Integer.highestOneBit(zLane -1) <<1;
+  }
+
+
+  /**Returns the file for the mailbox of the named receiver. */
+  static File fileShm(String name)
+  { File dir = new File("/dev/shm");
+    if(!dir.isDirectory() || !dir.canWrite()) { dir = new File(System.getProperty("java.io.tmpdir")); }
+    return new File(dir, "vishiaIpc_" + name + ".shm");
+  }
+
+
+
+  /**Creates or initializes the mailbox file.
+   * @param dstAddress not used.
+   * @param shouldBlock false then the receive methods return without data if nothing is received.
+   * @return 0 on success, -1 on error, see {@link #translateErrorMsg(int)}.
+   */
+  @Override public int open(final Address_InterProcessComm dstAddress, boolean shouldBlock)
+  { this.bBlocking = shouldBlock;
+    this.bAbort = false;
+    File file = fileShm(this.ownAddress.name);
+    long zFile = zHead + (long)this.nrofLanes * (zLaneHead + this.zLane);
+    try {
+      if(zFile > Integer.MAX_VALUE) throw new IOException("too large");
+      this.rxFile = new RandomAccessFile(file, "rw");
+      FileChannel channel = this.rxFile.getChannel();
+      try { this.rxLock = channel.tryLock(Integer.MAX_VALUE, 1, false); }  //lock outside of the data, as flag for a living receiver.
+      catch(OverlappingFileLockException exc) { this.rxLock = null; }  //locked in this process.
+      if(this.rxLock == null) throw new IOException("used by another receiver");
+      this.rxFile.setLength(zFile);
+      this.rxMap = channel.map(FileChannel.MapMode.READ_WRITE, 0, zFile);
+      this.rxView = this.rxMap.duplicate();
+      this.rxIdx = new long[this.nrofLanes];
+      this.rxSenderName = new String[this.nrofLanes];
+      this.rxClaim = new int[this.nrofLanes];
+      synchronized(InterProcessComm_SharedMemImpl.class) {
+        FileLock lock = channel.lock(0, zHead, false);
+        try {
+          for(int pos = 0; pos < zHead + this.nrofLanes * zLaneHead; pos += 8) { this.rxMap.putLong(pos, 0); }
+          this.rxMap.putInt(4, versionFormat);
+          this.rxMap.putInt(posNrofLanes, this.nrofLanes);
+          this.rxMap.putInt(posZLane, this.zLane);
+          fence();
+          this.rxMap.putLong(posSession, (System.nanoTime() ^ System.identityHashCode(this)) | 1);
+          this.rxMap.putInt(0, magic);
+        } finally {
+          lock.release();
+        }
+      }
+      this.sRxErrorMsg = null;
+      return 0;
+    } catch(IOException exc) {
+      this.sRxErrorMsg = "InterProcessComm_SharedMemImpl - open fails; " + file.getAbsolutePath() + "; " + exc.getMessage();
+      closeRx();
+      return -1;
+    }
+  }
+
+
+  @Override public int close()
+  { this.bAbort = true;
+    synchronized(this.txRings) {
+      for(TxRing tx: this.txRings.values()) {
+        synchronized(tx) { release(tx); }
+      }
+      this.txRings.clear();
+    }
+    if(this.rxMap !=null) {
+      this.rxMap.putLong(posSession, 0);                   //senders should not write furthermore.
+    }
+    if(this.rxLock !=null) {                               //delete only as owner, while the lock is held.
+      fileShm(this.ownAddress.name).delete();              //a sender which has mapped the file remains valid, it sees session 0.
+    }
+    closeRx();
+    return 0;
+  }
+
+
+  private void closeRx()
+  { try {
+      if(this.rxLock !=null) { this.rxLock.release(); }
+      if(this.rxFile !=null) { this.rxFile.close(); }
+    } catch(IOException exc) {
+      this.sRxErrorMsg = exc.getMessage();
+    }
+    this.rxLock = null;
+    this.rxFile = null;
+    this.rxMap = null;
+    this.rxView = null;
+  }
+
+
+  /**Deletes the file of the receiver with the given name if it is not used by an opened receiver.
+   * It is for cleanup if a receiver was terminated without {@link #close()}.
+   * @return true if the file is deleted or not existing.
+   */
+  public static boolean deleteFile(String name)
+  { File file = fileShm(name);
+    if(!file.exists()) return true;
+    boolean bDeleted = false;
+    try {
+      RandomAccessFile raFile = new RandomAccessFile(file, "rw");
+      try {
+        FileLock lock;
+        try { lock = raFile.getChannel().tryLock(Integer.MAX_VALUE, 1, false); }  //the same lock as the receiver.
+        catch(OverlappingFileLockException exc) { lock = null; }  //locked in this process.
+        if(lock !=null) {
+          bDeleted = file.delete();
+          lock.release();
+        }
+      } finally {
+        raFile.close();
+      }
+    } catch(IOException exc) {
+      bDeleted = false;
+    }
+    return bDeleted;
+  }
+
+
+  private void fence() { this.fence = 0; if(this.fence !=0) { this.fence = 0; } }
+
+
+
+  /**Opens the mailbox of the receiver and claims a lane, or checks whether the lane is valid yet.
+   * @return null if ok, else the error message.
+   */
+  private String claim(TxRing tx)
+  { if(tx.map !=null && tx.map.getLong(posSession) == tx.session) return null;
+    release(tx);
+    File file = fileShm(tx.name);
+    if(!file.exists()) return "InterProcessComm_SharedMemImpl - receiver not found; " + tx.name;
+    try {
+      tx.file = new RandomAccessFile(file, "rw");
+      FileChannel channel = tx.file.getChannel();
+      synchronized(InterProcessComm_SharedMemImpl.class) {
+        FileLock lock = channel.lock(0, zHead, false);
+        try {
+          MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_WRITE, 0, zHead);
+          long session = head.getLong(posSession);
+          if(head.getInt(0) != magic || head.getInt(4) != versionFormat || session == 0) {
+            return "InterProcessComm_SharedMemImpl - receiver not opened; " + tx.name;
+          }
+          int nrofLanes1 = head.getInt(posNrofLanes);
+          tx.zLane = head.getInt(posZLane);
+          tx.map = channel.map(FileChannel.MapMode.READ_WRITE, 0, zHead + (long)nrofLanes1 * (zLaneHead + tx.zLane));
+          for(int ixLane = 0; ixLane < nrofLanes1; ++ixLane) {
+            int posLaneHead = zHead + ixLane * zLaneHead;
+            if(tx.map.getInt(posLaneHead + posLaneOwner) == 0
+              && tx.map.getLong(posLaneHead + posLaneWr) == tx.map.getLong(posLaneHead + posLaneRd)) {
+              byte[] name = this.ownAddress.name.getBytes(StandardCharsets.US_ASCII);
+              tx.view = tx.map.duplicate();
+              tx.view.position(posLaneHead + posLaneName);
+              tx.view.put(name);
+              tx.map.putInt(posLaneHead + posLaneZName, name.length);
+              tx.map.putInt(posLaneHead + posLaneClaim, tx.map.getInt(posLaneHead + posLaneClaim) +1);
+              tx.map.putInt(posLaneHead + posLaneOwner, 1);
+              tx.posLaneHead = posLaneHead;
+              tx.posData = zHead + nrofLanes1 * zLaneHead + ixLane * tx.zLane;
+              tx.session = session;
+              return null;
+            }
+          }
+          tx.map = null;
+          return "InterProcessComm_SharedMemImpl - no free lane; " + tx.name;
+        } finally {
+          lock.release();
+        }
+      }
+    } catch(IOException exc) {
+      tx.map = null;
+      return "InterProcessComm_SharedMemImpl - cannot open; " + file.getAbsolutePath() + "; " + exc.getMessage();
+    }
+  }
+
+
+
+  /**Releases the lane of the sender, it can be claimed by another sender. */
+  private static void release(TxRing tx)
+  { try {
+      if(tx.map !=null && tx.map.getLong(posSession) == tx.session) {
+        synchronized(InterProcessComm_SharedMemImpl.class) {
+          FileLock lock = tx.file.getChannel().lock(0, zHead, false);
+          try { tx.map.putInt(tx.posLaneHead + posLaneOwner, 0); }
+          finally { lock.release(); }
+        }
+      }
+      if(tx.file !=null) { tx.file.close(); }
+    } catch(IOException exc) {
+      //ignore it, the receiver frees all lanes on a new open.
+    }
+    tx.file = null;
+    tx.map = null;
+    tx.view = null;
+  }
+
+
+
+  /**Writes the message in the lane of the receiver. If the ring is full, it waits till the receiver has read.
+   * @return nBytes or -1 if the receiver is not opened or the ring remains full.
+   */
+  @Override public int send(final byte[] data, int nBytes, final Address_InterProcessComm addresseeP)
+  { String name = ((Address_InterProcessComm_Shm)addresseeP).name;
+    TxRing tx;
+    synchronized(this.txRings) {
+      tx = this.txRings.get(name);
+      if(tx == null) {
+        tx = new TxRing(name);
+        this.txRings.put(name, tx);
+      }
+    }
+    synchronized(tx) {
+      String sError = claim(tx);
+      if(sError !=null) {
+        this.sTxErrorMsg = sError;
+        return -1;
+      }
+      int zMsg = (4 + nBytes + 7) & ~7;
+      if(zMsg > tx.zLane / 2) {
+        this.sTxErrorMsg = "InterProcessComm_SharedMemImpl - message too long; " + nBytes;
+        return -1;
+      }
+      long wr = tx.map.getLong(tx.posLaneHead + posLaneWr);
+      int posInLane = (int)(wr & (tx.zLane -1));
+      int zToEnd = tx.zLane - posInLane;
+      int zNeed = zMsg > zToEnd ? zMsg + zToEnd : zMsg;
+      long timeStart = 0;
+      int ctSpin = 0;
+      while(wr + zNeed - tx.map.getLong(tx.posLaneHead + posLaneRd) > tx.zLane) {   //ring full
+        if((++ctSpin & 0x3ff) == 0) {
+          if(timeStart == 0) { timeStart = System.nanoTime(); }
+          else if(System.nanoTime() - timeStart > nanoWaitSend || tx.map.getLong(posSession) != tx.session) {
+            this.sTxErrorMsg = "InterProcessComm_SharedMemImpl - receiver does not read; " + name;
+            return -1;
+          }
+          Thread.yield();
+        }
+      }
+      tx.fence();                                          //the read index is read before the data are written.
+      if(zMsg > zToEnd) {
+        tx.map.putInt(tx.posData + posInLane, -1);         //rest of ring unused.
+        wr += zToEnd;
+        posInLane = 0;
+      }
+      tx.map.putInt(tx.posData + posInLane, nBytes);
+      tx.view.position(tx.posData + posInLane + 4);
+      tx.view.put(data, 0, nBytes);
+      tx.fence();                                          //the data are written before the write index.
+      tx.map.putLong(tx.posLaneHead + posLaneWr, wr + zMsg);
+    }
+    return nBytes;
+  }
+
+
+
+  /**Reads the next message from any lane.
+   * @return number of bytes of the message, -1 if nothing is received.
+   */
+  private int poll(byte[] buffer, int[] nrofBytesMsg, Address_InterProcessComm_Shm sender)
+  { MappedByteBuffer map = this.rxMap;
+    int posDataLanes = zHead + this.nrofLanes * zLaneHead;
+    for(int ctLane = 0; ctLane < this.nrofLanes; ++ctLane) {
+      int ixLane = this.ixLaneNext + ctLane;
+      if(ixLane >= this.nrofLanes) { ixLane -= this.nrofLanes; }
+      int posLaneHead = zHead + ixLane * zLaneHead;
+      long rd = this.rxIdx[ixLane];
+      if(map.getLong(posLaneHead + posLaneWr) != rd) {
+        fence();                                           //the write index is read before the data.
+        int posData = posDataLanes + ixLane * this.zLane;
+        int posInLane = (int)(rd & (this.zLane -1));
+        int nBytes = map.getInt(posData + posInLane);
+        if(nBytes < 0) {                                   //rest of ring unused.
+          rd += this.zLane - posInLane;
+          posInLane = 0;
+          nBytes = map.getInt(posData);
+        }
+        int nCopy = Math.min(nBytes, buffer.length);
+        this.rxView.position(posData + posInLane + 4);
+        this.rxView.get(buffer, 0, nCopy);
+        if(sender !=null) {
+          int claim = map.getInt(posLaneHead + posLaneClaim);
+          if(this.rxSenderName[ixLane] == null || this.rxClaim[ixLane] != claim) {
+            byte[] name = new byte[Math.min(zNameMax, map.getInt(posLaneHead + posLaneZName))];
+            this.rxView.position(posLaneHead + posLaneName);
+            this.rxView.get(name);
+            this.rxSenderName[ixLane] = new String(name, StandardCharsets.US_ASCII);
+            this.rxClaim[ixLane] = claim;
+          }
+          sender.name = this.rxSenderName[ixLane];
+        }
+        rd += (4 + nBytes + 7) & ~7;
+        this.rxIdx[ixLane] = rd;
+        fence();                                           //the data are read before the read index is written.
+        map.putLong(posLaneHead + posLaneRd, rd);
+        this.ixLaneNext = ixLane +1 < this.nrofLanes ? ixLane +1 : 0;
+        nrofBytesMsg[0] = nBytes;
+        return nCopy;
+      }
+    }
+    return -1;
+  }
+
+
+  @Override public byte[] receive(int[] result, Address_InterProcessComm senderP)
+  { byte[] buffer = new byte[this.zLane / 2];
+    byte[] data = receiveData(result, buffer, senderP);
+    if(data == null || result[0] <=0) return data;
+    byte[] ret = new byte[result[0]];
+    System.arraycopy(buffer, 0, ret, 0, result[0]);
+    return ret;
+  }
+
+
+  /**Receives the next message.
+   * @param result [0] number of bytes copied in the buffer, a longer message is truncated.
+   *   0 if nothing is received in polling mode or after {@link #abortReceive()}, -1 if the communication is closed.
+   * @param bufferP buffer to copy in, if null a buffer with the half lane size is created.
+   * @param senderP null or an {@link Address_InterProcessComm_Shm} which is set with the sender.
+   * @return the buffer or null.
+   */
+  @Override public byte[] receiveData(int[] result, byte[] bufferP, Address_InterProcessComm senderP)
+  { byte[] buffer = bufferP != null ? bufferP : new byte[this.zLane / 2];
+    int[] nrofBytesMsg = new int[1];
+    int ctWait = 0;
+    long nanoPark = nanoParkMin;
+    while(true) {
+      if(this.rxMap == null) {
+        if(result !=null) { result[0] = -1; }
+        return null;
+      }
+      int nBytes = poll(buffer, nrofBytesMsg, (Address_InterProcessComm_Shm)senderP);
+      if(nBytes >=0) {
+        if(result !=null) { result[0] = nBytes; }
+        return buffer;
+      }
+      if(!this.bBlocking || this.bAbort) {
+        this.bAbort = false;
+        if(result !=null) { result[0] = 0; }
+        return null;
+      }
+      if(++ctWait > nrofSpinPoll) {
+        if(ctWait < nrofSpinPoll + nrofSpinYield) { Thread.yield(); }
+        else {
+          LockSupport.parkNanos(nanoPark);
+          if(nanoPark < nanoParkMax) { nanoPark <<= 1; }
+        }
+      }
+    }
+  }
+
+
+  @Override public void freeData(byte[] data)
+  { //This method is left empty because the garbage collector deletes unneccerry data.
+  }
+
+
+  @Override public boolean equals(final Address_InterProcessComm address1, final Address_InterProcessComm address2)
+  { return address1 !=null && address1.equals(address2);
+  }
+
+
+  @Override public int abortReceive()
+  { this.bAbort = true;
+    return 0;
+  }
+
+
+  /**Returns nrofBytesToSend, the free space in the ring is not tested. */
+  @Override public int capacityToSendWithoutBlocking(int nrofBytesToSend)
+  { return nrofBytesToSend;
+  }
+
+
+  @Override public int checkConnection()
+  { return this.rxMap == null ? -1 : 0;
+  }
+
+
+  @Override public int dataAvailable()
+  { MappedByteBuffer map = this.rxMap;
+    if(map == null) return -1;
+    int nrofLanesRx = 0;
+    for(int ixLane = 0; ixLane < this.nrofLanes; ++ixLane) {
+      if(map.getLong(zHead + ixLane * zLaneHead + posLaneWr) != this.rxIdx[ixLane]) { nrofLanesRx +=1; }
+    }
+    return nrofLanesRx;
+  }
+
+
+  @Override public int flush()
+  { return 0;
+  }
+
+
+  @Override public String getName()
+  { return this.ownAddress.toString();
+  }
+
+
+  @Override public Address_InterProcessComm getOwnAddress()
+  { return this.ownAddress;
+  }
+
+
+  @Override public byte[] getSendBuffer(int len)
+  { return new byte[len];
+  }
+
+
+  /**Returns the last error message, independent of nError. */
+  @Override public String translateErrorMsg(int nError)
+  { return this.sRxErrorMsg !=null ? this.sRxErrorMsg : this.sTxErrorMsg;
+  }
+
+
+  @Override public Address_InterProcessComm createAddress()
+  { return new Address_InterProcessComm_Shm();
+  }
+
+
+  /**Not supported, the address is a name. */
+  @Override public Address_InterProcessComm createAddress(int p1, int p2)
+  { throw new IllegalArgumentException("InterProcessComm_SharedMemImpl - address is a name; ");
+  }
+
+
+  /**Creates the address with the name p1, p2 is not used. */
+  @Override public Address_InterProcessComm createAddress(String p1, int p2)
+  { return new Address_InterProcessComm_Shm(p1);
+  }
+
+
+  /**Creates an address either in form "SHM:name" or "name". */
+  @Override public Address_InterProcessComm createAddress(String address)
+  { return new Address_InterProcessComm_Shm(address);
+  }
+
+}
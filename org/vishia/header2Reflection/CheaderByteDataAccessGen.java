@@ -0,0 +1,747 @@
+package org.vishia.header2Reflection;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.vishia.mainCmd.MainCmd;
+import org.vishia.mainCmd.MainCmdLogging_ifc;
+import org.vishia.util.FileSystem;
+
+
+/**This class generates one Java class derived from {@link org.vishia.byteData.ByteDataAccessBase} for each C struct
+ * of the parse result of {@link CheaderParser}. The generated class contains the position of any member
+ * as <code>static final int kPos_name</code> and typed access operations <code>get_name()</code>, <code>set_name(val)</code>.
+ * Because the positions are constants the access operations are simple and can be inlined by the JIT compiler.
+ * It is the replacement of hand written classes such as {@link ExtReflection_Insp_h.ExtReflection_Insp}
+ * and of the symbolic access via {@link org.vishia.byteData.ByteDataSymbolicAccess}.
+ * <ul>
+ * <li>Primitive types, also given via typedef or enum, are accessed with the adequate Java type.
+ *   An <code>uint32</code> is returned as <code>long</code>, pointers are returned as address value.
+ * <li>Arrays of primitive types are accessed with an index, arrays of int32, float and double also as whole.
+ * <li>A nested struct is accessed with a child instance of its generated class: <code>access_name(child)</code>
+ *   assigns the child to the position of the member, see {@link org.vishia.byteData.ByteDataAccessBase#addChildAt(int, org.vishia.byteData.ByteDataAccessBase)}.
+ * <li>Bit fields are read and written with mask and shift inside their storage unit.
+ * </ul>
+ * The parse result does not contain the layout of the structs, it is calculated here with the rules of usual C compilers:
+ * Any member is aligned to its size, but not more than the maximal alignment (<code>#pragma pack</code>),
+ * a struct is aligned to its greatest member, bit fields are stored from the lowest bit in units of their type.
+ * The size of a pointer and the maximal alignment are parameters.
+ * <br><br>
+ * The calculated layout should be checked with the target compiler: {@link #writeLayoutCheck(File, List)} writes a C file
+ * with a compile time assertion for the size of any struct and the offset of any member.
+ * That file fails on compilation if the layout is different.
+ * <br><br>
+ * Restrictions: Member of an anonymous inner struct are treated as members of the outer struct,
+ * a possible padding on end of the inner struct is not regarded. An array size given by an expression is not supported.
+ * A struct with unknown types or unsupported elements is not generated, it is reported in {@link #errors()}.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public class CheaderByteDataAccessGen
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut chg: <code>char</code> is accessed as int8, used for names in headers. Test of the layout with the manually written
+   *   classes for the reflection: {@link org.vishia.header2Reflection.test.TestCheaderByteDataAccessGen}.
+   * <li>2026-10-19 Hartmut created, the ByteDataAccessBase classes were written manually till now.
+   * </ul>
+   *
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   *
+   */
+  public final static String version = "2026-10-19";
+
+
+  /**Properties of a primitive type for the access in Java.
+   * In {@link #sGet} and {@link #sSet} the position is written as <code>%s</code>, the value to set is named <code>val</code>. */
+  private static final class Prim
+  { final String sJavaType;
+    final int size;
+    final String sGet, sSet;
+    /**Name of the bulk access in ByteDataAccessBase or null. */
+    final String sBulk;
+    Prim(String sJavaType, int size, String sGet, String sSet, String sBulk) {
+      this.sJavaType = sJavaType; this.size = size; this.sGet = sGet; this.sSet = sSet; this.sBulk = sBulk;
+    }
+  }
+
+
+  private static final Prim int32 = new Prim("int", 4, "getInt32(%s)", "setInt32(%s, val)", "Ints")
+    , uint32 = new Prim("long", 4, "(getUint32(%s) & 0xffffffffL)", "setUint32(%s, val)", null)
+    , int64 = new Prim("long", 8, "getInt64(%s)", "setInt64(%s, val)", null)
+    ;
+
+  /**The primitive types, key is the type name as stored in {@link CheaderParser.Type#name}. */
+  private static final Map<String, Prim> primTypes = new TreeMap<String, Prim>();
+
+  static {
+    prim("int8 int8_t int8_T char", new Prim("byte", 1, "getInt8(%s)", "setInt8(%s, val)", null));
+    prim("uint8 uint8_t uint8_T", new Prim("short", 1, "getUint8(%s)", "setUint8(%s, val)", null));
+    prim("int16 int16_t int16_T", new Prim("short", 2, "getInt16(%s)", "setInt16(%s, val)", null));
+    prim("uint16 uint16_t uint16_T char16_t", new Prim("int", 2, "getUint16(%s)", "setUint16(%s, val)", null));
+    prim("int32 int32_t int32_T", int32);
+    prim("uint32 uint32_t uint32_T", uint32);
+    prim("int64 int64_t int64_T uint64 uint64_t uint64_T", int64);
+    prim("float float32 float_t", new Prim("float", 4, "getFloat(%s)", "setFloat(%s, val)", "Floats"));
+    prim("double float64 double_t", new Prim("double", 8, "getDouble(%s)", "setDouble(%s, val)", "Doubles"));
+    prim("bool bool_t", new Prim("boolean", 1, "(getInt8(%s) !=0)", "setInt8(%s, val ? 1 : 0)", null));
+  }
+
+  private static void prim(String sNames, Prim prim) {
+    for(String sName: sNames.split(" ")) { primTypes.put(sName, prim); }
+  }
+
+
+  /**A member of a struct with its calculated position. */
+  public static final class Member
+  { /**Name of the member, used for the Java identifiers. */
+    public final String name;
+    /**Access path in C for <code>offsetof</code>, null for a bit field. */
+    final String sPathC;
+    /**Position in the struct in bytes, for a bit field position of its storage unit. */
+    public final int pos;
+    /**0 for a scalar, else number of array elements. */
+    public final int nrofElements;
+    /**Size of one element or of the bit field unit. */
+    public final int size;
+    /**The primitive type or null for a struct. */
+    final Prim prim;
+    /**The struct type or null for a primitive. */
+    final StructLayout struct;
+    public final int bitPos, bitWidth;
+
+    Member(String name, String sPathC, int pos, int nrofElements, int size, Prim prim, StructLayout struct, int bitPos, int bitWidth) {
+      this.name = name; this.sPathC = sPathC; this.pos = pos; this.nrofElements = nrofElements; this.size = size;
+      this.prim = prim; this.struct = struct; this.bitPos = bitPos; this.bitWidth = bitWidth;
+    }
+
+    @Override public String toString(){ return this.name + "@" + this.pos; }
+  }
+
+
+  /**The calculated layout of a struct. */
+  public static final class StructLayout
+  { final CheaderParser.StructDefinition def;
+    /**Name of the struct, used as Java class name. */
+    public final String name;
+    /**Name of the header file where it is defined. */
+    final String sFile;
+    public final List<Member> members = new ArrayList<Member>();
+    public int size, align = 1;
+    /**Set if the layout cannot be built. */
+    public String sError;
+
+    StructLayout(CheaderParser.StructDefinition def, String sFile) { this.def = def; this.name = def.name(); this.sFile = sFile; }
+
+    @Override public String toString(){ return this.name + ", size=" + this.size; }
+  }
+
+
+  /**A type with its size and alignment. */
+  private static final class Elem
+  { final Prim prim;
+    final StructLayout struct;
+    final int size, align;
+    Elem(Prim prim, StructLayout struct, int maxAlign) {
+      this.prim = prim; this.struct = struct;
+      this.size = prim !=null ? prim.size : struct.size;
+      int align1 = prim !=null ? prim.size : struct.align;
+      this.align = align1 > maxAlign ? maxAlign : align1;
+    }
+  }
+
+
+  private final String sPkg;
+
+  private final int sizePointer, maxAlign;
+
+  private final Prim pointer;
+
+  /**All structs with their name and tag name. */
+  private final Map<String, CheaderParser.StructDefinition> idxStruct = new HashMap<String, CheaderParser.StructDefinition>();
+
+  /**All structs in order of the files. */
+  private final Map<CheaderParser.StructDefinition, String> structFiles = new LinkedHashMap<CheaderParser.StructDefinition, String>();
+
+  private final Map<String, CheaderParser.AttributeOrTypedef> idxTypedef = new HashMap<String, CheaderParser.AttributeOrTypedef>();
+
+  private final Set<String> enums = new HashSet<String>();
+
+  /**Integer defines for array sizes. */
+  private final Map<String, Integer> defines = new HashMap<String, Integer>();
+
+  private final Map<CheaderParser.StructDefinition, StructLayout> layouts = new HashMap<CheaderParser.StructDefinition, StructLayout>();
+
+  /**To detect a recursive definition. */
+  private final Set<CheaderParser.StructDefinition> inProgress = new HashSet<CheaderParser.StructDefinition>();
+
+  private final List<String> errors = new ArrayList<String>();
+
+
+  /**Creates the generator.
+   * @param sPkg Java package of the generated classes
+   * @param sizePointer 4 or 8, size of a pointer on the target.
+   * @param maxAlign maximal alignment, 8 for usual compilers, 4 for some 32 bit targets, 1 for <code>#pragma pack(1)</code>.
+   */
+  public CheaderByteDataAccessGen(String sPkg, int sizePointer, int maxAlign)
+  { if(sizePointer != 4 && sizePointer != 8) throw new IllegalArgumentException("CheaderByteDataAccessGen - sizePointer should be 4 or 8; " + sizePointer);
+    this.sPkg = sPkg;
+    this.sizePointer = sizePointer;
+    this.maxAlign = maxAlign <= 0 ? 8 : maxAlign;
+    this.pointer = sizePointer == 8 ? int64 : int32;
+  }
+
+
+
+  /**Gathers all struct, typedef, enum and define definitions of the parsed header files.
+   * It should be invoked for all headers which are used in the structs.
+   */
+  public void addParseResult(CheaderParser.ZbnfResultData data)
+  { for(CheaderParser.ZbnfResultFile file: data.files) {
+      if(file.listClassC !=null) {
+        for(CheaderParser.ClassC classC: file.listClassC) {
+          gather(classC, file.fileName);
+        }
+      }
+    }
+  }
+
+
+  private void gather(CheaderParser.HeaderBlock block, String sFile)
+  { for(CheaderParser.HeaderBlockEntry entry: block.entries) {
+      if(entry instanceof CheaderParser.StructDefinition) {
+        CheaderParser.StructDefinition def = (CheaderParser.StructDefinition)entry;
+        if(def.name() !=null) {                              //an anonymous inner union is a part of its struct.
+          if(def.name !=null) { this.idxStruct.put(def.name, def); }
+          if(def.tagname !=null) { this.idxStruct.put(def.tagname, def); }
+          this.structFiles.put(def, sFile);
+        }
+        gather(def, sFile);                                  //named inner structs of deeper levels
+      }
+      else if(entry instanceof CheaderParser.ClassDefinition) {
+        //a C++ class is not supported.
+      }
+      else if(entry instanceof CheaderParser.HeaderBlock) {
+        gather((CheaderParser.HeaderBlock)entry, sFile);    //ConditionBlock
+      }
+      else if(entry instanceof CheaderParser.EnumDefinition) {
+        CheaderParser.EnumDefinition def = (CheaderParser.EnumDefinition)entry;
+        if(def.name !=null) { this.enums.add(def.name); }
+        if(def.tagname !=null) { this.enums.add(def.tagname); }
+      }
+      else if(entry instanceof CheaderParser.DefineDefinition) {
+        CheaderParser.DefineDefinition def = (CheaderParser.DefineDefinition)entry;
+        if(def.name !=null && def.args == null) {
+          String sValue = def.valueDef.trim();
+          try {
+            int value = sValue.startsWith("0x") || sValue.startsWith("0X") ? Integer.parseInt(sValue.substring(2), 16) : Integer.parseInt(sValue);
+            this.defines.put(def.name, value);
+          } catch(NumberFormatException exc) {
+            if(def.intvalue !=0 || def.hexvalue !=0) { this.defines.put(def.name, def.intvalue !=0 ? def.intvalue : def.hexvalue); }
+          }
+        }
+      }
+      else if(entry instanceof CheaderParser.AttributeOrTypedef && entry.whatisit.equals("typedef")) {
+        CheaderParser.AttributeOrTypedef def = (CheaderParser.AttributeOrTypedef)entry;
+        if(def.name !=null) { this.idxTypedef.put(def.name, def); }
+      }
+    }
+  }
+
+
+
+  /**Returns the layout of the struct, calculates it if not done already.
+   * It can be used to check the layout.
+   * @return null if the struct is not found. Check {@link StructLayout#sError}.
+   */
+  public StructLayout layout(String name)
+  { CheaderParser.StructDefinition def = this.idxStruct.get(name);
+    return def == null ? null : layout(def);
+  }
+
+
+  private StructLayout layout(CheaderParser.StructDefinition def)
+  { StructLayout layout = this.layouts.get(def);
+    if(layout == null) {
+      if(!this.inProgress.add(def)) throw new IllegalArgumentException("recursive struct; " + def.name());
+      layout = new StructLayout(def, this.structFiles.get(def));
+      try {
+        calcLayout(layout);
+      } catch(IllegalArgumentException exc) {
+        layout.sError = exc.getMessage();
+      }
+      this.inProgress.remove(def);
+      this.layouts.put(def, layout);
+    }
+    return layout;
+  }
+
+
+
+  /**Calculates the positions of all members.
+   * The superclass is the first member, maybe as part of an union, see {@link CheaderParser.StructDefinition#add_innerUnionAttribute(CheaderParser.StructDefinition)}.
+   * Members of an anonymous inner union are stored in the {@link CheaderParser.StructOrClassDef#attribs} of the struct,
+   * they are placed at the same position.
+   */
+  private void calcLayout(StructLayout layout)
+  { CheaderParser.StructDefinition def = layout.def;
+    int pos = 0;
+    Set<CheaderParser.StructDefinition> unionsDone = new HashSet<CheaderParser.StructDefinition>();
+    List<CheaderParser.AttributeOrTypedef> group = new ArrayList<CheaderParser.AttributeOrTypedef>();
+    if(def.superclass !=null) {
+      CheaderParser.StructDefinition union = innerUnion(def, def.superclass);
+      group.clear();
+      if(union !=null) {
+        unionsDone.add(union);
+        membersOfUnion(union, group);
+        pos = place(layout, group, union.name == null ? "" : union.name + ".", pos, true);
+      } else {
+        group.add(def.superclass);
+        pos = place(layout, group, "", pos, false);
+      }
+    }
+    for(CheaderParser.AttributeOrTypedef attr: def.attribs) {
+      if(attr.staticConst) continue;
+      CheaderParser.StructDefinition union = innerUnion(def, attr);
+      group.clear();
+      if(union == null) {
+        group.add(attr);
+        pos = place(layout, group, "", def.isUnion ? 0 : pos, false);
+      }
+      else if(unionsDone.add(union)) {
+        membersOfUnion(union, group);
+        pos = place(layout, group, "", def.isUnion ? 0 : pos, true);
+      }
+    }
+    for(Member member: layout.members) {
+      int end = member.pos + member.size * (member.nrofElements == 0 ? 1 : member.nrofElements);
+      if(end > layout.size) { layout.size = end; }
+    }
+    layout.size = alignUp(layout.size, layout.align);
+  }
+
+
+  /**Returns the anonymous inner union of the struct which contains the attribute, or null. */
+  private static CheaderParser.StructDefinition innerUnion(CheaderParser.StructDefinition def, CheaderParser.AttributeOrTypedef attr)
+  { for(CheaderParser.HeaderBlockEntry entry: def.entries) {
+      if(entry instanceof CheaderParser.StructDefinition) {
+        CheaderParser.StructDefinition union = (CheaderParser.StructDefinition)entry;
+        if(union.isUnion && union.isInnerStruct && (union.superclass == attr || union.attribs.contains(attr))) {
+          return union;
+        }
+      }
+    }
+    return null;
+  }
+
+
+  private static void membersOfUnion(CheaderParser.StructDefinition union, List<CheaderParser.AttributeOrTypedef> dst)
+  { if(union.superclass !=null) { dst.add(union.superclass); }
+    for(CheaderParser.AttributeOrTypedef attr: union.attribs) {
+      if(!dst.contains(attr)) { dst.add(attr); }
+    }
+  }
+
+
+
+  /**Places the attributes in the layout.
+   * @param group one attribute, or all attributes of an union
+   * @param bUnion true then all attributes are placed at the same position
+   * @param pos the next free position, for a bit field the position after its storage unit.
+   * @return the next free position
+   */
+  private int place(StructLayout layout, List<CheaderParser.AttributeOrTypedef> group, String sPrefixC, int pos, boolean bUnion)
+  { int align = 1, size = 0;
+    Elem[] elems = new Elem[group.size()];
+    int[] nrofElements = new int[elems.length];
+    for(int ix = 0; ix < elems.length; ++ix) {
+      CheaderParser.AttributeOrTypedef attr = group.get(ix);
+      String sWhere = layout.name + "." + attr.name;
+      elems[ix] = elem(attr.type, sWhere);
+      nrofElements[ix] = arraysize(attr.arraysize, sWhere);
+      if(elems[ix].align > align) { align = elems[ix].align; }
+      int size1 = elems[ix].size * (nrofElements[ix] == 0 ? 1 : nrofElements[ix]);
+      if(size1 > size) { size = size1; }
+    }
+    if(align > layout.align) { layout.align = align; }
+    if(!bUnion && group.size() == 1 && group.get(0).bitField > 0) {
+      return placeBitField(layout, group.get(0), elems[0], pos);
+    }
+    int posMember = alignUp(pos, align);
+    for(int ix = 0; ix < elems.length; ++ix) {
+      CheaderParser.AttributeOrTypedef attr = group.get(ix);
+      if(attr.bitField > 0) throw new IllegalArgumentException("bit field in union not supported; " + layout.name + "." + attr.name);
+      layout.members.add(new Member(attr.name, sPrefixC + attr.name, posMember, nrofElements[ix], elems[ix].size
+                        , elems[ix].prim, elems[ix].struct, 0, 0));
+    }
+    return posMember + size;
+  }
+
+
+  /**Places a bit field in the storage unit of the bit field before, or in a new storage unit.
+   * The storage unit is the last member if it is a bit field.
+   */
+  private int placeBitField(StructLayout layout, CheaderParser.AttributeOrTypedef attr, Elem elem, int pos)
+  { int bitWidth = attr.bitField;
+    if(elem.prim == null || elem.prim.sJavaType.equals("float") || elem.prim.sJavaType.equals("double") || bitWidth > elem.size * 8) {
+      throw new IllegalArgumentException("fault bit field; " + layout.name + "." + attr.name);
+    }
+    int zMembers = layout.members.size();
+    Member last = zMembers == 0 ? null : layout.members.get(zMembers -1);
+    if(last !=null && last.bitWidth > 0 && last.size == elem.size && last.bitPos + last.bitWidth + bitWidth <= elem.size * 8) {
+      layout.members.add(new Member(attr.name, null, last.pos, 0, elem.size, elem.prim, null, last.bitPos + last.bitWidth, bitWidth));
+      return pos;
+    } else {
+      int posUnit = alignUp(pos, elem.align);
+      layout.members.add(new Member(attr.name, null, posUnit, 0, elem.size, elem.prim, null, 0, bitWidth));
+      return posUnit + elem.size;
+    }
+  }
+
+
+
+  /**Resolves the type to a primitive type or a struct.
+   * @throws IllegalArgumentException if the type is unknown.
+   */
+  private Elem elem(CheaderParser.Type type, String sWhere)
+  { CheaderParser.Type type1 = type;
+    for(int depth = 0; depth < 20; ++depth) {                //20: prevent a loop of typedefs
+      if(type1.pointerDepth() > 0) return new Elem(this.pointer, null, this.maxAlign);
+      String name = type1.name;
+      if(name.equals("int")) { name = type1.unsigned ? "uint32" : "int32"; }   //unsigned or signed alone
+      else if(type1.unsigned && name.startsWith("int")) { name = "u" + name; }
+      Prim prim = primTypes.get(name);
+      if(prim !=null) return new Elem(prim, null, this.maxAlign);
+      CheaderParser.StructDefinition def = this.idxStruct.get(name);
+      if(def == null && type1.basename !=null) { def = this.idxStruct.get(type1.basename + "_s"); }
+      if(def !=null) {
+        StructLayout struct = layout(def);
+        if(struct.sError !=null) throw new IllegalArgumentException("faulty type " + struct.name + " used in " + sWhere);
+        return new Elem(null, struct, this.maxAlign);
+      }
+      if(this.enums.contains(name)) return new Elem(int32, null, this.maxAlign);
+      CheaderParser.AttributeOrTypedef typedef = this.idxTypedef.get(name);
+      if(typedef == null) break;
+      if(typedef.arraysize !=null) throw new IllegalArgumentException("typedef of an array not supported; " + name + " used in " + sWhere);
+      type1 = typedef.type;
+    }
+    throw new IllegalArgumentException("unknown type; " + type.name + " used in " + sWhere);
+  }
+
+
+  /**@return 0 if it is not an array. */
+  private int arraysize(CheaderParser.Arraysize arraysize, String sWhere)
+  { if(arraysize == null) return 0;
+    if(arraysize.value > 0) return arraysize.value;
+    if(arraysize.symbolValue !=null) {
+      Integer value = this.defines.get(arraysize.symbolValue);
+      if(value !=null && value > 0) return value;
+    }
+    throw new IllegalArgumentException("array size not supported; " + sWhere);
+  }
+
+
+  private static int alignUp(int pos, int align) { return (pos + align -1) / align * align; }
+
+
+
+  /**Errors of the last {@link #generate(File)}, any struct which is not generated. */
+  public List<String> errors(){ return this.errors; }
+
+
+
+  /**Generates the Java classes for all structs in the directory for the package.
+   * @param dirJava The base directory of the Java sources, the package path is added.
+   * @return The generated structs. A struct which cannot be generated is reported in {@link #errors()}.
+   * @throws IOException
+   */
+  public List<StructLayout> generate(File dirJava) throws IOException
+  { this.errors.clear();
+    List<StructLayout> generated = new ArrayList<StructLayout>();
+    File dirPkg = new File(dirJava, this.sPkg.replace('.', '/'));
+    FileSystem.mkDirPath(dirPkg.getPath() + "/");
+    for(CheaderParser.StructDefinition def: this.structFiles.keySet()) {
+      StructLayout layout = layout(def);
+      if(layout.sError !=null) {
+        this.errors.add("CheaderByteDataAccessGen - struct not generated; " + layout.name + ": " + layout.sError);
+      } else {
+        Writer wr = new FileWriter(new File(dirPkg, layout.name + ".java"));
+        try { writeClass(layout, wr); }
+        finally { wr.close(); }
+        generated.add(layout);
+      }
+    }
+    return generated;
+  }
+
+
+
+  private void writeClass(StructLayout layout, Writer wr) throws IOException
+  { wr.append("package ").append(this.sPkg).append(";\n\n");
+    wr.append("import org.vishia.byteData.ByteDataAccessBase;\n\n");
+    wr.append("/**Access to the C struct ").append(layout.name).append(" defined in ").append(layout.sFile).append(".\n");
+    wr.append(" * Generated with org.vishia.header2Reflection.CheaderByteDataAccessGen for pointer size ").append(Integer.toString(this.sizePointer))
+      .append(" and maximal alignment ").append(Integer.toString(this.maxAlign)).append(", don't change it.\n */\n");
+    wr.append("public class ").append(layout.name).append(" extends ByteDataAccessBase\n{\n");
+    for(Member member: layout.members) {
+      wr.append("  public static final int kPos_").append(member.name).append(" = ").append(Integer.toString(member.pos)).append(";\n");
+      if(member.nrofElements > 0) {
+        wr.append("  public static final int kLength_").append(member.name).append(" = ").append(Integer.toString(member.nrofElements)).append(";\n");
+      }
+    }
+    wr.append("  public static final int sizeof = ").append(Integer.toString(layout.size)).append(";\n\n\n");
+    wr.append("  public ").append(layout.name).append("(){ super(sizeof); }\n\n");
+    for(Member member: layout.members) {
+      String sPos = "kPos_" + member.name;
+      if(member.struct !=null) {
+        String sType = member.struct.name;
+        if(member.nrofElements == 0) {
+          wr.append("  public void access_").append(member.name).append("(").append(sType).append(" child){ addChildAt(").append(sPos).append(", child); }\n\n");
+        } else {
+          wr.append("  public void access_").append(member.name).append("(").append(sType).append(" child, int ix){\n");
+          writeCheckIx(member, wr);
+          wr.append("    addChildAt(").append(sPos).append(" + ix * ").append(sType).append(".sizeof, child);\n  }\n\n");
+        }
+      }
+      else if(member.bitWidth > 0) {
+        writeBitField(member, wr);
+      }
+      else if(member.nrofElements == 0) {
+        String sJavaType = member.prim.sJavaType;
+        wr.append("  public ").append(sJavaType).append(" get_").append(member.name).append("(){ return ")
+          .append(String.format(member.prim.sGet, sPos)).append("; }\n\n");
+        wr.append("  public void set_").append(member.name).append("(").append(sJavaType).append(" val){ ")
+          .append(String.format(member.prim.sSet, sPos)).append("; }\n\n");
+      }
+      else {
+        String sJavaType = member.prim.sJavaType;
+        String sPosIx = sPos + " + " + member.size + " * ix";
+        wr.append("  public ").append(sJavaType).append(" get_").append(member.name).append("(int ix){\n");
+        writeCheckIx(member, wr);
+        wr.append("    return ").append(String.format(member.prim.sGet, sPosIx)).append(";\n  }\n\n");
+        wr.append("  public void set_").append(member.name).append("(int ix, ").append(sJavaType).append(" val){\n");
+        writeCheckIx(member, wr);
+        wr.append("    ").append(String.format(member.prim.sSet, sPosIx)).append(";\n  }\n\n");
+        if(member.prim.sBulk !=null) {
+          wr.append("  public void get_").append(member.name).append("(").append(sJavaType).append("[] dst){ get").append(member.prim.sBulk)
+            .append("(").append(sPos).append(", dst, 0, kLength_").append(member.name).append("); }\n\n");
+          wr.append("  public void set_").append(member.name).append("(").append(sJavaType).append("[] src){ set").append(member.prim.sBulk)
+            .append("(").append(sPos).append(", src, 0, kLength_").append(member.name).append("); }\n\n");
+        }
+      }
+    }
+    wr.append("}\n");
+  }
+
+
+  private static void writeCheckIx(Member member, Writer wr) throws IOException
+  { wr.append("    if(ix < 0 || ix >= kLength_").append(member.name).append(") throw new IndexOutOfBoundsException(\"")
+      .append(member.name).append(":\" + ix);\n");
+  }
+
+
+  private static void writeBitField(Member member, Writer wr) throws IOException
+  { String sPos = "kPos_" + member.name;
+    final String sType, sGet, sSet, sMask;
+    switch(member.size) {
+    case 1: sType = "int"; sGet = "getUint8(" + sPos + ")"; sSet = "setUint8"; break;
+    case 2: sType = "int"; sGet = "getUint16(" + sPos + ")"; sSet = "setUint16"; break;
+    case 4: sType = "int"; sGet = "getInt32(" + sPos + ")"; sSet = "setInt32"; break;
+    default: sType = "long"; sGet = "getInt64(" + sPos + ")"; sSet = "setInt64"; break;
+    }
+    if(sType.equals("long")) { sMask = "0x" + Long.toHexString(member.bitWidth == 64 ? -1L : (1L << member.bitWidth) -1) + "L"; }
+    else { sMask = "0x" + Integer.toHexString(member.bitWidth == 32 ? -1 : (1 << member.bitWidth) -1); }
+    String sShift = Integer.toString(member.bitPos);
+    wr.append("  public ").append(sType).append(" get_").append(member.name).append("(){ return (").append(sGet).append(" >>> ")
+      .append(sShift).append(") & ").append(sMask).append("; }\n\n");
+    wr.append("  public void set_").append(member.name).append("(").append(sType).append(" val){ ").append(sSet).append("(").append(sPos)
+      .append(", (").append(sGet).append(" & ~(").append(sMask).append(" << ").append(sShift).append(")) | ((val & ").append(sMask)
+      .append(") << ").append(sShift).append(")); }\n\n");
+  }
+
+
+
+  /**Writes a C file which checks the calculated layout on compilation with the target compiler.
+   * For any generated struct and any member except bit fields a compile time assertion is written.
+   * @param fileC the C file
+   * @param structs the result of {@link #generate(File)}
+   * @throws IOException
+   */
+  public void writeLayoutCheck(File fileC, List<StructLayout> structs) throws IOException
+  { Writer wr = new FileWriter(fileC);
+    try {
+      wr.append("/*Check of the layout calculated by org.vishia.header2Reflection.CheaderByteDataAccessGen, don't change it.\n");
+      wr.append(" * The compilation fails if the layout of the compiler is different. */\n");
+      wr.append("#include <stddef.h>\n");
+      Set<String> files = new HashSet<String>();
+      for(StructLayout layout: structs) {
+        if(files.add(layout.sFile)) { wr.append("#include \"").append(layout.sFile).append("\"\n"); }
+      }
+      wr.append("\n#define CHECK_LAYOUT(cond, name) typedef char name[(cond) ? 1 : -1]\n\n");
+      for(StructLayout layout: structs) {
+        if(layout.def.isInnerStruct) continue;             //the name of the type is not known in C.
+        String sTypeC = layout.def.name !=null ? layout.def.name : "struct " + layout.def.tagname;
+        String sIdent = layout.name;
+        wr.append("CHECK_LAYOUT(sizeof(").append(sTypeC).append(") == ").append(Integer.toString(layout.size)).append(", sizeof_").append(sIdent).append(");\n");
+        for(Member member: layout.members) {
+          if(member.sPathC !=null) {
+            wr.append("CHECK_LAYOUT(offsetof(").append(sTypeC).append(", ").append(member.sPathC).append(") == ").append(Integer.toString(member.pos))
+              .append(", offs_").append(sIdent).append("_").append(member.sPathC.replace('.', '_')).append(");\n");
+          }
+        }
+        wr.append("\n");
+      }
+    } finally {
+      wr.close();
+    }
+  }
+
+
+
+  /**Arguments for {@link #main(String[])}. */
+  public static class Args extends CheaderParser.Args
+  {
+    String sDirJava, sPkg = "", sFileCheck;
+
+    int sizePointer = 4, maxAlign = 8;
+  }
+
+
+
+  /**Parses the headers and generates the classes.
+   * @return 0 on success, 1 if any struct is not generated.
+   */
+  public static int execute(Args args, MainCmd console) throws IOException
+  { CheaderParser parser = new CheaderParser(console);
+    CheaderParser.ZbnfResultData data = parser.execute(args);
+    CheaderByteDataAccessGen gen = new CheaderByteDataAccessGen(args.sPkg, args.sizePointer, args.maxAlign);
+    gen.addParseResult(data);
+    List<StructLayout> generated = gen.generate(new File(args.sDirJava));
+    if(args.sFileCheck !=null) { gen.writeLayoutCheck(new File(args.sFileCheck), generated); }
+    for(String sError: gen.errors()) { System.err.println(sError); }
+    return gen.errors().isEmpty() ? 0 : 1;
+  }
+
+
+
+  /*---------------------------------------------------------------------------------------------*/
+  /** main started from java*/
+  public static void main(String [] sArgs)
+  { Args args = new Args();
+    CmdLine mainCmdLine = new CmdLine(args, sArgs);
+    boolean bOk;
+    try{ bOk = mainCmdLine.parseArguments(); }
+    catch(Exception exception)
+    { mainCmdLine.report("Argument error:", exception);
+      mainCmdLine.setExitErrorLevel(MainCmdLogging_ifc.exitWithArgumentError);
+      bOk = false;
+    }
+    if(bOk) {
+      try{
+        if(execute(args, mainCmdLine) !=0) { mainCmdLine.setExitErrorLevel(MainCmdLogging_ifc.exitWithErrors); }
+      }
+      catch(Exception exc)
+      { System.err.println("CheaderByteDataAccessGen - " + exc.getMessage());
+        mainCmdLine.setExitErrorLevel(MainCmdLogging_ifc.exitWithErrors);
+      }
+    }
+    mainCmdLine.exit();
+  }
+
+
+
+  /**The inner class CmdLine helps to evaluate the command line arguments
+   * and show help messages on command line.
+   */
+  private static class CmdLine extends MainCmd
+  {
+    final Args argData;
+
+    final MainCmd.Argument[] defArguments =
+    { new MainCmd.Argument("-z", ":<Cheader.zbnf>    syntax for the header files", new MainCmd.SetArgument(){
+          @Override public boolean setArgument(String val){
+            CmdLine.this.argData.setZbnfHeader(val);  return true;
+          }})
+      , new MainCmd.Argument("-i", ":<header.h>    input header file, more as one is possible", new MainCmd.SetArgument(){
+          @Override public boolean setArgument(String val){
+            CmdLine.this.argData.addSrc(val, new File(val).getName());  return true;
+          }})
+      , new MainCmd.Argument("-dirJava", ":<dirJava>    base directory for Java output", new MainCmd.SetArgument(){
+          @Override public boolean setArgument(String val){
+            CmdLine.this.argData.sDirJava = val;  return true;
+          }})
+      , new MainCmd.Argument("-pkg", ":<pkg.path>    package of the generated classes", new MainCmd.SetArgument(){
+          @Override public boolean setArgument(String val){
+            CmdLine.this.argData.sPkg = val;  return true;
+          }})
+      , new MainCmd.Argument("-ptr", ":<4|8>    size of a pointer, default 4", new MainCmd.SetArgument(){
+          @Override public boolean setArgument(String val){
+            CmdLine.this.argData.sizePointer = Integer.parseInt(val);  return true;
+          }})
+      , new MainCmd.Argument("-pack", ":<N>    maximal alignment, default 8", new MainCmd.SetArgument(){
+          @Override public boolean setArgument(String val){
+            CmdLine.this.argData.maxAlign = Integer.parseInt(val);  return true;
+          }})
+      , new MainCmd.Argument("-check", ":<file.c>    C file to check the layout with the target compiler", new MainCmd.SetArgument(){
+          @Override public boolean setArgument(String val){
+            CmdLine.this.argData.sFileCheck = val;  return true;
+          }})
+      , new MainCmd.Argument("-threads", ":<N>    number of threads for parsing, 0: all processors", new MainCmd.SetArgument(){
+          @Override public boolean setArgument(String val){
+            CmdLine.this.argData.setThreads(Integer.parseInt(val));  return true;
+          }})
+    };
+
+    CmdLine(Args argData, String[] sCmdlineArgs)
+    { super(sCmdlineArgs);
+      this.argData = argData;
+      super.addAboutInfo("Generate Java classes derived from ByteDataAccessBase for C structs");
+      super.addAboutInfo("made by HSchorrig, 2026-10-19");
+      super.addArgument(this.defArguments);
+      super.addHelpInfo("==Standard arguments of MainCmd==");
+      super.addStandardHelpInfo();
+    }
+
+    @Override protected boolean checkArguments()
+    { boolean bOk = true;
+      if(this.argData.sFileZbnf == null) { bOk = false; writeError("ERROR argument -z:Cheader.zbnf is obligat."); }
+      if(this.argData.sDirJava == null) { bOk = false; writeError("ERROR argument -dirJava is obligat."); }
+      if(this.argData.srcFiles.isEmpty()) { bOk = false; writeError("ERROR argument -i:header is obligat."); }
+      return bOk;
+    }
+  }//class CmdLine
+
+}
@@ -0,0 +1,185 @@
+package org.vishia.header2Reflection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.vishia.util.FileSystem;
+import org.vishia.zbnf.ZbnfParseResultItem;
+import org.vishia.zbnf.ZbnfParser;
+
+
+/**This class stores the parse results of header files in a directory, to use it for a next run of the {@link CheaderParser}
+ * without parsing. The parse result is converted to the {@link CheaderParser.ZbnfResultFile} with
+ * {@link org.vishia.zbnf.ZbnfJavaOutput} as usual. That is fast in comparison to parsing.
+ * <br><br>
+ * The key of an entry is the SHA-1 of the content of the syntax and the content of the header file.
+ * It is used as name of the entry file. Hence an entry is valid for any header file with the same content,
+ * independent of its path and timestamp, and an entry from another syntax is never used.
+ * An unchanged header is not parsed again, also if it was touched or copied.
+ * Old entries are not removed, the directory can be cleaned if necessary.
+ * <br><br>
+ * The entry contains a magic, the format version and the parse result written with {@link ZbnfParser#writeParseResult(java.io.DataOutput)}.
+ * The methods are thread safe, the entry is written as temporary file and renamed after writing.
+ * The adequate approach for JZtxtcmd scripts is {@link org.vishia.cmd.JZtxtcmdScriptCache}.
+ * <br><br>
+ * Usage: {@link CheaderParser.Args#setCacheDir(String)}.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public class CheaderParseCache
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut corr: {@link #putParseResult(String, ZbnfParser)} writes a unique temporary file
+   *   with {@link File#createTempFile(String, String, File)}, the thread id is not unique for more processes. 
+   * <li>2026-10-19 Hartmut created, because parsing of large header sets needs minutes, but only a few headers are changed.
+   * </ul>
+   *
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   *
+   */
+  public final static String version = "2026-10-19";
+
+
+  /**Identification of an entry file, "CHPC". */
+  private final static int magic = 0x43485043;
+
+  /**Version of the entry file format. */
+  private final static int versionFormat = 1;
+
+  /**The directory where the entries are stored. */
+  final File dirCache;
+
+  /**Hash of the syntax, it is the start of any key. */
+  private final byte[] hashSyntax;
+
+
+  /**Creates the cache. The directory is created if not existing.
+   * @param dirCache directory for the entry files. It can be shared between some processes.
+   * @param syntax the content of the syntax file which is used for parsing.
+   */
+  public CheaderParseCache(File dirCache, CharSequence syntax) {
+    this.dirCache = dirCache;
+    if(!dirCache.exists()) { dirCache.mkdirs(); }
+    this.hashSyntax = sha1().digest(syntax.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+
+
+  /**Returns the key for the content of the header file.
+   * @return null if the file cannot be read, then the cache is not used for this file.
+   */
+  public String key(File fileHeader) {
+    byte[] content = FileSystem.readBinFile(fileHeader);
+    if(content == null) return null;
+    MessageDigest md = sha1();
+    md.update(this.hashSyntax);
+    md.update(content);
+    byte[] hash = md.digest();
+    StringBuilder key = new StringBuilder(40);
+    for(int ix = 0; ix < hash.length; ++ix) {
+      key.append(Character.forDigit((hash[ix] >> 4) & 0xf, 16)).append(Character.forDigit(hash[ix] & 0xf, 16));
+    }
+    return key.toString();
+  }
+
+
+
+  /**Returns the stored parse result for the key, or null if no valid entry is found.
+   * An entry with faulty format is ignored, hence a failure of the cache forces only parsing.
+   * @param key built with {@link #key(File)}
+   * @return The first parse result item like {@link ZbnfParser#getFirstParseResult()} or null.
+   */
+  public ZbnfParseResultItem getParseResult(String key) {
+    File fileEntry = new File(this.dirCache, key + ".bin");
+    if(!fileEntry.exists()) return null;
+    ZbnfParseResultItem result = null;
+    DataInputStream inp = null;
+    try {
+      inp = new DataInputStream(new BufferedInputStream(new FileInputStream(fileEntry), 0x10000));
+      if(inp.readInt() == magic && inp.readInt() == versionFormat) {
+        result = ZbnfParser.readParseResult(inp);
+      }
+    } catch(IOException exc) {
+      result = null;                                       //faulty or truncated entry, parse newly.
+    } finally {
+      if(inp !=null) { try{ inp.close(); } catch(IOException exc){} }
+    }
+    return result;
+  }
+
+
+
+  /**Stores the result of the last parsing of the parser.
+   * It should be invoked immediately after parsing.
+   * An IOException is not thrown but returned as text, it is not an error for parsing.
+   * @param key built with {@link #key(File)} from the parsed file
+   * @param parser the parser with its result.
+   * @return null on success or an error text.
+   */
+  public String putParseResult(String key, ZbnfParser parser) {
+    File fileEntry = new File(this.dirCache, key + ".bin");
+    File fileTmp = null;
+    String sError = null;
+    DataOutputStream out = null;
+    try {
+      fileTmp = File.createTempFile(key, ".tmp", this.dirCache);  //unique also for other processes which use the cache.
+      out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileTmp), 0x10000));
+      out.writeInt(magic);
+      out.writeInt(versionFormat);
+      parser.writeParseResult(out);
+      out.close();
+      out = null;
+      if(fileEntry.exists()) { fileEntry.delete(); }
+      if(!fileTmp.renameTo(fileEntry) && !fileEntry.exists()) { //exists: written by another thread or process meanwhile.
+        sError = "CheaderParseCache - cannot rename; " + fileTmp.getAbsolutePath();
+      }
+    } catch(IOException exc) {
+      sError = "CheaderParseCache - cannot write; " + (fileTmp !=null ? fileTmp : fileEntry).getAbsolutePath() + "; " + exc.getMessage();
+    } finally {
+      if(out !=null) { try{ out.close(); } catch(IOException exc){} }
+      if(fileTmp !=null && fileTmp.exists()) { fileTmp.delete(); }
+    }
+    return sError;
+  }
+
+
+
+  private static MessageDigest sha1() {
+    try { return MessageDigest.getInstance("SHA-1"); }
+    catch(NoSuchAlgorithmException exc) { throw new RuntimeException(exc); } //SHA-1 is present in any Java runtime.
+  }
+
+}
@@ -2,10 +2,17 @@ package org.vishia.header2Reflection;
 
 import java.io.File;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.vishia.cmd.JZtxtcmdExecuter;
 import org.vishia.jztxtcmd.JZtxtcmd;
@@ -74,6 +81,10 @@ public class CheaderParser {
 
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: {@link Args#setThreads(int)} parses the headers in parallel, each thread with its own parser
+   *   but with the same syntax, see {@link ZbnfParser#setSyntaxFrom(ZbnfParser)}. The parse results are stored in the
+   *   {@link ZbnfResultData} in the order of the input files, as before. 
+   *   {@link Args#setCacheDir(String)} uses a {@link CheaderParseCache}, unchanged headers are not parsed again.
    * <li>2018-10-10 JzHartmut change; handling of macro because comment is necessary.
    * <li>2018-10-10 JzHartmut {@link StructDefinition#new_attribMacro()}, the HeaderBlock.add_macro is removed. It is more systematic. Cheader.zbnf adequate changed.
    * <li>2018-10-10 JzHartmut Some adaption to jzTc generation script, especially up to now all Type_s produces reflection_Type without suffix _s.
@@ -124,7 +135,7 @@ public class CheaderParser {
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String sVersion = "2018-10-11";
+  static final public String sVersion = "2026-10-19";
 
   /**All yet parsed struct or class.
    * The key is the basename on a struct, to detect it for a forward declared type usage.
@@ -162,6 +173,12 @@ public class CheaderParser {
     
     String sFileZbnf;
     
+    /**Number of threads for parsing, see {@link #setThreads(int)}. */
+    int nThreads = 1;
+    
+    /**Directory for the {@link CheaderParseCache} or null. */
+    String sDirCache;
+    
     public void addSrc(String path, String name) {
       SrcFile src = new SrcFile(name, path);
       srcFiles.add(src);
@@ -171,6 +188,19 @@ public class CheaderParser {
     public void setZbnfHeader(String path) { sFileZbnf = path; }
     
     public void setDst(String path) { sFileDst = path; }
+    
+    /**Sets the number of threads to parse the header files. Default is 1, parsing in the calling thread.
+     * @param nThreads 0 or negative: number of available processors.
+     * @since 2026-10
+     */
+    public void setThreads(int nThreads) { 
+      this.nThreads = nThreads <=0 ? Runtime.getRuntime().availableProcessors() : nThreads; 
+    }
+    
+    /**Sets a directory to store the parse results, see {@link CheaderParseCache}.
+     * @since 2026-10
+     */
+    public void setCacheDir(String path) { sDirCache = path; }
   }
   
   
@@ -1993,47 +2023,116 @@ type::= [<?@modifier>volatile|const|]
   
   
   
+  /**Result of parsing one header file, or the reason why it is not parsed. */
+  private static class ParsedSrc
+  {
+    ZbnfParseResultItem resultItem;
+    
+    /**Syntax error report if resultItem == null and exc == null. */
+    String sError;
+    
+    /**Exception on reading the file. */
+    Exception exc;
+  }
+  
+  
+  
   /**This method reads the input script, parses it with ZBNF, 
-   * stores all results in the Java-class {@link ZbnfResultData} 
+   * stores all results in the Java-class {@link ZbnfResultData}.
+   * The header files are parsed in {@link Args#nThreads} threads, but the results are stored in the order of {@link Args#srcFiles}
+   * in the calling thread, because {@link ZbnfJavaOutput#setOutput(Object, ZbnfParseResultItem, org.vishia.mainCmd.MainCmdLogging_ifc)}
+   * uses {@link #allClasses} to resolve types of the headers before. Hence the result does not depend on the number of threads.
    */
   private ZbnfResultData parseAndStoreInput(Args args)
   { ZbnfResultData zbnfResultData = new ZbnfResultData();
-    ZbnfParser  parser = new ZbnfParser(console);
+    final ZbnfParser  parser = new ZbnfParser(console);
     File fileSyntax = new File(args.sFileZbnf);
     if(!fileSyntax.exists()) throw new IllegalArgumentException("CheaderParser - syntax file not found; " + fileSyntax.getAbsolutePath());
-    try{ parser.setSyntax(FileSystem.readFile(fileSyntax)); }
+    String sSyntax = FileSystem.readFile(fileSyntax);
+    try{ parser.setSyntax(sSyntax); }
     catch(ParseException exc)
     { String sError = "CheaderParser - ERROR in syntax prescript; " + exc.getMessage();
       throw new IllegalArgumentException(sError);
     }
-      /**The instance to store the data of parsing result is created locally and private visible: */
-    /**This call processes the whole parsing and storing action: */
-    for(SrcFile src: args.srcFiles) {
-      System.out.println(src.name);
-      File fileIn = new File(src.path);
-      boolean bOk = false;
-      try { bOk = parser.parseFile(fileIn); } 
-      catch(Exception exc){ throw new IllegalArgumentException("CheaderParser - file ERROR; " + fileIn.getAbsolutePath() + ":" + exc.getMessage() ); }
-      ZbnfParseResultItem resultItem = parser.getFirstParseResult();
-      if(!bOk) {
-        String sError = parser.getSyntaxErrorReport();
-        System.err.println("ERROR Parsing file: " + fileIn.getAbsolutePath() + "\n" + sError);
+    final CheaderParseCache cache = args.sDirCache == null ? null : new CheaderParseCache(new File(args.sDirCache), sSyntax);
+    ExecutorService executor = null;
+    List<Future<ParsedSrc>> results = new ArrayList<Future<ParsedSrc>>();
+    if(args.nThreads > 1 && args.srcFiles.size() > 1) {
+      executor = Executors.newFixedThreadPool(Math.min(args.nThreads, args.srcFiles.size()));
+      final ThreadLocal<ZbnfParser> parserThread = new ThreadLocal<ZbnfParser>() {
+        @Override protected ZbnfParser initialValue() {
+          ZbnfParser parserOfThread = new ZbnfParser(CheaderParser.this.console);
+          parserOfThread.setSyntaxFrom(parser);
+          return parserOfThread;
+        }
+      };
+      for(final SrcFile src: args.srcFiles) {
+        results.add(executor.submit(new Callable<ParsedSrc>() {
+          @Override public ParsedSrc call() { return parseSrc(parserThread.get(), src, cache); }
+        }));
       }
-      else {
-        ZbnfResultFile resultFile = new ZbnfResultFile(src.name, src.path);   //Container for the parsed file.
-        try{ ZbnfJavaOutput.setOutput(resultFile, resultItem, console); }
-        catch(Exception exc) {
-          throw new IllegalStateException("CheaderParser - internal ERROR storing parse result; " + exc.getMessage());
+    }
+    try {
+      /**This call processes the whole parsing and storing action: */
+      Iterator<Future<ParsedSrc>> iterResults = results.iterator();
+      for(SrcFile src: args.srcFiles) {
+        System.out.println(src.name);
+        File fileIn = new File(src.path);
+        ParsedSrc parsed;
+        if(executor == null) { parsed = parseSrc(parser, src, cache); }
+        else {
+          try { parsed = iterResults.next().get(); }     //waits for this file, the following files are parsed meanwhile.
+          catch(InterruptedException | ExecutionException exc) { throw new IllegalStateException("CheaderParser - parsing aborted; " + fileIn.getAbsolutePath() + ":" + exc.getMessage()); }
         }
-        zbnfResultData.files.add(resultFile);
-      }    
-      
+        if(parsed.exc !=null) { throw new IllegalArgumentException("CheaderParser - file ERROR; " + fileIn.getAbsolutePath() + ":" + parsed.exc.getMessage() ); }
+        if(parsed.resultItem == null) {
+          System.err.println("ERROR Parsing file: " + fileIn.getAbsolutePath() + "\n" + parsed.sError);
+        }
+        else {
+          ZbnfResultFile resultFile = new ZbnfResultFile(src.name, src.path);   //Container for the parsed file.
+          try{ ZbnfJavaOutput.setOutput(resultFile, parsed.resultItem, console); }
+          catch(Exception exc) {
+            throw new IllegalStateException("CheaderParser - internal ERROR storing parse result; " + exc.getMessage());
+          }
+          zbnfResultData.files.add(resultFile);
+        }    
+      }
+    } finally {
+      if(executor !=null) { executor.shutdownNow(); }
     }
     return zbnfResultData;
   }
   
 
   
+  /**Parses one file or gets the parse result from the cache. It is invoked in any thread.
+   * @param parser the parser for this thread.
+   * @param cache null or the cache
+   */
+  private static ParsedSrc parseSrc(ZbnfParser parser, SrcFile src, CheaderParseCache cache) {
+    ParsedSrc ret = new ParsedSrc();
+    File fileIn = new File(src.path);
+    String key = cache == null ? null : cache.key(fileIn);
+    if(key !=null) {
+      ret.resultItem = cache.getParseResult(key);
+      if(ret.resultItem !=null) return ret;
+    }
+    boolean bOk = false;
+    try { bOk = parser.parseFile(fileIn); } 
+    catch(Exception exc){ ret.exc = exc; return ret; }
+    if(!bOk) {
+      ret.sError = parser.getSyntaxErrorReport();
+    }
+    else {
+      ret.resultItem = parser.getFirstParseResult();
+      if(key !=null) {
+        String sError = cache.putParseResult(key, parser);
+        if(sError !=null) { System.err.println(sError); }
+      }
+    }
+    return ret;
+  }
+  
   
   
 }
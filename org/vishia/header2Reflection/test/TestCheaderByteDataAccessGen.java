@@ -0,0 +1,165 @@
+package org.vishia.header2Reflection.test;
+
+import java.io.File;
+import java.util.List;
+
+import org.vishia.byteData.Class_Jc;
+import org.vishia.byteData.Field_Jc;
+import org.vishia.byteData.Object_Jc;
+import org.vishia.header2Reflection.CheaderByteDataAccessGen;
+import org.vishia.header2Reflection.CheaderParser;
+import org.vishia.util.FileFunctions;
+import org.vishia.util.TestOrg;
+
+/**This class tests the layout calculated by {@link CheaderByteDataAccessGen}.
+ * The sample headers are the C structs ObjectJc, FieldJc and ClassJc of the reflection in emC for a 32-bit target.
+ * Their layout is known from the manually written classes {@link Object_Jc}, {@link Field_Jc} and {@link Class_Jc}
+ * which are used for the binary reflection file since years. The calculated offsets and sizes should be the same.
+ * The parse result of the headers is built here immediately with the operations used by the parser,
+ * the syntax file for the {@link CheaderParser} is not necessary.
+ * <br>
+ * Additionally the C file of {@link CheaderByteDataAccessGen#writeLayoutCheck(File, List)} is written
+ * in the temp directory and can be compiled with a target compiler.
+ * @author Hartmut Schorrig
+ *
+ */
+public class TestCheaderByteDataAccessGen
+{
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test CheaderByteDataAccessGen layout of ObjectJc, FieldJc, ClassJc", 1, args);
+    try {
+      (new TestCheaderByteDataAccessGen()).testReflectionLayout(test, args);
+    }
+    catch (Exception exc) {
+      test.exception(exc);
+    }
+    test.finish();
+  }
+
+
+  /**The file with the sample headers as it is written in emC/Base/Object_emC.h. */
+  private final CheaderParser.ZbnfResultFile file = new CheaderParser.ZbnfResultFile("Object_emC.h", "emC/Base/Object_emC.h");
+
+  private final CheaderParser.ClassC classC = new CheaderParser.ClassC();
+
+
+  void testReflectionLayout(TestOrg parent, String[] args) throws Exception {
+    TestOrg test = new TestOrg("FieldJc and ClassJc for 32 bit", 7, parent);
+    //typedef struct ObjectJc_T { uint32 identSize; uint16 offsetToStartAddr; uint16 idSyncHandles;
+    //                            struct ClassJc_t const* reflection; void const* ownAddress; } ObjectJc;
+    CheaderParser.StructDefinition objectJc = struct("ObjectJc_T", "ObjectJc");
+    objectJc.add_attribute(attr("uint32", "identSize", 0, false));
+    objectJc.add_attribute(attr("uint16", "offsetToStartAddr", 0, false));
+    objectJc.add_attribute(attr("uint16", "idSyncHandles", 0, false));
+    objectJc.add_attribute(attr("ClassJc_t", "reflection", 0, true));
+    objectJc.add_attribute(attr("void", "ownAddress", 0, true));
+    //typedef struct FieldJc_t { char name[30]; uint16 nrofArrayElements; struct ClassJc_t const* type_; int32 bitModifiers;
+    //                           int16 position; int16 offsetToObjectifcBase; struct ClassJc_t const* declaringClass; } FieldJc;
+    CheaderParser.StructDefinition fieldJc = struct("FieldJc_t", "FieldJc");
+    fieldJc.add_attribute(attr("char", "name", Field_Jc.kLengthName, false));
+    fieldJc.add_attribute(attr("uint16", "nrofArrayElements", 0, false));
+    fieldJc.add_attribute(attr("ClassJc_t", "type_", 0, true));
+    fieldJc.add_attribute(attr("int32", "bitModifiers", 0, false));
+    fieldJc.add_attribute(attr("int16", "position", 0, false));
+    fieldJc.add_attribute(attr("int16", "offsetToObjectifcBase", 0, false));
+    fieldJc.add_attribute(attr("ClassJc_t", "declaringClass", 0, true));
+    //typedef struct ClassJc_t { ObjectJc object; char name[32]; int32 posObjectBase; int32 nSize; FieldJc_Y const* attributes;
+    //  MethodJcARRAY const* methods; ClassOffset_idxVtblJcARRAY const* superClass; ClassOffset_idxVtblJcARRAY const* interfaces;
+    //  int32 modifiers; VtblHeadJc const* mtbl; } ClassJc;
+    CheaderParser.StructDefinition classJc = struct("ClassJc_t", "ClassJc");
+    classJc.add_attribute(attr("ObjectJc", "object", 0, false));
+    classJc.add_attribute(attr("char", "name", Class_Jc.kLengthName, false));
+    classJc.add_attribute(attr("int32", "posObjectBase", 0, false));
+    classJc.add_attribute(attr("int32", "nSize", 0, false));
+    classJc.add_attribute(attr("FieldJc_Y", "attributes", 0, true));
+    classJc.add_attribute(attr("MethodJcARRAY", "methods", 0, true));
+    classJc.add_attribute(attr("ClassOffset_idxVtblJcARRAY", "superClass", 0, true));
+    classJc.add_attribute(attr("ClassOffset_idxVtblJcARRAY", "interfaces", 0, true));
+    classJc.add_attribute(attr("int32", "modifiers", 0, false));
+    classJc.add_attribute(attr("VtblHeadJc", "mtbl", 0, true));
+    this.file.add_CLASS_C(this.classC);
+    CheaderParser.ZbnfResultData data = new CheaderParser.ZbnfResultData();
+    data.files.add(this.file);
+    //
+    CheaderByteDataAccessGen gen = new CheaderByteDataAccessGen("test.reflection", 4, 8);
+    gen.addParseResult(data);
+    File dirTmp = new File(System.getProperty("java.io.tmpdir"), "TestCheaderByteDataAccessGen");
+    List<CheaderByteDataAccessGen.StructLayout> structs = gen.generate(dirTmp);
+    test.expect(gen.errors().isEmpty(), 7, "all structs generated " + gen.errors());
+    //
+    CheaderByteDataAccessGen.StructLayout layout = gen.layout("ObjectJc");
+    test.expect(layout.size == Object_Jc.sizeof_Object_Jc, 7, "sizeof ObjectJc " + layout.size);
+    checkPos(test, layout, "identSize", Object_Jc.class, "kPos_objIdentSize");
+    checkPos(test, layout, "reflection", Object_Jc.class, "kPos_reflectionClassAdress");
+    checkPos(test, layout, "ownAddress", Object_Jc.class, "kPos_ownAdress");
+    //
+    layout = gen.layout("FieldJc");
+    test.expect(layout.size == Field_Jc.sizeOf_Field_Jc, 7, "sizeof FieldJc " + layout.size);
+    checkPos(test, layout, "name", Field_Jc.class, "kPosName");
+    checkPos(test, layout, "nrofArrayElements", Field_Jc.class, "kPos_nrofArrayElements");
+    checkPos(test, layout, "type_", Field_Jc.class, "kPos_type");
+    checkPos(test, layout, "bitModifiers", Field_Jc.class, "kPos_bitModifiers");
+    checkPos(test, layout, "position", Field_Jc.class, "kPos_position");
+    checkPos(test, layout, "offsetToObjectifcBase", Field_Jc.class, "kPos_offsetToObjectifcBase");
+    checkPos(test, layout, "declaringClass", Field_Jc.class, "kPos_declaringClass");
+    //
+    layout = gen.layout("ClassJc");
+    test.expect(layout.size == Class_Jc.sizeof_Class_Jc, 7, "sizeof ClassJc " + layout.size);
+    checkPos(test, layout, "name", Class_Jc.class, "kPosName");
+    checkPos(test, layout, "posObjectBase", Class_Jc.class, "kPos_posObjectBase");
+    checkPos(test, layout, "nSize", Class_Jc.class, "kPos_nsize");
+    checkPos(test, layout, "attributes", Class_Jc.class, "kPos_attributes");
+    checkPos(test, layout, "methods", Class_Jc.class, "kPos_methods");
+    checkPos(test, layout, "superClass", Class_Jc.class, "kPos_superClass");
+    checkPos(test, layout, "interfaces", Class_Jc.class, "kPos_interfaces");
+    checkPos(test, layout, "modifiers", Class_Jc.class, "kPos_modifiers");
+    checkPos(test, layout, "mtbl", Class_Jc.class, "kPos_Vtbl");
+    //
+    File fileCheck = new File(dirTmp, "checkLayout.c");
+    gen.writeLayoutCheck(fileCheck, structs);
+    String sCheck = FileFunctions.readFile(fileCheck);
+    test.expect(sCheck.contains("CHECK_LAYOUT(offsetof(FieldJc, declaringClass) == " + (Field_Jc.sizeOf_Field_Jc - 4) + ", offs_FieldJc_declaringClass);"), 7, "layout check C file written");
+    test.finish();
+  }
+
+
+  /**Compares the position of the member with the constant of the manually written class.
+   * The constant may be private, it is read via java.lang.reflect. */
+  private static void checkPos(TestOrg test, CheaderByteDataAccessGen.StructLayout layout, String sMember, Class<?> clazz, String sConst)
+  throws Exception {
+    java.lang.reflect.Field field = clazz.getDeclaredField(sConst);
+    field.setAccessible(true);
+    int posExpected = field.getInt(null);
+    int pos = -1;
+    for(CheaderByteDataAccessGen.Member member: layout.members) {
+      if(member.name.equals(sMember)) { pos = member.pos; }
+    }
+    test.expect(pos == posExpected, 7, layout.name + "." + sMember + " @" + pos + " == " + clazz.getSimpleName() + "." + sConst);
+  }
+
+
+  private CheaderParser.StructDefinition struct(String sTagname, String sName) {
+    CheaderParser.StructDefinition def = this.classC.new_structDefinition();
+    def.set_tagname(sTagname);
+    def.set_name(sName);
+    this.classC.add_structDefinition(def);
+    return def;
+  }
+
+
+  private CheaderParser.AttributeOrTypedef attr(String sType, String sName, int nrofElements, boolean bPointer) {
+    CheaderParser.AttributeOrTypedef attr = this.classC.new_attribute();
+    attr.name = sName;
+    attr.type = new CheaderParser.Type();
+    attr.type.name = sType;
+    attr.type.basename = sType;
+    if(nrofElements > 0) {
+      attr.arraysize = new CheaderParser.Arraysize();
+      attr.arraysize.value = nrofElements;
+    }
+    if(bPointer) { attr.type.set_pointer(); }
+    return attr;
+  }
+
+}
@@ -36,6 +36,9 @@ import org.vishia.byteData.ByteDataAccessBase;
  * The Inspector datagram consists of some items which are requests or answers. This items are described in {@link Inspcitem}.
  * 
  * 
+ * 2026-10-19 Hartmut corr: {@link SeqEntrant#set_answer(int)} and {@link SeqEntrant#set_entrant(int)} writes an int16
+ * as defined, it has written an int32 before. new: {@link SeqEntrant#mLastAnswer}.
+ * <br><br>
  * The {@link TestInspcDatagram} contains some methods to build and evaluate datagrams to test the algorithm.  
  * 
  * 
@@ -77,6 +80,10 @@ public class InspcDatagram
   {
     /**Position of data as constants.*/
     private static int k_encryption=4, k_seqnr=8, k_answer = 12, k_entrant = 14, kSizeHead=16;
+    
+    /**Bit in {@link #answer()} for the last answer datagram of a request. The answer datagrams are numbered from 1.
+     * @since 2026-10 */
+    public final static int mLastAnswer = 0x8000;
 
     public SeqEntrant() {
       super(kSizeHead);
@@ -95,9 +102,9 @@ public class InspcDatagram
     
     public final void set_seqnr(int value){ setInt32(k_seqnr, value); }
     
-    public final void set_answer(int value){ setInt32(k_answer, value); }
+    public final void set_answer(int value){ setInt16(k_answer, value); }
     
-    public final void set_entrant(int value){ setInt32(k_entrant, value); }
+    public final void set_entrant(int value){ setInt16(k_entrant, value); }
     
     /**Cast from an instance of type {@link Base} which is checked for the {@link Base#cmdDatagram()} 
      * and therefore the cast is proper.
@@ -0,0 +1,634 @@
+package org.vishia.inspcComm;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.vishia.byteData.Field_Jc;
+import org.vishia.communication.Address_InterProcessComm;
+import org.vishia.communication.InterProcessCommRxThread;
+import org.vishia.communication.InterProcessCommRx_ifc;
+import org.vishia.util.DataAccess;
+
+/**This class is an Inspector target written in Java. It answers {@link InspcDatagram} requests
+ * which are received via any {@link org.vishia.communication.InterProcessComm} with values of a Java data graph.
+ * The data are accessed from a root instance given on construction, the path is a dot separated list of field names,
+ * maybe with constant array indices, for example "service.state.values[3]".
+ * <br><br>
+ * Supported items, see {@link Inspcitem}:
+ * <ul>
+ * <li>{@link Inspcitem#kGetValueByPath}: answered with {@link Inspcitem#kAnswerValue}
+ * <li>{@link Inspcitem#kRegisterRepeat}: answered with {@link Inspcitem#kAnswerRegisterRepeat}, it contains a handle.
+ * <li>{@link Inspcitem#kGetValueByIndex}: Values for some handles, answered with {@link Inspcitem#kAnswerValueByIndex}.
+ * </ul>
+ * Other items are answered with {@link Inspcitem#kFailedCommand}.
+ * <br><br>
+ * <b>Path resolution</b>: A path is parsed with {@link DataAccess} only on its first usage.
+ * The fields of the path are searched via {@link DataAccess#getDataFromField(String, Object, boolean, DataAccess.Dst)}
+ * in the current instances and stored as {@link Field} chain in an {@link Access} instance which is stored in a cache.
+ * A next access to the same path reads only the fields along the chain, a primitive field at the end is read without boxing.
+ * If an instance in the chain is exchanged by an instance of another type, the path is resolved newly.
+ * Paths to an element of a {@link Map} or a field of an enclosing instance are accessed with the cached {@link DataAccess} instance.
+ * Only fields are accessed, operations or static methods in the path are not admissible.
+ * <br><br>
+ * <b>Handles</b>: Any cached path has a handle which is its index in the cache. A client which registers its variables
+ * with {@link Inspcitem#kRegisterRepeat} once can get all values with {@link Inspcitem#kGetValueByIndex}
+ * without sending and parsing the paths. Hundreds of values are packed in one datagram.
+ * <br><br>
+ * <b>Answer datagrams</b>: The answers of one request are packed in datagrams up to {@link #zDatagramMax} bytes.
+ * The head is a copy of the request head except {@link InspcDatagram.SeqEntrant#answer()}
+ * which counts from 1, the last answer has the bit {@link InspcDatagram.SeqEntrant#mLastAnswer}.
+ * <br><br>
+ * All requests are executed in the receive thread, the data are read without synchronization.
+ * It is the same behavior as in a C target, the values are consistent as far as the writing thread writes it atomic.
+ *
+ * @author Hartmut Schorrig
+ * @since 2026-10
+ */
+public class InspcTargetServer
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-19 Hartmut created, a Java target for the inspector protocol.
+   * </ul>
+   * <br><br>
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   */
+  public static final String version = "2026-10-19";
+
+
+  /**Maximal length of an answer datagram. */
+  public static final int zDatagramMax = 1200;
+
+
+  /**Resolved access to one variable. It is the cache entry for one path. */
+  static final class Access
+  {
+    final String path;
+
+    /**Index in {@link InspcTargetServer#accesses}, -1 if it is not stored because the cache is full. */
+    final int handle;
+
+    /**The parsed path. It is used to access if {@link #fields} is null. */
+    final DataAccess dataAccess;
+
+    /**The fields from the root to the variable, null if the path is not accessible as field chain. */
+    Field[] fields;
+
+    /**Constant array indices after the field with the same index, or null. */
+    int[][] indices;
+
+    /**{@link Field_Jc} REFLECTION_ type if the last field is a primitive without index, else 0. */
+    int typeLast;
+
+    Access(String path, int handle, DataAccess dataAccess)
+    { this.path = path;
+      this.handle = handle;
+      this.dataAccess = dataAccess;
+    }
+
+    @Override public String toString() { return this.handle + ": " + this.path; }
+  }
+
+
+  /**The root instance for all paths. */
+  private final Object rootObj;
+
+  private final InterProcessCommRxThread rxThread;
+
+  /**All cached paths, index is the handle. */
+  private final List<Access> accesses = new ArrayList<Access>();
+
+  /**The cache, key is the path. */
+  private final Map<String, Access> idxAccess = new HashMap<String, Access>();
+
+  /**Maximal number of cached paths. */
+  private int maxNrofAccess = 0x10000;
+
+  private final InspcDatagram.SeqEntrant rxDatagram = new InspcDatagram.SeqEntrant();
+
+  private final Inspcitem.HeadOrder rxItem = new Inspcitem.HeadOrder();
+
+  private final InspcDatagram.SeqEntrant txDatagram = new InspcDatagram.SeqEntrant();
+
+  private final Inspcitem.HeadOrder txItem = new Inspcitem.HeadOrder();
+
+  private final byte[] txBuffer = new byte[zDatagramMax];
+
+  /**Number of the current answer datagram, see {@link InspcDatagram.SeqEntrant#answer()}. */
+  private int nrAnswer;
+
+  /**The sender of the current request. */
+  private Address_InterProcessComm sender;
+
+  /**The handles of the current {@link Inspcitem#kGetValueByIndex}, enlarged if necessary. */
+  private int[] handles = new int[256];
+
+  /**The value which is gotten with {@link #getValue(Access)}: type, bits of the value for numeric types, the String. */
+  private int valueType;
+
+  private long valueBits;
+
+  private String valueString;
+
+  /**Type, value bits and Strings of up to 4 values of one block in {@link Inspcitem#kAnswerValueByIndex}. */
+  private final int[] blockTypes = new int[4];
+
+  private final long[] blockBits = new long[4];
+
+  private final String[] blockStrings = new String[4];
+
+  /**Statistic. */
+  private long ctRxDatagrams, ctTxDatagrams, ctItems, ctResolve;
+
+
+  /**Executes the received datagrams. The batch variant evaluates the data in the receive buffer without copying. */
+  private final InterProcessCommRx_ifc execRx = new InterProcessCommRx_ifc()
+  {
+    @Override public void execRxData(byte[] buffer, int nrofBytesReceived, Address_InterProcessComm sender)
+    { evalDatagram(buffer, nrofBytesReceived, sender);
+    }
+
+    @Override public void execRxDataBatch(ByteBuffer[] datagrams, Address_InterProcessComm[] senders, int nrofDatagrams)
+    { for(int ix = 0; ix < nrofDatagrams; ++ix) {
+        ByteBuffer datagram = datagrams[ix];
+        if(datagram.remaining() >= rxDatagram.getLengthHead()) {
+          rxDatagram.assign(datagram, datagram.remaining(), datagram.position());
+          evalRequest(datagram.remaining(), senders[ix]);
+        }
+      }
+    }
+  };
+
+
+  /**Creates the server. Call {@link #start()} to receive.
+   * An {@link org.vishia.communication.InterProcessCommFactory} should be created before, for example 
+   * <code>new InterProcessCommFactorySocket()</code>.
+   * @param ownAddr The address to receive requests, for example "UDP:0.0.0.0:60092", see {@link org.vishia.communication.InterProcessCommFactorySocket}.
+   * @param rootObj The root instance for all paths.
+   */
+  public InspcTargetServer(String ownAddr, Object rootObj)
+  { this.rootObj = rootObj;
+    this.rxThread = new InterProcessCommRxThread(ownAddr, this.execRx);
+  }
+
+
+  /**Opens the communication and starts the receive thread.
+   * @return false on open error.
+   */
+  public boolean start()
+  { return this.rxThread.start();
+  }
+
+
+  /**Closes the communication and finishes the receive thread. */
+  public void shutdown()
+  { this.rxThread.shutdown();
+  }
+
+
+  /**Sets the maximal number of paths in the cache. Requests to further paths are answered but not cached,
+   * {@link Inspcitem#kRegisterRepeat} is answered with {@link Inspcitem#kFailedRegisterRepeat}.
+   */
+  public void setMaxNrofAccess(int max)
+  { this.maxNrofAccess = max;
+  }
+
+
+  /**Returns the number of received and sent datagrams, the number of request items and the number of path resolutions. */
+  public long[] getStatistic()
+  { return new long[]{ this.ctRxDatagrams, this.ctTxDatagrams, this.ctItems, this.ctResolve };
+  }
+
+
+  /**Evaluates a received datagram and sends the answer. It is invoked in the receive thread,
+   * it can be invoked from another receive routine too, but not concurrently.
+   * @param data The request datagram
+   * @param nrofBytes received bytes
+   * @param sender Address to send the answers.
+   */
+  public void evalDatagram(byte[] data, int nrofBytes, Address_InterProcessComm sender)
+  { if(nrofBytes >= this.rxDatagram.getLengthHead()) {
+      this.rxDatagram.assign(data, nrofBytes, 0);
+      evalRequest(nrofBytes, sender);
+    }
+  }
+
+
+  /**Evaluates the request in {@link #rxDatagram} and sends the answers.
+   * @param nrofBytes received bytes, the {@link InspcDatagram.Base#nrofBytes()} is used if it is lesser.
+   */
+  private void evalRequest(int nrofBytes, Address_InterProcessComm sender)
+  { this.ctRxDatagrams +=1;
+    int nrofBytesHead = this.rxDatagram.nrofBytes();
+    if(nrofBytesHead >= this.rxDatagram.getLengthHead() && nrofBytesHead < nrofBytes) {
+      this.rxDatagram.setLengthElement(nrofBytesHead);
+    }
+    this.sender = sender;
+    this.nrAnswer = 0;
+    startAnswer();
+    while(this.rxDatagram.sufficingBytesForNextChild(this.rxItem.getLengthHead())) {
+      this.rxDatagram.addChild(this.rxItem);
+      int zItem = this.rxItem.nrofBytes();
+      if(!this.rxItem.checkLengthElement(zItem)) break;   //faulty item, the rest is not evaluable.
+      this.rxItem.setLengthElement(zItem);                //the item's children are limited, the next item follows.
+      this.ctItems +=1;
+      int cmd = this.rxItem.cmd();
+      int order = this.rxItem.order();
+      switch(cmd) {
+        case Inspcitem.kGetValueByPath: getValueByPath(zItem, order); break;
+        case Inspcitem.kRegisterRepeat: registerRepeat(zItem, order); break;
+        case Inspcitem.kGetValueByIndex: getValueByIndex(zItem, order); break;
+        default: addAnswerItem(Inspcitem.kFailedCommand, order, 0); finishAnswerItem();
+      }
+    }
+    sendAnswer(true);
+    this.rxDatagram.assign((byte[])null);
+    this.sender = null;
+  }
+
+
+  private void getValueByPath(int zItem, int order)
+  { Access access = getAccess(this.rxItem.getChildString(zItem - this.rxItem.getLengthHead()));
+    if(access == null) {
+      addAnswerItem(Inspcitem.kFailedPath, order, 0);
+    } else {
+      int type = getValue(access);
+      if(type == Inspcitem.kTypeNoValue) {
+        addAnswerItem(Inspcitem.kFailedValue, order, 0);
+      } else {
+        addAnswerItem(Inspcitem.kAnswerValue, order, 1 + sizeValue(type, this.valueString));
+        addValue(type, this.valueBits, this.valueString);
+      }
+    }
+    finishAnswerItem();
+  }
+
+
+  private void registerRepeat(int zItem, int order)
+  { Access access = getAccess(this.rxItem.getChildString(zItem - this.rxItem.getLengthHead()));
+    if(access == null || access.handle < 0) {
+      addAnswerItem(Inspcitem.kFailedRegisterRepeat, order, 0);
+    } else {
+      int type = getValue(access);
+      addAnswerItem(Inspcitem.kAnswerRegisterRepeat, order, 4 + 1 + sizeValue(type, this.valueString));
+      this.txItem.addChildInt(4, access.handle);
+      addValue(type, this.valueBits, this.valueString);
+    }
+    finishAnswerItem();
+  }
+
+
+  /**Answers the values for all handles in the request, see {@link Inspcitem#kAnswerValueByIndex}.
+   * The values of one block are gotten firstly, then it is checked whether the block is sufficient in the datagram.
+   * If not, the answer item is finished and sent, the rest of values are written in a new item in the next datagram.
+   */
+  private void getValueByIndex(int zItem, int order)
+  { int nrofHandles = (zItem - this.rxItem.getLengthHead()) / 4;
+    if(this.handles.length < nrofHandles) {
+      this.handles = new int[nrofHandles];
+    }
+    for(int ix = 0; ix < nrofHandles; ++ix) {
+      this.handles[ix] = this.rxItem.getChildInt(-4);
+    }
+    int ixVal = 0;
+    addAnswerItem(Inspcitem.kAnswerValueByIndex, order, 4);
+    this.txItem.addChildInt(4, ixVal);
+    while(ixVal < nrofHandles) {
+      int nrofValues = Math.min(4, nrofHandles - ixVal);
+      int zBlock = 4;
+      for(int ix = 0; ix < 4; ++ix) {
+        int type = Inspcitem.kTypeNoValue;
+        this.blockStrings[ix] = null;
+        if(ix < nrofValues) {
+          int handle = this.handles[ixVal + ix];
+          if(handle >= 0 && handle < this.accesses.size()) {
+            type = getValue(this.accesses.get(handle));
+            this.blockBits[ix] = this.valueBits;
+            this.blockStrings[ix] = this.valueString;
+            zBlock += sizeValue(type, this.valueString);
+          }
+        }
+        this.blockTypes[ix] = type;
+      }
+      zBlock = (zBlock + 3) & ~3;
+      if(!this.txDatagram.sufficingBytesForNextChild(zBlock)) {
+        finishAnswerItem();
+        sendAnswer(false);
+        startAnswer();
+        addAnswerItem(Inspcitem.kAnswerValueByIndex, order, 4);
+        this.txItem.addChildInt(4, ixVal);
+      }
+      this.txItem.addChildInt(4, this.blockTypes[0] << 24 | this.blockTypes[1] << 16 | this.blockTypes[2] << 8 | this.blockTypes[3]);
+      for(int ix = 0; ix < nrofValues; ++ix) {
+        addValue(this.blockTypes[ix], this.blockBits[ix], this.blockStrings[ix]);
+      }
+      while((this.txItem.getLengthCurrent() & 3) !=0) { this.txItem.addChildInt(1, 0); }
+      ixVal += nrofValues;
+    }
+    finishAnswerItem();
+  }
+
+
+  /**Returns the access from the cache or creates it.
+   * @return null if the path is faulty, not found or contains operations.
+   */
+  private Access getAccess(String path)
+  { Access access = this.idxAccess.get(path);
+    if(access == null && path.length() >0) {
+      this.ctResolve +=1;
+      DataAccess dataAccess;
+      try { dataAccess = new DataAccess(path); }
+      catch(ParseException exc) { return null; }
+      for(DataAccess.DatapathElement element: dataAccess.datapath()) {
+        if(element.whatisit() != '.' || element.isOperation()) return null;  //only fields
+        int[] indices = element.indices();
+        if(indices !=null) {
+          for(int ix: indices) { if(ix <0) return null; }    //only constant indices
+        }
+      }
+      boolean bCache = this.accesses.size() < this.maxNrofAccess;
+      access = new Access(path, bCache ? this.accesses.size() : -1, dataAccess);
+      if(!resolve(access)) return null;
+      if(bCache) {
+        this.accesses.add(access);
+        this.idxAccess.put(path, access);
+      }
+    }
+    return access;
+  }
+
+
+  /**Searches the fields along the path in the current instances and stores it in access.
+   * @return false if the path is not found.
+   */
+  private boolean resolve(Access access)
+  { List<DataAccess.DatapathElement> path = access.dataAccess.datapath();
+    int nrofElements = path.size();
+    Field[] fields = new Field[nrofElements];
+    int[][] indices = new int[nrofElements][];
+    DataAccess.Dst dst = new DataAccess.Dst();
+    Object obj = this.rootObj;
+    access.fields = null;
+    try {
+      for(int ix = 0; ix < nrofElements; ++ix) {
+        if(obj == null) return false;
+        if(obj instanceof Map) return true;                //not a field chain, access via DataAccess
+        DataAccess.DatapathElement element = path.get(ix);
+        Object value = DataAccess.getDataFromField(element.ident(), obj, true, dst);
+        if(dst.obj() != obj) return true;                  //field in an enclosing instance, access via DataAccess
+        fields[ix] = dst.field();
+        indices[ix] = element.indices();
+        obj = indices[ix] == null || value == null ? value : arrayElement(value, indices[ix]);
+      }
+    } catch(Exception exc) {
+      return false;
+    }
+    access.indices = indices;
+    access.typeLast = indices[nrofElements -1] == null ? typePrimitive(fields[nrofElements -1].getType()) : 0;
+    access.fields = fields;
+    return true;
+  }
+
+
+  /**Gets the value for the access and stores it in {@link #valueType}, {@link #valueBits}, {@link #valueString}.
+   * @return the type byte, {@link Inspcitem#kTypeNoValue} if the value cannot be gotten.
+   */
+  private int getValue(Access access)
+  { if(access.fields !=null) {
+      try { return getValueFields(access); }
+      catch(IllegalArgumentException exc) {                //an instance in the chain has another type yet.
+        this.ctResolve +=1;
+        if(!resolve(access)) return setNoValue();
+      }
+      catch(Exception exc) { return setNoValue(); }        //faulty index
+      if(access.fields !=null) {
+        try { return getValueFields(access); }
+        catch(Exception exc) { return setNoValue(); }
+      }
+    }
+    try { return setValue(access.dataAccess.access(this.rootObj, true, false, null, null)); }
+    catch(Exception exc) { return setNoValue(); }
+  }
+
+
+  private int getValueFields(Access access) throws IllegalAccessException
+  { Field[] fields = access.fields;
+    int ixLast = fields.length -1;
+    Object obj = this.rootObj;
+    for(int ix = 0; ix < ixLast; ++ix) {
+      obj = fields[ix].get(obj);
+      if(obj !=null && access.indices[ix] !=null) { obj = arrayElement(obj, access.indices[ix]); }
+      if(obj == null) return setNoValue();
+    }
+    Field field = fields[ixLast];
+    switch(access.typeLast) {
+      case 0: {
+        Object value = field.get(obj);
+        int[] indices = access.indices[ixLast];
+        if(value == null || indices == null) return setValue(value);
+        int ixIndexLast = indices.length -1;
+        for(int ix = 0; ix < ixIndexLast && value !=null; ++ix) { value = element(value, indices[ix]); }
+        return value == null ? setNoValue() : setArrayValue(value, indices[ixIndexLast]);
+      }
+      case Field_Jc.REFLECTION_int32: this.valueBits = field.getInt(obj); break;
+      case Field_Jc.REFLECTION_float: this.valueBits = Float.floatToRawIntBits(field.getFloat(obj)); break;
+      case Field_Jc.REFLECTION_double: this.valueBits = Double.doubleToRawLongBits(field.getDouble(obj)); break;
+      case Field_Jc.REFLECTION_int64: this.valueBits = field.getLong(obj); break;
+      case Field_Jc.REFLECTION_int16: this.valueBits = field.getShort(obj); break;
+      case Field_Jc.REFLECTION_int8: this.valueBits = field.getByte(obj); break;
+      case Field_Jc.REFLECTION_char: this.valueBits = field.getChar(obj); break;
+      case Field_Jc.REFLECTION_boolean: this.valueBits = field.getBoolean(obj) ? 1 : 0; break;
+    }
+    this.valueString = null;
+    return this.valueType = Inspcitem.kScalarTypes + access.typeLast;
+  }
+
+
+  private int setNoValue()
+  { this.valueBits = 0;
+    this.valueString = null;
+    return this.valueType = Inspcitem.kTypeNoValue;
+  }
+
+
+  /**Converts a value given as Object. Any other instance than a boxed primitive is presented with its toString(). */
+  private int setValue(Object value)
+  { int type;
+    this.valueString = null;
+    if(value == null) { return setNoValue(); }
+    else if(value instanceof Integer) { type = Field_Jc.REFLECTION_int32; this.valueBits = ((Integer)value).intValue(); }
+    else if(value instanceof Float) { type = Field_Jc.REFLECTION_float; this.valueBits = Float.floatToRawIntBits(((Float)value).floatValue()); }
+    else if(value instanceof Double) { type = Field_Jc.REFLECTION_double; this.valueBits = Double.doubleToRawLongBits(((Double)value).doubleValue()); }
+    else if(value instanceof Long) { type = Field_Jc.REFLECTION_int64; this.valueBits = ((Long)value).longValue(); }
+    else if(value instanceof Short) { type = Field_Jc.REFLECTION_int16; this.valueBits = ((Short)value).shortValue(); }
+    else if(value instanceof Byte) { type = Field_Jc.REFLECTION_int8; this.valueBits = ((Byte)value).byteValue(); }
+    else if(value instanceof Character) { type = Field_Jc.REFLECTION_char; this.valueBits = ((Character)value).charValue(); }
+    else if(value instanceof Boolean) { type = Field_Jc.REFLECTION_boolean; this.valueBits = ((Boolean)value).booleanValue() ? 1 : 0; }
+    else if(value instanceof Number) { type = Field_Jc.REFLECTION_double; this.valueBits = Double.doubleToRawLongBits(((Number)value).doubleValue()); }
+    else {
+      String sValue = value.toString();
+      type = Field_Jc.REFLECTION_String;
+      this.valueBits = 0;
+      this.valueString = sValue.length() > Inspcitem.zStringValueMax ? sValue.substring(0, Inspcitem.zStringValueMax) : sValue;
+    }
+    return this.valueType = Inspcitem.kScalarTypes + type;
+  }
+
+
+  /**Converts an element of an array, a primitive array element is read without boxing. */
+  private int setArrayValue(Object data, int ix)
+  { int type;
+    if(data instanceof int[]) { type = Field_Jc.REFLECTION_int32; this.valueBits = ((int[])data)[ix]; }
+    else if(data instanceof float[]) { type = Field_Jc.REFLECTION_float; this.valueBits = Float.floatToRawIntBits(((float[])data)[ix]); }
+    else if(data instanceof double[]) { type = Field_Jc.REFLECTION_double; this.valueBits = Double.doubleToRawLongBits(((double[])data)[ix]); }
+    else if(data instanceof long[]) { type = Field_Jc.REFLECTION_int64; this.valueBits = ((long[])data)[ix]; }
+    else if(data instanceof short[]) { type = Field_Jc.REFLECTION_int16; this.valueBits = ((short[])data)[ix]; }
+    else if(data instanceof byte[]) { type = Field_Jc.REFLECTION_int8; this.valueBits = ((byte[])data)[ix]; }
+    else if(data instanceof char[]) { type = Field_Jc.REFLECTION_char; this.valueBits = ((char[])data)[ix]; }
+    else if(data instanceof boolean[]) { type = Field_Jc.REFLECTION_boolean; this.valueBits = ((boolean[])data)[ix] ? 1 : 0; }
+    else { return setValue(element(data, ix)); }
+    this.valueString = null;
+    return this.valueType = Inspcitem.kScalarTypes + type;
+  }
+
+
+  /**Returns the {@link Field_Jc} REFLECTION_ type for a primitive type or 0. */
+  private static int typePrimitive(Class<?> type)
+  { if(type == Integer.TYPE) return Field_Jc.REFLECTION_int32;
+    else if(type == Float.TYPE) return Field_Jc.REFLECTION_float;
+    else if(type == Double.TYPE) return Field_Jc.REFLECTION_double;
+    else if(type == Long.TYPE) return Field_Jc.REFLECTION_int64;
+    else if(type == Short.TYPE) return Field_Jc.REFLECTION_int16;
+    else if(type == Byte.TYPE) return Field_Jc.REFLECTION_int8;
+    else if(type == Character.TYPE) return Field_Jc.REFLECTION_char;
+    else if(type == Boolean.TYPE) return Field_Jc.REFLECTION_boolean;
+    else return 0;
+  }
+
+
+  /**Returns the element of an array or a List.
+   * @throws IllegalArgumentException if data is not an array or List, then the path is resolved newly.
+   * @throws IndexOutOfBoundsException
+   */
+  private static Object arrayElement(Object data, int[] indices)
+  { Object data1 = data;
+    for(int ix: indices) {
+      data1 = element(data1, ix);
+      if(data1 == null) break;
+    }
+    return data1;
+  }
+
+
+  /**Returns one element of an array or a List, see {@link #arrayElement(Object, int[])}. */
+  private static Object element(Object data, int ix)
+  { if(data instanceof Object[]) return ((Object[])data)[ix];
+    else if(data instanceof List) return ((List<?>)data).get(ix);
+    else return Array.get(data, ix);       //primitive array, throws IllegalArgumentException if it is not an array
+  }
+
+
+  /**Returns the number of bytes of the value without the type byte. */
+  private static int sizeValue(int type, String sValue)
+  { switch(type - Inspcitem.kScalarTypes) {
+      case Field_Jc.REFLECTION_int64: case Field_Jc.REFLECTION_double: return 8;
+      case Field_Jc.REFLECTION_int32: case Field_Jc.REFLECTION_float: return 4;
+      case Field_Jc.REFLECTION_int16: case Field_Jc.REFLECTION_char: return 2;
+      case Field_Jc.REFLECTION_int8: case Field_Jc.REFLECTION_boolean: return 1;
+      case Field_Jc.REFLECTION_String: return 1 + sValue.length();
+      default: return 0;
+    }
+  }
+
+
+  /**Adds the type byte and the value to {@link #txItem}. For a {@link Inspcitem#kAnswerValueByIndex} the type is not added here. */
+  private void addValue(int type, long bits, String sValue)
+  { if(this.txItem.cmd() != Inspcitem.kAnswerValueByIndex) {
+      this.txItem.addChildInt(1, type);
+    }
+    int zValue = sizeValue(type, sValue);
+    if(type - Inspcitem.kScalarTypes == Field_Jc.REFLECTION_String) {
+      this.txItem.addChildInt(1, sValue.length());
+      this.txItem.addChildString(sValue);
+    }
+    else if(zValue >0) {
+      this.txItem.addChildInteger(zValue, bits);
+    }
+  }
+
+
+  /**Starts a new answer datagram with the head of the request. */
+  private void startAnswer()
+  { this.txDatagram.assign(this.txBuffer, 0);              //expandable till zDatagramMax
+    this.txDatagram.set_cmdDatagram(this.rxDatagram.cmdDatagram());
+    this.txDatagram.set_encryption(this.rxDatagram.encryption());
+    this.txDatagram.set_seqnr(this.rxDatagram.seqnr());
+    this.txDatagram.set_answer(++this.nrAnswer);
+    this.txDatagram.set_entrant(this.rxDatagram.entrant());
+  }
+
+
+  /**Adds the head of an answer item in {@link #txItem}. If the head and the given number of bytes does not fit in the
+   * current datagram, the datagram is sent and a new one is started.
+   * @param zData Number of bytes after the head which should be sufficient.
+   */
+  private void addAnswerItem(int cmd, int order, int zData)
+  { int zItem = (this.txItem.getLengthHead() + zData + 3) & ~3;
+    if(!this.txDatagram.sufficingBytesForNextChild(zItem)) {
+      sendAnswer(false);
+      startAnswer();
+    }
+    this.txDatagram.addChild(this.txItem);
+    this.txItem.set_cmd(cmd);
+    this.txItem.set_order(order);
+  }
+
+
+  /**Fills the answer item with 0 to a 4-byte-boundary and sets its length. */
+  private void finishAnswerItem()
+  { while((this.txItem.getLengthCurrent() & 3) !=0) { this.txItem.addChildInt(1, 0); }
+    this.txItem.set_nrofBytes(this.txItem.getLengthCurrent());
+  }
+
+
+  private void sendAnswer(boolean bLast)
+  { int nrofBytes = this.txDatagram.getLength();
+    this.txDatagram.set_nrofBytes(nrofBytes);
+    if(bLast) {
+      this.txDatagram.set_answer(this.nrAnswer | InspcDatagram.SeqEntrant.mLastAnswer);
+    }
+    if(this.sender !=null) {
+      this.rxThread.send(this.txBuffer, nrofBytes, this.sender);
+      this.ctTxDatagrams +=1;
+    }
+  }
+
+}
@@ -17,6 +17,9 @@ import org.vishia.byteData.ByteDataAccessBase;
  * <br><br>
  * This class contains all yet defined cmd constants for a Inspcector datagram item starting with 
  * 
+ * <br><br>
+ * 2026-10-19 Hartmut corr: {@link HeadOrder#order()} is an int32 in the 8-byte-head, was read as int16 from the upper half.
+ * new: description of the value items and {@link #kScalarTypes}, used in {@link InspcTargetServer}.
  *  
  *  
  * @author Hartmut Schorrig
@@ -91,12 +94,37 @@ public class Inspcitem
   
   public final static int kAnswerFieldMethod = 0x14;
   
+  /**Request to register a variable for repeated access with {@link #kGetValueByIndex}.
+  * <pre>
+  ,  +------head-8---------+---------string--------------+
+  ,  |kRegisterRepeat      | PATH                        |
+  ,  +---------------------+-----------------------------+
+  * </pre>
+  * The answer is {@link #kAnswerRegisterRepeat} which contains the handle and the current value:
+  * <pre>
+  ,  +------head-8---------+-int-4-+-1-+---n---+
+  ,  |kAnswerRegisterRepeat| handle| T | value |
+  ,  +---------------------+-------+---+-------+
+  * </pre>
+  * The type byte T and the value are built as described on {@link #kScalarTypes}. 
+  * If the path cannot be resolved the answer is {@link #kFailedRegisterRepeat} with only the head.
+  * The same path gets always the same handle. 
+  */
   public final static int kRegisterRepeat = 0x23;
   
   public final static int kAnswerRegisterRepeat = 0x123;
   
   public final static int kFailedRegisterRepeat = 0x124;
   
+  /**Request to get values by handles which are gotten from {@link #kAnswerRegisterRepeat}.
+  * The path is not evaluated for this request, it is the fast access for cyclically observed values.
+  * <pre>
+  ,  +------head-8---------+-int-4-+-int-4-+-int-4-+
+  ,  |kGetValueByIndex     | handle| handle| ...   |
+  ,  +---------------------+-------+-------+-------+
+  * </pre>
+  * The answer is one or more {@link #kAnswerValueByIndex}.
+  */
   public final static int kGetValueByIndex = 0x25;
   
   /**
@@ -109,15 +137,36 @@ public class Inspcitem
   * <li>First byte after head is the start index of variable for answer. It is 0 for the first answer
   *   info block. If the info block cannot contain all answers, a second info block in a second telegram
   *   will be send which starts with its start index.
-  * <li>After them a block with up to 4 values follows. The first word of that block ///
-  *   contains 4 types of values, see {@link InspcDataExchangeAccess#kScalarTypes}. Especially the 
+  * <li>After them a block with up to 4 values follows. The first word of that block
+  *   contains 4 types of values, see {@link #kScalarTypes}, the type of the first value in the most significant byte.
+  *   The values follows with its size, the block is filled to a 4-byte-boundary. 
+  *   A not valid handle is answered with the type {@link #kTypeNoValue} without value bytes.
+  *   Not used type bytes of the last block are {@link #kTypeNoValue} too. The number of values is known 
+  *   by the number of requested handles.
+  * </ul>
   */
   public final static int kAnswerValueByIndex = 0x125;
   
+  /**Answer of {@link #kGetValueByPath}.
+  * <pre>
+  ,  +------head-8---------+-1-+---n---+
+  ,  |kAnswerValue         | T | value |
+  ,  +---------------------+---+-------+
+  * </pre>
+  * The type byte T and the value are built as described on {@link #kScalarTypes}. The item is filled to a 4-byte-boundary. 
+  */
   public final static int kAnswerValue = 0x26;
   
   public final static int kFailedValue = 0x27;
   
+  /**Request to get a value. The path is given as String which is filled with 0-bytes to a 4-byte-boundary.
+  * <pre>
+  ,  +------head-8---------+---------string--------------+
+  ,  |kGetValueByPath      | PATH                        |
+  ,  +---------------------+-----------------------------+
+  * </pre>
+  * The answer is {@link #kAnswerValue} or {@link #kFailedPath}.
+  */
   public final static int kGetValueByPath = 0x30;
   
   public final static int kGetAddressByPath = 0x32;
@@ -185,6 +234,28 @@ public class Inspcitem
   public final static int kFailedCommand = 0xFF;
   
   
+  /**Type byte for a value in an answer. It is the kScalarTypes added to one of the REFLECTION_ type numbers
+   * of {@link org.vishia.byteData.Field_Jc}, for example <code>kScalarTypes + REFLECTION_int32</code>. 
+   * The value follows with its size in big endian:
+   * <ul>
+   * <li>int64, uint64, double: 8 bytes
+   * <li>int32, uint32, float: 4 bytes
+   * <li>int16, uint16, char: 2 bytes, char is UTF-16
+   * <li>int8, uint8, bool: 1 byte 
+   * <li>String: 1 byte length and the characters, the String is shortened to {@link #zStringValueMax}. 
+   * </ul>
+   * @since 2026-10
+   */
+  public final static int kScalarTypes = 0xa0;
+  
+  /**Type byte for a value which cannot be gotten, no value bytes follow. @since 2026-10 */
+  public final static int kTypeNoValue = 0;
+  
+  /**Maximal number of characters of a String value. @since 2026-10 */
+  public final static int zStringValueMax = 80;
+  
+  
+  
   
   
   
@@ -230,9 +301,9 @@ public class Inspcitem
 
     public HeadOrder(){ super(kSizeHeadOrder); }
 
-    public final int order() { return getInt16(k_order); }
+    public final int order() { return getInt32(k_order); }
   
-    public final void set_order(int value){ setInt16(k_order, value); }
+    public final void set_order(int value){ setInt32(k_order, value); }
     
     /**Cast from an instance of type {@link Head} which is checked for the {@link Head#cmd()} 
      * and therefore the cast is proper.
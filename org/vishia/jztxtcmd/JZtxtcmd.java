@@ -28,6 +28,7 @@ import org.vishia.cmd.CmdStore;
 import org.vishia.cmd.JZtxtcmdEngine;
 import org.vishia.cmd.JZtxtcmdExecuter;
 import org.vishia.cmd.JZtxtcmdScript;
+import org.vishia.cmd.JZtxtcmdScriptCache;
 import org.vishia.mainCmd.MainCmd;
 import org.vishia.mainCmd.MainCmdLoggingStream;
 import org.vishia.mainCmd.MainCmdLogging_ifc;
@@ -131,6 +132,14 @@ public class JZtxtcmd implements JZtxtcmdEngine, Compilable
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: command line argument <code>-dircache:FILE</code>, see {@link org.vishia.util.FilesToList}.
+   * <li>2026-10-19 Hartmut new: command line argument <code>-profile:FILE</code>, see {@link org.vishia.cmd.JZtxtcmdProfiler}.
+   * <li>2026-10-19 Hartmut new: command line argument <code>-buildcache:FILE</code>, see {@link org.vishia.cmd.ZmakeBuildCache}.
+   * <li>2026-10-19 Hartmut new: command line argument <code>-j:N</code>, number of concurrent processes for <code>job cmdline</code>.
+   * <li>2026-10-19 Hartmut new: command line argument <code>-threads:N</code>, see {@link JZtxtcmdExecuter#setThreadExecution(int)}.
+   * <li>2026-10-19 Hartmut new: command line argument <code>-cache:DIR</code>, see {@link JZtxtcmdScriptCache}.
+   *   If the cache is set, the script files are translated with {@link JZtxtcmdScript#createScriptFromFile(File, MainCmdLogging_ifc, File)}
+   *   which uses the cache.
    * <li>2020-02-02 Hartmut new {@link #translateScriptFromJar(Class, String, File, MainCmdLogging_ifc)}
    * <li>2019-02-20 Hartmut chg {@link #execSub(File, String, Map, org.vishia.cmd.JZtxtcmdExecuter.ExecuteLevel, Appendable)} with Appendable as argument.
    *   The old form without this argument is available too.  
@@ -184,7 +193,7 @@ public class JZtxtcmd implements JZtxtcmdEngine, Compilable
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String version = "2020-02-02";
+  static final public String version = "2026-10-19";
 
   
   private static class Args{
@@ -200,6 +209,24 @@ public class JZtxtcmd implements JZtxtcmdEngine, Compilable
     
     /**User arguments, stored as script variable "$1" till "$n" */
     List<String> userArgs = new ArrayList<String>();
+    
+    /**Directory for the cache of parse results, maybe null. */
+    File dirCache;
+    
+    /**Execution of script threads, see {@link JZtxtcmdExecuter#setThreadExecution(int)}. */
+    int maxThreads;
+    
+    /**Number of concurrent processes for <code>job cmdline</code>, 0: number of processors. */
+    int nJobSlots;
+    
+    /**Index file to skip zmake targets which are up to date, maybe null. */
+    File fileBuildCache;
+    
+    /**Report file of the profiler, maybe null. */
+    File fileProfile;
+    
+    /**File to store the directory listings for wildcards, maybe null. */
+    File fileDirCache;
   }
   
 
@@ -232,6 +259,41 @@ public class JZtxtcmd implements JZtxtcmdEngine, Compilable
           }
           return true;
         }})
+    , new MainCmd.Argument("-cache", ":DIR directory to store parse results of the scripts, reused if the scripts are unchanged"
+        , new MainCmd.SetArgument(){ @Override public boolean setArgument(String val){ 
+          argData.dirCache = new File(val); 
+          return true; 
+        }})
+    , new MainCmd.Argument("-threads", ":N max number of parallel script threads, :virtual for virtual threads (Java 21)"
+        , new MainCmd.SetArgument(){ @Override public boolean setArgument(String val){ 
+          if(val.equals("virtual")) { argData.maxThreads = -1; }
+          else {
+            try{ argData.maxThreads = Integer.parseInt(val); }
+            catch(NumberFormatException exc){ return false; }
+          }
+          return argData.maxThreads !=0; 
+        }})
+    , new MainCmd.Argument("-j", ":N number of concurrent processes for job cmdline statements"
+        , new MainCmd.SetArgument(){ @Override public boolean setArgument(String val){ 
+          try{ argData.nJobSlots = Integer.parseInt(val); }
+          catch(NumberFormatException exc){ return false; }
+          return argData.nJobSlots >0; 
+        }})
+    , new MainCmd.Argument("-buildcache", ":FILE index file to skip zmake targets with unchanged inputs"
+        , new MainCmd.SetArgument(){ @Override public boolean setArgument(String val){ 
+          argData.fileBuildCache = new File(val); 
+          return true; 
+        }})
+    , new MainCmd.Argument("-profile", ":FILE measure the statements, write a report and FILE.collapsed for flame graphs"
+        , new MainCmd.SetArgument(){ @Override public boolean setArgument(String val){ 
+          argData.fileProfile = new File(val); 
+          return true; 
+        }})
+    , new MainCmd.Argument("-dircache", ":FILE store the directory listings for wildcards, reused if the directories are unchanged"
+        , new MainCmd.SetArgument(){ @Override public boolean setArgument(String val){ 
+          argData.fileDirCache = new File(val); 
+          return true; 
+        }})
     , new MainCmd.Argument("-u", ":userArgs"
         , new MainCmd.SetArgument(){ @Override public boolean setArgument(String val){ 
           argData.userArgs.add(val); 
@@ -245,7 +307,7 @@ public class JZtxtcmd implements JZtxtcmdEngine, Compilable
       this.argData = argData;
       super.addAboutInfo("Compilation and Execution of JZcmd-Files");
       super.addAboutInfo("made by HSchorrig, Version 1.0, 2013-07-11..2014-06-09");
-      super.addHelpInfo("args JZcmd_SCRIPTFILE [-t:OUTEXT] [-debug:SCRIPTFILE.xml]");
+      super.addHelpInfo("args JZcmd_SCRIPTFILE [-t:OUTEXT] [-debug:SCRIPTFILE.xml] [-cache:DIR] [-threads:N] [-j:N] [-buildcache:FILE] [-profile:FILE] [-dircache:FILE]");
       super.addArgument(argList);
       super.addHelpInfo("==Standard arguments of MainCmd==");
       super.addStandardHelpInfo();
@@ -275,6 +337,12 @@ public class JZtxtcmd implements JZtxtcmdEngine, Compilable
 INPUT          pathTo JZcmd-File to execute
 -t:OUTEXT      pathTo text-File for output
 -debug:TEST.xml pathTo XML output of parsed script
+-cache:DIR     directory to store parse results of the scripts
+-threads:N     max number of parallel script threads, -threads:virtual for virtual threads
+-j:N           number of concurrent processes for job cmdline statements
+-buildcache:FILE index file to skip zmake targets with unchanged inputs
+-profile:FILE  measure the statements, write a report and FILE.collapsed for flame graphs
+-dircache:FILE store the directory listings for wildcards, reused if the directories are unchanged
 -u:userArgs
 --help         show the help for command line and the syntax
 --currdir=PATH Set the currdir variable.
@@ -314,9 +382,27 @@ INPUT          pathTo JZcmd-File to execute
     if(args.sFileScript ==null){
       mainCmdLine.writeHelpInfo(null);
     } else if(sError ==null) {
+      if(args.dirCache !=null) {
+        JZtxtcmdScript.setParseResultCache(new JZtxtcmdScriptCache(args.dirCache));
+      }
       File fileIn = new File(args.sFileScript);
       int nrArg = 1;
       JZtxtcmdExecuter executer = new JZtxtcmdExecuter(mainCmdLine);
+      if(args.maxThreads !=0) {
+        executer.setThreadExecution(args.maxThreads);
+      }
+      if(args.nJobSlots !=0) {
+        executer.setJobSlots(args.nJobSlots);
+      }
+      if(args.fileBuildCache !=null) {
+        executer.setBuildCache(args.fileBuildCache);
+      }
+      if(args.fileProfile !=null) {
+        executer.setProfiler(args.fileProfile);
+      }
+      if(args.fileDirCache !=null) {
+        executer.setDirCache(args.fileDirCache);
+      }
       Map<String, DataAccess.Variable<Object>> data = args.userArgs.size() >0 ? new TreeMap<String, DataAccess.Variable<Object>>() :null;
       try{
         for(String argu: args.userArgs){
@@ -573,6 +659,12 @@ INPUT          pathTo JZcmd-File to execute
       , String sCurrdir, boolean accessPrivate
       , File testOut, MainCmdLogging_ifc log) 
   throws ScriptException {
+    if(JZtxtcmdScript.getParseResultCache() !=null) {
+      JZtxtcmdScript genScript = JZtxtcmdScript.createScriptFromFile(fileScript, log, testOut);
+      JZtxtcmdExecuter executer1 = executer == null ? new JZtxtcmdExecuter(log) : executer;
+      executer1.execute(genScript, accessPrivate, true, out, data, sCurrdir);
+      return;
+    }
     int lengthBufferGenctrl = (int)fileScript.length();
     StringPartScan sourceScript = null;
     try { 
@@ -606,6 +698,12 @@ INPUT          pathTo JZcmd-File to execute
       , String sCurrdir, boolean accessPrivate
       , File testOut, MainCmdLogging_ifc log) 
   throws ScriptException {
+    if(JZtxtcmdScript.getParseResultCache() !=null) {
+      JZtxtcmdScript genScript = JZtxtcmdScript.createScriptFromFile(fileScript, log, testOut);
+      JZtxtcmdExecuter executer1 = executer == null ? new JZtxtcmdExecuter(log) : executer;
+      executer1.execute(genScript, accessPrivate, true, out, data, sCurrdir);
+      return;
+    }
     int lengthBufferGenctrl = (int)fileScript.length();
     StringPartScan sourceScript = null;
     try { 
@@ -643,6 +741,12 @@ INPUT          pathTo JZcmd-File to execute
       , String sCurrdir, boolean accessPrivate
       , File testOut, MainCmdLogging_ifc log) 
   throws ScriptException {
+    if(JZtxtcmdScript.getParseResultCache() !=null) {
+      JZtxtcmdScript genScript = JZtxtcmdScript.createScriptFromFile(fileScript, log, testOut);
+      JZtxtcmdExecuter executer1 = executer == null ? new JZtxtcmdExecuter(log) : executer;
+      executer1.execute(genScript, accessPrivate, true, out, sCurrdir);
+      return;
+    }
     int lengthBufferGenctrl = (int)fileScript.length();
     StringPartScan sourceScript = null;
     try { 
@@ -721,6 +825,9 @@ INPUT          pathTo JZcmd-File to execute
   throws ScriptException
   //throws FileNotFoundException, IllegalArgumentException, IllegalAccessException, InstantiationException, IOException, ParseException, XmlException 
   {
+    if(JZtxtcmdScript.getParseResultCache() !=null) {
+      return JZtxtcmdScript.createScriptFromFile(fileGenCtrl, log, checkXmlOut);
+    }
     int lengthBufferGenctrl = (int)fileGenCtrl.length();
     StringPartScan sourceScript = null;
     try {
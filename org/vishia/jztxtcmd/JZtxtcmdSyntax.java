@@ -17,6 +17,8 @@ public final class JZtxtcmdSyntax {
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: <code>job cmdline</code> or <code>out += job cmdline</code>: 
+   *   The process runs concurrently in the job slots, see {@link JZtxtcmdExecuter.JzTcMain#setJobSlots(int)}.
    * <li>2021-06-08 Hartmut:Featurefix: Now empty statementlist is possible.
    *   The problem for that was that an empty statement list such as main() { }
    *   has had an obscure error message. Secondly sometime an empty statement block may be 
@@ -120,7 +122,7 @@ public final class JZtxtcmdSyntax {
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String version = "2019-07-06";
+  static final public String version = "2026-10-19";
 
   
   public final static String syntax =
@@ -226,6 +228,7 @@ public final class JZtxtcmdSyntax {
     + " | \\<+ <textOut> \n"  //Note: The srcLine should be set on start of <+ therefore it is checked in the syntax component. 
     + " | \\<::\\><textExpr?.indent=-4?.skipFirstnl=1>\\<\\.\\> [;] \n"              //flat nesting
     + " | \\<:\\><textExpr?.indent=-3>\\<\\.\\> [;] \n"
+    + " | <cmdLineJob?cmdJob> \n"  
     + " | <cmdLineWait?cmdWait> \n"  
     + " | <assignExpr> \n"
     + " | ; \n"
@@ -538,6 +541,7 @@ public final class JZtxtcmdSyntax {
     + " \n"
     + " \n"
     + " cmdLineWait::=[{ <dataPath?assign> += }] cmd\\  <cmdLine?>.\n"
+    + " cmdLineJob::=[{ <dataPath?assign> += }] job\\  <cmdLine?>.\n"
     + " \n"
     + " cmdLine::= [\\!argsCheck!<?argsCheck>] <textValue?> [{[?;[\\ |\\n|\\r]] [ \\<\\:arg\\><textExpr?actualArgument>\\<\\.arg\\> | \\<\\:args:<dataAccess?argList>\\> |<textValue?actualArgument>] }] \n"
     + "   [ \\<:stdout:[ pipe<?pipe>| [$]<$?stdoutVariable>] \\>] ;.\n"
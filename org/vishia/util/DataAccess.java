@@ -87,6 +87,13 @@ import org.vishia.util.TreeNodeBase;
 public class DataAccess {
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: {@link DatapathElement#whatisit()}, {@link DatapathElement#indices()}, {@link Dst#field()}, {@link Dst#obj()}:
+   *   A resolved access can be stored as {@link java.lang.reflect.Field} chain outside, used in {@link org.vishia.inspcComm.InspcTargetServer}.
+   * <li>2026-10-19 Hartmut chg: {@link VariableSlots#slotTable()}, the slot number is valid only for the slot table of one script,
+   *   it is stored with the table in the {@link DatapathElement}, see {@link DatapathElement#slot(VariableSlots)}.
+   * <li>2026-10-19 Hartmut new: {@link VariableSlots}, {@link DatapathElement#slot(VariableSlots)}: The first element of a datapath
+   *   accesses a variable in a {@link VariableSlots} container via the slot number instead hashing or comparing the name.
+   *   Used for the local variables of {@link org.vishia.cmd.JZtxtcmdExecuter}.
    * <li>2019-08-20: some operations throws {@link ParseException} on syntax errors.
    * <li>2019-08-23 Hartmut new: Supports now &(path) as indirect access, access to variable with gotten name in path.
    *   Therefore the operations {@link #access(Object, boolean, boolean, Map, Object[])} etc. needs the variableNames.  
@@ -245,7 +252,7 @@ public class DataAccess {
    * 
    * 
    */
-  static final public String sVersion = "2019-08-23";
+  static final public String sVersion = "2026-10-19";
 
 
   /**Wrapper around the index as integer. An instance is member of {@link OutTextPreparer#varValues}. 
@@ -256,6 +263,38 @@ public class DataAccess {
     public IntegerIx(int value){ ix = value; }
   }
   
+  
+  
+  /**Interface for a container of variables which stores the variables in slots (array elements)
+   * additionally to the access via name as Map. The slot number is associated to the name in a slot table,
+   * which is the same for all containers of one context (for example of one script), see {@link #slotTable()}. 
+   * It is stored in the {@link DatapathElement} together with the slot table on first access, 
+   * then the variable is accessed via {@link #getSlot(int)}.
+   */
+  public interface VariableSlots {
+    
+    /**Returns the table which associates names and slot numbers. A slot number is valid only for containers with the same table.*/
+    Object slotTable();
+    
+    /**Returns the slot number for the name. The name is registered if not found.*/
+    int slotOf(String name);
+    
+    /**Returns the variable in the given slot or null if the slot is empty. */
+    Variable<Object> getSlot(int ix);
+    
+    /**Sets or replaces the variable in the given slot, removes it on var == null.
+     * @return the variable which was stored before or null */
+    Variable<Object> setSlot(int ix, Variable<Object> var);
+  }
+  
+  
+  /**Slot number in a slot table of {@link VariableSlots}, stored in a {@link DatapathElement}. Immutable. @since 2026-10 */
+  private static final class SlotInTable {
+    final Object table;
+    final int ix;
+    SlotInTable(Object table, int ix){ this.table = table; this.ix = ix; }
+  }
+  
 
   
   /**Interface to convert between data.
@@ -1095,6 +1134,10 @@ public class DataAccess {
       case '@': case '.': {
         if(bStatic){
           data1 = getDataFromField(element.ident, null, accessPrivate, (Class<?>)data1, dst, 0); 
+        } else if(data1 instanceof VariableSlots && !element.ident.equals("[]")) {
+          VariableSlots slots = (VariableSlots)data1;
+          data1 = slots.getSlot(element.slot(slots));      //fast access without hashing the name
+          if(data1 == null) throw new NoSuchFieldException(element.ident);
         } else {
           if(data1 !=null){
             //retain a Variable.
@@ -1138,7 +1181,13 @@ public class DataAccess {
         }
         if(whatisit >='A' && whatisit <='Z') {
           //It is a new defined variable. 
-          if(data1 instanceof Map<?,?>){ //unable to check generic type.
+          if(data1 instanceof VariableSlots) {
+            VariableSlots slots = (VariableSlots)data1;
+            Variable<Object> newVariable = new DataAccess.Variable<Object>(element.whatisit, element.ident, null, bConstNewVariable);
+            slots.setSlot(element.slot(slots), newVariable);
+            data1 = newVariable;
+          }
+          else if(data1 instanceof Map<?,?>){ //unable to check generic type.
             //it should be a variable container!
             @SuppressWarnings("unchecked")
             Map<String, DataAccess.Variable> varContainer = (Map<String, DataAccess.Variable>)data1;
@@ -2609,6 +2658,11 @@ public class DataAccess {
     /**true then an operation call, false: a variable access. @since 2018-08*/
     private boolean operation_;
     
+    /**Slot number of {@link #ident} in a {@link VariableSlots} container with the given slot table, or null. 
+     * The slot number is unique for the name in the table. It is set on first access by any thread
+     * and replaced if the element is used with a container of another slot table. @since 2026-10*/
+    private SlotInTable slot;
+    
     /**Creates an empty element.
      * 
      */
@@ -2847,14 +2901,37 @@ public class DataAccess {
     }
     
     
-    public void set_ident(String text){ this.ident = text; }
+    public void set_ident(String text){ this.ident = text; this.slot = null; }
     
     public void set_whatisit(String text){ this.whatisit = text.charAt(0); }
     
 
     public String ident(){ return ident; }
     
-    public void setIdent(String ident){ this.ident = ident; }
+    /**Returns the kind of the element, '.' for a field, see {@link #whatisit}.
+     * @since 2026-10 */
+    public char whatisit(){ return whatisit; }
+    
+    /**Returns the constant indices of an array element or null if it is not indexed.
+     * An index which is given as expression is designated with -1.
+     * @since 2026-10 */
+    public int[] indices(){ return indices; }
+    
+    public void setIdent(String ident){ this.ident = ident; this.slot = null; }
+    
+    /**Returns the slot number of the {@link #ident} for access in the {@link VariableSlots} container.
+     * It is determined on first access and stored together with the slot table of the container.
+     * Both are stored in one immutable instance, hence it is thread safe without synchronization.
+     * @since 2026-10 */
+    public int slot(VariableSlots slots){ 
+      SlotInTable slot1 = this.slot;
+      Object table = slots.slotTable();
+      if(slot1 == null || slot1.table != table) {
+        slot1 = new SlotInTable(table, slots.slotOf(this.ident));
+        this.slot = slot1;
+      }
+      return slot1.ix;
+    }
     
     /**Adds any argument with its value.  */
     public void setActualArguments(Object... args){
@@ -2956,6 +3033,12 @@ public class DataAccess {
       else throw new IllegalArgumentException("DataAccess - cannot assign >>" + field + "<< = >>" + val + "<<");
     }
     
+    /**Returns the found field. @since 2026-10 */
+    public Field field(){ return field; }
+    
+    /**Returns the instance which contains the field, it may be an enclosing instance. @since 2026-10 */
+    public Object obj(){ return obj; }
+    
   }
   
   
@@ -50,6 +50,8 @@ public class FileFunctions {
   /**Version, history and license.
    * Changes:
    * <ul>
+   * <li>2026-10-19 Hartmut chg: {@link #addFileToList(File, String, AddFileToList)} uses {@link FilesToList} for wildcards:
+   *   Parallel visit of the directories, only directories which can match are visited, cache of the directory listings. 
    * <li>2021-06-28 Hartmut feature {@link #absolutePath(String, File)} accepts "/tmp/..." and look for an environment variable TMP or TEMP.
    *   It is important also for shell scripts in windows. In the shell script /tmp/ may be known, but not in the windows file system. 
    * <li>2021-06-28 Hartmut bugfix {@link #addFilesWithBasePath(File, String, List)} with given directory
@@ -150,7 +152,7 @@ public class FileFunctions {
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public final static String sVersion = "2016-01-17";
+  public final static String sVersion = "2026-10-19";
 
   public interface AddFileToList
   {
@@ -258,7 +260,7 @@ public class FileFunctions {
    * @throws FileNotFoundException
    * @since 2019, this operation calls the old {@link FileFunctions#addFileToList(File, String, AddFileToList)}
    *   but the intension was using an own algorithm with {@link Files#walk(java.nio.file.Path, java.nio.file.FileVisitOption...)}.
-   *   later todo.
+   * @since 2026-10 {@link FileFunctions#addFileToList(File, String, AddFileToList)} uses {@link FilesToList}.
    */
   public static boolean addFilesWithBasePath(final File baseDir, final String sPathArg, List<FileAndBasePath> list) 
   //throws FileNotFoundException
@@ -1575,6 +1577,8 @@ public class FileFunctions {
    * @return false if the dir not exists or the deepst defined directory of a wildcard path does not exist.
    *   true if the search directory exists independent of the number of founded files.
    *   Note: The number of founded files can be query via the listFiles.size().
+   * @since 2026-10 a wildcard path is expanded with {@link FilesToList}, if dir is null or a {@link File} 
+   *   (not a derived class), with the directory cache {@link FilesToList#current()}.
    */
   public static boolean addFileToList(File dir, String sPath, AddFileToList listFiles) 
   //throws FileNotFoundException
@@ -1597,8 +1601,11 @@ public class FileFunctions {
       { listFiles.add(fFile);
       }
     }
+    else if(dir == null || dir.getClass() == File.class)
+    { bFound = FilesToList.addFileToList(dir, sPath, listFiles);  //parallel, uses the cache of directories.
+    }
     else
-    { //
+    { //a derived File (FileRemote) may have its own list() 
       int posFile = sPath.lastIndexOf('/')+1;  //>=0, 0 if a / isn't contain.
       String sName = sPath.substring(posFile); // "" if the path ends with "/"
       FilenameFilter filterName = new FilepathFilter(sName); //WildcardFilter(sName); 
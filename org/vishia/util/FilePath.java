@@ -110,6 +110,11 @@ public class FilePath
 {
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: The parts of the path which depend on the {@link FilePathEnvAccess} ({@link #absfile(FilePathEnvAccess)} etc.)
+   *   are calculated only one time and stored in a {@link Memo} as String. The memo is valid as long as the environment,
+   *   the content of the {@link #scriptVariable} and the current directory are unchanged. 
+   *   Note: The returned CharSequence is a String now if the memo is used, it is shared and must not be changed (it cannot be changed).
+   *   Before it may be a new StringBuilder for each call. 
    * <li>2020-01-28 Hartmut new in {@link #absbasepath(CharSequence, FilePathEnvAccess)} with null as env possible.
    * <li>2020-01-28 Hartmut bugfix in {@link #expandFiles(List, FilePath, FilePath, FilePathEnvAccess)}
    * <li>2020-01-28 Hartmut {@link #getFile()}
@@ -200,7 +205,7 @@ public class FilePath
     * 
     * 
     */
-   static final public String sVersion = "2020-01-28";
+   static final public String sVersion = "2026-10-19";
 
   /**An implementation of this interface should be provided by the user if absolute paths and script variables should be used. 
    * It may be a short simple implementation if that features are unused. See the {@link org.vishia.util.test.Test_FilePath}. 
@@ -270,6 +275,37 @@ public class FilePath
   private boolean someFiles;
   
   
+  /**Index of the parts in {@link Memo#parts}. {@link #kWindows} is added for the variant with backslash. */
+  private static final int kLocaldir = 0, kLocalname = 1, kLocalfile = 2, kAbsbasepath = 3, kAbsdir = 4, kAbsname = 5
+    , kAbsfile = 6, kBasepath = 7, kDir = 8, kPathname = 9, kFile = 10, kBase_localdir = 11, kBase_localfile = 12
+    , kWindows = 13;
+  
+  
+  /**The calculated parts of the path for one evaluation context. 
+   * It is valid only for the same environment, the same value of the script variable and the same current directory.
+   * @since 2026-10
+   */
+  private static final class Memo {
+    final FilePathEnvAccess env;
+    /**The value of the {@link FilePath#scriptVariable}, a String or FilePath or null if it is not given. */
+    final Object varValue;
+    final String currDir;
+    /**The parts as String, null if not calculated yet. */
+    final String[] parts = new String[2 * kWindows];
+    
+    Memo(FilePathEnvAccess env, Object varValue, String currDir) {
+      this.env = env; this.varValue = varValue; this.currDir = currDir;
+    }
+  }
+  
+  /**The memo of the last evaluation context, see {@link #memo(FilePathEnvAccess)}. It is replaced if the context is changed. @since 2026-10 */
+  private volatile Memo memo;
+  
+  /**name + ext, built on first call of {@link #namext()}. @since 2026-10 */
+  private String namext;
+  
+  
+  
   /**An empty file path which is used as argument if a common base path is not given. */
   private static FilePath emptyParent = new FilePath();
   
@@ -532,7 +568,10 @@ public class FilePath
    * @param env Access to the environment to resolve variables.
    * @throws NoSuchFieldException if a {@link #scriptVariable} is used and it is not found in the context. 
    */
-  public CharSequence localdir(FilePathEnvAccess env) throws NoSuchFieldException{
+  public CharSequence localdir(FilePathEnvAccess env) throws NoSuchFieldException { return part(kLocaldir, env); }
+  
+  
+  private CharSequence calc_localdir(FilePathEnvAccess env) throws NoSuchFieldException{
     CharSequence ret = localdir(null, null, null, env);
     if(ret.length() == 0){ return "."; }
     else return ret;
@@ -543,7 +582,7 @@ public class FilePath
   /**Returns the local directory path part for Windows environment with backslash as separator.
    * It wraps {@link #localdir(FilePathEnvAccess)}, see there.
    */
-  public CharSequence localdirW(FilePathEnvAccess env) throws NoSuchFieldException{ return toWindows(localdir(env)); }
+  public CharSequence localdirW(FilePathEnvAccess env) throws NoSuchFieldException { return part(kLocaldir + kWindows, env); }
 
 
 
@@ -553,7 +592,10 @@ public class FilePath
    * @param env Access to the environment to resolve variables.
    * @throws NoSuchFieldException if a {@link #scriptVariable} is used and it is not found in the context. 
    */
-  public CharSequence localname(FilePathEnvAccess env) throws NoSuchFieldException{ 
+  public CharSequence localname(FilePathEnvAccess env) throws NoSuchFieldException { return part(kLocalname, env); }
+  
+  
+  private CharSequence calc_localname(FilePathEnvAccess env) throws NoSuchFieldException{ 
     StringBuilder uRet = new StringBuilder();
     return addLocalName(uRet, env); 
   }
@@ -563,7 +605,7 @@ public class FilePath
   /**Returns the local file path part without extension for Windows environment with backslash as separator.
    * It wraps {@link #localname(FilePathEnvAccess)}, see there.
    */
-  public CharSequence localnameW(FilePathEnvAccess env) throws NoSuchFieldException{ return toWindows(localname(env)); }
+  public CharSequence localnameW(FilePathEnvAccess env) throws NoSuchFieldException { return part(kLocalname + kWindows, env); }
 
 
 
@@ -573,7 +615,10 @@ public class FilePath
    * @param env Access to the environment to resolve variables.
    * @throws NoSuchFieldException if a {@link #scriptVariable} is used and it is not found in the context. 
    */
-  public CharSequence localfile(FilePathEnvAccess env) throws NoSuchFieldException{ 
+  public CharSequence localfile(FilePathEnvAccess env) throws NoSuchFieldException { return part(kLocalfile, env); }
+  
+  
+  private CharSequence calc_localfile(FilePathEnvAccess env) throws NoSuchFieldException{ 
     StringBuilder uRet = new StringBuilder();
     addLocalName(uRet, env);
     uRet.append(this.ext);
@@ -585,7 +630,7 @@ public class FilePath
   /**Returns the local file path part for Windows environment with backslash as separator.
    * It wraps {@link #localfile(FilePathEnvAccess)}, see there.
    */
-  public CharSequence localfileW(FilePathEnvAccess env) throws NoSuchFieldException{ return toWindows(localfile(env)); }
+  public CharSequence localfileW(FilePathEnvAccess env) throws NoSuchFieldException { return part(kLocalfile + kWindows, env); }
 
 
 
@@ -599,10 +644,8 @@ public class FilePath
   /**Returns the name of the file inclusively the extension.
    */
   public CharSequence namext(){ 
-    StringBuilder uRet = new StringBuilder(); 
-    uRet.append(this.name);
-    uRet.append(this.ext);
-    return uRet;
+    if(this.namext == null) { this.namext = this.name + this.ext; }
+    return this.namext;
   }
 
 
@@ -631,7 +674,10 @@ public class FilePath
    * @throws NoSuchFieldException if a {@link #scriptVariable} is used and it is not found in the context. 
    *  
    */
-  public CharSequence absbasepath(FilePathEnvAccess env) throws NoSuchFieldException { 
+  public CharSequence absbasepath(FilePathEnvAccess env) throws NoSuchFieldException { return part(kAbsbasepath, env); }
+  
+  
+  private CharSequence calc_absbasepath(FilePathEnvAccess env) throws NoSuchFieldException { 
     CharSequence sBasepath = basepath(null, emptyParent, null, env);
     return absbasepath(sBasepath, env);
   }
@@ -639,7 +685,7 @@ public class FilePath
   /**Returns the base path part as absolute path for Windows environment with backslash as separator.
    * It wraps {@link #absbasepath(FilePathEnvAccess)}, see there.
    */
-  public CharSequence absbasepathW(FilePathEnvAccess env) throws NoSuchFieldException { return toWindows(absbasepath(env)); }
+  public CharSequence absbasepathW(FilePathEnvAccess env) throws NoSuchFieldException { return part(kAbsbasepath + kWindows, env); }
   
 
   
@@ -650,7 +696,10 @@ public class FilePath
    * @throws NoSuchFieldException if a {@link #scriptVariable} is used and it is not found in the context. 
    *  
    */
-  public CharSequence absdir(FilePathEnvAccess env) throws NoSuchFieldException  { 
+  public CharSequence absdir(FilePathEnvAccess env) throws NoSuchFieldException { return part(kAbsdir, env); }
+  
+  
+  private CharSequence calc_absdir(FilePathEnvAccess env) throws NoSuchFieldException  { 
     CharSequence basePath = absbasepath(env);
     StringBuilder uRet = basePath instanceof StringBuilder ? (StringBuilder)basePath : new StringBuilder(basePath);
     return localdir(uRet, null, null, env);
@@ -659,7 +708,7 @@ public class FilePath
   /**Returns the directory part as absolute path for Windows environment with backslash as separator.
    * It wraps {@link #absdir(FilePathEnvAccess)}, see there.
    */
-  public CharSequence absdirW(FilePathEnvAccess env) throws NoSuchFieldException{ return toWindows(absdir(env)); }
+  public CharSequence absdirW(FilePathEnvAccess env) throws NoSuchFieldException { return part(kAbsdir + kWindows, env); }
   
   
   /**Returns the file path but without extension as absolute path. It does not end with a '.'. 
@@ -670,7 +719,10 @@ public class FilePath
    * @param env Access to the environment to get the current directory and to resolve variables.
    * @throws NoSuchFieldException if a {@link #scriptVariable} is used and it is not found in the context. 
    */
-  public CharSequence absname(FilePathEnvAccess env) throws NoSuchFieldException{ 
+  public CharSequence absname(FilePathEnvAccess env) throws NoSuchFieldException { return part(kAbsname, env); }
+  
+  
+  private CharSequence calc_absname(FilePathEnvAccess env) throws NoSuchFieldException{ 
     CharSequence basePath = absbasepath(env);
     StringBuilder uRet = basePath instanceof StringBuilder ? (StringBuilder)basePath : new StringBuilder(basePath);
     int pos;
@@ -684,7 +736,7 @@ public class FilePath
   /**Returns the file path but without extension as absolute path for Windows environment with backslash as separator.
    * It wraps {@link #absname(FilePathEnvAccess)}, see there.
    */
-  public CharSequence absnameW(FilePathEnvAccess env) throws NoSuchFieldException{ return toWindows(absname(env)); }
+  public CharSequence absnameW(FilePathEnvAccess env) throws NoSuchFieldException { return part(kAbsname + kWindows, env); }
   
 
 
@@ -695,7 +747,10 @@ public class FilePath
    * @param env Access to the environment to get the current directory and to resolve variables.
    * @throws NoSuchFieldException if a {@link #scriptVariable} is used and it is not found in the context. 
    */
-  public CharSequence absfile(FilePathEnvAccess env) throws NoSuchFieldException{ 
+  public CharSequence absfile(FilePathEnvAccess env) throws NoSuchFieldException { return part(kAbsfile, env); }
+  
+  
+  private CharSequence calc_absfile(FilePathEnvAccess env) throws NoSuchFieldException{ 
     CharSequence basePath = absbasepath(env);
     StringBuilder uRet = basePath instanceof StringBuilder ? (StringBuilder)basePath : new StringBuilder(basePath);
     addLocalName(uRet);
@@ -706,7 +761,7 @@ public class FilePath
   /**Returns the complete file path as absolute path for Windows environment with backslash as separator.
    * It wraps {@link #absfile(FilePathEnvAccess)}, see there.
    */
-  public CharSequence absfileW(FilePathEnvAccess env) throws NoSuchFieldException{ return toWindows(absfile(env)); }
+  public CharSequence absfileW(FilePathEnvAccess env) throws NoSuchFieldException { return part(kAbsfile + kWindows, env); }
   
   
   /**Returns the local file with replaced wildcard in the local dir. See {@link #addLocalNameReplwildcard(StringBuilder, FilePath).
@@ -727,7 +782,10 @@ public class FilePath
    * @param env Access to the environment to resolve variables.
    * @throws NoSuchFieldException if a {@link #scriptVariable} is used and it is not found in the context. 
    */
-  public CharSequence basepath(FilePathEnvAccess env) throws NoSuchFieldException{ return basepath(null, emptyParent, null, env); }
+  public CharSequence basepath(FilePathEnvAccess env) throws NoSuchFieldException { return part(kBasepath, env); }
+  
+  
+  private CharSequence calc_basepath(FilePathEnvAccess env) throws NoSuchFieldException{ return basepath(null, emptyParent, null, env); }
    
   
 
@@ -735,7 +793,7 @@ public class FilePath
   /**Returns the base path part like given for Windows environment with backslash as separator.
    * It wraps {@link #basepath(FilePathEnvAccess)}, see there.
    */
-  public CharSequence basepathW(FilePathEnvAccess env) throws NoSuchFieldException{ return toWindows(basepath(env)); }
+  public CharSequence basepathW(FilePathEnvAccess env) throws NoSuchFieldException { return part(kBasepath + kWindows, env); }
   
   
   
@@ -743,7 +801,10 @@ public class FilePath
    * @param env Access to the environment to resolve variables.
    * @throws NoSuchFieldException if a {@link #scriptVariable} is used and it is not found in the context. 
    */
-  public CharSequence dir(FilePathEnvAccess env) throws NoSuchFieldException{ 
+  public CharSequence dir(FilePathEnvAccess env) throws NoSuchFieldException { return part(kDir, env); }
+  
+  
+  private CharSequence calc_dir(FilePathEnvAccess env) throws NoSuchFieldException{ 
     CharSequence basePath = basepath(env);
     StringBuilder uRet = basePath instanceof StringBuilder ? (StringBuilder)basePath : new StringBuilder(basePath);
     int zpath = (this.localdir == null) ? 0 : this.localdir.length();
@@ -760,13 +821,16 @@ public class FilePath
   /**Returns the directory part like given for Windows environment with backslash as separator.
    * It wraps {@link #dir(FilePathEnvAccess)}, see there.
    */
-  public CharSequence dirW(FilePathEnvAccess env) throws NoSuchFieldException{ return toWindows(dir(env)); }
+  public CharSequence dirW(FilePathEnvAccess env) throws NoSuchFieldException { return part(kDir + kWindows, env); }
   
   /**Returns the file path without extension like given, either as absolute path or relative path. 
    * @param env Access to the environment to resolve variables.
    * @throws NoSuchFieldException if a {@link #scriptVariable} is used and it is not found in the context. 
    */
-  public CharSequence pathname(FilePathEnvAccess env) throws NoSuchFieldException{ 
+  public CharSequence pathname(FilePathEnvAccess env) throws NoSuchFieldException { return part(kPathname, env); }
+  
+  
+  private CharSequence calc_pathname(FilePathEnvAccess env) throws NoSuchFieldException{ 
     CharSequence basePath = basepath(env);
     StringBuilder uRet = basePath instanceof StringBuilder ? (StringBuilder)basePath : new StringBuilder(basePath);
     int pos;
@@ -780,7 +844,7 @@ public class FilePath
   /**Returns the file path without extension like given for Windows environment with backslash as separator.
    * It wraps {@link #pathname(FilePathEnvAccess)}, see there.
    */
-  public CharSequence pathnameW(FilePathEnvAccess env) throws NoSuchFieldException{ return toWindows(pathname(env)); }
+  public CharSequence pathnameW(FilePathEnvAccess env) throws NoSuchFieldException { return part(kPathname + kWindows, env); }
   
 
 
@@ -789,7 +853,10 @@ public class FilePath
    * @param env Access to the environment to resolve variables.
    * @throws NoSuchFieldException if a {@link #scriptVariable} is used and it is not found in the context. 
    */
-  public CharSequence file(FilePathEnvAccess env) throws NoSuchFieldException{ 
+  public CharSequence file(FilePathEnvAccess env) throws NoSuchFieldException { return part(kFile, env); }
+  
+  
+  private CharSequence calc_file(FilePathEnvAccess env) throws NoSuchFieldException{ 
     CharSequence basePath = basepath(env);
     StringBuilder uRet = basePath instanceof StringBuilder ? (StringBuilder)basePath : new StringBuilder(basePath);
     addLocalName(uRet);
@@ -813,7 +880,7 @@ public class FilePath
   /**Returns the file path like given for Windows environment with backslash as separator.
    * It wraps {@link #file(FilePathEnvAccess)}, see there.
    */
-  public CharSequence fileW(FilePathEnvAccess env) throws NoSuchFieldException{ return toWindows(file(env)); }
+  public CharSequence fileW(FilePathEnvAccess env) throws NoSuchFieldException { return part(kFile + kWindows, env); }
   
   
   
@@ -821,7 +888,10 @@ public class FilePath
    * @param env Access to the environment to resolve variables.
    * @throws NoSuchFieldException if a {@link #scriptVariable} is used and it is not found in the context. 
    */
-  public CharSequence base_localdir(FilePathEnvAccess env) throws NoSuchFieldException{ 
+  public CharSequence base_localdir(FilePathEnvAccess env) throws NoSuchFieldException { return part(kBase_localdir, env); }
+  
+  
+  private CharSequence calc_base_localdir(FilePathEnvAccess env) throws NoSuchFieldException{ 
     CharSequence basePath = basepath(env);
     StringBuilder uRet = basePath instanceof StringBuilder ? (StringBuilder)basePath : new StringBuilder(basePath);
     if( uRet.length() >0){ uRet.append(":"); }
@@ -833,14 +903,17 @@ public class FilePath
    * for Windows environment with backslash as separator.
    * It wraps {@link #base_localdir(FilePathEnvAccess)}, see there.
    */
-  public CharSequence base_localdirW(FilePathEnvAccess env) throws NoSuchFieldException{ return toWindows(base_localdir(env)); }
+  public CharSequence base_localdirW(FilePathEnvAccess env) throws NoSuchFieldException { return part(kBase_localdir + kWindows, env); }
   
   
   /**Returns the base path and the local file like given with ':' as separator between both parts. 
    * @param env Access to the environment to resolve variables.
    * @throws NoSuchFieldException if a {@link #scriptVariable} is used and it is not found in the context. 
    */
-  public CharSequence base_localfile(FilePathEnvAccess env) throws NoSuchFieldException{ 
+  public CharSequence base_localfile(FilePathEnvAccess env) throws NoSuchFieldException { return part(kBase_localfile, env); }
+  
+  
+  private CharSequence calc_base_localfile(FilePathEnvAccess env) throws NoSuchFieldException{ 
     CharSequence basePath = basepath(env);
     StringBuilder uRet = basePath instanceof StringBuilder ? (StringBuilder)basePath : new StringBuilder(basePath);
     if( uRet.length() >0){ uRet.append(":"); }
@@ -856,11 +929,76 @@ public class FilePath
    * for Windows environment with backslash as separator.
    * It wraps {@link #base_localdir(FilePathEnvAccess)}, see there.
    */
-  public CharSequence base_localfileW(FilePathEnvAccess env) throws NoSuchFieldException{ return toWindows(base_localfile(env)); }
+  public CharSequence base_localfileW(FilePathEnvAccess env) throws NoSuchFieldException { return part(kBase_localfile + kWindows, env); }
   
   
   
 
+  /**Returns the memo for the environment. The memo is created newly if the environment, the value of the 
+   * {@link #scriptVariable} or the current directory is changed.
+   * @return null if the memo cannot be used: env is null, or the script variable refers a FilePath which depends on further variables
+   *   or has a faulty type. Then the part is calculated without memo.
+   * @since 2026-10
+   */
+  private Memo memo(FilePathEnvAccess env) throws NoSuchFieldException {
+    if(env == null || this.varFileset !=null) return null;
+    Object varValue = null;
+    if(this.scriptVariable !=null) {
+      varValue = env.getValue(this.scriptVariable);
+      if(varValue instanceof CharSequence) { varValue = varValue.toString(); }  //a StringBuilder may be changed later.
+      else if(!(varValue instanceof FilePath) || ((FilePath)varValue).scriptVariable !=null) return null;
+    }
+    CharSequence currDir = env.getCurrentDir();
+    Memo memo1 = this.memo;
+    if(  memo1 == null || memo1.env != env 
+      || (varValue == null ? memo1.varValue !=null : !varValue.equals(memo1.varValue)) 
+      || !StringFunctions.equals(currDir, memo1.currDir)
+      ) {
+      memo1 = new Memo(env, varValue, currDir == null ? null : currDir.toString());
+      this.memo = memo1;
+    }
+    return memo1;
+  }
+  
+  
+  /**Returns the part of the path from the memo or calculates and stores it.
+   * @param kind one of the k... constants, maybe + {@link #kWindows}
+   * @since 2026-10
+   */
+  private CharSequence part(int kind, FilePathEnvAccess env) throws NoSuchFieldException {
+    Memo memo1 = memo(env);
+    CharSequence ret = memo1 == null ? null : memo1.parts[kind];
+    if(ret == null) {
+      if(kind >= kWindows) { ret = toWindows(part(kind - kWindows, env).toString()); }
+      else {
+        switch(kind) {
+          case kLocaldir: ret = calc_localdir(env); break;
+          case kLocalname: ret = calc_localname(env); break;
+          case kLocalfile: ret = calc_localfile(env); break;
+          case kAbsbasepath: ret = calc_absbasepath(env); break;
+          case kAbsdir: ret = calc_absdir(env); break;
+          case kAbsname: ret = calc_absname(env); break;
+          case kAbsfile: ret = calc_absfile(env); break;
+          case kBasepath: ret = calc_basepath(env); break;
+          case kDir: ret = calc_dir(env); break;
+          case kPathname: ret = calc_pathname(env); break;
+          case kFile: ret = calc_file(env); break;
+          case kBase_localdir: ret = calc_base_localdir(env); break;
+          case kBase_localfile: ret = calc_base_localfile(env); break;
+          default: throw new IllegalArgumentException("FilePath.part - faulty kind; " + kind);
+        }
+      }
+      if(memo1 !=null) { 
+        String sRet = ret.toString();
+        memo1.parts[kind] = sRet;
+        ret = sRet;
+      }
+    }
+    return ret;
+  }
+  
+  
+  
   /**Converts a given path to the windows presentation with backslash.
    * @param inp It is is a StringBuilder, it is used and its content is changed.
    * @return either inp if it is a StringBuilder, or a new unmated StringBuilder instance.
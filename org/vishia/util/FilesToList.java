@@ -1,16 +1,59 @@
 package org.vishia.util;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.file.FileVisitResult;
-import java.nio.file.FileVisitor;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
 
-/**This class uses the {@link Files#walkFileTree(Path, FileVisitor)} capability to gather files to a list with a given path with wildcards.
+/**This class gathers files to a list with a given path with wildcards. It is the core of
+ * {@link FileFunctions#addFileToList(File, String, FileFunctions.AddFileToList)} and hence of
+ * {@link FileFunctions#addFilesWithBasePath(File, String, List)}, {@link FilePath#expandFiles(List, FilePath, FilePath, FilePath.FilePathEnvAccess)}
+ * and the filesets of JZtxtcmd.
+ * <br><br>
+ * The path is separated in segments between '/'. The segments till the first segment with a wildcard are the start directory.
+ * Following segments are:
+ * <ul>
+ * <li><code>**</code>: any number of directory levels, also 0.
+ * <li>a segment without wildcard: the directory is accessed directly, the parent directory is not listed.
+ * <li>a segment with wildcards: the directory is listed, only matching sub directories are entered.
+ * <li>The last segment is the mask for the names of the found entries, see {@link FilepathFilter#checkName(String)}.
+ *   It can contain some alternative and exclusive masks in form <code>: *.c : *.h : :old*</code>.
+ * </ul>
+ * Hence only the sub trees are visited which can contain matching files.
+ * <br><br>
+ * The directories are listed with {@link Files#newDirectoryStream(Path)}. The sub directories are visited in parallel
+ * as {@link RecursiveTask} in the {@link ForkJoinPool#commonPool()} or in the pool given with {@link #setParallelPool(ForkJoinPool)}.
+ * The order of the result is the same as on sequential execution: For any directory first all entries of the sub directories
+ * in order of the directory listing, then the matching entries of the directory itself.
+ * <br><br>
+ * An instance of this class is a cache for the directory listings: names and whether an entry is a directory.
+ * A cached listing is used as long as the modification time of the directory is unchanged. Hence a repeated expansion
+ * of filesets in the same directories needs only one file property access for any directory.
+ * The cache instance is used by {@link FileFunctions#addFileToList(File, String, FileFunctions.AddFileToList)}
+ * if it is set with {@link #setCurrent(FilesToList)} for the calling thread. JZtxtcmd does so for any run of a script
+ * and any thread of the script.
+ * The cache can be stored in a file, see {@link #FilesToList(File)} and {@link #save()}, for the next run.
+ * <br><br>
+ * Note: A change of a directory in the same time step of the file system as the last listing is not detected.
+ * The resolution of the directory time is 1 ns till 2 s depending on the file system.
+ *
  * @author Hartmut Schorrig
  *
  */
@@ -20,8 +63,12 @@ public class FilesToList
 
   /**Version, history and license.
  * <ul>
+ * <li>2026-10-19 Hartmut chg: {@link #setCurrent(FilesToList)} is valid for the calling thread, 
+ *   concurrent executions with different caches do not disturb themselves.
+ * <li>2026-10-19 Hartmut new: implemented with {@link Files#newDirectoryStream(Path)}, parallel visit of sub directories,
+ *   cache for the directory listings. Used for {@link FileFunctions#addFileToList(File, String, FileFunctions.AddFileToList)}.
  * <li>2018-01-20 Hartmut created. It should replace {@link FileSystem#addFileToList(String, org.vishia.util.FileSystem.AddFileToList)} with the better {@link Files} class from Java7
- *   instead the {@link File} capability from the Java 1.0.  
+ *   instead the {@link File} capability from the Java 1.0.
  * </ul>
  * <br><br>
  * <b>Copyright/Copyleft</b>:
@@ -43,66 +90,131 @@ public class FilesToList
  *    You mustn't delete this Copyright/Copyleft inscription in this source file.
  * </ol>
  * If you are intent to use this sources without publishing its usage, you can get
- * a second license subscribing a special contract with the author. 
- * 
+ * a second license subscribing a special contract with the author.
+ *
  * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
- * 
+ *
  */
-  public String version = "2018-01-20";
+  public final static String version = "2026-10-19";
 
-  public interface AddFileToList
-  {
-    void add(File file);
-  }
-  
 
-  static class FileCheckPath implements FileVisitor {
+  /**Identification of the cache file, "FTLC". */
+  private final static int magic = 0x46544c43;
 
-    final String sMask;
+  /**Version of the cache file format. */
+  private final static int versionFormat = 1;
 
-    int pos1, pos9;
+  /**The instance used by {@link FileFunctions#addFileToList(File, String, FileFunctions.AddFileToList)} in the thread, maybe null. */
+  private static final ThreadLocal<FilesToList> current = new ThreadLocal<FilesToList>();
 
 
-    FileCheckPath(String sMask) {
-      this.sMask = sMask;
+  /**The content of one directory. */
+  private static final class DirEntries {
+    /**Modification time of the directory in ns. */
+    final long timeModified;
+    final String[] names;
+    final boolean[] isDir;
+    DirEntries(long timeModified, String[] names, boolean[] isDir) {
+      this.timeModified = timeModified; this.names = names; this.isDir = isDir;
     }
+  }
 
-    @Override
-    public FileVisitResult preVisitDirectory(Object dir, BasicFileAttributes attrs) throws IOException
-    {
-      // TODO Auto-generated method stub
-      return null;
-    }
 
-    @Override
-    public FileVisitResult visitFile(Object file, BasicFileAttributes attrs) throws IOException
-    {
-      // TODO Auto-generated method stub
-      return null;
-    }
+  /**The prepared path, segments after the start directory. */
+  private static final class Mask {
+    /**The directory segments, "**" or a segment with or without wildcards. */
+    final String[] dirs;
+    /**null for a segment without wildcard or "**". */
+    final FilepathFilter[] dirFilter;
+    /**Filter for the names of the result entries. */
+    final FilepathFilter nameFilter;
 
-    @Override
-    public FileVisitResult visitFileFailed(Object file, IOException exc) throws IOException
-    {
-      // TODO Auto-generated method stub
-      return null;
+    Mask(String[] dirs, String sName) {
+      this.dirs = dirs;
+      this.dirFilter = new FilepathFilter[dirs.length];
+      for(int ix = 0; ix < dirs.length; ++ix) {
+        if(dirs[ix].indexOf('*') >=0 && !dirs[ix].equals("**")) {
+          this.dirFilter[ix] = new FilepathFilter(dirs[ix]);
+        }
+      }
+      this.nameFilter = new FilepathFilter(sName);
     }
+  }
 
-    @Override
-    public FileVisitResult postVisitDirectory(Object dir, IOException exc) throws IOException
-    {
-      // TODO Auto-generated method stub
-      return null;
+
+  /**Visits a directory in the fork join pool. */
+  @SuppressWarnings("serial")
+  private final class VisitTask extends RecursiveTask<List<File>> {
+    final File dir; final Mask mask; final int ixDir;
+    VisitTask(File dir, Mask mask, int ixDir) { this.dir = dir; this.mask = mask; this.ixDir = ixDir; }
+    @Override protected List<File> compute() { return visit(this.dir, this.mask, this.ixDir, true); }
+  }
+
+
+  /**The cached directory listings, key is the absolute path. */
+  private final Map<String, DirEntries> dirs = new ConcurrentHashMap<String, DirEntries>();
+
+  /**The file to store the cache, maybe null. */
+  private final File fileCache;
+
+  /**Pool for parallel visit of sub directories. null then {@link ForkJoinPool#commonPool()}. */
+  private ForkJoinPool poolParallel;
+
+  /**false then visit sequentially in the calling thread. */
+  private boolean bParallel = true;
+
+
+
+  /**Creates a cache for the directory listings only in memory. */
+  public FilesToList() {
+    this.fileCache = null;
+  }
+
+
+  /**Creates a cache for the directory listings which is read from the file if it exists
+   * and written with {@link #save()}. A faulty or non readable file is ignored.
+   * @param fileCache the file, null then only in memory.
+   */
+  public FilesToList(File fileCache) {
+    this.fileCache = fileCache == null ? null : fileCache.getAbsoluteFile();
+    if(this.fileCache !=null && this.fileCache.exists()) {
+      try { read(); }
+      catch(IOException exc) {
+        this.dirs.clear();
+      }
     }
-  };
+  }
 
 
-  FilepathFilter.NameFilter[] nameCheck;
+  /**Sets the instance which is used by {@link FileFunctions#addFileToList(File, String, FileFunctions.AddFileToList)}
+   * in the calling thread. Other threads are not affected.
+   * @param cache null: the listings are not cached.
+   * @return the instance which was set before in this thread, to restore it.
+   */
+  public static FilesToList setCurrent(FilesToList cache) {
+    FilesToList last = current.get();
+    if(cache == null) { current.remove(); }
+    else { current.set(cache); }
+    return last;
+  }
+
 
+  /**Returns the instance set with {@link #setCurrent(FilesToList)} in the calling thread or null. */
+  public static FilesToList current() { return current.get(); }
 
 
+  /**Sets the pool for the parallel visit of the sub directories.
+   * @param pool null: use {@link ForkJoinPool#commonPool()}
+   * @param bParallel false: visit sequentially in the calling thread.
+   */
+  public void setParallelPool(ForkJoinPool pool, boolean bParallel) {
+    this.poolParallel = pool;
+    this.bParallel = bParallel;
+  }
+
 
-  /**Add files
+
+  /**Adds files with the {@link #current()} cache or without cache if it is not set.
    * @param dir may be null, a directory as base for sPath.
    * @param sPath path may contain wildcard for path and file. May use backslash or slash.
    * @param listFiles Container to get the files.
@@ -110,49 +222,238 @@ public class FilesToList
    *   true if the search directory exists independent of the number of founded files.
    *   Note: The number of founded files can be query via the listFiles.size().
    */
-  public static boolean addFileToList(File dir, String sPath, AddFileToList listFiles) {
-  
-    CharSequence sPath1 = FileSystem.normalizePath(sPath);
-    if(dir !=null) {
-      CharSequence sDir = FileSystem.normalizePath(dir.getAbsolutePath());
-      StringBuilder sPath2;
-      if(sPath1 instanceof StringBuilder) {
-        sPath2 = (StringBuilder)sPath1;
-      } else {
-        sPath2 = new StringBuilder(sPath1); 
+  public static boolean addFileToList(File dir, String sPath, FileFunctions.AddFileToList listFiles) {
+    FilesToList cache = current.get();
+    if(cache == null) { cache = new FilesToList(); }
+    return cache.addFiles(dir, sPath, listFiles);
+  }
+
+
+  /**Adds files, uses and completes the cache of this instance.
+   * @param dir may be null, a directory as base for sPath.
+   * @param sPath path may contain wildcard for path and file. May use backslash or slash.
+   *   Without wildcard the file is added if it exists.
+   * @param listFiles Container to get the files. The {@link File} instances are built with the given dir and the path
+   *   in the same kind as {@link File#listFiles()}. add(...) is invoked in the calling thread.
+   * @return false if the dir not exists or the deepst defined directory of a wildcard path does not exist.
+   */
+  public boolean addFiles(File dir, String sPath, FileFunctions.AddFileToList listFiles) {
+    String sPath1 = sPath.replace('\\', '/');
+    int posWildcard = sPath1.indexOf('*');
+    if(posWildcard < 0) {
+      File file = dir == null ? new File(sPath1) : new File(dir, sPath1);
+      boolean bFound = file.exists();
+      if(bFound) { listFiles.add(file); }
+      return bFound;
+    }
+    int posDir = sPath1.lastIndexOf('/', posWildcard) +1;  //0 if '/' is not found
+    final File fDir;
+    if(posDir > 0) {
+      String sDir = sPath1.substring(0, posDir);
+      fDir = dir == null ? new File(sDir) : new File(dir, sDir);
+    } else {
+      fDir = dir == null ? new File(".") : dir;
+    }
+    if(!fDir.isDirectory()) return false;
+    int posName = sPath1.lastIndexOf('/') +1;
+    String sDirs = posName > posDir ? sPath1.substring(posDir, posName -1) : "";
+    String[] segments = sDirs.length() == 0 ? new String[0] : sDirs.split("/");
+    Mask mask = new Mask(segments, sPath1.substring(posName));
+    final List<File> files;
+    if(this.bParallel) {
+      ForkJoinPool pool = this.poolParallel !=null ? this.poolParallel : ForkJoinPool.commonPool();
+      VisitTask task = new VisitTask(fDir, mask, 0);
+      files = ForkJoinTask.inForkJoinPool() ? task.invoke() : pool.invoke(task);
+    } else {
+      files = visit(fDir, mask, 0, false);
+    }
+    for(File file: files) {
+      listFiles.add(file);
+    }
+    return true;
+  }
+
+
+
+  /**Visits one directory.
+   * @param dir the directory, should exist.
+   * @param mask the path
+   * @param ixDir index in {@link Mask#dirs}, {@link Mask#dirs}.length then it is the directory of the files.
+   * @param bParallel true: invoked in a {@link VisitTask}, sub directories in own tasks.
+   * @return the found files in order.
+   */
+  private List<File> visit(File dir, Mask mask, int ixDir, boolean bParallel) {
+    List<File> files = new ArrayList<File>();
+    if(ixDir == mask.dirs.length) {
+      DirEntries entries = list(dir);
+      if(entries !=null) {
+        for(String name: entries.names) {
+          if(mask.nameFilter.checkName(name)) {
+            files.add(new File(dir, name));
+          }
+        }
       }
-      sPath2.insert(0, '/');
-      sPath2.insert(0, sDir);
-      sPath1 = sPath2;  
+      return files;
     }
-    int posWildcard = StringFunctions.indexOf(sPath1, '*');
-    Path start;
-    if(posWildcard <0) {
-      int posLastSlash = StringFunctions.lastIndexOf(sPath1, 0, posWildcard, '/');
-      assert(posLastSlash >= 0); //because it is an absolute path with / on start.
-      start = Paths.get(sPath1.toString());
+    //gather the sub directories to visit, dirs[ix] with ixDirSub[ix]
+    List<File> dirsSub = new ArrayList<File>();
+    List<Integer> ixDirSub = new ArrayList<Integer>();
+    String sSegment = mask.dirs[ixDir];
+    if(sSegment.equals("**")) {
+      DirEntries entries = list(dir);
+      if(entries !=null) {
+        for(int ix = 0; ix < entries.names.length; ++ix) {
+          if(entries.isDir[ix]) {
+            dirsSub.add(new File(dir, entries.names[ix]));
+            ixDirSub.add(ixDir);                             //remain on "**" in the sub directory
+          }
+        }
+      }
+      dirsSub.add(dir);                                      //"**" as 0 directory levels, after the sub directories.
+      ixDirSub.add(ixDir +1);
+    } else if(mask.dirFilter[ixDir] == null) {
+      File dirSub = new File(dir, sSegment);                 //without wildcard, do not list.
+      if(dirSub.isDirectory()) {
+        dirsSub.add(dirSub);
+        ixDirSub.add(ixDir +1);
+      }
     } else {
-      int posLastSlash = StringFunctions.lastIndexOf(sPath1, 0, posWildcard, '/');
-      assert(posLastSlash >= 0); //because it is an absolute path with / on start.
-      start = Paths.get(sPath1.toString());
+      DirEntries entries = list(dir);
+      if(entries !=null) {
+        for(int ix = 0; ix < entries.names.length; ++ix) {
+          if(entries.isDir[ix] && mask.dirFilter[ixDir].checkName(entries.names[ix])) {
+            dirsSub.add(new File(dir, entries.names[ix]));
+            ixDirSub.add(ixDir +1);
+          }
+        }
+      }
+    }
+    if(bParallel && dirsSub.size() >1) {
+      List<VisitTask> tasks = new ArrayList<VisitTask>(dirsSub.size());
+      for(int ix = 0; ix < dirsSub.size(); ++ix) {
+        tasks.add(new VisitTask(dirsSub.get(ix), mask, ixDirSub.get(ix)));
+      }
+      ForkJoinTask.invokeAll(tasks);
+      for(VisitTask task: tasks) {
+        files.addAll(task.join());
+      }
+    } else {
+      for(int ix = 0; ix < dirsSub.size(); ++ix) {
+        files.addAll(visit(dirsSub.get(ix), mask, ixDirSub.get(ix), bParallel));
+      }
     }
+    return files;
+  }
+
+
 
-    FileVisitor checker = new FileCheckPath(sPath);
-  
-    
-  
+  /**Returns the listing of the directory from the cache or lists it newly.
+   * @return null if it is not a directory or on IO errors.
+   */
+  private DirEntries list(File dir) {
+    Path path = dir.toPath();
+    long timeModified;
     try {
-    Files.walkFileTree(start, checker);
+      BasicFileAttributes attr = Files.readAttributes(path, BasicFileAttributes.class);
+      if(!attr.isDirectory()) return null;
+      timeModified = attr.lastModifiedTime().to(TimeUnit.NANOSECONDS);
     } catch(IOException exc) {
-      return false;
+      return null;
     }
-  
-    return true;
+    String sKey = dir.getAbsolutePath();
+    DirEntries entries = this.dirs.get(sKey);
+    if(entries == null || entries.timeModified != timeModified) {
+      List<String> names = new ArrayList<String>();
+      List<Boolean> isDir = new ArrayList<Boolean>();
+      DirectoryStream<Path> stream = null;
+      try {
+        stream = Files.newDirectoryStream(path);
+        for(Path entry: stream) {
+          names.add(entry.getFileName().toString());
+          isDir.add(Boolean.valueOf(Files.isDirectory(entry)));  //follows symbolic links like File.isDirectory()
+        }
+      } catch(IOException exc) {
+        return null;
+      } catch(DirectoryIteratorException exc) {
+        return null;
+      } finally {
+        if(stream !=null) { try{ stream.close(); } catch(IOException exc){} }
+      }
+      boolean[] isDir1 = new boolean[isDir.size()];
+      for(int ix = 0; ix < isDir1.length; ++ix) { isDir1[ix] = isDir.get(ix).booleanValue(); }
+      entries = new DirEntries(timeModified, names.toArray(new String[names.size()]), isDir1);
+      this.dirs.put(sKey, entries);
+    }
+    return entries;
+  }
+
+
+
+  /**Writes the cache file given on construction.
+   * The file is written as temporary file and renamed then.
+   * @return null on success or without cache file, else an error text.
+   */
+  public String save() {
+    if(this.fileCache == null) return null;
+    String sError = null;
+    File fileTmp = new File(this.fileCache.getPath() + ".tmp");
+    DataOutputStream out = null;
+    try {
+      File dir = this.fileCache.getParentFile();
+      if(dir !=null && !dir.exists()) { dir.mkdirs(); }
+      out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileTmp), 0x10000));
+      out.writeInt(magic);
+      out.writeInt(versionFormat);
+      List<Map.Entry<String, DirEntries>> entries = new ArrayList<Map.Entry<String, DirEntries>>(this.dirs.entrySet());
+      out.writeInt(entries.size());
+      for(Map.Entry<String, DirEntries> e: entries) {
+        DirEntries dirEntries = e.getValue();
+        out.writeUTF(e.getKey());
+        out.writeLong(dirEntries.timeModified);
+        out.writeInt(dirEntries.names.length);
+        for(int ix = 0; ix < dirEntries.names.length; ++ix) {
+          out.writeUTF(dirEntries.names[ix]);
+          out.writeBoolean(dirEntries.isDir[ix]);
+        }
+      }
+      out.close();
+      out = null;
+      if(this.fileCache.exists()) { this.fileCache.delete(); }
+      if(!fileTmp.renameTo(this.fileCache)) {
+        sError = "FilesToList - cannot rename; " + fileTmp.getAbsolutePath();
+      }
+    } catch(IOException exc) {
+      sError = "FilesToList - cannot write; " + fileTmp.getAbsolutePath() + "; " + exc.getMessage();
+    } finally {
+      if(out !=null) { try{ out.close(); } catch(IOException exc){} }
+      if(fileTmp.exists()) { fileTmp.delete(); }
+    }
+    return sError;
   }
 
 
-   
 
+  private void read() throws IOException {
+    DataInputStream inp = new DataInputStream(new BufferedInputStream(new FileInputStream(this.fileCache), 0x10000));
+    try {
+      if(inp.readInt() != magic || inp.readInt() != versionFormat) throw new IOException("faulty format");
+      int zDirs = inp.readInt();
+      for(int ixDir = 0; ixDir < zDirs; ++ixDir) {
+        String sKey = inp.readUTF();
+        long timeModified = inp.readLong();
+        int zNames = inp.readInt();
+        String[] names = new String[zNames];
+        boolean[] isDir = new boolean[zNames];
+        for(int ix = 0; ix < zNames; ++ix) {
+          names[ix] = inp.readUTF();
+          isDir[ix] = inp.readBoolean();
+        }
+        this.dirs.put(sKey, new DirEntries(timeModified, names, isDir));
+      }
+    } finally {
+      inp.close();
+    }
+  }
 
 
 }
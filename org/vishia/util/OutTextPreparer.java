@@ -5,10 +5,14 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 
 
 
@@ -43,6 +47,13 @@ import java.util.TreeMap;
  * <li>Note that <code>&lt:if</code> etc. cannot be used for common texts, it is used as control statement:
  * <li><code>&lt;if:condition>conditional Text&lt;elsif:condition>other Text&lt;else>else-Text&lt;.if></code>
  * <li><code>&lt;for:variable:container>text for any element &lt;&variable> in loop &lt;.for></code>
+ * <li><code>&lt;for:variable:container:parallel>text for any element &lt;&variable> in loop &lt;.for></code>
+ *   The iterations are prepared in parallel in a {@link ForkJoinPool}, see {@link #setParallelPool(ForkJoinPool, int)}.
+ *   Each iteration is written in a buffer, the buffers are appended in order of the container elements.
+ *   Hence the output is the same as for the sequential for. But a <code>&lt;:set:...></code> inside the loop body
+ *   is valid only till end of the same iteration. It is neither seen in the next iteration nor after the loop.
+ *   Then the result is deterministic independent of the order of execution. 
+ *   Also <code>&lt;:exec:...></code> inside the loop body is invoked in several threads, it should be thread safe.
  * <li><code>&lt: ></code> skips over whitespaces till next text, does not output the whitespaces, 
  *   able to use for example to write a simple sequence in more as one line for better readability of the script.
  * <li><code>&lt: >   &lt: ></code> A second <code>&lt: ></code> after skipped whitespaces produces one space 
@@ -104,6 +115,7 @@ public class OutTextPreparer
 
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19: <code>&lt;:for:var:container:parallel></code> see {@link #execForParallel(Appendable, ForCmd, int, Object, DataTextPreparer)}.
    * <li>2019-11-13: ## Comment in a line
    * <li>2019-10-20: &lt;: > capability 
    * <li>2019-08-26: StringPartScan instead String for {@link CalculatorExpr.Operand#Operand(StringPartScan, Map, Class, boolean)}
@@ -135,7 +147,7 @@ public class OutTextPreparer
    * 
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    */
-  public static final String version = "2019-10-27";
+  public static final String version = "2026-10-19";
   
   
   /**Instances of this class holds the data for one OutTextPreparer instance but maybe for all invocations.
@@ -182,6 +194,24 @@ public class OutTextPreparer
     }
     
     
+    /**Package private copy constructor used for a parallel for, any thread gets its own data.
+     * The arguments are copied, the {@link #argSub} and {@link #calcExprData} are created newly on demand.
+     * @param src the data of the calling level.
+     */
+    DataTextPreparer(DataTextPreparer src){
+      this.prep = src.prep;
+      this.execObj = src.execObj;
+      if(src.args !=null) {
+        this.args = src.args.clone();
+      }
+      if(src.argSub !=null) {
+        this.argSub = new DataTextPreparer[src.argSub.length];
+      }
+      this.debugOtx = src.debugOtx;
+      this.debugIxCmd = src.debugIxCmd;
+    }
+    
+    
     
     /**User routine to set a named argument with a value.
      * If a faulty name is used, an Exception is thrown 
@@ -289,6 +319,9 @@ public class OutTextPreparer
     /**The index where the entry value is stored while executing. 
      * Determined in ctor ({@link OutTextPreparer#parse(String, Object)} */
     public int ixEntryVar, ixEntryVarNext;
+    
+    /**Set if written <code>&lt;:for:var:container:parallel></code>. */
+    public boolean bParallel;
 
     public ForCmd(OutTextPreparer outer, StringPartScan spDatapath, Class<?> reflData) throws Exception {
       super(outer, ECmd.forCtrl, spDatapath, reflData);
@@ -438,6 +471,13 @@ public class OutTextPreparer
   }
   
   
+  /**The pool used for <code>&lt;:for:var:container:parallel></code>. null then the common pool is used. */
+  private static ForkJoinPool poolParallel;
+  
+  /**Number of iterations of a parallel for which are executed in one task at least. */
+  private static int minIterationsPerTask = 4;
+  
+  
   /**All argument variables and internal variables sorted. */
   private Map<String, DataAccess.IntegerIx> nameVariables = new TreeMap<String, DataAccess.IntegerIx>();
   
@@ -623,8 +663,13 @@ public class OutTextPreparer
         else if(sp.scan(":for:").scanIdentifier().scan(":").scanToAnyChar(">", '\\', '"', '"').scan(">").scanOk()) {
           String container = sp.getLastScannedString().toString();
           String entryVar = sp.getLastScannedString().toString();
+          boolean bParallel = container.endsWith(":parallel");
+          if(bParallel) {
+            container = container.substring(0, container.length() - 9).trim();
+          }
           //====>
           ForCmd cmd = (ForCmd)addCmd(pattern, pos0, pos1, ECmd.forCtrl, container, reflData);
+          cmd.bParallel = bParallel;
           DataAccess.IntegerIx ixOentry = this.nameVariables.get(entryVar); 
           if(ixOentry == null) { //Check whether the same entry variable exists already from another for, only ones.
             ixOentry = new DataAccess.IntegerIx(this.nameVariables.size());         //create the entry variable newly.
@@ -1087,7 +1132,11 @@ public class OutTextPreparer
           } break;
           case elseCtrl: break;  //if <:else> is found in queue of <:if>...<:elseif> ...<:else> next statements are executed.
           case forCtrl: {
-            execFor(wr, (ForCmd)cmd, ixCmd, data, args);;
+            if(((ForCmd)cmd).bParallel) {
+              execForParallel(wr, (ForCmd)cmd, ixCmd, data, args);
+            } else {
+              execFor(wr, (ForCmd)cmd, ixCmd, data, args);
+            }
             ixCmd += cmd.offsEndCtrl -1;  //continue after <.for>
           } break;
           case exec: {
@@ -1238,6 +1287,138 @@ public class OutTextPreparer
     
     
     
+  /**Sets the pool for all <code>&lt;:for:var:container:parallel></code>. 
+   * If not invoked or null is given, {@link ForkJoinPool#commonPool()} is used.
+   * @param pool the pool to use.
+   * @param minIterations Number of iterations which are executed in one task at least, to save effort for small bodies.
+   *   If &lt;=0 then the last setting (default 4) is not changed.
+   */
+  public static void setParallelPool(ForkJoinPool pool, int minIterations) {
+    poolParallel = pool;
+    if(minIterations >0) { minIterationsPerTask = minIterations; }
+  }
+  
+  
+  /**Task to execute a chunk of iterations of a parallel for. */
+  private final class ForChunk extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final ForCmd cmd; final int ixCmd;
+    
+    final Object[] items;
+    
+    final int ixFrom, ixToExcl;
+    
+    /**The data of the calling level, only read. */
+    final DataTextPreparer argsCaller;
+    
+    /**The output of all iterations of this chunk. */
+    final StringBuilder buffer = new StringBuilder(256);
+    
+    IOException exc;
+    
+    ForChunk(ForCmd cmd, int ixCmd, Object[] items, int ixFrom, int ixToExcl, DataTextPreparer argsCaller) {
+      this.cmd = cmd; this.ixCmd = ixCmd;
+      this.items = items; this.ixFrom = ixFrom; this.ixToExcl = ixToExcl;
+      this.argsCaller = argsCaller;
+    }
+    
+    @Override protected void compute() {
+      DataTextPreparer args = new DataTextPreparer(this.argsCaller);
+      for(int ix = this.ixFrom; ix < this.ixToExcl; ++ix) {
+        if(ix > this.ixFrom) { //restore the state of the calling level, a <:set> is valid only in the iteration
+          System.arraycopy(this.argsCaller.args, 0, args.args, 0, args.args.length);
+        }
+        args.args[this.cmd.ixEntryVar] = this.items[ix];
+        args.args[this.cmd.ixEntryVarNext] = ix +1 < this.items.length ? this.items[ix+1] : null;
+        try {
+          execSub(this.buffer, args, this.ixCmd, this.ixCmd + this.cmd.offsEndCtrl -1);
+        } catch(IOException exc) {
+          this.exc = exc;      //should not occur because StringBuilder is used.
+          return;
+        }
+      }
+    }
+  }
+  
+  
+  
+  /**Executes a for loop with parallel preparation of the iterations.
+   * The container elements are split in chunks, any chunk is executed in a {@link ForChunk} task 
+   * with its own copy of the {@link DataTextPreparer} and its own buffer. 
+   * After all tasks are finished the buffers are appended in order to wr.
+   * The content of the variables on end of the loop is the same as for {@link #execFor(Appendable, ForCmd, int, Object, DataTextPreparer)}, 
+   * but all <code>&lt;:set...></code> inside the loop body are not effective outside of its iteration. 
+   * @param wr the output channel
+   * @param cmd The ForCmd
+   * @param ixCmd the index of the cmd in {@link #cmds}
+   * @param container The container argument
+   * @param args actual args of the calling level
+   * @throws IOException only from wr
+   */
+  private void execForParallel(Appendable wr, ForCmd cmd, int ixCmd, Object container, DataTextPreparer args) throws IOException {
+    final Object[] items;
+    if(container == null) {
+      return;  //do nothing, no for
+    }
+    else if(container instanceof Object[]) {
+      items = (Object[]) container;
+    }
+    else if(container instanceof Map) {
+      items = ((Map<?,?>)container).values().toArray();
+    }
+    else if(container instanceof java.util.Collection) {
+      items = ((Collection<?>)container).toArray();
+    }
+    else if(container instanceof Iterable) {
+      List<Object> list = new ArrayList<Object>();
+      for(Object item: (Iterable<?>)container) { list.add(item); }
+      items = list.toArray();
+    }
+    else {
+      wr.append("<?? OutTextPreparer script " + sIdent + ": for variable is not an container: " + cmd.textOrVar + "??>");
+      return;
+    }
+    final int zItems = items.length;
+    if(zItems == 0) { return; }
+    ForkJoinPool pool = poolParallel !=null ? poolParallel : ForkJoinPool.commonPool();
+    int zChunks = Math.min(4 * pool.getParallelism(), (zItems + minIterationsPerTask -1) / minIterationsPerTask);
+    if(zChunks <2) {
+      execFor(wr, cmd, ixCmd, items, args);  //not enough to do for parallel.
+      return;
+    }
+    List<ForChunk> chunks = new ArrayList<ForChunk>(zChunks);
+    for(int ixChunk = 0; ixChunk < zChunks; ++ixChunk) {
+      int ixFrom = (int)((long)zItems * ixChunk / zChunks);
+      int ixTo = (int)((long)zItems * (ixChunk+1) / zChunks);
+      chunks.add(new ForChunk(cmd, ixCmd, items, ixFrom, ixTo, args));
+    }
+    if(isWorkerOfPool(pool)) {
+      RecursiveAction.invokeAll(chunks);           //nested in a parallel for, fork in the same pool
+    } else {
+      pool.invoke(new RecursiveAction() {
+        private static final long serialVersionUID = 1L;
+        @Override protected void compute() { invokeAll(chunks); }
+      });
+    }
+    for(ForChunk chunk: chunks) {
+      if(chunk.exc !=null) { throw chunk.exc; }
+      wr.append(chunk.buffer);
+    }
+    args.args[cmd.ixEntryVar] = items[zItems-1];   //same state as after execFor(...)
+    args.args[cmd.ixEntryVarNext] = null;
+  }
+  
+  
+  /**Checks whether the current thread is a worker of the given pool, then invokeAll can be used immediately. */
+  private static boolean isWorkerOfPool(ForkJoinPool pool) {
+    Thread thread = Thread.currentThread();
+    return thread instanceof ForkJoinWorkerThread 
+        && ((ForkJoinWorkerThread)thread).getPool() == pool;
+  }
+  
+  
+  
   /**Executes a call
    * @param wr the output channel
    * @param cmd The CallCmd
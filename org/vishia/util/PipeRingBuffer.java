@@ -1,44 +1,57 @@
 package org.vishia.util;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.locks.LockSupport;
 
 /**This class is a RingBuffer which can use as pipe. Typical applications are thread-intercommunication.
  * Therefore the routines of this class are thread-safe.
  * <br><br>
  * In opposite to {@link java.io.PipedReader} and {@link java.io.PipedWriter} this class contains a method
- * to read a line: {@link #getLine(char[])}. It is similar {@link java.io.BufferedReader}.
+ * to read a line: {@link #readLine()}. It is similar {@link java.io.BufferedReader}.
  * In opposite to {@link java.nio.channels.Pipe} this class deals with simple Appendable, not with that channels.
  * It may be more simple for application.
  * <br><br>
  * The pipe holds characters in a buffer. The buffer will be filled with the {@link #append(CharSequence, int, int)}
- * or {@link #offer(CharSequence, int, int)} and read out with {@link #getLine(char[])}.
- * The buffer may have a larger size, for example more as 1 MByte to hold larger data. The storing of characters
- * is organized in a ring strucuture.
+ * or {@link #offer(CharSequence, int, int)} and read out with {@link #read(char[], int, int)}, {@link #readLine()}
+ * or {@link #get(Appendable, String)}. The buffer has a fix size, the memory is constant independent of the amount
+ * of transferred characters. The storing of characters is organized in a ring structure.
  * <br><br>
+ * The buffer is organized for one producer and one consumer thread: The producer changes only the write position,
+ * the consumer only the read position. Both positions are volatile. Hence the producer and the consumer does not need
+ * a lock to access the buffer. If more as one thread writes (or reads), the writing (or reading) threads are serialized
+ * by a lock for the writing (or reading) side only.
  * <ul>
  * <li>The {@link #offer(CharSequence, int, int)} routine does never block, it returns false if there is no space
- *   in the buffer. But on writing its data it synchronizes with this class to prevent inconsistent data.
+ *   in the buffer.
  * <li>The append methods blocks if there is no space until any other thread has read out enough data.
- * <li>The {@link #getLine(char[])} method checks whether at least on char is in the Buffer. If the buffer is emtpy,
- *   it returns -1. If the buffer is not empty, it expects that a line may be found, because 
- *   it may be presumed that other threads writes whole lines. But it is possible that another thread has written only 
- *   a part of a line with {@link #append(CharSequence)}. In this case the other thread should work to complete.
- *   Therefore this thread waits 20 milliseconds, enough time for thread switch, and tries to complete the line.
- *   If this thread has a higher priority and the writing thread is very low, all other threads should work too.
- *   Only in that case the reading thread finishes its wait, try again, wait again etc.
- * <li>The {@link #get(Appendable, String)} does never wait. But it synchronized to prevent inconsistent data.
- * </ul>     
+ *   The buffer grows instead only if the writing thread is the reader itself or the reading thread is finished. 
+ *   Elsewhere the writer would wait forever. The reader is the thread which has read lastly 
+ *   or which is registered with {@link #openRead()}. If no reader is known, the writer waits till any thread reads.
+ * <li>{@link #close()} is the end of stream for the reading side. It should be called by the producer after the last append.
+ * <li>The {@link #read(char[], int, int)}, {@link #read()}, {@link #readLine()} and {@link #getLine(char[])} block
+ *   till characters are available or the end of stream is reached.
+ * <li>The {@link #get(Appendable, String)} and {@link #skip(String)} does never wait.
+ * <li>The CharSequence methods {@link #length()}, {@link #charAt(int)}, {@link #subSequence(int, int)} and {@link #toString()}
+ *   see the currently available characters without removing it.
+ * </ul>
  * @author hartmut Schorrig
  *
  */
-public class PipeRingBuffer implements Appendable
+public class PipeRingBuffer implements Appendable, CharSequence, Closeable
 {
   /**Version, history and license.
    * <ul>
-   * <li>not ready yet!
-   * <li>2013-12-31 Hartmut new 
+   * <li>2026-10-19 Hartmut corr: The buffer does not grow if no thread has read till now, the writer waits. 
+   *   The reader can be registered with {@link #openRead()} before the first read, see {@link #mayGrow()}.
+   * <li>2026-10-19 Hartmut chg: The buffer grows instead of blocking the writer if no other thread reads, see {@link #mayGrow()}.
+   * <li>2026-10-19 Hartmut new: implemented as ring for a producer and a consumer without locking each other,
+   *   blocking read and write, end of stream with {@link #close()}, {@link CharSequence} to see the available content.
+   *   Used for the <code>Pipe</code> variable of JZtxtcmd.
+   * <li>2013-12-31 Hartmut new
    * </ul>
-   * 
+   *
    * <b>Copyright/Copyleft</b>:
    * For this source the LGPL Lesser General Public License, published by the Free Software Foundation is valid.
    * It means:
@@ -57,142 +70,418 @@ public class PipeRingBuffer implements Appendable
    *    You mustn't delete this Copyright/Copyleft inscription in this source file.
    * </ol>
    * If you are intent to use this sources without publishing its usage, you can get
-   * a second license subscribing a special contract with the author. 
-   * 
+   * a second license subscribing a special contract with the author.
+   *
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
-   * 
-   * 
+   *
+   *
    */
-  static final public String sVersion = "2013-12-31";
+  static final public String sVersion = "2026-10-19";
 
-  private final char[] buffer;
-  
-  private int posw, posr, zchars;
-  
-  
+  /**The size is a power of 2, the position in the buffer is <code>pos & (buffer.length-1)</code>. 
+   * It is replaced by a greater one in {@link #grow(int)} by the writer. 
+   * The reader reads {@link #posw} before the buffer, hence it gets the new buffer if it sees characters written in it. */
+  private volatile char[] buffer;
+
+  /**Number of all written and read characters. Only the producer changes {@link #posw}, only the consumer {@link #posr}.
+   * The number of available characters is <code>posw - posr</code>. */
+  private volatile long posw, posr;
+
+  /**Set by {@link #close()}, end of stream after the available characters. */
+  private volatile boolean bClosed;
+
+  /**The thread which waits for space or for characters, null if no thread waits. */
+  private volatile Thread waitingWriter, waitingReader;
+
+  /**The last thread which has read or which is registered with {@link #openRead()}, null if nothing was read till now. 
+   * See {@link #mayGrow()}. */
+  private volatile Thread threadReader;
+
+  /**Serializes more as one producer or consumer. */
+  private final Object lockWrite = new Object(), lockRead = new Object();
+
+
+  /**Creates the buffer.
+   * @param buffersize number of characters, it is rounded up to a power of 2.
+   */
   public PipeRingBuffer(int buffersize)
   {
-    buffer = new char[buffersize];
+    int size = 16;
+    while(size < buffersize && size < 0x40000000) { size <<= 1; }
+    this.buffer = new char[size];
   }
 
-  
-  
+
+  /**Returns the current size of the buffer. */
+  public int capacity(){ return this.buffer.length; }
+
+
+  /**Returns the number of characters which can be read without waiting. */
+  public int available(){ return (int)(this.posw - this.posr); }
+
+
+  /**Returns true if {@link #close()} was called. There may be available characters furthermore. */
+  public boolean isClosed(){ return this.bClosed; }
+
+
+  /**Registers the current thread as reader of the pipe. It is the same as on any read, 
+   * but it can be done before the first read. If the writer is the reader itself, the buffer grows 
+   * instead of blocking the writer forever. If the reader is another thread, the writer waits for space 
+   * while this thread is alive. 
+   * @since 2026-10 */
+  public void openRead(){ this.threadReader = Thread.currentThread(); }
+
+
+
   @Override
-  public Appendable append(CharSequence csq) throws IOException{ 
+  public Appendable append(CharSequence csq) throws IOException{
     return append(csq, 0, csq.length());
   }
 
-  
+
+  /**Writes the characters if there is enough space for all characters. It does never block.
+   * @return false if there is not enough space, nothing is written then. false also after {@link #close()}.
+   */
   public boolean offer(CharSequence csq, int from, int to){
     int z = to - from;
-    boolean ok;
-    synchronized(this) {
-      int capac = posr - posw;
-      if(capac <=0){ capac += buffer.length; }
-      if(capac < z){ ok= false; }
-      else{
-        int posw1 = posw;
-        posw += z;
-        if(posw >= buffer.length){
-          posw -= buffer.length; 
-        }
-        int from1 = from;
-        while(z >0){
-          char cc = csq.charAt(from1);
-          buffer[posw1++] = cc;
-          if(posw1 >= buffer.length){
-            posw1 = 0;
-          }
-        }
-        ok = true;
-      }
+    synchronized(this.lockWrite) {
+      if(this.bClosed || this.buffer.length - (this.posw - this.posr) < z) return false;
+      write(csq, from, z);
     }
-    return ok;
+    return true;
   }
-  
+
+
   @Override
   public Appendable append(char c) throws IOException
   {
-    // TODO Auto-generated method stub
-    return null;
+    synchronized(this.lockWrite) {
+      while(this.buffer.length - (this.posw - this.posr) == 0) {
+        if(mayGrow()) { grow(1); }
+        else { waitSpace(); }
+      }
+      if(this.bClosed) throw new IOException("PipeRingBuffer - append after close");
+      long posw1 = this.posw;
+      char[] buf = this.buffer;
+      buf[(int)posw1 & (buf.length -1)] = c;
+      this.posw = posw1 +1;
+    }
+    wakeup(this.waitingReader);
+    return this;
   }
 
-  
-  
-  
+
+
+
+  /**Writes the characters, blocks if there is not enough space and another thread reads. The characters are written in parts
+   * if there is more as the free space, hence also a text longer than the buffer can be written.
+   * If no other thread reads, the buffer grows, see {@link #mayGrow()}.
+   * @throws IOException if the pipe is closed or the thread is interrupted while waiting.
+   */
   @Override
   public Appendable append(CharSequence csq, int start, int end)
       throws IOException
   {
-    InterruptedException eInterrupted = null;
-    synchronized(this){
-      while(eInterrupted ==null && !offer(csq, start, end)){
-        try { wait(1000);
-        } catch (InterruptedException exc) {
-          eInterrupted = exc;
+    int from = start;
+    synchronized(this.lockWrite) {
+      if(this.bClosed) throw new IOException("PipeRingBuffer - append after close");
+      while(from < end) {
+        int zFree = this.buffer.length - (int)(this.posw - this.posr);
+        if(zFree == 0) {
+          if(mayGrow()) { grow(end - from); }
+          else { waitSpace(); }
+        } else {
+          int z = Math.min(zFree, end - from);
+          write(csq, from, z);
+          from += z;
+          wakeup(this.waitingReader);
         }
       }
     }
-    if(eInterrupted !=null){
-      throw new IOException(eInterrupted);
-    }
     return this;
   }
-  
-  
-  
-  int getLine(char[] dst){
-    int zdst = dst.length;
-    int idst = 0;
-    synchronized(this){
-      int lineend = posr;
-      int z = posw - posr;
-      if(z < 0){ z = buffer.length; }
-      while(--z >=0 && idst < zdst){
-        char cc = buffer[++lineend];
-        if(lineend >= buffer.length){
-          lineend =0;
-        }
-        if(cc == '\n' || cc=='r'){
-          while(--z >=0){
-            cc = buffer[lineend];
-            if(cc == '\n' || cc=='r'){
-              if(++lineend >= buffer.length){
-                lineend =0;
-              }
-            } else { break; }
-          }
-          posr = lineend;
-          break;
-        } else {
-          dst[idst++] = cc;
-        }
+
+
+
+  /**Marks the end of stream. The reader gets the available characters and then the end of stream.
+   * Further append are not possible. */
+  @Override public void close()
+  {
+    this.bClosed = true;
+    wakeup(this.waitingReader);
+    wakeup(this.waitingWriter);
+  }
+
+
+
+  /**Reads characters, blocks till at least one character is available or the end of stream is reached.
+   * @return number of read characters, -1 on end of stream.
+   * @throws InterruptedIOException if the thread is interrupted while waiting.
+   */
+  public int read(char[] dst, int off, int len) throws InterruptedIOException
+  {
+    int z;
+    this.threadReader = Thread.currentThread();
+    synchronized(this.lockRead) {
+      while( (z = (int)(this.posw - this.posr)) == 0) {
+        if(!waitChars()) return -1;
+      }
+      if(z > len) { z = len; }
+      long posr1 = this.posr;
+      char[] buf = this.buffer;                            //read after posw
+      int ix = (int)posr1 & (buf.length -1);
+      int z1 = Math.min(z, buf.length - ix);               //till end of buffer
+      System.arraycopy(buf, ix, dst, off, z1);
+      if(z1 < z) {
+        System.arraycopy(buf, 0, dst, off + z1, z - z1);
+      }
+      this.posr = posr1 + z;
+    }
+    wakeup(this.waitingWriter);
+    return z;
+  }
+
+
+
+  /**Reads one character, blocks till it is available.
+   * @return the character or -1 on end of stream.
+   */
+  public int read() throws InterruptedIOException
+  {
+    int cc;
+    this.threadReader = Thread.currentThread();
+    synchronized(this.lockRead) {
+      while(this.posw == this.posr) {
+        if(!waitChars()) return -1;
+      }
+      long posr1 = this.posr;
+      char[] buf = this.buffer;
+      cc = buf[(int)posr1 & (buf.length -1)];
+      this.posr = posr1 +1;
+    }
+    wakeup(this.waitingWriter);
+    return cc;
+  }
+
+
+
+  /**Reads a line, blocks till the line end is available. The line end is "\n", "\r\n" or "\r".
+   * @return the line without line end, or the rest before end of stream, null on end of stream.
+   */
+  public String readLine() throws InterruptedIOException
+  {
+    StringBuilder line = new StringBuilder(80);
+    synchronized(this.lockRead) {
+      int cc;
+      while( (cc = read()) >=0 && cc != '\n' && cc != '\r') {
+        line.append((char)cc);
       }
+      if(cc == '\r' && peek() == '\n') {
+        read();                                              //skip \n after \r
+      }
+      if(cc < 0 && line.length() == 0) return null;
     }
-    return 0;
+    return line.toString();
   }
-  
-  
+
+
+
+  /**Reads a line into dst, blocks till the line end is available.
+   * The line end is "\n", "\r\n" or "\r", it is not stored in dst.
+   * @return number of characters in dst. If the line is longer than dst, dst is full and the rest of line is the next line.
+   *   -1 on end of stream.
+   */
+  public int getLine(char[] dst) throws InterruptedIOException {
+    int zdst = 0;
+    synchronized(this.lockRead) {
+      int cc = 0;
+      while(zdst < dst.length && (cc = read()) >=0 && cc != '\n' && cc != '\r') {
+        dst[zdst++] = (char)cc;
+      }
+      if(cc == '\r' && peek() == '\n') {
+        read();
+      }
+      if(cc < 0 && zdst == 0) return -1;
+    }
+    return zdst;
+  }
+
+
   /**Gets the available number of characters from Buffer till any of the charsBreak are found.
-   * 
+   * It does not wait. The break character is not read.
    * @param dst
    * @param charsBreak
    * @return 0 if the buffer has not characters to read. It is empty. <br>
    *   >0 if a charsBreak is reached, <br>
    *   <0 if some chars are read, but a charsBreak is not found till end of buffer.
+   * @throws IOException from dst
    */
-  public int get(Appendable dst, String charsBreak){
-    return -1;
+  public int get(Appendable dst, String charsBreak) throws IOException {
+    int zchars = 0;
+    boolean bBreak = false;
+    this.threadReader = Thread.currentThread();
+    synchronized(this.lockRead) {
+      long posr1 = this.posr;
+      long posw1 = this.posw;
+      char[] buf = this.buffer;
+      while(posr1 < posw1) {
+        char cc = buf[(int)posr1 & (buf.length -1)];
+        if(charsBreak.indexOf(cc) >=0) { bBreak = true; break; }
+        dst.append(cc);
+        posr1 +=1;
+        zchars +=1;
+      }
+      this.posr = posr1;
+    }
+    if(zchars >0) { wakeup(this.waitingWriter); }
+    return bBreak ? zchars : -zchars;
   }
 
-  /**Skips over all characters which are member of charsBreak
+
+  /**Skips over all characters which are member of charsBreak. It does not wait.
    * @param charsBreak Characters to skip, for example "\r\n" to skip over both newline or return.
    * @return the number of skipped characters.
    */
   public int skip(String charsBreak){
-    return 0;
+    int zchars = 0;
+    this.threadReader = Thread.currentThread();
+    synchronized(this.lockRead) {
+      long posr1 = this.posr;
+      long posw1 = this.posw;
+      char[] buf = this.buffer;
+      while(posr1 < posw1 && charsBreak.indexOf(buf[(int)posr1 & (buf.length -1)]) >=0) {
+        posr1 +=1;
+        zchars +=1;
+      }
+      this.posr = posr1;
+    }
+    if(zchars >0) { wakeup(this.waitingWriter); }
+    return zchars;
+  }
+
+
+  /**Returns the number of available characters, see {@link #available()}. */
+  @Override public int length() { return available(); }
+
+
+  /**Returns an available character without reading it. */
+  @Override public char charAt(int index) {
+    if(index < 0 || index >= available()) throw new IndexOutOfBoundsException("PipeRingBuffer - charAt; " + index);
+    char[] buf = this.buffer;
+    return buf[(int)(this.posr + index) & (buf.length -1)];
+  }
+
+
+  /**Returns a copy of available characters without reading it. */
+  @Override public CharSequence subSequence(int start, int end) {
+    if(start < 0 || end < start || end > available()) throw new IndexOutOfBoundsException("PipeRingBuffer - subSequence; " + start + ".." + end);
+    StringBuilder u = new StringBuilder(end - start);
+    long posr1 = this.posr;
+    char[] buf = this.buffer;
+    for(int ix = start; ix < end; ++ix) {
+      u.append(buf[(int)(posr1 + ix) & (buf.length -1)]);
+    }
+    return u;
+  }
+
+
+  /**Returns the available characters without reading it. */
+  @Override public String toString() { return subSequence(0, available()).toString(); }
+
+
+
+  /**Copies z characters to the buffer and sets the write position. The space should be checked before. */
+  private void write(CharSequence csq, int from, int z) {
+    long posw1 = this.posw;
+    char[] buf = this.buffer;
+    int mask = buf.length -1;
+    int ix = (int)posw1 & mask;
+    int z1 = Math.min(z, buf.length - ix);              //till end of buffer
+    if(csq instanceof String) {
+      ((String)csq).getChars(from, from + z1, buf, ix);
+      ((String)csq).getChars(from + z1, from + z, buf, 0);
+    } else if(csq instanceof StringBuilder) {
+      ((StringBuilder)csq).getChars(from, from + z1, buf, ix);
+      ((StringBuilder)csq).getChars(from + z1, from + z, buf, 0);
+    } else {
+      for(int ixSrc = 0; ixSrc < z; ++ixSrc) {
+        buf[(int)(posw1 + ixSrc) & mask] = csq.charAt(from + ixSrc);
+      }
+    }
+    this.posw = posw1 + z;                              //publishes the characters to the reader.
+  }
+
+
+  /**Returns the next character without reading it, blocks till it is available. Called in lockRead.
+   * @return -1 on end of stream. */
+  private int peek() throws InterruptedIOException {
+    while(this.posw == this.posr) {
+      if(!waitChars()) return -1;
+    }
+    char[] buf = this.buffer;
+    return buf[(int)this.posr & (buf.length -1)];
+  }
+
+
+  /**Returns true if the writer should not wait for space because no other thread reads:
+   * The writing thread is the reader itself, or the reading thread is finished.
+   * Then the buffer should grow, see {@link #grow(int)}. Called in lockWrite. 
+   * If no reader is known, nothing was read till now and {@link #openRead()} was not called, the writer waits
+   * till any thread reads. Elsewhere a producer which starts before the consumer would grow the buffer to the maximum. */
+  private boolean mayGrow() {
+    Thread reader = this.threadReader;
+    return reader !=null && (reader == Thread.currentThread() || !reader.isAlive()) && this.buffer.length < 0x40000000;
+  }
+
+
+  /**Replaces the buffer by a greater one, at least for zNeeded free characters if possible. Called in lockWrite. 
+   * The reader can read concurrently. The characters from the current read position are copied,
+   * the old buffer is not changed further. Hence a reader which has gotten the old buffer 
+   * reads the same characters there as in the new one. */
+  private void grow(int zNeeded) {
+    char[] buf = this.buffer;
+    long posr1 = this.posr;
+    long posw1 = this.posw;
+    int size = buf.length;
+    do { size <<= 1; } while(size - (posw1 - posr1) < zNeeded && size < 0x40000000);
+    char[] bufNew = new char[size];
+    int mask = buf.length -1, maskNew = size -1;
+    for(long pos = posr1; pos < posw1; ++pos) {
+      bufNew[(int)pos & maskNew] = buf[(int)pos & mask];
+    }
+    this.buffer = bufNew;                              //publish before posw is changed by writing.
+  }
+
+
+  /**Waits till the reader has read some characters. Called in lockWrite. */
+  private void waitSpace() throws IOException {
+    if(this.bClosed) throw new IOException("PipeRingBuffer - append after close");
+    this.waitingWriter = Thread.currentThread();
+    if(this.buffer.length - (this.posw - this.posr) == 0) { //check again after set waitingWriter
+      LockSupport.parkNanos(this, 100000000L);
+    }
+    this.waitingWriter = null;
+    if(Thread.interrupted()) throw new InterruptedIOException("PipeRingBuffer - interrupted while waiting for space");
   }
-  
-  
-  
+
+
+  /**Waits till the writer has written some characters. Called in lockRead.
+   * @return false on end of stream without characters. */
+  private boolean waitChars() throws InterruptedIOException {
+    if(this.posw != this.posr) return true;
+    if(this.bClosed) return this.posw != this.posr;         //check again, the last chars are written before close.
+    this.waitingReader = Thread.currentThread();
+    if(this.posw == this.posr && !this.bClosed) {          //check again after set waitingReader
+      LockSupport.parkNanos(this, 100000000L);
+    }
+    this.waitingReader = null;
+    if(Thread.interrupted()) throw new InterruptedIOException("PipeRingBuffer - interrupted while waiting for characters");
+    return this.posw != this.posr || !this.bClosed;
+  }
+
+
+  private static void wakeup(Thread thread) {
+    if(thread !=null) { LockSupport.unpark(thread); }
+  }
+
 }
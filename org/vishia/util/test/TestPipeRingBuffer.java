@@ -0,0 +1,126 @@
+package org.vishia.util.test;
+
+import java.io.IOException;
+
+import org.vishia.util.PipeRingBuffer;
+import org.vishia.util.TestOrg;
+
+/**This class tests the {@link PipeRingBuffer} with a producer and a consumer thread:
+ * The producer blocks if the buffer is full and another thread reads, the consumer gets the end of stream after close.
+ * The buffer grows only if the writer reads itself.
+ * @author Hartmut Schorrig
+ *
+ */
+public class TestPipeRingBuffer
+{
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test PipeRingBuffer", 1, args);
+    TestPipeRingBuffer thiz = new TestPipeRingBuffer();
+    try {
+      thiz.testBlockingAtCapacity(test);
+      thiz.testNoReaderBlocks(test);
+      thiz.testWriterReadsItself(test);
+      thiz.testCloseWhileWriting(test);
+    }
+    catch (Exception exc) {
+      test.exception(exc);
+    }
+    test.finish();
+  }
+
+
+  /**Result of the producer thread: "ok" or the message of the exception. */
+  private volatile String sProducer;
+
+  /**Starts a thread which writes nrLines lines with 10 characters "line 1000\n" etc. into the pipe. */
+  private Thread startProducer(final PipeRingBuffer pipe, final int nrLines, final boolean bClose) {
+    this.sProducer = null;
+    Thread thread = new Thread("producer") {
+      @Override public void run() {
+        try {
+          for(int ix = 0; ix < nrLines; ++ix) {
+            pipe.append("line " + (1000 + ix) + "\n");
+          }
+          if(bClose) { pipe.close(); }
+          TestPipeRingBuffer.this.sProducer = "ok";
+        } catch(IOException exc) {
+          TestPipeRingBuffer.this.sProducer = exc.getMessage();
+        }
+      }
+    };
+    thread.start();
+    return thread;
+  }
+
+
+  void testBlockingAtCapacity(TestOrg parent) throws Exception {
+    TestOrg test = new TestOrg("producer blocks at capacity, consumer gets end of stream on close", 2, parent);
+    PipeRingBuffer pipe = new PipeRingBuffer(32);
+    pipe.openRead();
+    Thread producer = startProducer(pipe, 10, true);
+    Thread.sleep(300);
+    test.expect(producer.isAlive() && this.sProducer == null, 2, "producer blocks");
+    test.expect(pipe.capacity() == 32 && pipe.available() == 32, 2, "buffer full, not grown: " + pipe.capacity());
+    int nrLines = 0;
+    boolean bOrder = true;
+    String line;
+    while( (line = pipe.readLine()) !=null) {
+      bOrder &= line.equals("line " + (1000 + nrLines));
+      nrLines +=1;
+    }
+    producer.join(1000);
+    test.expect(nrLines == 10 && bOrder, 2, "all lines read in order: " + nrLines);
+    test.expect("ok".equals(this.sProducer), 2, "producer finished");
+    test.expect(pipe.read() == -1 && pipe.readLine() == null, 2, "end of stream after close");
+    test.expect(pipe.capacity() == 32, 2, "buffer not grown");
+    test.finish();
+  }
+
+
+  void testNoReaderBlocks(TestOrg parent) throws Exception {
+    TestOrg test = new TestOrg("producer blocks if no thread has read till now", 2, parent);
+    PipeRingBuffer pipe = new PipeRingBuffer(32);
+    Thread producer = startProducer(pipe, 10, true);
+    Thread.sleep(300);
+    test.expect(producer.isAlive() && pipe.capacity() == 32, 2, "producer blocks, buffer not grown: " + pipe.capacity());
+    int nrLines = 0;
+    while(pipe.readLine() !=null) { nrLines +=1; }
+    producer.join(1000);
+    test.expect(nrLines == 10 && "ok".equals(this.sProducer), 2, "all lines read after the consumer has started: " + nrLines);
+    test.finish();
+  }
+
+
+  void testWriterReadsItself(TestOrg parent) throws Exception {
+    TestOrg test = new TestOrg("the buffer grows if the writer is the reader", 2, parent);
+    PipeRingBuffer pipe = new PipeRingBuffer(32);
+    pipe.openRead();
+    for(int ix = 0; ix < 10; ++ix) {
+      pipe.append("line " + (1000 + ix) + "\n");
+    }
+    pipe.close();
+    test.expect(pipe.capacity() >= 100 && pipe.available() == 100, 2, "buffer grown: " + pipe.capacity());
+    int nrLines = 0;
+    while(pipe.readLine() !=null) { nrLines +=1; }
+    test.expect(nrLines == 10, 2, "all lines read: " + nrLines);
+    test.finish();
+  }
+
+
+  void testCloseWhileWriting(TestOrg parent) throws Exception {
+    TestOrg test = new TestOrg("close while the producer waits for space", 2, parent);
+    PipeRingBuffer pipe = new PipeRingBuffer(32);
+    pipe.openRead();
+    Thread producer = startProducer(pipe, 10, false);
+    Thread.sleep(300);
+    pipe.close();
+    producer.join(1000);
+    test.expect(!producer.isAlive() && this.sProducer !=null && this.sProducer.contains("append after close"), 2, "producer gets IOException: " + this.sProducer);
+    int nrChars = 0;
+    while(pipe.read() >=0) { nrChars +=1; }
+    test.expect(nrChars == 32, 2, "available characters read before end of stream: " + nrChars);
+    test.finish();
+  }
+
+}
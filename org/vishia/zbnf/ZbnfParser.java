@@ -24,6 +24,8 @@
 package org.vishia.zbnf;
 
 //import java.io.InputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -133,6 +135,8 @@ public class ZbnfParser
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19: new {@link #setSyntaxFrom(ZbnfParser)} to parse with more as one parser instance in parallel threads with the same syntax.
+   * <li>2026-10-19: new {@link #writeParseResult(DataOutput)} and {@link #readParseResult(DataInput)} to store a parse result persistently.
    * <li>2020-02-02: new {@link #setSyntaxFromJar(Class, String)} and {@link #parseFileFromJar(Class, String, int)}
    * <li>2020-01-16: &lt;?%> is possible as marker in syntax to force debug stop on {@link ZbnfSyntaxPrescript#bDebugParsing},
    *   hence it is more simple to test a Zbnf script.
@@ -286,7 +290,7 @@ public class ZbnfParser
    * <li>2006-05-00 JcHartmut: creation
    * </ul>
    */
-  public static final String sVersion = "2020-02-02";
+  public static final String sVersion = "2026-10-19";
 
   /** Helpfull empty string to build some spaces in strings. */
   static private final String sEmpty = "                                                                                                                                                                                                                                                                                                                          ";
@@ -2732,6 +2736,41 @@ public class ZbnfParser
 
 
   
+  /**Uses the same syntax as the given parser. The syntax is not parsed again.
+   * The syntax tree is not changed while parsing, hence some parser instances can use the same syntax tree
+   * to parse different inputs in different threads. Any parser instance has its own parse result.
+   * The settings for comment, white spaces and encoding from the source parser are copied too.
+   * @param src A parser with a syntax set with one of the {@link #setSyntax(File)} routines. 
+   *   It should not be changed after this call.
+   * @since 2026-10
+   */
+  public void setSyntaxFrom(ZbnfParser src) {
+    this.listSubPrescript.putAll(src.listSubPrescript);
+    this.listKeywords.putAll(src.listKeywords);
+    if(src.xmlnsList !=null) {
+      if(this.xmlnsList == null) { this.xmlnsList = new TreeMap<String, String>(); }
+      this.xmlnsList.putAll(src.xmlnsList);
+    }
+    this.mainScript = src.mainScript;
+    this.bConstantSyntaxAsParseResult = src.bConstantSyntaxAsParseResult;
+    this.sCommentStringStart = src.sCommentStringStart;
+    this.sCommentStringEnd = src.sCommentStringEnd;
+    this.bStoreComment = src.bStoreComment;
+    this.sEndlineCommentStringStart = src.sEndlineCommentStringStart;
+    this.bStoreEndlineComment = src.bStoreEndlineComment;
+    this.sWhiteSpaces = src.sWhiteSpaces;
+    this.bStoreNewline = src.bStoreNewline;
+    this.bStoreOneSpaceOnWhitespaces = src.bStoreOneSpaceOnWhitespaces;
+    this.bStoreWhiteSpaces = src.bStoreWhiteSpaces;
+    this.sInputEncodingKeyword = src.sInputEncodingKeyword;
+    this.sInputEncoding = src.sInputEncoding;
+    this.charsetInput = src.charsetInput;
+    this.builderTreeNodeXml.bXmlSrcline = src.builderTreeNodeXml.bXmlSrcline;
+    this.builderTreeNodeXml.bXmlSrctext = src.builderTreeNodeXml.bXmlSrctext;
+  }
+
+
+  
   /**Sets another syntax rule as the first entry in the given syntax.
    * This routine should be invoked only with a given syntax, one of the {@link #setSyntax(File)} routines should be called before.
    * @param ident syntax rule, <identifier>::=
@@ -3289,6 +3328,31 @@ public class ZbnfParser
 
   
   
+  /**Writes the result of the last parsing in a binary format, which can be read with {@link #readParseResult(DataInput)}
+   * without parsing. It is used to store parse results in a cache.
+   * @param out usual a DataOutputStream to a file
+   * @throws IOException
+   */
+  public void writeParseResult(DataOutput out) throws IOException {
+    parserStoreTopLevel.writeBinary(out);
+  }
+  
+  
+  /**Reads a parse result written with {@link #writeParseResult(DataOutput)}.
+   * Note: The {@link ZbnfParseResultItem#syntaxItem()} of the items contains only the identifier and attributes of the syntax,
+   *   not the syntax tree. 
+   * @param inp usual a DataInputStream from a file
+   * @return The first parse result item to start stepping to the results, adequate {@link #getFirstParseResult()}.
+   *   null if the stored result was empty.
+   * @throws IOException on file error or faulty format.
+   */
+  public static ZbnfParseResultItem readParseResult(DataInput inp) throws IOException {
+    ZbnfParserStore store = ZbnfParserStore.readBinary(inp);
+    return store.getFirstParseResult();
+  }
+  
+  
+  
   /**Returns the XML-like result tree.
    * Note that the {@link XmlNodeSimple} can be written as XML textfile or converted to a Java-XML-format (TODO)
    * using {@link @org.vishia.xmlSimple.SimpleXmlOutputter}
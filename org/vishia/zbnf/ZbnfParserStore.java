@@ -29,12 +29,19 @@
  ****************************************************************************/
 package org.vishia.zbnf; 
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.vishia.util.Assert;
 import org.vishia.util.Debugutil;
+import org.vishia.util.IndexMultiTable;
 import org.vishia.util.SortedTreeNode;
 import org.vishia.util.StringPart;
 import org.vishia.xmlSimple.WikistyleTextToSimpleXml;
@@ -69,6 +76,9 @@ class ZbnfParserStore
 {
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: {@link #writeBinary(DataOutput)} and {@link #readBinary(DataInput)}: The parse result can be stored
+   *   and restored without parsing, used for a cache of translated scripts. 
+   *   Of the {@link ParseResultItemImplement#syntaxItem()} only the identifier, the type and the attributes are restored.
    * <li>2019-05-22 Hartmut chg: {@link ParseResultItemImplement#getText()} improved while testing ZBNF/testAllConecpts (from 2009).<br>
    *   {@link BuilderTreeNodeXml#createXmlNode(XmlNode, ParseResultItemImplement)}: On repetition item an XmlNode for <code>{&lt;?semantic>...</code>
    *   should be created anywhere, because elsewhere only one node exists. 
@@ -126,7 +136,7 @@ class ZbnfParserStore
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de, www.vishia.org
    * 
    */
-  public static final String sVersion = "2017-03-25";
+  public static final String sVersion = "2026-10-19";
 
   
   /** Constant to detect the entry describes a terminate symbol. -32767*/
@@ -829,6 +839,167 @@ class ZbnfParserStore
 
   
   
+  /**Version of the binary format written by {@link #writeBinary(DataOutput)}. Should be changed on any change of the format. */
+  private static final int versionBinary = 0x20261019;
+  
+  
+  /**Writes all items of this store in a compact binary form. The written data are independent of the syntax instance.
+   * Strings are written one time, repetitions are written as index to the first occurrence.
+   * From the syntax element of an item only the data are written which are used by the evaluation of a result:
+   * the identifier, the type and the attributes.
+   * @param out any output, usual a DataOutputStream to a file.
+   * @throws IOException
+   */
+  void writeBinary(DataOutput out) throws IOException {
+    Map<String, Integer> strings = new HashMap<String, Integer>();
+    Map<ZbnfSyntaxPrescript, Integer> syntaxItems = new IdentityHashMap<ZbnfSyntaxPrescript, Integer>();
+    out.writeInt(versionBinary);
+    out.writeInt(this.items.size());
+    for(ParseResultItemImplement item: this.items) {
+      ZbnfSyntaxPrescript syntax = item.syntaxElement;
+      if(syntax == null) {
+        out.writeInt(-1);
+      } else {
+        Integer ixSyntax = syntaxItems.get(syntax);
+        if(ixSyntax !=null) {
+          out.writeInt(ixSyntax.intValue());
+        } else {                                           //first occurrence of this syntax item: write its data.
+          out.writeInt(-2);
+          syntaxItems.put(syntax, Integer.valueOf(syntaxItems.size()));
+          writeString(out, syntax.sDefinitionIdent, strings);
+          out.writeByte(syntax.eType == null ? -1 : syntax.eType.ordinal());
+          out.writeBoolean(syntax.bDebugParsing);
+          if(syntax.attributes == null) {
+            out.writeShort(0);
+          } else {
+            out.writeShort(syntax.attributes.size());
+            for(Map.Entry<String, String> attr: syntax.attributes.entrySet()) {
+              writeString(out, attr.getKey(), strings);
+              writeString(out, attr.getValue(), strings);
+            }
+          }
+        }
+      }
+      writeString(out, item.sSemantic, strings);
+      writeString(out, item.sInput, strings);
+      writeString(out, item.parsedString, strings);
+      writeString(out, item.sFile, strings);
+      writeString(out, item.syntaxIdent, strings);
+      out.writeInt(item.kind);
+      out.writeInt(item.nrofAlternative);
+      out.writeLong(item.parsedIntegerNumber);
+      out.writeDouble(item.parsedFloatNumber);
+      out.writeInt(item.idxOwn);
+      out.writeInt(item.offsetAfterEnd);
+      out.writeInt(item.parent == null ? -1 : item.parent.idxOwn);
+      out.writeLong(item.start);
+      out.writeLong(item.end);
+      out.writeLong(item.srcPos);
+      out.writeInt(item.srcLine);
+      out.writeInt(item.srcColumn);
+    }
+  }
+  
+  
+  /**Reads a store which was written with {@link #writeBinary(DataOutput)}. 
+   * @param inp any input, usual a DataInputStream from a file
+   * @return a new instance which contains the stored items.
+   * @throws IOException also on faulty format.
+   */
+  static ZbnfParserStore readBinary(DataInput inp) throws IOException {
+    if(inp.readInt() != versionBinary) throw new IOException("ZbnfParserStore.readBinary - faulty format version");
+    int zItems = inp.readInt();
+    if(zItems <0) throw new IOException("ZbnfParserStore.readBinary - faulty number of items");
+    List<String> strings = new ArrayList<String>();
+    List<ZbnfSyntaxPrescript> syntaxItems = new ArrayList<ZbnfSyntaxPrescript>();
+    ZbnfSyntaxPrescript.EType[] eTypes = ZbnfSyntaxPrescript.EType.values();
+    ZbnfParserStore store = new ZbnfParserStore();
+    store.items.ensureCapacity(zItems);
+    for(int ix = 0; ix < zItems; ++ix) {
+      int ixSyntax = inp.readInt();
+      final ZbnfSyntaxPrescript syntax;
+      if(ixSyntax == -1) {
+        syntax = null;
+      } else if(ixSyntax == -2) {
+        String sDefinitionIdent = readString(inp, strings);
+        int ixType = inp.readByte();
+        syntax = new ZbnfSyntaxPrescript(null, ixType >=0 && ixType < eTypes.length ? eTypes[ixType] : null, 0);
+        syntax.sDefinitionIdent = sDefinitionIdent;
+        syntax.bDebugParsing = inp.readBoolean();
+        int zAttributes = inp.readShort();
+        if(zAttributes >0) {
+          syntax.attributes = new IndexMultiTable<String, String>(IndexMultiTable.providerString);
+          for(int ixAttr = 0; ixAttr < zAttributes; ++ixAttr) {
+            String name = readString(inp, strings);
+            syntax.attributes.put(name, readString(inp, strings));
+          }
+        }
+        syntaxItems.add(syntax);
+      } else if(ixSyntax >=0 && ixSyntax < syntaxItems.size()) {
+        syntax = syntaxItems.get(ixSyntax);
+      } else throw new IOException("ZbnfParserStore.readBinary - faulty syntax index");
+      String sSemantic = readString(inp, strings);
+      ParseResultItemImplement item = new ParseResultItemImplement(store, sSemantic, null, null, syntax);
+      item.sInput = readString(inp, strings);
+      item.parsedString = readString(inp, strings);
+      item.sFile = readString(inp, strings);
+      item.syntaxIdent = readString(inp, strings);
+      item.kind = inp.readInt();
+      item.nrofAlternative = inp.readInt();
+      item.parsedIntegerNumber = inp.readLong();
+      item.parsedFloatNumber = inp.readDouble();
+      item.idxOwn = inp.readInt();
+      item.offsetAfterEnd = inp.readInt();
+      int ixParent = inp.readInt();
+      if(item.idxOwn != ix || ixParent >= ix || item.offsetAfterEnd <1 || ix + item.offsetAfterEnd > zItems) {
+        throw new IOException("ZbnfParserStore.readBinary - inconsistent item " + ix);
+      }
+      item.parent = ixParent <0 ? null : store.items.get(ixParent);
+      item.start = inp.readLong();
+      item.end = inp.readLong();
+      item.srcPos = inp.readLong();
+      item.srcLine = inp.readInt();
+      item.srcColumn = inp.readInt();
+      store.items.add(item);
+    }
+    return store;
+  }
+  
+  
+  /**Writes a String or null, or the index of a given String, see {@link #readString(DataInput, List)}. */
+  private static void writeString(DataOutput out, String s, Map<String, Integer> strings) throws IOException {
+    if(s == null) { out.writeInt(-1); }
+    else {
+      Integer ix = strings.get(s);
+      if(ix !=null) { out.writeInt(ix.intValue()); }
+      else {
+        strings.put(s, Integer.valueOf(strings.size()));
+        out.writeInt(-2);
+        out.writeInt(s.length());
+        out.writeChars(s);                                 //writeUTF is limited to 64k
+      }
+    }
+  }
+  
+  
+  private static String readString(DataInput inp, List<String> strings) throws IOException {
+    int ix = inp.readInt();
+    if(ix == -1) return null;
+    else if(ix == -2) {
+      int zChars = inp.readInt();
+      if(zChars <0) throw new IOException("ZbnfParserStore.readBinary - faulty string length");
+      char[] chars = new char[zChars];
+      for(int ixc = 0; ixc < zChars; ++ixc) { chars[ixc] = inp.readChar(); }
+      String s = new String(chars);
+      strings.add(s);
+      return s;
+    }
+    else if(ix >=0 && ix < strings.size()) return strings.get(ix);
+    else throw new IOException("ZbnfParserStore.readBinary - faulty string index");
+  }
+  
+  
+  
   /** Adds a new item
    *
    * @param sSemantic
@@ -16,11 +16,27 @@ package org.vishia.zcmd;
 //==endJZcmd==
 
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.vishia.byteData.ByteDataAccessBase;
 import org.vishia.mainCmd.MainCmd;
@@ -42,6 +58,10 @@ public class Bin2Data
 {
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: {@link #exportCsv(File, boolean, File, int)} and {@link #exportColumns(File, boolean, File, int)}
+   *   for files with some GByte: The file is memory mapped in chunks of records, the chunks are decoded in parallel
+   *   and written in order. The file is not loaded in the heap.
+   * <li>2026-10-19 Hartmut corr: {@link #getFloat(int, String)} for type 'I' has returned 0 always, now the int32 value. 
    * <li>2016-01-15 Hartmut created.
    * </ul>
    * <br><br>
@@ -68,7 +88,7 @@ public class Bin2Data
    * 
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    */
-  public final static String version = "2016-01-15"; 
+  public final static String version = "2026-10-19"; 
 
   
   public static class Args
@@ -348,6 +368,8 @@ public class Bin2Data
         f = accElement.getChildFloat();
       } break;
       case 'I': {
+        accData.addChildAt(pos, accElement, 4);
+        f = accElement.getChildInt(-4);
       } break;
     }
     return f;
@@ -389,5 +411,196 @@ public class Bin2Data
   
   
   
+  /**Identification of the columnar file written with {@link #exportColumns(File, boolean, File, int)}, "B2DC". */
+  public final static int magicColumns = 0x42324443;
+  
+  /**Number of bytes of records which are mapped and decoded in one task. */
+  private final static int zChunk = 0x1000000;
+  
+  
+  /**Writes all records of a binary file as CSV file without loading the file. 
+   * The {@link #parseDescription()} or {@link #setRecordStartLength(int, int)} should be invoked before.
+   * The file is memory mapped in chunks of about 16 MByte, which are decoded in parallel. 
+   * The decoded text of the chunks is written in order of records, the result is the same as with 1 thread.
+   * The first line contains "record" and the names of the elements, separated with ';'. 
+   * Any line contains the record number and the values like {@link #getFloat(int, String)}.
+   * @param fileBin The file can have wildcards, see {@link #loadBinary(File, boolean)}
+   * @param bigEndian
+   * @param fileCsv the file to write
+   * @param nThreads number of threads for decoding, 0: number of processors
+   * @return number of written records. An incomplete last record is not written.
+   * @throws IOException on file errors
+   * @throws IllegalArgumentException if the record structure is not given or an element is outside of the record.
+   * @since 2026-10
+   */
+  public long exportCsv(File fileBin, boolean bigEndian, File fileCsv, int nThreads) throws IOException {
+    return exportMapped(fileBin, bigEndian, fileCsv, false, nThreads);
+  }
+  
+  
+  /**Writes all records of a binary file as columnar binary file without loading the file. 
+   * It is adequate {@link #exportCsv(File, boolean, File, int)} but the output is binary, fast to read for a signal viewer
+   * which needs only some of the elements.
+   * <br>
+   * Format of the file, all in little endian:
+   * <ul>
+   * <li>int {@link #magicColumns}, int version = 1, int number of columns, long number of records
+   * <li>for any column: short length of name, the name in UTF-8
+   * <li>0-bytes till the next position which is a multiple of 8
+   * <li>for any column the values of all records as float, one block after another. 
+   * </ul>
+   * The chunks are decoded in parallel and written direct on its position in the output file.
+   * @return number of written records.
+   * @since 2026-10
+   */
+  public long exportColumns(File fileBin, boolean bigEndian, File fileDst, int nThreads) throws IOException {
+    return exportMapped(fileBin, bigEndian, fileDst, true, nThreads);
+  }
+  
+  
+  
+  private long exportMapped(File fileBin, boolean bigEndian, File fileDst, final boolean bColumns, int nThreads) 
+  throws IOException
+  {
+    if(descrData == null || descrData.recordLength <=0) throw new IllegalArgumentException("Bin2Data - record length not given; ");
+    final int recordLength = descrData.recordLength;
+    final DescrDataElement[] elements = descrData.listElements.toArray(new DescrDataElement[descrData.listElements.size()]);
+    for(DescrDataElement descr: elements) {
+      int zElement = descr.type == 'S' ? 2 : 4;
+      if(descr.posInRecord < 0 || descr.posInRecord + zElement > recordLength) 
+        throw new IllegalArgumentException("Bin2Data - element outside of record; " + descr.nameElement);
+    }
+    File fBin = FileSystem.getFirstFileWildcard(fileBin.getAbsoluteFile());
+    if(fBin == null) throw new FileNotFoundException("Bin2Data - file not found; " + fileBin.getAbsolutePath());
+    if(nThreads <=0) { nThreads = Runtime.getRuntime().availableProcessors(); }
+    final ByteOrder order = bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    final int recordsChunk = Math.max(1, zChunk / recordLength);
+    RandomAccessFile rafBin = new RandomAccessFile(fBin, "r");
+    RandomAccessFile rafDst = null;
+    OutputStream outCsv = null;
+    ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+    try {
+      final FileChannel chBin = rafBin.getChannel();
+      final long posFirst = descrData.posFirstRecord;
+      final long nRecords = Math.max(0, (chBin.size() - posFirst) / recordLength);
+      //
+      final FileChannel chDst;
+      final long posColumns;
+      if(bColumns) {
+        rafDst = new RandomAccessFile(fileDst, "rw");
+        rafDst.setLength(0);
+        chDst = rafDst.getChannel();
+        ByteArrayOutputStream head = new ByteArrayOutputStream(); 
+        ByteBuffer buffer = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(magicColumns).putInt(1).putInt(elements.length).putLong(nRecords);
+        head.write(buffer.array(), 0, 20);
+        for(DescrDataElement descr: elements) {
+          byte[] name = descr.nameElement.getBytes(StandardCharsets.UTF_8);
+          head.write(name.length & 0xff); head.write((name.length >> 8) & 0xff);
+          head.write(name, 0, name.length);
+        }
+        while((head.size() & 7) !=0) { head.write(0); }
+        posColumns = head.size();
+        chDst.write(ByteBuffer.wrap(head.toByteArray()), 0);
+      } else {
+        chDst = null;
+        posColumns = 0;
+        outCsv = new FileOutputStream(fileDst);
+        StringBuilder line = new StringBuilder("record");
+        for(DescrDataElement descr: elements) { line.append(';').append(descr.nameElement); }
+        line.append('\n');
+        outCsv.write(line.toString().getBytes(StandardCharsets.UTF_8));
+      }
+      //
+      //The futures are kept in order, only 2 * nThreads chunks are pending to limit the memory for the csv text.
+      ArrayDeque<Future<byte[]>> pending = new ArrayDeque<Future<byte[]>>();
+      for(long rec0 = 0; rec0 < nRecords || !pending.isEmpty(); ) {
+        if(rec0 < nRecords && pending.size() < 2 * nThreads) {
+          final long recStart = rec0;
+          final int nRec = (int)Math.min(recordsChunk, nRecords - rec0);
+          rec0 += nRec;
+          pending.add(executor.submit(new Callable<byte[]>() {
+            @Override public byte[] call() throws IOException {
+              MappedByteBuffer map = chBin.map(FileChannel.MapMode.READ_ONLY, posFirst + recStart * recordLength, (long)nRec * recordLength);
+              map.order(order);
+              if(bColumns) {
+                ByteBuffer column = ByteBuffer.allocate(4 * nRec).order(ByteOrder.LITTLE_ENDIAN);
+                for(int ixCol = 0; ixCol < elements.length; ++ixCol) {
+                  column.clear();
+                  for(int ixRec = 0; ixRec < nRec; ++ixRec) {
+                    column.putFloat(decode(map, ixRec * recordLength, elements[ixCol]));
+                  }
+                  column.flip();
+                  long pos = posColumns + 4 * (ixCol * nRecords + recStart);
+                  while(column.hasRemaining()) { pos += chDst.write(column, pos); }
+                }
+                return null;
+              } else {
+                StringBuilder text = new StringBuilder(nRec * (8 + 12 * elements.length));
+                for(int ixRec = 0; ixRec < nRec; ++ixRec) {
+                  text.append(recStart + ixRec);
+                  for(DescrDataElement descr: elements) {
+                    text.append(';').append(decode(map, ixRec * recordLength, descr));
+                  }
+                  text.append('\n');
+                }
+                return text.toString().getBytes(StandardCharsets.UTF_8);
+              }
+            }
+          }));
+        } else {
+          byte[] text = waitFor(pending.poll());
+          if(outCsv !=null) { outCsv.write(text); }
+        }
+      }
+      return nRecords;
+    } finally {
+      executor.shutdownNow();
+      if(outCsv !=null) { outCsv.close(); }
+      if(rafDst !=null) { rafDst.close(); }
+      rafBin.close();
+    }
+  }
+  
+  
+  
+  private static byte[] waitFor(Future<byte[]> future) throws IOException {
+    try { return future.get(); }
+    catch(InterruptedException exc) { 
+      Thread.currentThread().interrupt();
+      throw new IOException("Bin2Data - interrupted; ", exc);
+    }
+    catch(ExecutionException exc) {
+      Throwable cause = exc.getCause();
+      if(cause instanceof IOException) throw (IOException)cause;
+      if(cause instanceof RuntimeException) throw (RuntimeException)cause;
+      throw new IOException("Bin2Data - decoding; " + cause, cause);
+    }
+  }
+  
+  
+  
+  /**Decodes an element from a mapped record adequate {@link #getFloat(int, DescrDataElement, ByteDataAccessBase)}.
+   * @param posRecord position of the record in the buffer.
+   */
+  private static float decode(ByteBuffer buffer, int posRecord, DescrDataElement descr) {
+    int pos = posRecord + descr.posInRecord;
+    switch(descr.type){
+      case 'S': {
+        int val = buffer.getShort(pos) & 0xffff;
+        if(descr.scale < 0) {
+          return (val / 32768.0f) * -descr.scale;
+        } else {
+          return (val / 65536.f) * descr.scale;
+        }
+      }
+      case 'F': return buffer.getFloat(pos);
+      case 'I': return buffer.getInt(pos);
+      default: return 0;
+    }
+  }
+  
+  
+  
   
 }
@@ -7,11 +7,21 @@ import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.vishia.mainCmd.MainCmd;
 import org.vishia.mainCmd.MainCmdLogging_ifc;
@@ -53,6 +63,9 @@ public class Csv2Data
  
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-19 Hartmut new: {@link #parseCsvColumns(File, String[], int)} for numeric csv files with some million lines.
+   *   The file is memory mapped and parsed in parallel chunks. The numbers are parsed in the buffer without Strings 
+   *   and stored in preallocated double arrays, see {@link Columns}. 
    * <li>2016-06-22 bugfix: A ""text"" inside a text cell should be detected exactly. 
    * <li>2016-03-30 bugfix: Only one line separation per csv-line was processed, now more as one (text cell, which contains line feed)
    * <li>2015-11-19 new chg All identifier in first line in "" possible. 
@@ -86,7 +99,7 @@ public class Csv2Data
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String sVersion = "2014-06-10";
+  static final public String sVersion = "2026-10-19";
 
   //final Map<String, String> dataInput = new TreeMap<String, String>();
   
@@ -114,6 +127,47 @@ public class Csv2Data
   /**'.' if the {@link #separator} is ',', elsewhere ','. */
   char cDecimalSep = '.';
   
+  /**Result of {@link Csv2Data#parseCsvColumns(File, String[], int)}. 
+   * @since 2026-10
+   */
+  public static final class Columns
+  {
+    /**Names of the columns in order of {@link #values}. */
+    public final String[] names;
+    
+    /**values[column][row]. A cell which is empty or not a number is stored as NaN. */
+    public final double[][] values;
+    
+    /**Number of rows without the head line. */
+    public final int nrofRows;
+    
+    Columns(String[] names, int nrofRows) {
+      this.names = names;
+      this.nrofRows = nrofRows;
+      this.values = new double[names.length][nrofRows];
+    }
+    
+    /**Returns the values of the column or null if the name is not contained. */
+    public double[] column(String name) {
+      for(int ix = 0; ix < this.names.length; ++ix) {
+        if(this.names[ix].equals(name)) return this.values[ix];
+      }
+      return null;
+    }
+  }
+  
+  
+  /**Size of the chunks which are parsed in one task in {@link #parseCsvColumns(File, String[], int)}. */
+  private final static int zChunk = 0x2000000;
+  
+  /**10^0 .. 10^22, all exact as double. */
+  private final static double[] power10 = new double[23];
+  static {
+    power10[0] = 1;
+    for(int ix = 1; ix < power10.length; ++ix) { power10[ix] = power10[ix-1] * 10; }
+  }
+  
+  
   public Csv2Data(MainCmdLogging_ifc log){
     this.log = log;
   }
@@ -326,6 +380,265 @@ public class Csv2Data
 
   
   
+  /**Parses a csv file with numeric cells into columns without building Strings for the cells. 
+   * It is designed for files with some million lines, for example recorded signals. 
+   * <ul>
+   * <li>The first line is the head line, see {@link #createColumns(String)}. It determines the separator. 
+   *   Both '.' and ',' are accepted as decimal separator if the separator is ';'. 
+   * <li>The file is memory mapped in chunks of 32 MByte. In a first parallel pass the quotation marks and line ends 
+   *   are counted for any chunk, in both cases that the chunk begins inside or outside of a quoted cell. 
+   *   With them the state on begin of any chunk is known, the chunks are adjusted to the next line end outside of quotation,
+   *   and the number of rows of any chunk is known before parsing. 
+   * <li>In a second parallel pass any chunk is parsed and the numbers are written direct in its rows 
+   *   of the preallocated arrays. 
+   * </ul>
+   * A cell in quotation is parsed as number too, a line end inside quotation does not end the row. 
+   * An empty line is a row with NaN. 
+   * The result is independent of the number of threads.
+   * @param fileIn the csv file
+   * @param names the columns to store, null: all columns.
+   * @param nThreads number of threads, 0: number of processors.
+   * @return the columns, also stored in {@link #columns}, and the separator in {@link #separator}. 
+   * @throws IOException on file error.
+   * @throws IllegalArgumentException if a name is not found in the head line. 
+   * @since 2026-10
+   */
+  public Columns parseCsvColumns(File fileIn, String[] names, int nThreads) throws IOException {
+    if(nThreads <=0) { nThreads = Runtime.getRuntime().availableProcessors(); }
+    RandomAccessFile raf = new RandomAccessFile(fileIn, "r");
+    ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+    try {
+      final FileChannel channel = raf.getChannel();
+      final long zFile = channel.size();
+      int nChunks = (int)((zFile + zChunk -1) / zChunk);
+      //
+      //pass 1: quotation and line ends of any chunk.
+      List<Callable<long[]>> tasksScan = new ArrayList<Callable<long[]>>();
+      for(int ixChunk = 0; ixChunk < nChunks; ++ixChunk) {
+        final long begin = (long)ixChunk * zChunk;
+        final int zBuffer = (int)Math.min(zChunk, zFile - begin);
+        tasksScan.add(new Callable<long[]>() {
+          @Override public long[] call() throws IOException {
+            return scanChunk(channel.map(FileChannel.MapMode.READ_ONLY, begin, zBuffer), begin);
+          }
+        });
+      }
+      List<long[]> scans = invokeAll(executor, tasksScan);
+      //
+      //Segments: begin after the first line end outside of quotation in a chunk. 
+      //Chunks without such a line end are part of the segment before.
+      List<long[]> segments = new ArrayList<long[]>();       //begin, first row
+      int quoted = 0;
+      long nLines = 0;
+      long posLastLine = -1;
+      for(long[] scan: scans) {
+        long first = scan[3 + quoted];
+        if(first >=0) {
+          segments.add(new long[]{first +1, nLines});      //rows before: line ends before without the head line.
+          posLastLine = scan[5 + quoted];
+        }
+        nLines += scan[1 + quoted];
+        quoted ^= (int)scan[0];
+      }
+      //The first line end is the end of the head line, the first segment starts after it.
+      long posHead = segments.isEmpty() ? zFile : segments.get(0)[0];  //no line end: only the head line or empty.
+      if(posHead > Integer.MAX_VALUE) throw new IllegalArgumentException("Csv2Data - too long head line; ");
+      String sHead = new String(readBytes(channel, 0, (int)posHead), StandardCharsets.UTF_8);
+      createColumns(sHead.trim());
+      if(segments.isEmpty()) { return new Columns(columnNames(names), 0); }
+      long nRows = nLines -1 + (zFile > posLastLine +1 ? 1 : 0);
+      if(nRows > Integer.MAX_VALUE) throw new IllegalArgumentException("Csv2Data - too many lines; " + nRows);
+      final Columns result = new Columns(columnNames(names), (int)nRows);
+      final int[] colDst = new int[this.columns.size()];
+      Arrays.fill(colDst, -1);
+      for(int ix = 0; ix < result.names.length; ++ix) {
+        colDst[this.columns.indexOf(result.names[ix])] = ix;
+      }
+      final byte sep = (byte)this.separator;
+      final byte decimalSep = (byte)(this.separator == ',' ? '.' : ',');
+      //
+      //pass 2: parse the segments in its rows.
+      List<Callable<long[]>> tasksParse = new ArrayList<Callable<long[]>>();
+      for(int ixSegm = 0; ixSegm < segments.size(); ++ixSegm) {
+        final long begin = segments.get(ixSegm)[0];
+        final long end = ixSegm +1 < segments.size() ? segments.get(ixSegm+1)[0] : zFile;
+        final int row = (int)segments.get(ixSegm)[1];
+        final int rowEnd = ixSegm +1 < segments.size() ? (int)segments.get(ixSegm+1)[1] : (int)nRows;
+        if(end - begin > Integer.MAX_VALUE) throw new IllegalArgumentException("Csv2Data - too long quoted cell; at " + begin);
+        tasksParse.add(new Callable<long[]>() {
+          @Override public long[] call() throws IOException {
+            for(double[] values: result.values) { Arrays.fill(values, row, rowEnd, Double.NaN); }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, begin, end - begin);
+            parseChunk(buffer, result.values, colDst, row, sep, decimalSep);
+            return null;
+          }
+        });
+      }
+      invokeAll(executor, tasksParse);
+      return result;
+    } finally {
+      executor.shutdownNow();
+      raf.close();
+    }
+  }
+  
+  
+  
+  private String[] columnNames(String[] names) {
+    if(names == null) { return this.columns.toArray(new String[this.columns.size()]); }
+    for(String name: names) {
+      if(!this.columns.contains(name)) throw new IllegalArgumentException("Csv2Data - column not found; " + name);
+    }
+    return names.clone();
+  }
+  
+  
+  
+  private static byte[] readBytes(FileChannel channel, long pos, int zBytes) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(zBytes);
+    while(buffer.hasRemaining() && channel.read(buffer, pos + buffer.position()) >0) {}
+    return buffer.array();
+  }
+  
+  
+  
+  private static <T> List<T> invokeAll(ExecutorService executor, List<Callable<T>> tasks) throws IOException {
+    List<T> results = new ArrayList<T>(tasks.size());
+    try { 
+      for(Future<T> future: executor.invokeAll(tasks)) { results.add(future.get()); }
+    } catch(InterruptedException exc) { 
+      Thread.currentThread().interrupt();
+      throw new IOException("Csv2Data - interrupted; ", exc);
+    } catch(ExecutionException exc) {
+      Throwable cause = exc.getCause();
+      if(cause instanceof IOException) throw (IOException)cause;
+      if(cause instanceof RuntimeException) throw (RuntimeException)cause;
+      throw new IOException("Csv2Data - parsing; " + cause, cause);
+    }
+    return results;
+  }
+  
+  
+  
+  /**Counts the quotation marks and line ends of a chunk for both cases, the chunk begins outside [0] or inside [1] of quotation.
+   * @return [0]: 1 if the number of quotation marks is odd, [1], [2]: number of line ends outside quotation, 
+   *   [3], [4]: absolute position of the first, [5], [6]: of the last line end outside quotation or -1.
+   */
+  private static long[] scanChunk(ByteBuffer buffer, long posBuffer) {
+    long[] ret = { 0, 0, 0, -1, -1, -1, -1 };
+    int quoted = 0;
+    int zBuffer = buffer.limit();
+    for(int pos = 0; pos < zBuffer; ++pos) {
+      byte cc = buffer.get(pos);
+      if(cc == '\"') { quoted ^= 1; }
+      else if(cc == '\n') {
+        int ixStart = quoted;                              //the line end is outside of quotation if the chunk starts with the same state.
+        ret[1 + ixStart] +=1;
+        if(ret[3 + ixStart] < 0) { ret[3 + ixStart] = posBuffer + pos; }
+        ret[5 + ixStart] = posBuffer + pos;
+      }
+    }
+    ret[0] = quoted;
+    return ret;
+  }
+  
+  
+  
+  /**Parses the lines of a chunk which begins outside of quotation on a line start. 
+   * @param colDst index in values for any column of the line, -1: column is not stored.
+   */
+  private static void parseChunk(ByteBuffer buffer, double[][] values, int[] colDst, int row, byte sep, byte decimalSep) {
+    int zBuffer = buffer.limit();
+    int pos = 0;
+    int col = 0;
+    while(pos < zBuffer) {
+      int begin, end;
+      if(buffer.get(pos) == '\"') {
+        begin = ++pos;
+        while(pos < zBuffer && (buffer.get(pos) != '\"' || (pos+1 < zBuffer && buffer.get(pos+1) == '\"'))) {
+          pos += buffer.get(pos) == '\"' ? 2 : 1;          //"" is a " in the cell
+        }
+        end = pos;
+        while(pos < zBuffer && buffer.get(pos) != sep && buffer.get(pos) != '\n') { ++pos; }  //closing " and spaces.
+      } else {
+        begin = pos;
+        while(pos < zBuffer && buffer.get(pos) != sep && buffer.get(pos) != '\n') { ++pos; }
+        end = pos;
+      }
+      if(col < colDst.length && colDst[col] >=0) {
+        values[colDst[col]][row] = parseNumber(buffer, begin, end, decimalSep);
+      }
+      if(pos < zBuffer && buffer.get(pos) == sep) {
+        col +=1;
+        pos +=1;
+      } else {                                             //line end or end of file.
+        col = 0;
+        row +=1;
+        pos +=1;
+      }
+    }
+  }
+  
+  
+  
+  /**Parses a number in the buffer. 
+   * Numbers with up to 15 digits and an exponent up to 22 are calculated exactly with one multiplication or division,
+   * other numbers are parsed with {@link Double#parseDouble(String)}. Hence the result is the same as with parseDouble.
+   * @return the value or NaN if the cell is empty or not a number.
+   */
+  static double parseNumber(ByteBuffer buffer, int pos, int end, byte decimalSep) {
+    while(pos < end && buffer.get(pos) <= ' ') { ++pos; }
+    while(end > pos && buffer.get(end-1) <= ' ') { --end; }
+    int pos0 = pos;
+    boolean bNegative = false;
+    if(pos < end && (buffer.get(pos) == '-' || buffer.get(pos) == '+')) { bNegative = buffer.get(pos++) == '-'; }
+    long mantissa = 0;
+    int nDigits = 0, exp10 = 0;
+    boolean bDigit = false, bFraction = false;
+    for(; pos < end; ++pos) {
+      byte cc = buffer.get(pos);
+      if(cc >= '0' && cc <= '9') {
+        bDigit = true;
+        if(nDigits < 18) {
+          mantissa = 10 * mantissa + (cc - '0');
+          if(mantissa !=0) { nDigits +=1; }
+          if(bFraction) { exp10 -=1; }
+        } else if(!bFraction) { 
+          nDigits +=1;                                     //more as 18 digits before the decimal point.
+          exp10 +=1; 
+        }
+      } 
+      else if(!bFraction && (cc == '.' || cc == decimalSep)) { bFraction = true; }
+      else break;
+    }
+    if(!bDigit) return Double.NaN;
+    if(pos < end && (buffer.get(pos) == 'e' || buffer.get(pos) == 'E')) {
+      boolean bNegExp = false;
+      if(++pos < end && (buffer.get(pos) == '-' || buffer.get(pos) == '+')) { bNegExp = buffer.get(pos++) == '-'; }
+      if(pos == end) return Double.NaN;
+      int exp = 0;
+      for(; pos < end && buffer.get(pos) >= '0' && buffer.get(pos) <= '9'; ++pos) {
+        if(exp < 100000) { exp = 10 * exp + buffer.get(pos) - '0'; }
+      }
+      exp10 += bNegExp ? -exp : exp;
+    }
+    if(pos < end) return Double.NaN;                       //faulty character
+    double value;
+    if(nDigits <= 15 && exp10 >= -22 && exp10 <= 22) {
+      value = exp10 >= 0 ? mantissa * power10[exp10] : mantissa / power10[-exp10];
+      return bNegative ? -value : value;
+    } else {
+      byte[] bytes = new byte[end - pos0];
+      for(int ix = 0; ix < bytes.length; ++ix) {
+        byte cc = buffer.get(pos0 + ix);
+        bytes[ix] = cc == decimalSep ? (byte)'.' : cc;
+      }
+      return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+    }
+  }
+  
+  
+  
   /**Converts a value
    * @param cell String given value
    * @param name the name only for test.